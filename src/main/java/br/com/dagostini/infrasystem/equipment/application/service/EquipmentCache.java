@@ -0,0 +1,126 @@
+package br.com.dagostini.infrasystem.equipment.application.service;
+
+import br.com.dagostini.infrasystem.equipment.domain.model.Equipment;
+import br.com.dagostini.infrasystem.shared.infrastructure.concurrent.VirtualThreads;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of equipment by serial for the violation hot path. Unknown serials are cached as
+ * empty results with a shorter TTL; writes through {@code CreateEquipmentUseCase} invalidate the entry,
+ * and batch writes invalidate all their serials at once.
+ * Hit, miss and eviction counts are published as {@code cache.*} metrics tagged {@code cache=equipment}.
+ */
+@Slf4j
+@Component
+public class EquipmentCache {
+
+    private final AsyncCache<String, Optional<Equipment>> cache;
+    private final ExecutorService loader;
+
+    @Autowired
+    public EquipmentCache(MeterRegistry meterRegistry,
+                          @Value("${infrasystem.equipment.cache.maximum-size:10000}") long maximumSize,
+                          @Value("${infrasystem.equipment.cache.ttl:PT10M}") Duration ttl,
+                          @Value("${infrasystem.equipment.cache.negative-ttl:PT30S}") Duration negativeTtl,
+                          @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this(meterRegistry, maximumSize, ttl, negativeTtl, Ticker.systemTicker(),
+                VirtualThreads.blockingExecutor(virtualThreads, "equipment-cache-",
+                        () -> Executors.newCachedThreadPool(new CustomizableThreadFactory("equipment-cache-"))));
+    }
+
+    EquipmentCache(MeterRegistry meterRegistry, long maximumSize, Duration ttl, Duration negativeTtl, Ticker ticker,
+                   ExecutorService loader) {
+        this.loader = loader;
+        this.cache = Caffeine.newBuilder()
+                .ticker(ticker)
+                .executor(loader)
+                .maximumSize(maximumSize)
+                .expireAfter(new PresenceExpiry(ttl.toNanos(), negativeTtl.toNanos()))
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), "equipment");
+    }
+
+    public Optional<Equipment> get(String serial, Function<String, Optional<Equipment>> loader) {
+        if (serial == null) {
+            return loader.apply(null);
+        }
+        // The load runs on the executor, outside the map's bin lock: concurrent misses share its future,
+        // and an invalidation drops the future so its result is not cached.
+        CompletableFuture<Optional<Equipment>> future =
+                cache.get(serial, (key, executor) -> CompletableFuture.supplyAsync(() -> loader.apply(key), executor));
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            // Caffeine drops a failed future on its own, but not before this caller may retry.
+            cache.asMap().remove(serial, future);
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /** Whether a lookup of {@code serial} would be answered from memory, without waiting for a load. */
+    public boolean isCached(String serial) {
+        CompletableFuture<Optional<Equipment>> cached = serial == null ? null : cache.asMap().get(serial);
+        return cached != null && cached.isDone() && !cached.isCompletedExceptionally();
+    }
+
+    public void invalidate(String serial) {
+        log.debug("Invalidating cached equipment for serial: {}", serial);
+        cache.synchronous().invalidate(serial);
+    }
+
+    public void invalidateAll(Collection<String> serials) {
+        log.debug("Invalidating cached equipment for {} serials", serials.size());
+        cache.synchronous().invalidateAll(serials);
+    }
+
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        loader.shutdown();
+    }
+
+    private record PresenceExpiry(long ttlNanos, long negativeTtlNanos) implements Expiry<String, Optional<Equipment>> {
+
+        @Override
+        public long expireAfterCreate(String serial, Optional<Equipment> equipment, long currentTime) {
+            return equipment.isPresent() ? ttlNanos : negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String serial, Optional<Equipment> equipment, long currentTime, long currentDuration) {
+            return expireAfterCreate(serial, equipment, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String serial, Optional<Equipment> equipment, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
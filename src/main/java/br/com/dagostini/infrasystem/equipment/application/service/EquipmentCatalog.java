@@ -0,0 +1,101 @@
+package br.com.dagostini.infrasystem.equipment.application.service;
+
+import br.com.dagostini.infrasystem.equipment.domain.model.Equipment;
+import br.com.dagostini.infrasystem.equipment.domain.repository.EquipmentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory equipment catalog. Listings are answered from an immutable {@link EquipmentCatalogSnapshot},
+ * loaded on first use and replaced whole on every change: writes through {@code CreateEquipmentUseCase}
+ * and the batch use cases patch it right away, a batch in one step, and a periodic reload picks up writes
+ * made by other instances.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EquipmentCatalog {
+
+    private final EquipmentRepository repository;
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile EquipmentCatalogSnapshot snapshot;
+
+    public EquipmentCatalogSnapshot snapshot() {
+        EquipmentCatalogSnapshot current = snapshot;
+        return current != null ? current : load();
+    }
+
+    public void changed(Equipment equipment) {
+        if (equipment == null || equipment.getSerial() == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            // Before the first load there is nothing to patch; the load will read the saved row.
+            if (snapshot != null) {
+                snapshot = snapshot.with(equipment);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Applies a whole batch of writes with a single new snapshot.
+     */
+    public void changed(Collection<Equipment> equipments) {
+        List<Equipment> changed = equipments.stream()
+                .filter(equipment -> equipment != null && equipment.getSerial() != null)
+                .toList();
+        if (changed.isEmpty()) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (snapshot != null) {
+                snapshot = snapshot.with(changed);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${infrasystem.equipment.catalog.refresh-interval:PT5M}",
+            fixedDelayString = "${infrasystem.equipment.catalog.refresh-interval:PT5M}")
+    public void refresh() {
+        List<Equipment> loaded;
+        try {
+            loaded = repository.findAll();
+        } catch (RuntimeException ex) {
+            log.warn("Could not reload the equipment catalog, keeping version {} - {}",
+                    snapshot != null ? snapshot.version() : 0, ex.getMessage());
+            return;
+        }
+        lock.lock();
+        try {
+            snapshot = snapshot == null ? EquipmentCatalogSnapshot.of(loaded) : snapshot.mergedWith(loaded);
+            log.debug("Reloaded equipment catalog: {} equipment at watermark {}", snapshot.size(), snapshot.watermark());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private EquipmentCatalogSnapshot load() {
+        lock.lock();
+        try {
+            if (snapshot == null) {
+                snapshot = EquipmentCatalogSnapshot.of(repository.findAll());
+                log.info("Loaded equipment catalog: {} equipment at version {}", snapshot.size(), snapshot.version());
+            }
+            return snapshot;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
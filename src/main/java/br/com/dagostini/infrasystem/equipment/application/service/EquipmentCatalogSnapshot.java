@@ -0,0 +1,180 @@
+package br.com.dagostini.infrasystem.equipment.application.service;
+
+import br.com.dagostini.infrasystem.equipment.domain.model.Equipment;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentCatalogPage;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentCatalogQuery;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentCursor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable view of the whole equipment catalog, sorted by serial. Its version is the highest catalog
+ * version among its equipment and identifies its content. Its watermark is the highest version read from
+ * the database by a full load, below which every write is known to be in it: catalog versions are taken
+ * under a transaction lock, so they commit in order, and local patches never raise the watermark past
+ * writes of other instances not loaded yet. The watermark is what a client passes as {@code sinceVersion}
+ * on its next sync. Changes produce a new snapshot; the equipment in it are shared with readers and must
+ * not be modified.
+ * The spatial index is built on the first location query against the snapshot.
+ */
+public final class EquipmentCatalogSnapshot {
+
+    private static final Comparator<String> SERIAL_ORDER = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    private final List<Equipment> equipments;
+    private final long version;
+    private final long watermark;
+    private volatile EquipmentSpatialIndex spatialIndex;
+
+    private EquipmentCatalogSnapshot(List<Equipment> equipments, long watermark) {
+        equipments.sort(Comparator.comparing(Equipment::getSerial, SERIAL_ORDER));
+        this.equipments = Collections.unmodifiableList(equipments);
+        this.version = highestVersion(equipments);
+        this.watermark = watermark;
+    }
+
+    /**
+     * Snapshot of a full load of the catalog.
+     */
+    public static EquipmentCatalogSnapshot of(Collection<Equipment> equipments) {
+        return new EquipmentCatalogSnapshot(new ArrayList<>(equipments), highestVersion(equipments));
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public long watermark() {
+        return watermark;
+    }
+
+    public int size() {
+        return equipments.size();
+    }
+
+    public EquipmentSpatialIndex spatialIndex() {
+        EquipmentSpatialIndex index = spatialIndex;
+        if (index == null) {
+            // Racing readers may each build one; they are equal, and the last one written wins.
+            index = EquipmentSpatialIndex.of(equipments);
+            spatialIndex = index;
+        }
+        return index;
+    }
+
+    public Optional<Equipment> find(String serial) {
+        int index = indexOf(serial);
+        return index >= 0 ? Optional.of(equipments.get(index)) : Optional.empty();
+    }
+
+    public EquipmentCatalogPage query(EquipmentCatalogQuery query) {
+        int limit = query.limit() == null ? Integer.MAX_VALUE : query.limit();
+        int start = 0;
+        if (query.after() != null) {
+            int index = indexOf(query.after().serial());
+            start = index >= 0 ? index + 1 : -index - 1;
+        }
+
+        List<Equipment> page = new ArrayList<>();
+        for (int i = start; i < equipments.size(); i++) {
+            Equipment equipment = equipments.get(i);
+            if (!query.matches(equipment)) {
+                continue;
+            }
+            if (page.size() == limit) {
+                return new EquipmentCatalogPage(page, version, watermark, new EquipmentCursor(page.get(page.size() - 1).getSerial()));
+            }
+            page.add(equipment);
+        }
+        return new EquipmentCatalogPage(page, version, watermark, null);
+    }
+
+    /**
+     * Snapshot with {@code equipment} added or replacing the entry of the same serial.
+     */
+    public EquipmentCatalogSnapshot with(Equipment equipment) {
+        return with(List.of(equipment));
+    }
+
+    /**
+     * Snapshot with every equipment of {@code changed} added or replacing the entry of the same serial. The
+     * watermark is kept: other instances may have written versions below the ones patched in.
+     */
+    public EquipmentCatalogSnapshot with(Collection<Equipment> changed) {
+        List<Equipment> updated = new ArrayList<>(equipments.size() + changed.size());
+        updated.addAll(equipments);
+        for (Equipment equipment : changed) {
+            int index = indexOf(equipment.getSerial());
+            if (index >= 0) {
+                updated.set(index, copy(equipment));
+            } else {
+                updated.add(copy(equipment));
+            }
+        }
+        return new EquipmentCatalogSnapshot(updated, watermark);
+    }
+
+    /**
+     * Snapshot of {@code loaded}, a full load, keeping the entries of this snapshot that are newer than the
+     * loaded ones; a write applied here may have committed after the load read its row.
+     */
+    public EquipmentCatalogSnapshot mergedWith(Collection<Equipment> loaded) {
+        Map<String, Equipment> merged = new HashMap<>();
+        for (Equipment equipment : loaded) {
+            merged.put(equipment.getSerial(), equipment);
+        }
+        for (Equipment equipment : equipments) {
+            merged.merge(equipment.getSerial(), equipment,
+                    (fromDatabase, local) -> catalogVersion(local) > catalogVersion(fromDatabase) ? local : fromDatabase);
+        }
+        return new EquipmentCatalogSnapshot(new ArrayList<>(merged.values()), Math.max(watermark, highestVersion(loaded)));
+    }
+
+    /**
+     * Index of {@code serial}, or {@code -(insertion point) - 1} when absent, as in {@link Collections#binarySearch}.
+     */
+    private int indexOf(String serial) {
+        int low = 0;
+        int high = equipments.size() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = SERIAL_ORDER.compare(equipments.get(middle).getSerial(), serial);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private static long highestVersion(Collection<Equipment> equipments) {
+        return equipments.stream().mapToLong(EquipmentCatalogSnapshot::catalogVersion).max().orElse(0);
+    }
+
+    private static long catalogVersion(Equipment equipment) {
+        return equipment.getCatalogVersion() == null ? 0 : equipment.getCatalogVersion();
+    }
+
+    private static Equipment copy(Equipment equipment) {
+        Equipment copy = new Equipment();
+        copy.setId(equipment.getId());
+        copy.setSerial(equipment.getSerial());
+        copy.setModel(equipment.getModel());
+        copy.setAddress(equipment.getAddress());
+        copy.setLatitude(equipment.getLatitude());
+        copy.setLongitude(equipment.getLongitude());
+        copy.setActive(equipment.getActive());
+        copy.setCatalogVersion(equipment.getCatalogVersion());
+        return copy;
+    }
+}
@@ -0,0 +1,140 @@
+package br.com.dagostini.infrasystem.equipment.application.service;
+
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentStatus;
+import br.com.dagostini.infrasystem.equipment.domain.repository.EquipmentStatusRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Last heartbeat of each equipment, kept in memory. A heartbeat only updates two concurrent maps: the
+ * last-seen view that answers status queries, and the changes not yet written. A periodic flush writes
+ * the pending changes to {@code equipment_status} in one batch, so a device beating every few seconds
+ * costs one row write per flush interval; a failed flush keeps them for the next one. The view is seeded
+ * from the table on first read, and each flush then merges the rows other instances wrote since the last one.
+ */
+@Slf4j
+@Component
+public class EquipmentHeartbeats {
+
+    private final EquipmentStatusRepository repository;
+    private final Duration onlineWindow;
+    private final Duration flushInterval;
+    private final Clock clock;
+    private final Map<String, Instant> lastSeen = new ConcurrentHashMap<>();
+    private final Map<String, Instant> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile boolean seeded;
+    // Written rows may carry beats up to a flush interval old, so each read reaches that far back.
+    private Instant readFrom;
+
+    @Autowired
+    public EquipmentHeartbeats(EquipmentStatusRepository repository,
+                               @Value("${infrasystem.equipment.heartbeat.online-window:PT30S}") Duration onlineWindow,
+                               @Value("${infrasystem.equipment.heartbeat.flush-interval:PT10S}") Duration flushInterval) {
+        this(repository, onlineWindow, flushInterval, Clock.systemUTC());
+    }
+
+    EquipmentHeartbeats(EquipmentStatusRepository repository, Duration onlineWindow, Duration flushInterval, Clock clock) {
+        this.repository = repository;
+        this.onlineWindow = onlineWindow;
+        this.flushInterval = flushInterval;
+        this.clock = clock;
+    }
+
+    public Instant beat(String serial) {
+        Instant now = clock.instant();
+        lastSeen.merge(serial, now, EquipmentHeartbeats::latest);
+        pending.merge(serial, now, EquipmentHeartbeats::latest);
+        return now;
+    }
+
+    public EquipmentStatus status(String serial) {
+        seed();
+        Instant seen = lastSeen.get(serial);
+        return new EquipmentStatus(serial, seen, seen != null && !seen.isBefore(clock.instant().minus(onlineWindow)));
+    }
+
+    @Scheduled(initialDelayString = "${infrasystem.equipment.heartbeat.flush-interval:PT10S}",
+            fixedDelayString = "${infrasystem.equipment.heartbeat.flush-interval:PT10S}")
+    @PreDestroy
+    public void flush() {
+        lock.lock();
+        try {
+            write();
+            if (seeded) {
+                refresh();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int pendingCount() {
+        return pending.size();
+    }
+
+    private void write() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<String, Instant> batch = new HashMap<>();
+        for (String serial : pending.keySet()) {
+            Instant seen = pending.remove(serial);
+            if (seen != null) {
+                batch.put(serial, seen);
+            }
+        }
+        try {
+            repository.saveLastSeen(batch);
+            log.debug("Flushed heartbeats of {} equipment", batch.size());
+        } catch (RuntimeException ex) {
+            log.warn("Could not flush heartbeats of {} equipment, retrying on the next flush - {}", batch.size(), ex.getMessage());
+            batch.forEach((serial, seen) -> pending.merge(serial, seen, EquipmentHeartbeats::latest));
+        }
+    }
+
+    private void refresh() {
+        Instant now = clock.instant();
+        try {
+            repository.findLastSeenSince(readFrom).forEach((serial, seen) -> lastSeen.merge(serial, seen, EquipmentHeartbeats::latest));
+            readFrom = now.minus(flushInterval);
+        } catch (RuntimeException ex) {
+            log.warn("Could not refresh equipment last-seen times, retrying on the next flush - {}", ex.getMessage());
+        }
+    }
+
+    private void seed() {
+        if (seeded) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (!seeded) {
+                Instant now = clock.instant();
+                repository.findAllLastSeen().forEach((serial, seen) -> lastSeen.merge(serial, seen, EquipmentHeartbeats::latest));
+                readFrom = now.minus(flushInterval);
+                seeded = true;
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Could not load equipment last-seen times, answering from heartbeats received so far - {}", ex.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static Instant latest(Instant a, Instant b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
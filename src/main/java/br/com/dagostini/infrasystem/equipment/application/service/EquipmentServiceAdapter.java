@@ -1,12 +1,28 @@
 package br.com.dagostini.infrasystem.equipment.application.service;
 
 import br.com.dagostini.infrasystem.equipment.domain.model.Equipment;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentActivation;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentBatchItem;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentCatalogPage;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentCatalogQuery;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentStatus;
+import br.com.dagostini.infrasystem.equipment.domain.model.GeoPoint;
+import br.com.dagostini.infrasystem.equipment.domain.model.NearbyEquipment;
 
+import java.time.Instant;
 import java.util.List;
 
 public interface EquipmentServiceAdapter {
     Equipment createEquipment(Equipment equipment);
-    List<Equipment> listEquipments();
+    EquipmentCatalogPage listEquipments(EquipmentCatalogQuery query);
     Equipment getEquipmentBySerial(String serial);
     Boolean isEquipmentActive(String serial);
+    boolean isEquipmentCached(String serial);
+    List<NearbyEquipment> findEquipmentsNear(GeoPoint center, double radiusMeters, Boolean active, int limit);
+    List<Equipment> findEquipmentsWithin(List<GeoPoint> polygon, Boolean active);
+    List<EquipmentBatchItem> createEquipmentBatch(List<EquipmentBatchItem> items);
+    EquipmentActivation setEquipmentActivation(List<String> serials, boolean active);
+    Instant recordHeartbeat(String serial);
+    EquipmentStatus getEquipmentStatus(String serial);
+    List<EquipmentStatus> listEquipmentStatus(Boolean online);
 }
\ No newline at end of file
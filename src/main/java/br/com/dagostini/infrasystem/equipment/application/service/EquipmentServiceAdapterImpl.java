@@ -1,12 +1,26 @@
 package br.com.dagostini.infrasystem.equipment.application.service;
 
+import br.com.dagostini.infrasystem.equipment.application.usecase.CreateEquipmentBatchUseCase;
 import br.com.dagostini.infrasystem.equipment.application.usecase.CreateEquipmentUseCase;
+import br.com.dagostini.infrasystem.equipment.application.usecase.FindEquipmentsNearUseCase;
+import br.com.dagostini.infrasystem.equipment.application.usecase.FindEquipmentsWithinUseCase;
 import br.com.dagostini.infrasystem.equipment.application.usecase.GetEquipmentBySerialUseCase;
+import br.com.dagostini.infrasystem.equipment.application.usecase.GetEquipmentStatusUseCase;
 import br.com.dagostini.infrasystem.equipment.application.usecase.ListEquipmentsUseCase;
+import br.com.dagostini.infrasystem.equipment.application.usecase.RecordHeartbeatUseCase;
+import br.com.dagostini.infrasystem.equipment.application.usecase.SetEquipmentActivationUseCase;
 import br.com.dagostini.infrasystem.equipment.domain.model.Equipment;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentActivation;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentBatchItem;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentCatalogPage;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentCatalogQuery;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentStatus;
+import br.com.dagostini.infrasystem.equipment.domain.model.GeoPoint;
+import br.com.dagostini.infrasystem.equipment.domain.model.NearbyEquipment;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.util.List;
 
 @Service
@@ -15,14 +29,21 @@ public class EquipmentServiceAdapterImpl implements EquipmentServiceAdapter {
     private final CreateEquipmentUseCase createEquipmentUseCase;
     private final ListEquipmentsUseCase listEquipmentsUseCase;
     private final GetEquipmentBySerialUseCase getEquipmentBySerialUseCase;
+    private final FindEquipmentsNearUseCase findEquipmentsNearUseCase;
+    private final FindEquipmentsWithinUseCase findEquipmentsWithinUseCase;
+    private final CreateEquipmentBatchUseCase createEquipmentBatchUseCase;
+    private final SetEquipmentActivationUseCase setEquipmentActivationUseCase;
+    private final RecordHeartbeatUseCase recordHeartbeatUseCase;
+    private final GetEquipmentStatusUseCase getEquipmentStatusUseCase;
+    private final EquipmentCache equipmentCache;
 
     @Override
     public Equipment createEquipment(Equipment equipment) {
         return createEquipmentUseCase.execute(equipment);
     }
     @Override
-    public List<Equipment> listEquipments() {
-        return listEquipmentsUseCase.execute();
+    public EquipmentCatalogPage listEquipments(EquipmentCatalogQuery query) {
+        return listEquipmentsUseCase.execute(query);
     }
     @Override
     public Equipment getEquipmentBySerial(String serial) {
@@ -34,4 +55,44 @@ public class EquipmentServiceAdapterImpl implements EquipmentServiceAdapter {
         var equipment = getEquipmentBySerialUseCase.execute(serial);
         return equipment.getActive();
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean isEquipmentCached(String serial) {
+        return equipmentCache.isCached(serial);
+    }
+
+    @Override
+    public List<NearbyEquipment> findEquipmentsNear(GeoPoint center, double radiusMeters, Boolean active, int limit) {
+        return findEquipmentsNearUseCase.execute(center, radiusMeters, active, limit);
+    }
+
+    @Override
+    public List<Equipment> findEquipmentsWithin(List<GeoPoint> polygon, Boolean active) {
+        return findEquipmentsWithinUseCase.execute(polygon, active);
+    }
+
+    @Override
+    public List<EquipmentBatchItem> createEquipmentBatch(List<EquipmentBatchItem> items) {
+        return createEquipmentBatchUseCase.execute(items);
+    }
+
+    @Override
+    public EquipmentActivation setEquipmentActivation(List<String> serials, boolean active) {
+        return setEquipmentActivationUseCase.execute(serials, active);
+    }
+
+    @Override
+    public Instant recordHeartbeat(String serial) {
+        return recordHeartbeatUseCase.execute(serial);
+    }
+
+    @Override
+    public EquipmentStatus getEquipmentStatus(String serial) {
+        return getEquipmentStatusUseCase.execute(serial);
+    }
+
+    @Override
+    public List<EquipmentStatus> listEquipmentStatus(Boolean online) {
+        return getEquipmentStatusUseCase.execute(online);
+    }
+}
@@ -0,0 +1,208 @@
+package br.com.dagostini.infrasystem.equipment.application.service;
+
+import br.com.dagostini.infrasystem.equipment.domain.model.Equipment;
+import br.com.dagostini.infrasystem.equipment.domain.model.GeoPoint;
+import br.com.dagostini.infrasystem.equipment.domain.model.NearbyEquipment;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Uniform latitude/longitude grid over the equipment of a catalog snapshot, answering radius and polygon
+ * queries. Entries live in flat arrays sorted by cell in row-major order, so the cells of one grid row
+ * inside a bounding box form one contiguous run, found by binary search. Equipment without coordinates is
+ * not indexed. Boxes that reach a pole, cross the antimeridian or span more rows than there are entries
+ * are answered by a full scan; polygons are planar in latitude/longitude.
+ */
+public final class EquipmentSpatialIndex {
+
+    /** About 2.2 km of latitude: a city-scale radius touches a handful of cells. */
+    static final double DEFAULT_CELL_DEGREES = 0.02;
+    private static final double MIN_CELL_DEGREES = 0.01;
+    private static final int ENTRY_BITS = 31;
+    // Keeps points on the exact edge of a radius box inside it despite rounding in asin and haversine.
+    private static final double EDGE_MARGIN_DEGREES = 1e-9;
+
+    private final double cellDegrees;
+    private final long columns;
+    private final long[] cells;
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final Equipment[] equipments;
+
+    private EquipmentSpatialIndex(Collection<Equipment> source, double cellDegrees) {
+        if (!(cellDegrees >= MIN_CELL_DEGREES)) {
+            throw new IllegalArgumentException("Cell size must be at least " + MIN_CELL_DEGREES + " degrees");
+        }
+        this.cellDegrees = cellDegrees;
+        this.columns = (long) Math.ceil(360 / cellDegrees) + 1;
+
+        List<Equipment> located = source.stream()
+                .filter(equipment -> equipment.getLatitude() != null && equipment.getLongitude() != null)
+                .toList();
+        // Sort (cell, position) pairs packed into one long: no boxing and no comparator for 100k entries.
+        long[] packed = new long[located.size()];
+        for (int i = 0; i < packed.length; i++) {
+            Equipment equipment = located.get(i);
+            packed[i] = cell(equipment.getLatitude(), equipment.getLongitude()) << ENTRY_BITS | i;
+        }
+        Arrays.sort(packed);
+
+        this.cells = new long[packed.length];
+        this.latitudes = new double[packed.length];
+        this.longitudes = new double[packed.length];
+        this.equipments = new Equipment[packed.length];
+        for (int i = 0; i < packed.length; i++) {
+            Equipment equipment = located.get((int) (packed[i] & ((1L << ENTRY_BITS) - 1)));
+            cells[i] = packed[i] >>> ENTRY_BITS;
+            latitudes[i] = equipment.getLatitude();
+            longitudes[i] = equipment.getLongitude();
+            equipments[i] = equipment;
+        }
+    }
+
+    public static EquipmentSpatialIndex of(Collection<Equipment> equipments) {
+        return new EquipmentSpatialIndex(equipments, DEFAULT_CELL_DEGREES);
+    }
+
+    static EquipmentSpatialIndex of(Collection<Equipment> equipments, double cellDegrees) {
+        return new EquipmentSpatialIndex(equipments, cellDegrees);
+    }
+
+    public int size() {
+        return equipments.length;
+    }
+
+    /**
+     * Equipment within {@code radiusMeters} of {@code center}, nearest first, at most {@code limit}.
+     */
+    public List<NearbyEquipment> near(GeoPoint center, double radiusMeters, Predicate<Equipment> filter, int limit) {
+        double latitude = center.latitude();
+        double longitude = center.longitude();
+        List<NearbyEquipment> found = new ArrayList<>();
+        IntConsumer visit = i -> {
+            if (filter.test(equipments[i])) {
+                double distance = GeoPoint.distanceMeters(latitude, longitude, latitudes[i], longitudes[i]);
+                if (distance <= radiusMeters) {
+                    found.add(new NearbyEquipment(equipments[i], distance));
+                }
+            }
+        };
+
+        // Bounding box of the spherical cap: latitude +- its angular radius, and the widest longitude
+        // offset asin(sin(radius) / cos(latitude)), reached away from the center's parallel.
+        double angularRadius = radiusMeters / GeoPoint.EARTH_RADIUS_METERS;
+        double deltaLatitude = Math.toDegrees(angularRadius) + EDGE_MARGIN_DEGREES;
+        double sinDeltaLongitude = Math.sin(angularRadius) / Math.cos(Math.toRadians(latitude));
+        if (latitude - deltaLatitude <= -90 || latitude + deltaLatitude >= 90 || !(sinDeltaLongitude < 1)) {
+            scanAll(visit);
+        } else {
+            double deltaLongitude = Math.toDegrees(Math.asin(sinDeltaLongitude)) + EDGE_MARGIN_DEGREES;
+            scan(latitude - deltaLatitude, latitude + deltaLatitude, longitude - deltaLongitude, longitude + deltaLongitude, visit);
+        }
+
+        found.sort(Comparator.comparingDouble(NearbyEquipment::distanceMeters)
+                .thenComparing(nearby -> nearby.equipment().getSerial(), Comparator.nullsFirst(Comparator.naturalOrder())));
+        return found.size() > limit ? new ArrayList<>(found.subList(0, limit)) : found;
+    }
+
+    /**
+     * Equipment inside {@code polygon} (even-odd rule, vertices in order, closing edge implied), by serial.
+     */
+    public List<Equipment> within(List<GeoPoint> polygon, Predicate<Equipment> filter) {
+        int vertices = polygon.size();
+        double[] polygonLatitudes = new double[vertices];
+        double[] polygonLongitudes = new double[vertices];
+        double minLatitude = 90;
+        double maxLatitude = -90;
+        double minLongitude = 180;
+        double maxLongitude = -180;
+        for (int i = 0; i < vertices; i++) {
+            polygonLatitudes[i] = polygon.get(i).latitude();
+            polygonLongitudes[i] = polygon.get(i).longitude();
+            minLatitude = Math.min(minLatitude, polygonLatitudes[i]);
+            maxLatitude = Math.max(maxLatitude, polygonLatitudes[i]);
+            minLongitude = Math.min(minLongitude, polygonLongitudes[i]);
+            maxLongitude = Math.max(maxLongitude, polygonLongitudes[i]);
+        }
+
+        List<Equipment> found = new ArrayList<>();
+        scan(minLatitude, maxLatitude, minLongitude, maxLongitude, i -> {
+            if (filter.test(equipments[i]) && contains(polygonLatitudes, polygonLongitudes, latitudes[i], longitudes[i])) {
+                found.add(equipments[i]);
+            }
+        });
+        found.sort(Comparator.comparing(Equipment::getSerial, Comparator.nullsFirst(Comparator.naturalOrder())));
+        return found;
+    }
+
+    private void scan(double minLatitude, double maxLatitude, double minLongitude, double maxLongitude, IntConsumer visit) {
+        if (minLongitude < -180 || maxLongitude > 180) {
+            scanAll(visit);
+            return;
+        }
+        long firstRow = row(minLatitude);
+        long lastRow = row(maxLatitude);
+        if (lastRow - firstRow + 1 > equipments.length) {
+            scanAll(visit);
+            return;
+        }
+        long firstColumn = column(minLongitude);
+        long lastColumn = column(maxLongitude);
+        for (long row = firstRow; row <= lastRow; row++) {
+            long last = row * columns + lastColumn;
+            for (int i = firstAtOrAfter(row * columns + firstColumn); i < cells.length && cells[i] <= last; i++) {
+                visit.accept(i);
+            }
+        }
+    }
+
+    private void scanAll(IntConsumer visit) {
+        for (int i = 0; i < equipments.length; i++) {
+            visit.accept(i);
+        }
+    }
+
+    private int firstAtOrAfter(long cell) {
+        int low = 0;
+        int high = cells.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (cells[middle] < cell) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private long cell(double latitude, double longitude) {
+        return row(latitude) * columns + column(longitude);
+    }
+
+    private long row(double latitude) {
+        return (long) Math.floor((latitude + 90) / cellDegrees);
+    }
+
+    private long column(double longitude) {
+        return (long) Math.floor((longitude + 180) / cellDegrees);
+    }
+
+    private static boolean contains(double[] polygonLatitudes, double[] polygonLongitudes, double latitude, double longitude) {
+        boolean inside = false;
+        for (int i = 0, j = polygonLatitudes.length - 1; i < polygonLatitudes.length; j = i++) {
+            if ((polygonLatitudes[i] > latitude) != (polygonLatitudes[j] > latitude)
+                    && longitude < (polygonLongitudes[j] - polygonLongitudes[i]) * (latitude - polygonLatitudes[i])
+                    / (polygonLatitudes[j] - polygonLatitudes[i]) + polygonLongitudes[i]) {
+                inside = !inside;
+            }
+        }
+        return inside;
+    }
+}
@@ -0,0 +1,9 @@
+package br.com.dagostini.infrasystem.equipment.application.usecase;
+
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentBatchItem;
+
+import java.util.List;
+
+public interface CreateEquipmentBatchUseCase {
+    List<EquipmentBatchItem> execute(List<EquipmentBatchItem> items);
+}
@@ -0,0 +1,55 @@
+package br.com.dagostini.infrasystem.equipment.application.usecase;
+
+import br.com.dagostini.infrasystem.equipment.application.service.EquipmentCache;
+import br.com.dagostini.infrasystem.equipment.application.service.EquipmentCatalog;
+import br.com.dagostini.infrasystem.equipment.domain.model.Equipment;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentBatchItem;
+import br.com.dagostini.infrasystem.equipment.domain.repository.EquipmentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Component
+@RequiredArgsConstructor
+public class CreateEquipmentBatchUseCaseImpl implements CreateEquipmentBatchUseCase {
+    private final EquipmentRepository repository;
+    private final EquipmentCache equipmentCache;
+    private final EquipmentCatalog equipmentCatalog;
+
+    @Override
+    public List<EquipmentBatchItem> execute(List<EquipmentBatchItem> items) {
+        List<EquipmentBatchItem> results = new ArrayList<>(items.size());
+        List<EquipmentBatchItem> pending = new ArrayList<>(items.size());
+        Set<String> serials = new HashSet<>();
+        for (EquipmentBatchItem item : items) {
+            if (item.isRejected()) {
+                results.add(item);
+            } else if (item.serial() == null || item.serial().isBlank()) {
+                results.add(EquipmentBatchItem.rejected(item.index(), item.equipment(), "Serial is required"));
+            } else if (!serials.add(item.serial())) {
+                results.add(EquipmentBatchItem.rejected(item.index(), item.equipment(), "Serial repeated in the batch"));
+            } else {
+                pending.add(item);
+            }
+        }
+
+        List<EquipmentBatchItem> stored = pending.isEmpty() ? List.of() : repository.upsertAll(pending);
+        results.addAll(stored);
+
+        List<Equipment> written = stored.stream()
+                .filter(EquipmentBatchItem::isWritten)
+                .map(EquipmentBatchItem::equipment)
+                .toList();
+        if (!written.isEmpty()) {
+            equipmentCache.invalidateAll(written.stream().map(Equipment::getSerial).toList());
+            equipmentCatalog.changed(written);
+        }
+        results.sort(Comparator.comparingInt(EquipmentBatchItem::index));
+        return results;
+    }
+}
@@ -1,5 +1,7 @@
 package br.com.dagostini.infrasystem.equipment.application.usecase;
 
+import br.com.dagostini.infrasystem.equipment.application.service.EquipmentCache;
+import br.com.dagostini.infrasystem.equipment.application.service.EquipmentCatalog;
 import br.com.dagostini.infrasystem.equipment.domain.model.Equipment;
 import br.com.dagostini.infrasystem.equipment.domain.repository.EquipmentRepository;
 import lombok.RequiredArgsConstructor;
@@ -9,9 +11,16 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class CreateEquipmentUseCaseImpl implements  CreateEquipmentUseCase {
     private final EquipmentRepository repository;
+    private final EquipmentCache equipmentCache;
+    private final EquipmentCatalog equipmentCatalog;
 
     @Override
     public Equipment execute(Equipment equipment) {
-        return repository.save(equipment);
+        Equipment saved = repository.save(equipment);
+        if (saved != null && saved.getSerial() != null) {
+            equipmentCache.invalidate(saved.getSerial());
+            equipmentCatalog.changed(saved);
+        }
+        return saved;
     }
 }
@@ -0,0 +1,10 @@
+package br.com.dagostini.infrasystem.equipment.application.usecase;
+
+import br.com.dagostini.infrasystem.equipment.domain.model.GeoPoint;
+import br.com.dagostini.infrasystem.equipment.domain.model.NearbyEquipment;
+
+import java.util.List;
+
+public interface FindEquipmentsNearUseCase {
+    List<NearbyEquipment> execute(GeoPoint center, double radiusMeters, Boolean active, int limit);
+}
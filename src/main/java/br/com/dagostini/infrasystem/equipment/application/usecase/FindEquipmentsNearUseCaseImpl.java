@@ -0,0 +1,21 @@
+package br.com.dagostini.infrasystem.equipment.application.usecase;
+
+import br.com.dagostini.infrasystem.equipment.application.service.EquipmentCatalog;
+import br.com.dagostini.infrasystem.equipment.domain.model.GeoPoint;
+import br.com.dagostini.infrasystem.equipment.domain.model.NearbyEquipment;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class FindEquipmentsNearUseCaseImpl implements FindEquipmentsNearUseCase {
+    private final EquipmentCatalog equipmentCatalog;
+
+    @Override
+    public List<NearbyEquipment> execute(GeoPoint center, double radiusMeters, Boolean active, int limit) {
+        return equipmentCatalog.snapshot().spatialIndex()
+                .near(center, radiusMeters, equipment -> active == null || active.equals(equipment.getActive()), limit);
+    }
+}
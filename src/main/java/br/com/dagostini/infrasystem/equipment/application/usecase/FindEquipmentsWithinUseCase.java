@@ -0,0 +1,10 @@
+package br.com.dagostini.infrasystem.equipment.application.usecase;
+
+import br.com.dagostini.infrasystem.equipment.domain.model.Equipment;
+import br.com.dagostini.infrasystem.equipment.domain.model.GeoPoint;
+
+import java.util.List;
+
+public interface FindEquipmentsWithinUseCase {
+    List<Equipment> execute(List<GeoPoint> polygon, Boolean active);
+}
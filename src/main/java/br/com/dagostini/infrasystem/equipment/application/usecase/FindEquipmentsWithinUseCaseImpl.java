@@ -0,0 +1,21 @@
+package br.com.dagostini.infrasystem.equipment.application.usecase;
+
+import br.com.dagostini.infrasystem.equipment.application.service.EquipmentCatalog;
+import br.com.dagostini.infrasystem.equipment.domain.model.Equipment;
+import br.com.dagostini.infrasystem.equipment.domain.model.GeoPoint;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class FindEquipmentsWithinUseCaseImpl implements FindEquipmentsWithinUseCase {
+    private final EquipmentCatalog equipmentCatalog;
+
+    @Override
+    public List<Equipment> execute(List<GeoPoint> polygon, Boolean active) {
+        return equipmentCatalog.snapshot().spatialIndex()
+                .within(polygon, equipment -> active == null || active.equals(equipment.getActive()));
+    }
+}
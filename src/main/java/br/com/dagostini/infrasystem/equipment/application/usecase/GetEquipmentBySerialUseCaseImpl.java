@@ -1,5 +1,6 @@
 package br.com.dagostini.infrasystem.equipment.application.usecase;
 
+import br.com.dagostini.infrasystem.equipment.application.service.EquipmentCache;
 import br.com.dagostini.infrasystem.equipment.domain.exception.EquipmentNotFoundException;
 import br.com.dagostini.infrasystem.equipment.domain.model.Equipment;
 import br.com.dagostini.infrasystem.equipment.domain.repository.EquipmentRepository;
@@ -10,10 +11,11 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class GetEquipmentBySerialUseCaseImpl implements GetEquipmentBySerialUseCase{
     private final EquipmentRepository repository;
+    private final EquipmentCache equipmentCache;
 
     @Override
     public Equipment execute(String serial) {
-        return repository.findBySerial(serial)
+        return equipmentCache.get(serial, repository::findBySerial)
                 .orElseThrow(() -> new EquipmentNotFoundException("Equipment not found for serial: " + serial));
     }
-}
\ No newline at end of file
+}
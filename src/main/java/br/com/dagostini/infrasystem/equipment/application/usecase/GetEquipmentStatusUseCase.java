@@ -0,0 +1,10 @@
+package br.com.dagostini.infrasystem.equipment.application.usecase;
+
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentStatus;
+
+import java.util.List;
+
+public interface GetEquipmentStatusUseCase {
+    EquipmentStatus execute(String serial);
+    List<EquipmentStatus> execute(Boolean online);
+}
@@ -0,0 +1,34 @@
+package br.com.dagostini.infrasystem.equipment.application.usecase;
+
+import br.com.dagostini.infrasystem.equipment.application.service.EquipmentCatalog;
+import br.com.dagostini.infrasystem.equipment.application.service.EquipmentHeartbeats;
+import br.com.dagostini.infrasystem.equipment.domain.exception.EquipmentNotFoundException;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentCatalogQuery;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class GetEquipmentStatusUseCaseImpl implements GetEquipmentStatusUseCase {
+    private final EquipmentCatalog equipmentCatalog;
+    private final EquipmentHeartbeats equipmentHeartbeats;
+
+    @Override
+    public EquipmentStatus execute(String serial) {
+        if (equipmentCatalog.snapshot().find(serial).isEmpty()) {
+            throw new EquipmentNotFoundException(serial);
+        }
+        return equipmentHeartbeats.status(serial);
+    }
+
+    @Override
+    public List<EquipmentStatus> execute(Boolean online) {
+        return equipmentCatalog.snapshot().query(EquipmentCatalogQuery.all()).equipments().stream()
+                .map(equipment -> equipmentHeartbeats.status(equipment.getSerial()))
+                .filter(status -> online == null || status.online() == online)
+                .toList();
+    }
+}
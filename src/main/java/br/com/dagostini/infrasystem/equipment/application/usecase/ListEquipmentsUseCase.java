@@ -1,9 +1,8 @@
 package br.com.dagostini.infrasystem.equipment.application.usecase;
 
-import br.com.dagostini.infrasystem.equipment.domain.model.Equipment;
-
-import java.util.List;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentCatalogPage;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentCatalogQuery;
 
 public interface ListEquipmentsUseCase {
-    List<Equipment> execute();
-}
\ No newline at end of file
+    EquipmentCatalogPage execute(EquipmentCatalogQuery query);
+}
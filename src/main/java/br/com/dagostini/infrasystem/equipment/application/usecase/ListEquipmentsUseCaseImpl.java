@@ -1,17 +1,17 @@
 package br.com.dagostini.infrasystem.equipment.application.usecase;
 
-import br.com.dagostini.infrasystem.equipment.domain.model.Equipment;
-import br.com.dagostini.infrasystem.equipment.domain.repository.EquipmentRepository;
+import br.com.dagostini.infrasystem.equipment.application.service.EquipmentCatalog;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentCatalogPage;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentCatalogQuery;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
 @Component
 @RequiredArgsConstructor
 public class ListEquipmentsUseCaseImpl implements ListEquipmentsUseCase {
-    private final EquipmentRepository repository;
+    private final EquipmentCatalog equipmentCatalog;
 
-    public List<Equipment> execute() {
-        return repository.findAll();
+    public EquipmentCatalogPage execute(EquipmentCatalogQuery query) {
+        return equipmentCatalog.snapshot().query(query);
     }
 }
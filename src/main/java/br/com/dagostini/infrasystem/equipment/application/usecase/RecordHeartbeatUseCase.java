@@ -0,0 +1,7 @@
+package br.com.dagostini.infrasystem.equipment.application.usecase;
+
+import java.time.Instant;
+
+public interface RecordHeartbeatUseCase {
+    Instant execute(String serial);
+}
@@ -0,0 +1,25 @@
+package br.com.dagostini.infrasystem.equipment.application.usecase;
+
+import br.com.dagostini.infrasystem.equipment.application.service.EquipmentCatalog;
+import br.com.dagostini.infrasystem.equipment.application.service.EquipmentHeartbeats;
+import br.com.dagostini.infrasystem.equipment.domain.exception.EquipmentNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+@Component
+@RequiredArgsConstructor
+public class RecordHeartbeatUseCaseImpl implements RecordHeartbeatUseCase {
+    private final EquipmentCatalog equipmentCatalog;
+    private final EquipmentHeartbeats equipmentHeartbeats;
+
+    @Override
+    public Instant execute(String serial) {
+        // Checked against the in-memory catalog: a heartbeat never reaches the database.
+        if (equipmentCatalog.snapshot().find(serial).isEmpty()) {
+            throw new EquipmentNotFoundException(serial);
+        }
+        return equipmentHeartbeats.beat(serial);
+    }
+}
@@ -0,0 +1,9 @@
+package br.com.dagostini.infrasystem.equipment.application.usecase;
+
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentActivation;
+
+import java.util.List;
+
+public interface SetEquipmentActivationUseCase {
+    EquipmentActivation execute(List<String> serials, boolean active);
+}
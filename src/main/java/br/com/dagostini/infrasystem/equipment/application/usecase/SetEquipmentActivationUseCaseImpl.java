@@ -0,0 +1,29 @@
+package br.com.dagostini.infrasystem.equipment.application.usecase;
+
+import br.com.dagostini.infrasystem.equipment.application.service.EquipmentCache;
+import br.com.dagostini.infrasystem.equipment.application.service.EquipmentCatalog;
+import br.com.dagostini.infrasystem.equipment.domain.model.Equipment;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentActivation;
+import br.com.dagostini.infrasystem.equipment.domain.repository.EquipmentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class SetEquipmentActivationUseCaseImpl implements SetEquipmentActivationUseCase {
+    private final EquipmentRepository repository;
+    private final EquipmentCache equipmentCache;
+    private final EquipmentCatalog equipmentCatalog;
+
+    @Override
+    public EquipmentActivation execute(List<String> serials, boolean active) {
+        EquipmentActivation activation = repository.setActive(serials, active);
+        if (!activation.changed().isEmpty()) {
+            equipmentCache.invalidateAll(activation.changed().stream().map(Equipment::getSerial).toList());
+            equipmentCatalog.changed(activation.changed());
+        }
+        return activation;
+    }
+}
@@ -40,4 +40,6 @@ public class Equipment {
     @NotNull
     private Boolean active = true;
 
+    private Long catalogVersion;
+
 }
\ No newline at end of file
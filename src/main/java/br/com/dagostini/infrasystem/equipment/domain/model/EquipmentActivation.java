@@ -0,0 +1,15 @@
+package br.com.dagostini.infrasystem.equipment.domain.model;
+
+import java.util.List;
+
+/**
+ * Outcome of activating or deactivating a list of serials: the equipment that changed, as stored, the
+ * serials that were already in the requested state and the serials that are not registered.
+ */
+public record EquipmentActivation(
+        boolean active,
+        List<Equipment> changed,
+        List<String> unchanged,
+        List<String> notFound
+) {
+}
@@ -0,0 +1,39 @@
+package br.com.dagostini.infrasystem.equipment.domain.model;
+
+import lombok.Builder;
+
+/**
+ * One equipment of a provisioning batch: its position in the request, the equipment (as sent, then as
+ * stored) and what the batch did with it.
+ */
+@Builder(toBuilder = true)
+public record EquipmentBatchItem(
+        int index,
+        Equipment equipment,
+        Status status,
+        String error
+) {
+    public enum Status {
+        CREATED, UPDATED, UNCHANGED, REJECTED
+    }
+
+    public static EquipmentBatchItem pending(int index, Equipment equipment) {
+        return new EquipmentBatchItem(index, equipment, null, null);
+    }
+
+    public static EquipmentBatchItem rejected(int index, Equipment equipment, String error) {
+        return new EquipmentBatchItem(index, equipment, Status.REJECTED, error);
+    }
+
+    public boolean isRejected() {
+        return status == Status.REJECTED;
+    }
+
+    public boolean isWritten() {
+        return status == Status.CREATED || status == Status.UPDATED;
+    }
+
+    public String serial() {
+        return equipment == null ? null : equipment.getSerial();
+    }
+}
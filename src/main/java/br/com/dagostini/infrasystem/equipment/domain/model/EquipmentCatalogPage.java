@@ -0,0 +1,14 @@
+package br.com.dagostini.infrasystem.equipment.domain.model;
+
+import java.util.List;
+
+public record EquipmentCatalogPage(
+        List<Equipment> equipments,
+        long version,
+        long watermark,
+        EquipmentCursor next
+) {
+    public boolean hasNext() {
+        return next != null;
+    }
+}
@@ -0,0 +1,26 @@
+package br.com.dagostini.infrasystem.equipment.domain.model;
+
+/**
+ * Filters of a catalog listing. Null fields do not filter; a null {@code limit} returns every match.
+ */
+public record EquipmentCatalogQuery(
+        Long sinceVersion,
+        Boolean active,
+        String model,
+        EquipmentCursor after,
+        Integer limit
+) {
+    public static EquipmentCatalogQuery all() {
+        return new EquipmentCatalogQuery(null, null, null, null, null);
+    }
+
+    public boolean matches(Equipment equipment) {
+        return (sinceVersion == null || catalogVersion(equipment) > sinceVersion)
+                && (active == null || active.equals(equipment.getActive()))
+                && (model == null || model.equalsIgnoreCase(equipment.getModel()));
+    }
+
+    private static long catalogVersion(Equipment equipment) {
+        return equipment.getCatalogVersion() == null ? 0 : equipment.getCatalogVersion();
+    }
+}
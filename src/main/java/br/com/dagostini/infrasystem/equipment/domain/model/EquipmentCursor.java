@@ -0,0 +1,25 @@
+package br.com.dagostini.infrasystem.equipment.domain.model;
+
+import br.com.dagostini.infrasystem.equipment.domain.exception.EquipmentValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Serial of the last equipment of a catalog page. Clients receive it as an opaque base64url token and send
+ * it back unchanged to get the next page.
+ */
+public record EquipmentCursor(String serial) {
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(serial.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static EquipmentCursor decode(String token) {
+        try {
+            return new EquipmentCursor(new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8));
+        } catch (RuntimeException ex) {
+            throw new EquipmentValidationException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package br.com.dagostini.infrasystem.equipment.domain.model;
+
+import java.time.Instant;
+
+/**
+ * Liveness of an equipment: when it last sent a heartbeat, if ever, and whether that is recent enough
+ * for it to count as online.
+ */
+public record EquipmentStatus(
+        String serial,
+        Instant lastSeenAt,
+        boolean online
+) {
+}
@@ -0,0 +1,41 @@
+package br.com.dagostini.infrasystem.equipment.domain.model;
+
+import br.com.dagostini.infrasystem.equipment.domain.exception.EquipmentValidationException;
+
+/**
+ * WGS84 coordinates in degrees.
+ */
+public record GeoPoint(double latitude, double longitude) {
+
+    /** Mean Earth radius used by the haversine distance. */
+    public static final double EARTH_RADIUS_METERS = 6_371_008.8;
+
+    public GeoPoint {
+        if (!(latitude >= -90 && latitude <= 90)) {
+            throw new EquipmentValidationException("Latitude must be between -90 and 90");
+        }
+        if (!(longitude >= -180 && longitude <= 180)) {
+            throw new EquipmentValidationException("Longitude must be between -180 and 180");
+        }
+    }
+
+    public static GeoPoint of(Equipment equipment) {
+        return new GeoPoint(equipment.getLatitude(), equipment.getLongitude());
+    }
+
+    public double distanceMeters(GeoPoint other) {
+        return distanceMeters(latitude, longitude, other.latitude, other.longitude);
+    }
+
+    /**
+     * Great-circle distance by the haversine formula, within 0.5% of the ellipsoidal distance.
+     */
+    public static double distanceMeters(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double deltaLatitude = Math.toRadians(latitude2 - latitude1);
+        double deltaLongitude = Math.toRadians(longitude2 - longitude1);
+        double a = Math.sin(deltaLatitude / 2) * Math.sin(deltaLatitude / 2)
+                + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2))
+                * Math.sin(deltaLongitude / 2) * Math.sin(deltaLongitude / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+}
@@ -0,0 +1,7 @@
+package br.com.dagostini.infrasystem.equipment.domain.model;
+
+public record NearbyEquipment(
+        Equipment equipment,
+        double distanceMeters
+) {
+}
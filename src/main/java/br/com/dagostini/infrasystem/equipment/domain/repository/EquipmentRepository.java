@@ -1,7 +1,10 @@
 package br.com.dagostini.infrasystem.equipment.domain.repository;
 
 import br.com.dagostini.infrasystem.equipment.domain.model.Equipment;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentActivation;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentBatchItem;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -9,4 +12,6 @@ public interface EquipmentRepository {
     Equipment save(Equipment equipment);
     List<Equipment> findAll();
     Optional<Equipment> findBySerial(String serial);
+    List<EquipmentBatchItem> upsertAll(List<EquipmentBatchItem> items);
+    EquipmentActivation setActive(Collection<String> serials, boolean active);
 }
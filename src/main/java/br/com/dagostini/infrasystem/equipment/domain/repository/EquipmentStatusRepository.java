@@ -0,0 +1,10 @@
+package br.com.dagostini.infrasystem.equipment.domain.repository;
+
+import java.time.Instant;
+import java.util.Map;
+
+public interface EquipmentStatusRepository {
+    void saveLastSeen(Map<String, Instant> lastSeen);
+    Map<String, Instant> findAllLastSeen();
+    Map<String, Instant> findLastSeenSince(Instant since);
+}
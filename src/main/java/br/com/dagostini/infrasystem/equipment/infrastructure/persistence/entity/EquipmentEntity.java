@@ -44,4 +44,6 @@ public class EquipmentEntity {
 
     @NotNull
     private Boolean active = true;
+
+    private Long catalogVersion;
 }
\ No newline at end of file
@@ -0,0 +1,250 @@
+package br.com.dagostini.infrasystem.equipment.infrastructure.persistence.repository;
+
+import br.com.dagostini.infrasystem.equipment.domain.model.Equipment;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentActivation;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentBatchItem;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Writes many equipment at once through plain JDBC on PostgreSQL. A batch reads the current rows of its
+ * serials, skips the ones that would not change and upserts the rest with {@code INSERT ... ON CONFLICT
+ * (serial) DO UPDATE} in JDBC batches of {@code batchSize}, all in one transaction. Every written row takes
+ * a new catalog version, under the catalog version lock. Activation changes a whole list of serials with
+ * a single {@code UPDATE}.
+ */
+@Slf4j
+@Component
+public class EquipmentBatchWriter {
+
+    private static final String COLUMNS = "id, serial, model, address, latitude, longitude, active, catalog_version";
+    static final String SELECT_BY_SERIALS = "SELECT " + COLUMNS + " FROM equipment WHERE serial = ANY(?)";
+    static final String UPSERT = "INSERT INTO equipment (serial, model, address, latitude, longitude, active, catalog_version) "
+            + "VALUES (?, ?, ?, ?, ?, ?, nextval('equipment_catalog_version_seq')) "
+            + "ON CONFLICT (serial) DO UPDATE SET model = EXCLUDED.model, address = EXCLUDED.address, "
+            + "latitude = EXCLUDED.latitude, longitude = EXCLUDED.longitude, active = EXCLUDED.active, "
+            + "catalog_version = EXCLUDED.catalog_version";
+    static final String SET_ACTIVE = "UPDATE equipment SET active = ?, catalog_version = nextval('equipment_catalog_version_seq') "
+            + "WHERE serial = ANY(?) AND active <> ? RETURNING " + COLUMNS;
+    static final String SELECT_SERIALS = "SELECT serial FROM equipment WHERE serial = ANY(?)";
+    static final String LOCK_CATALOG_VERSIONS = "SELECT " + EquipmentJpaRepository.CATALOG_VERSION_LOCK;
+
+    private final DataSource dataSource;
+    private final int batchSize;
+
+    public EquipmentBatchWriter(DataSource dataSource,
+                                @Value("${infrasystem.equipment.batch.jdbc-batch-size:500}") int batchSize) {
+        this.dataSource = dataSource;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Stores the equipment of {@code items}, whose serials must be distinct, and returns the items with
+     * their outcome and the equipment as stored. Outcomes are decided from the rows read at the start:
+     * a concurrent writer of the same serial may turn a reported creation into an update, never the
+     * stored data.
+     */
+    public List<EquipmentBatchItem> upsert(List<EquipmentBatchItem> items) {
+        if (items.isEmpty()) {
+            return List.of();
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                Map<String, Equipment> current = select(connection, serials(items));
+                List<EquipmentBatchItem> classified = new ArrayList<>(items.size());
+                List<Equipment> writes = new ArrayList<>();
+                for (EquipmentBatchItem item : items) {
+                    Equipment stored = current.get(item.serial());
+                    EquipmentBatchItem.Status status = stored == null ? EquipmentBatchItem.Status.CREATED
+                            : sameAttributes(stored, item.equipment()) ? EquipmentBatchItem.Status.UNCHANGED
+                            : EquipmentBatchItem.Status.UPDATED;
+                    if (status != EquipmentBatchItem.Status.UNCHANGED) {
+                        writes.add(item.equipment());
+                    }
+                    classified.add(item.toBuilder().status(status).build());
+                }
+
+                write(connection, writes);
+                if (!writes.isEmpty()) {
+                    current.putAll(select(connection, writes.stream().map(Equipment::getSerial).toList()));
+                }
+                connection.commit();
+                log.info("Upserted equipment batch: {} items, {} written in batches of {}", items.size(), writes.size(), batchSize);
+
+                return classified.stream()
+                        .map(item -> item.toBuilder().equipment(current.get(item.serial())).build())
+                        .toList();
+            } catch (SQLException ex) {
+                connection.rollback();
+                throw ex;
+            }
+        } catch (SQLException ex) {
+            log.error("Error upserting batch of {} equipment - {}", items.size(), ex.getMessage());
+            throw new IllegalStateException("Failed to upsert equipment batch", ex);
+        }
+    }
+
+    public EquipmentActivation setActive(Collection<String> serials, boolean active) {
+        Set<String> requested = new LinkedHashSet<>(serials);
+        if (requested.isEmpty()) {
+            return new EquipmentActivation(active, List.of(), List.of(), List.of());
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                lockCatalogVersions(connection);
+                List<Equipment> changed = new ArrayList<>();
+                try (PreparedStatement statement = connection.prepareStatement(SET_ACTIVE)) {
+                    statement.setBoolean(1, active);
+                    statement.setArray(2, serialArray(connection, requested));
+                    statement.setBoolean(3, active);
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            changed.add(read(resultSet));
+                        }
+                    }
+                }
+
+                List<String> unchanged = new ArrayList<>();
+                List<String> notFound = new ArrayList<>();
+                if (changed.size() < requested.size()) {
+                    Set<String> rest = new LinkedHashSet<>(requested);
+                    changed.forEach(equipment -> rest.remove(equipment.getSerial()));
+                    Set<String> registered = selectSerials(connection, rest);
+                    for (String serial : rest) {
+                        (registered.contains(serial) ? unchanged : notFound).add(serial);
+                    }
+                }
+                connection.commit();
+                log.info("Set active={} on {} equipment ({} unchanged, {} not found)", active, changed.size(), unchanged.size(), notFound.size());
+                return new EquipmentActivation(active, changed, unchanged, notFound);
+            } catch (SQLException ex) {
+                connection.rollback();
+                throw ex;
+            }
+        } catch (SQLException ex) {
+            log.error("Error setting active={} on {} equipment - {}", active, requested.size(), ex.getMessage());
+            throw new IllegalStateException("Failed to change equipment activation", ex);
+        }
+    }
+
+    private void write(Connection connection, List<Equipment> equipments) throws SQLException {
+        if (equipments.isEmpty()) {
+            return;
+        }
+        lockCatalogVersions(connection);
+        try (PreparedStatement statement = connection.prepareStatement(UPSERT)) {
+            int pending = 0;
+            for (Equipment equipment : equipments) {
+                statement.setString(1, equipment.getSerial());
+                statement.setString(2, equipment.getModel());
+                statement.setString(3, equipment.getAddress());
+                setDouble(statement, 4, equipment.getLatitude());
+                setDouble(statement, 5, equipment.getLongitude());
+                statement.setBoolean(6, equipment.getActive() == null || equipment.getActive());
+                statement.addBatch();
+                if (++pending == batchSize) {
+                    statement.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                statement.executeBatch();
+            }
+        }
+    }
+
+    private static void lockCatalogVersions(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(LOCK_CATALOG_VERSIONS)) {
+            statement.execute();
+        }
+    }
+
+    private Map<String, Equipment> select(Connection connection, Collection<String> serials) throws SQLException {
+        Map<String, Equipment> equipments = new HashMap<>();
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_BY_SERIALS)) {
+            statement.setArray(1, serialArray(connection, serials));
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    Equipment equipment = read(resultSet);
+                    equipments.put(equipment.getSerial(), equipment);
+                }
+            }
+        }
+        return equipments;
+    }
+
+    private Set<String> selectSerials(Connection connection, Collection<String> serials) throws SQLException {
+        Set<String> found = new HashSet<>();
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_SERIALS)) {
+            statement.setArray(1, serialArray(connection, serials));
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    found.add(resultSet.getString(1));
+                }
+            }
+        }
+        return found;
+    }
+
+    private static Equipment read(ResultSet resultSet) throws SQLException {
+        Equipment equipment = new Equipment();
+        equipment.setId(resultSet.getLong("id"));
+        equipment.setSerial(resultSet.getString("serial"));
+        equipment.setModel(resultSet.getString("model"));
+        equipment.setAddress(resultSet.getString("address"));
+        equipment.setLatitude(getDouble(resultSet, "latitude"));
+        equipment.setLongitude(getDouble(resultSet, "longitude"));
+        equipment.setActive(resultSet.getBoolean("active"));
+        equipment.setCatalogVersion(resultSet.getLong("catalog_version"));
+        return equipment;
+    }
+
+    private static boolean sameAttributes(Equipment stored, Equipment requested) {
+        return Objects.equals(stored.getModel(), requested.getModel())
+                && Objects.equals(stored.getAddress(), requested.getAddress())
+                && Objects.equals(stored.getLatitude(), requested.getLatitude())
+                && Objects.equals(stored.getLongitude(), requested.getLongitude())
+                && Objects.equals(stored.getActive(), requested.getActive() == null || requested.getActive());
+    }
+
+    private static List<String> serials(List<EquipmentBatchItem> items) {
+        return items.stream().map(EquipmentBatchItem::serial).toList();
+    }
+
+    private static Array serialArray(Connection connection, Collection<String> serials) throws SQLException {
+        return connection.createArrayOf("varchar", serials.toArray());
+    }
+
+    private static Double getDouble(ResultSet resultSet, String column) throws SQLException {
+        double value = resultSet.getDouble(column);
+        return resultSet.wasNull() ? null : value;
+    }
+
+    private static void setDouble(PreparedStatement statement, int index, Double value) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, Types.DOUBLE);
+        } else {
+            statement.setDouble(index, value);
+        }
+    }
+}
@@ -2,9 +2,22 @@ package br.com.dagostini.infrasystem.equipment.infrastructure.persistence.reposi
 
 import br.com.dagostini.infrasystem.equipment.infrastructure.persistence.entity.EquipmentEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface EquipmentJpaRepository extends JpaRepository<EquipmentEntity, Long> {
     Optional<EquipmentEntity> findBySerial(String serial);
-}
\ No newline at end of file
+
+    @Query("select e.serial from EquipmentEntity e")
+    List<String> findAllSerials();
+
+    /** Held until commit by every catalog write, so catalog versions commit in the order they are taken. */
+    String CATALOG_VERSION_LOCK = "pg_advisory_xact_lock(hashtext('equipment_catalog_version_seq'))";
+
+    /** Takes the catalog version lock, then the next version; call inside the writing transaction. */
+    @Query(value = "SELECT nextval('equipment_catalog_version_seq') FROM (SELECT " + CATALOG_VERSION_LOCK + ") catalog_lock",
+            nativeQuery = true)
+    long nextCatalogVersion();
+}
@@ -1,13 +1,18 @@
 package br.com.dagostini.infrasystem.equipment.infrastructure.persistence.repository;
 
 import br.com.dagostini.infrasystem.equipment.domain.model.Equipment;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentActivation;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentBatchItem;
 import br.com.dagostini.infrasystem.equipment.domain.repository.EquipmentRepository;
 import br.com.dagostini.infrasystem.equipment.infrastructure.persistence.entity.EquipmentEntity;
 import br.com.dagostini.infrasystem.equipment.infrastructure.persistence.mapper.EquipmentMapper;
+import br.com.dagostini.infrasystem.shared.utils.Masking;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -18,17 +23,20 @@ import java.util.stream.Collectors;
 public class EquipmentRepositoryImpl implements EquipmentRepository {
     private final EquipmentJpaRepository jpaRepository;
     private final EquipmentMapper mapper;
+    private final EquipmentBatchWriter batchWriter;
 
     @Override
+    @Transactional
     public Equipment save(Equipment equipment) {
-        log.info("Saving equipment with serial: {}", maskSerial(equipment.getSerial()));
+        log.info("Saving equipment with serial: {}", Masking.maskSerial(equipment.getSerial()));
         try {
             EquipmentEntity entity = mapper.toEntity(equipment);
+            entity.setCatalogVersion(jpaRepository.nextCatalogVersion());
             Equipment savedEquipment = mapper.toDomain(jpaRepository.save(entity));
-            log.info("Successfully saved equipment with serial: {}", maskSerial(savedEquipment.getSerial()));
+            log.info("Successfully saved equipment with serial: {}", Masking.maskSerial(savedEquipment.getSerial()));
             return savedEquipment;
         } catch (Exception ex) {
-            log.error("Error saving equipment with serial: {} - {}", maskSerial(equipment.getSerial()), ex.getMessage());
+            log.error("Error saving equipment with serial: {} - {}", Masking.maskSerial(equipment.getSerial()), ex.getMessage());
             throw ex;
         }
     }
@@ -50,26 +58,32 @@ public class EquipmentRepositoryImpl implements EquipmentRepository {
 
     @Override
     public Optional<Equipment> findBySerial(String serial) {
-        log.info("Finding equipment by serial: {}", maskSerial(serial));
+        log.info("Finding equipment by serial: {}", Masking.maskSerial(serial));
         try {
             Optional<Equipment> equipment = jpaRepository.findBySerial(serial)
                     .map(mapper::toDomain);
             if (equipment.isEmpty()) {
-                log.warn("Equipment not found for serial: {}", maskSerial(serial));
+                log.warn("Equipment not found for serial: {}", Masking.maskSerial(serial));
             } else {
-                log.info("Successfully retrieved equipment for serial: {}", maskSerial(serial));
+                log.info("Successfully retrieved equipment for serial: {}", Masking.maskSerial(serial));
             }
             return equipment;
         } catch (Exception ex) {
-            log.error("Error retrieving equipment for serial: {} - {}", maskSerial(serial), ex.getMessage());
+            log.error("Error retrieving equipment for serial: {} - {}", Masking.maskSerial(serial), ex.getMessage());
             throw ex;
         }
     }
 
-    private String maskSerial(String serial) {
-        if (serial == null || serial.length() < 4) {
-            return "****";
-        }
-        return "****" + serial.substring(serial.length() - 4);
+    @Override
+    public List<EquipmentBatchItem> upsertAll(List<EquipmentBatchItem> items) {
+        log.info("Upserting batch of {} equipment", items.size());
+        return batchWriter.upsert(items);
+    }
+
+    @Override
+    public EquipmentActivation setActive(Collection<String> serials, boolean active) {
+        log.info("Setting active={} on {} equipment", active, serials.size());
+        return batchWriter.setActive(serials, active);
     }
+
 }
\ No newline at end of file
@@ -0,0 +1,101 @@
+package br.com.dagostini.infrasystem.equipment.infrastructure.persistence.repository;
+
+import br.com.dagostini.infrasystem.equipment.domain.repository.EquipmentStatusRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Heartbeat timestamps in {@code equipment_status}, written with one JDBC batch per flush. A row only
+ * moves forward, so a late flush from another instance cannot rewind it.
+ */
+@Slf4j
+@Repository
+public class EquipmentStatusRepositoryImpl implements EquipmentStatusRepository {
+
+    static final String UPSERT_LAST_SEEN = "INSERT INTO equipment_status (equipment_serial, last_seen_at) VALUES (?, ?) "
+            + "ON CONFLICT (equipment_serial) DO UPDATE "
+            + "SET last_seen_at = GREATEST(equipment_status.last_seen_at, EXCLUDED.last_seen_at)";
+    static final String SELECT_ALL = "SELECT equipment_serial, last_seen_at FROM equipment_status";
+    static final String SELECT_SINCE = SELECT_ALL + " WHERE last_seen_at > ?";
+
+    private final DataSource dataSource;
+    private final int batchSize;
+
+    public EquipmentStatusRepositoryImpl(DataSource dataSource,
+                                         @Value("${infrasystem.equipment.batch.jdbc-batch-size:500}") int batchSize) {
+        this.dataSource = dataSource;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void saveLastSeen(Map<String, Instant> lastSeen) {
+        if (lastSeen.isEmpty()) {
+            return;
+        }
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(UPSERT_LAST_SEEN)) {
+            int pending = 0;
+            for (Map.Entry<String, Instant> entry : lastSeen.entrySet()) {
+                statement.setString(1, entry.getKey());
+                statement.setObject(2, entry.getValue().atOffset(ZoneOffset.UTC));
+                statement.addBatch();
+                if (++pending == batchSize) {
+                    statement.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                statement.executeBatch();
+            }
+            log.debug("Saved last-seen time of {} equipment", lastSeen.size());
+        } catch (SQLException ex) {
+            log.error("Error saving last-seen time of {} equipment - {}", lastSeen.size(), ex.getMessage());
+            throw new IllegalStateException("Failed to save equipment heartbeats", ex);
+        }
+    }
+
+    @Override
+    public Map<String, Instant> findAllLastSeen() {
+        Map<String, Instant> lastSeen = read(SELECT_ALL, null);
+        log.info("Retrieved last-seen time of {} equipment", lastSeen.size());
+        return lastSeen;
+    }
+
+    @Override
+    public Map<String, Instant> findLastSeenSince(Instant since) {
+        Map<String, Instant> lastSeen = read(SELECT_SINCE, since);
+        log.debug("Retrieved last-seen time of {} equipment seen since {}", lastSeen.size(), since);
+        return lastSeen;
+    }
+
+    private Map<String, Instant> read(String sql, Instant since) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            if (since != null) {
+                statement.setObject(1, since.atOffset(ZoneOffset.UTC));
+            }
+            Map<String, Instant> lastSeen = new HashMap<>();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    lastSeen.put(resultSet.getString(1), resultSet.getObject(2, OffsetDateTime.class).toInstant());
+                }
+            }
+            return lastSeen;
+        } catch (SQLException ex) {
+            log.error("Error retrieving equipment last-seen times - {}", ex.getMessage());
+            throw new IllegalStateException("Failed to read equipment heartbeats", ex);
+        }
+    }
+}
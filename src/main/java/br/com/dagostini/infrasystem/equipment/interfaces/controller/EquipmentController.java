@@ -1,40 +1,77 @@
 package br.com.dagostini.infrasystem.equipment.interfaces.controller;
 
 import br.com.agostini.openapi.provider.api.EquipmentsApi;
+import br.com.agostini.openapi.provider.representation.EquipmentActivationRequestRepresentation;
+import br.com.agostini.openapi.provider.representation.EquipmentActivationResponseRepresentation;
+import br.com.agostini.openapi.provider.representation.EquipmentAreaRequestRepresentation;
+import br.com.agostini.openapi.provider.representation.EquipmentBatchResponseRepresentation;
 import br.com.agostini.openapi.provider.representation.EquipmentRequestRepresentation;
 import br.com.agostini.openapi.provider.representation.EquipmentResponseRepresentation;
+import br.com.agostini.openapi.provider.representation.EquipmentStatusRepresentation;
+import br.com.agostini.openapi.provider.representation.NearbyEquipmentRepresentation;
 import br.com.agostini.openapi.provider.representation.ViolationResponseRepresentation;
+import br.com.agostini.openapi.provider.representation.ViolationSpeedDistributionRepresentation;
+import br.com.agostini.openapi.provider.representation.ViolationStatsRepresentation;
+import br.com.dagostini.infrasystem.equipment.application.service.EquipmentCatalog;
 import br.com.dagostini.infrasystem.equipment.application.service.EquipmentServiceAdapterImpl;
 import br.com.dagostini.infrasystem.equipment.domain.exception.EquipmentNotFoundException;
 import br.com.dagostini.infrasystem.equipment.domain.exception.EquipmentValidationException;
 import br.com.dagostini.infrasystem.equipment.domain.model.Equipment;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentActivation;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentBatchItem;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentCatalogPage;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentCatalogQuery;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentCursor;
+import br.com.dagostini.infrasystem.equipment.domain.model.GeoPoint;
 import br.com.dagostini.infrasystem.equipment.interfaces.mapper.EquipmentDtoMapper;
 import br.com.dagostini.infrasystem.shared.domain.orchestrator.DomainOrchestrator;
+import br.com.dagostini.infrasystem.shared.interfaces.web.EntityTags;
+import br.com.dagostini.infrasystem.shared.utils.Masking;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Slf4j
 @RestController
 @RequiredArgsConstructor
 public class EquipmentController implements EquipmentsApi {
+    static final String CATALOG_VERSION_HEADER = "X-Catalog-Version";
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int DEFAULT_NEAR_LIMIT = 100;
+    private static final double MAX_RADIUS_METERS = 100_000;
+    private static final int MAX_POLYGON_VERTICES = 1000;
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final int MAX_ACTIVATION_SERIALS = 10_000;
+
     private final EquipmentServiceAdapterImpl equipmentService;
     private final EquipmentDtoMapper mapper;
     private final DomainOrchestrator domainOrchestrator;
+    private final EquipmentCatalog equipmentCatalog;
+    private final NativeWebRequest request;
+
+    @Override
+    public Optional<NativeWebRequest> getRequest() {
+        return Optional.ofNullable(request);
+    }
 
     @Override
     public ResponseEntity<EquipmentResponseRepresentation> createEquipment(EquipmentRequestRepresentation equipmentRequestRepresentation) {
         log.info("Received request to create equipment");
         try {
             Equipment equipment = equipmentService.createEquipment(mapper.toDomain(equipmentRequestRepresentation));
-            log.info("Successfully created equipment with serial: {}", maskSerial(equipment.getSerial()));
+            log.info("Successfully created equipment with serial: {}", Masking.maskSerial(equipment.getSerial()));
             URI location = URI.create("/equipments/" + equipment.getSerial());
             return ResponseEntity.status(HttpStatus.CREATED).location(location).body(mapper.toResponse(equipment));
         }catch (IllegalArgumentException ex) {
@@ -44,39 +81,175 @@ public class EquipmentController implements EquipmentsApi {
     }
 
     @Override
-    public ResponseEntity<List<EquipmentResponseRepresentation>> listEquipments() {
-        log.info("Received request to list all equipments");
-        List<EquipmentResponseRepresentation> responses = equipmentService.listEquipments().stream()
+    public ResponseEntity<EquipmentBatchResponseRepresentation> createEquipmentBatch(List<EquipmentRequestRepresentation> equipments) {
+        log.info("Received request to create batch of {} equipments", equipments == null ? 0 : equipments.size());
+        if (equipments == null || equipments.isEmpty() || equipments.size() > MAX_BATCH_SIZE) {
+            throw new EquipmentValidationException("A batch must contain between 1 and " + MAX_BATCH_SIZE + " equipments.");
+        }
+        List<EquipmentBatchItem> items = new ArrayList<>(equipments.size());
+        for (int index = 0; index < equipments.size(); index++) {
+            items.add(EquipmentBatchItem.pending(index, mapper.toDomain(equipments.get(index))));
+        }
+
+        EquipmentBatchResponseRepresentation response = mapper.toBatchResponse(equipmentService.createEquipmentBatch(items));
+        log.info("Equipment batch processed: {} created, {} updated, {} unchanged, {} rejected",
+                response.getCreated(), response.getUpdated(), response.getUnchanged(), response.getRejected());
+        return ResponseEntity.status(HttpStatus.MULTI_STATUS).body(response);
+    }
+
+    @Override
+    public ResponseEntity<EquipmentActivationResponseRepresentation> setEquipmentActivation(EquipmentActivationRequestRepresentation equipmentActivationRequestRepresentation) {
+        if (equipmentActivationRequestRepresentation == null || equipmentActivationRequestRepresentation.getActive() == null) {
+            throw new EquipmentValidationException("active is required");
+        }
+        List<String> serials = equipmentActivationRequestRepresentation.getSerials();
+        if (serials == null || serials.isEmpty() || serials.size() > MAX_ACTIVATION_SERIALS) {
+            throw new EquipmentValidationException("serials must contain between 1 and " + MAX_ACTIVATION_SERIALS + " entries");
+        }
+        boolean active = equipmentActivationRequestRepresentation.getActive();
+        log.info("Received request to set active={} on {} equipments", active, serials.size());
+
+        EquipmentActivation activation = equipmentService.setEquipmentActivation(serials, active);
+        log.info("Set active={} on {} equipments ({} unchanged, {} not found)",
+                active, activation.changed().size(), activation.unchanged().size(), activation.notFound().size());
+        return ResponseEntity.ok(mapper.toActivationResponse(activation));
+    }
+
+    @Override
+    public ResponseEntity<List<EquipmentResponseRepresentation>> listEquipments(Long sinceVersion, Boolean active, String model, String cursor, Integer limit) {
+        log.info("Received request to list equipments since version {} (active {}, limit {})", sinceVersion, active, limit);
+        if (sinceVersion != null && sinceVersion < 0) {
+            throw new EquipmentValidationException("sinceVersion must not be negative");
+        }
+        if (limit != null && (limit < 1 || limit > MAX_PAGE_SIZE)) {
+            throw new EquipmentValidationException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        EquipmentCursor after = cursor == null ? null : EquipmentCursor.decode(cursor);
+
+        String etag = EntityTags.of(equipmentCatalog.snapshot().version());
+        if (EntityTags.notModified(request, etag)) {
+            log.info("Equipment catalog unchanged, returning 304");
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        EquipmentCatalogPage page = equipmentService.listEquipments(new EquipmentCatalogQuery(sinceVersion, active, model, after, limit));
+        List<EquipmentResponseRepresentation> responses = page.equipments().stream()
                 .map(mapper::toResponse)
                 .collect(Collectors.toList());
-        log.info("Returning {} equipment records", responses.size());
-        return ResponseEntity.ok(responses);
+        log.info("Returning {} equipment records at catalog version {}", responses.size(), page.watermark());
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(EntityTags.of(page.version()))
+                .header(CATALOG_VERSION_HEADER, String.valueOf(page.watermark()));
+        if (page.hasNext()) {
+            response.header(NEXT_CURSOR_HEADER, page.next().encode());
+        }
+        return response.body(responses);
     }
 
     @Override
     public ResponseEntity<EquipmentResponseRepresentation> findEquipmentBySerial(String serial) {
         log.info("Received request to find equipment by serial");
+        String etag = EntityTags.of(equipmentCatalog.snapshot().version());
+        if (EntityTags.notModified(request, etag)) {
+            log.info("Equipment catalog unchanged, returning 304 for serial: {}", Masking.maskSerial(serial));
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
         Equipment equipment = equipmentService.getEquipmentBySerial(serial);
         if (equipment == null) {
-            log.warn("Equipment not found for serial: {}", maskSerial(serial));
+            log.warn("Equipment not found for serial: {}", Masking.maskSerial(serial));
             throw new EquipmentNotFoundException(serial);
         }
-        log.info("Successfully retrieved equipment for serial: {}", maskSerial(serial));
-        return ResponseEntity.ok(mapper.toResponse(equipment));
+        log.info("Successfully retrieved equipment for serial: {}", Masking.maskSerial(serial));
+        return ResponseEntity.ok().eTag(etag).body(mapper.toResponse(equipment));
+    }
+
+    @Override
+    public ResponseEntity<List<NearbyEquipmentRepresentation>> findEquipmentsNear(Double latitude, Double longitude, Double radius, Boolean active, Integer limit) {
+        log.info("Received request to find equipments within {} m of ({}, {}) (active {}, limit {})", radius, latitude, longitude, active, limit);
+        if (latitude == null || longitude == null) {
+            throw new EquipmentValidationException("latitude and longitude are required");
+        }
+        if (radius == null || !(radius >= 1 && radius <= MAX_RADIUS_METERS)) {
+            throw new EquipmentValidationException("radius must be between 1 and " + (long) MAX_RADIUS_METERS + " metres");
+        }
+        int pageSize = limit == null ? DEFAULT_NEAR_LIMIT : limit;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new EquipmentValidationException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        List<NearbyEquipmentRepresentation> responses = equipmentService
+                .findEquipmentsNear(new GeoPoint(latitude, longitude), radius, active, pageSize).stream()
+                .map(mapper::toNearbyResponse)
+                .collect(Collectors.toList());
+        log.info("Returning {} equipment records near the point", responses.size());
+        return ResponseEntity.ok(responses);
+    }
+
+    @Override
+    public ResponseEntity<List<EquipmentResponseRepresentation>> findEquipmentsWithin(EquipmentAreaRequestRepresentation equipmentAreaRequestRepresentation, Boolean active) {
+        log.info("Received request to find equipments inside a polygon (active {})", active);
+        if (equipmentAreaRequestRepresentation == null || equipmentAreaRequestRepresentation.getPolygon() == null
+                || equipmentAreaRequestRepresentation.getPolygon().size() < 3
+                || equipmentAreaRequestRepresentation.getPolygon().size() > MAX_POLYGON_VERTICES) {
+            throw new EquipmentValidationException("polygon must have between 3 and " + MAX_POLYGON_VERTICES + " points");
+        }
+        List<GeoPoint> polygon = equipmentAreaRequestRepresentation.getPolygon().stream()
+                .map(mapper::toGeoPoint)
+                .collect(Collectors.toList());
+        List<EquipmentResponseRepresentation> responses = equipmentService.findEquipmentsWithin(polygon, active).stream()
+                .map(mapper::toResponse)
+                .collect(Collectors.toList());
+        log.info("Returning {} equipment records inside the polygon", responses.size());
+        return ResponseEntity.ok(responses);
+    }
+
+    @Override
+    public ResponseEntity<Void> recordEquipmentHeartbeat(String serial) {
+        // Devices beat every few seconds: keep this off the info log.
+        log.debug("Received heartbeat for serial: {}", Masking.maskSerial(serial));
+        equipmentService.recordHeartbeat(serial);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Override
+    public ResponseEntity<EquipmentStatusRepresentation> findEquipmentStatus(String serial) {
+        log.info("Received request to find status of equipment: {}", Masking.maskSerial(serial));
+        return ResponseEntity.ok(mapper.toStatusResponse(equipmentService.getEquipmentStatus(serial)));
+    }
+
+    @Override
+    public ResponseEntity<List<EquipmentStatusRepresentation>> listEquipmentStatus(Boolean online) {
+        log.info("Received request to list equipment status (online {})", online);
+        List<EquipmentStatusRepresentation> responses = equipmentService.listEquipmentStatus(online).stream()
+                .map(mapper::toStatusResponse)
+                .collect(Collectors.toList());
+        log.info("Returning status of {} equipment", responses.size());
+        return ResponseEntity.ok(responses);
     }
 
     @Override
-    public ResponseEntity<List<ViolationResponseRepresentation>> listViolationsByEquipment(String serial, Date from, Date to) {
-        log.info("Received request to list violations for equipment from {} to {}", from, to);
-        ResponseEntity<List<ViolationResponseRepresentation>> response = domainOrchestrator.listViolationsByEquipment(serial, from, to);
+    public ResponseEntity<List<ViolationResponseRepresentation>> listViolationsByEquipment(String serial, Date from, Date to, String cursor, Integer limit) {
+        log.info("Received request to list violations for equipment from {} to {} (limit {})", from, to, limit);
+        ResponseEntity<List<ViolationResponseRepresentation>> response = domainOrchestrator.listViolationsByEquipment(serial, from, to, cursor, limit);
         log.info("Returning {} violation records for equipment", response.getBody() != null ? response.getBody().size() : 0);
         return response;
     }
 
-    private String maskSerial(String serial) {
-        if (serial == null || serial.length() < 4) {
-            return "****";
-        }
-        return "****" + serial.substring(serial.length() - 4);
+    @Override
+    public ResponseEntity<StreamingResponseBody> exportViolationsByEquipment(String serial, Date from, Date to) {
+        log.info("Received request to export violations for equipment from {} to {}", from, to);
+        return domainOrchestrator.exportViolationsByEquipment(serial, from, to);
     }
+
+    @Override
+    public ResponseEntity<ViolationStatsRepresentation> getViolationStats(String serial, String granularity, Date from, Date to) {
+        log.info("Received request for {} violation stats of equipment {} from {} to {}", granularity, Masking.maskSerial(serial), from, to);
+        return domainOrchestrator.getViolationStats(serial, granularity, from, to);
+    }
+
+    @Override
+    public ResponseEntity<ViolationSpeedDistributionRepresentation> getViolationSpeedDistribution(String serial, Date from, Date to) {
+        log.info("Received request for the speed distribution of equipment {} from {} to {}", Masking.maskSerial(serial), from, to);
+        return domainOrchestrator.getViolationSpeedDistribution(serial, from, to);
+    }
+
 }
\ No newline at end of file
@@ -1,12 +1,72 @@
 package br.com.dagostini.infrasystem.equipment.interfaces.mapper;
 
+import br.com.agostini.openapi.provider.representation.EquipmentActivationResponseRepresentation;
+import br.com.agostini.openapi.provider.representation.EquipmentBatchResponseRepresentation;
+import br.com.agostini.openapi.provider.representation.EquipmentBatchResultRepresentation;
 import br.com.agostini.openapi.provider.representation.EquipmentRequestRepresentation;
 import br.com.agostini.openapi.provider.representation.EquipmentResponseRepresentation;
+import br.com.agostini.openapi.provider.representation.EquipmentStatusRepresentation;
+import br.com.agostini.openapi.provider.representation.GeoPointRepresentation;
+import br.com.agostini.openapi.provider.representation.NearbyEquipmentRepresentation;
+import br.com.dagostini.infrasystem.equipment.domain.exception.EquipmentValidationException;
 import br.com.dagostini.infrasystem.equipment.domain.model.Equipment;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentActivation;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentBatchItem;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentStatus;
+import br.com.dagostini.infrasystem.equipment.domain.model.GeoPoint;
+import br.com.dagostini.infrasystem.equipment.domain.model.NearbyEquipment;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.util.List;
 
 @Mapper(componentModel = "spring")
 public interface EquipmentDtoMapper {
+    @Mapping(target = "catalogVersion", ignore = true)
     Equipment toDomain(EquipmentRequestRepresentation equipmentRequestRepresentation);
     EquipmentResponseRepresentation toResponse(Equipment equipment);
-}
\ No newline at end of file
+    NearbyEquipmentRepresentation toNearbyResponse(NearbyEquipment nearbyEquipment);
+    EquipmentStatusRepresentation toStatusResponse(EquipmentStatus status);
+
+    default GeoPoint toGeoPoint(GeoPointRepresentation point) {
+        if (point == null || point.getLatitude() == null || point.getLongitude() == null) {
+            throw new EquipmentValidationException("Every point needs a latitude and a longitude");
+        }
+        return new GeoPoint(point.getLatitude(), point.getLongitude());
+    }
+
+    default EquipmentBatchResultRepresentation toBatchResult(EquipmentBatchItem item) {
+        EquipmentBatchResultRepresentation result = new EquipmentBatchResultRepresentation();
+        result.setIndex(item.index());
+        result.setStatus(EquipmentBatchResultRepresentation.StatusEnum.valueOf(item.status().name()));
+        if (item.isRejected()) {
+            result.setError(item.error());
+        } else {
+            result.setEquipment(toResponse(item.equipment()));
+        }
+        return result;
+    }
+
+    default EquipmentBatchResponseRepresentation toBatchResponse(List<EquipmentBatchItem> items) {
+        EquipmentBatchResponseRepresentation response = new EquipmentBatchResponseRepresentation();
+        int[] counts = new int[EquipmentBatchItem.Status.values().length];
+        for (EquipmentBatchItem item : items) {
+            response.addResultsItem(toBatchResult(item));
+            counts[item.status().ordinal()]++;
+        }
+        response.setCreated(counts[EquipmentBatchItem.Status.CREATED.ordinal()]);
+        response.setUpdated(counts[EquipmentBatchItem.Status.UPDATED.ordinal()]);
+        response.setUnchanged(counts[EquipmentBatchItem.Status.UNCHANGED.ordinal()]);
+        response.setRejected(counts[EquipmentBatchItem.Status.REJECTED.ordinal()]);
+        return response;
+    }
+
+    default EquipmentActivationResponseRepresentation toActivationResponse(EquipmentActivation activation) {
+        EquipmentActivationResponseRepresentation response = new EquipmentActivationResponseRepresentation();
+        response.setActive(activation.active());
+        response.setChanged(activation.changed().stream().map(Equipment::getSerial).toList());
+        response.setUnchanged(activation.unchanged());
+        response.setNotFound(activation.notFound());
+        return response;
+    }
+}
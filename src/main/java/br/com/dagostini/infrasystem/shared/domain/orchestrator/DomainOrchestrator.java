@@ -1,11 +1,17 @@
 package br.com.dagostini.infrasystem.shared.domain.orchestrator;
 
 import br.com.agostini.openapi.provider.representation.ViolationResponseRepresentation;
+import br.com.agostini.openapi.provider.representation.ViolationSpeedDistributionRepresentation;
+import br.com.agostini.openapi.provider.representation.ViolationStatsRepresentation;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.Date;
 import java.util.List;
 
 public interface DomainOrchestrator {
-    ResponseEntity<List<ViolationResponseRepresentation>> listViolationsByEquipment(String serial, Date from, Date to);
+    ResponseEntity<List<ViolationResponseRepresentation>> listViolationsByEquipment(String serial, Date from, Date to, String cursor, Integer limit);
+    ResponseEntity<StreamingResponseBody> exportViolationsByEquipment(String serial, Date from, Date to);
+    ResponseEntity<ViolationStatsRepresentation> getViolationStats(String serial, String granularity, Date from, Date to);
+    ResponseEntity<ViolationSpeedDistributionRepresentation> getViolationSpeedDistribution(String serial, Date from, Date to);
 }
@@ -1,23 +1,134 @@
 package br.com.dagostini.infrasystem.shared.domain.orchestrator;
 
 import br.com.agostini.openapi.provider.representation.ViolationResponseRepresentation;
+import br.com.agostini.openapi.provider.representation.ViolationSpeedDistributionRepresentation;
+import br.com.agostini.openapi.provider.representation.ViolationStatsRepresentation;
 import br.com.dagostini.infrasystem.violation.application.service.ViolationServiceAdapter;
-import lombok.RequiredArgsConstructor;
+import br.com.dagostini.infrasystem.violation.domain.exception.ViolationValidationException;
+import br.com.dagostini.infrasystem.violation.domain.model.Violation;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationCursor;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationPage;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationStatsGranularity;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
 import java.util.List;
 
 @Component
-@RequiredArgsConstructor
 public class DomainOrchestratorImpl implements DomainOrchestrator{
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    // A month of hours; also bounds day buckets to about two years.
+    static final int MAX_STATS_BUCKETS = 744;
+    // Merging a year of hourly histograms is still only a few thousand small rows.
+    static final Duration MAX_SPEED_RANGE = Duration.ofDays(366);
+
     private final ViolationServiceAdapter violationServiceAdapter;
     private final DomainOrchestratorMapper domainOrchestratorMapper;
+    private final ObjectMapper objectMapper;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final Clock clock;
+
+    @Autowired
+    public DomainOrchestratorImpl(ViolationServiceAdapter violationServiceAdapter,
+                                  DomainOrchestratorMapper domainOrchestratorMapper,
+                                  ObjectMapper objectMapper,
+                                  @Value("${infrasystem.violation.page.default-size:100}") int defaultPageSize,
+                                  @Value("${infrasystem.violation.page.max-size:1000}") int maxPageSize) {
+        this(violationServiceAdapter, domainOrchestratorMapper, objectMapper, defaultPageSize, maxPageSize, Clock.systemUTC());
+    }
+
+    DomainOrchestratorImpl(ViolationServiceAdapter violationServiceAdapter,
+                           DomainOrchestratorMapper domainOrchestratorMapper,
+                           ObjectMapper objectMapper,
+                           int defaultPageSize,
+                           int maxPageSize,
+                           Clock clock) {
+        this.violationServiceAdapter = violationServiceAdapter;
+        this.domainOrchestratorMapper = domainOrchestratorMapper;
+        this.objectMapper = objectMapper;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.clock = clock;
+    }
+
+    @Override
+    public ResponseEntity<List<ViolationResponseRepresentation>> listViolationsByEquipment(String serial, Date from, Date to, String cursor, Integer limit) {
+        if (limit != null && limit < 1) {
+            throw new ViolationValidationException("Limit must be at least 1");
+        }
+        ViolationCursor after = cursor == null || cursor.isBlank() ? null : ViolationCursor.decode(cursor);
+        int pageSize = Math.min(limit == null ? defaultPageSize : limit, maxPageSize);
+
+        ViolationPage page = violationServiceAdapter.listViolationsByEquipment(serial, from, to, after, pageSize);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasNext()) {
+            response.header(NEXT_CURSOR_HEADER, page.next().encode());
+        }
+        return response.body(domainOrchestratorMapper.toResponseList(page.violations()));
+    }
+
+    @Override
+    public ResponseEntity<StreamingResponseBody> exportViolationsByEquipment(String serial, Date from, Date to) {
+        // Rows are written as they come off the database cursor; nothing is collected per request.
+        StreamingResponseBody body = output -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+                generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+                generator.setRootValueSeparator(null);
+                violationServiceAdapter.exportViolationsByEquipment(serial, from, to, violation -> writeLine(generator, violation));
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
 
     @Override
-    public ResponseEntity<List<ViolationResponseRepresentation>> listViolationsByEquipment(String serial, Date from, Date to) {
-        return ResponseEntity.ok(domainOrchestratorMapper.toResponseList(violationServiceAdapter.listViolationsByEquipment(serial, from, to)));
+    public ResponseEntity<ViolationStatsRepresentation> getViolationStats(String serial, String granularity, Date from, Date to) {
+        ViolationStatsGranularity resolved = ViolationStatsGranularity.from(granularity);
+        Instant end = resolved.ceil(to == null ? clock.instant() : to.toInstant());
+        Instant start = from == null ? resolved.defaultFrom(end) : resolved.floor(from.toInstant());
+        if (!start.isBefore(end)) {
+            throw new ViolationValidationException("From must be before to");
+        }
+        if (resolved.bucket(start, end) > MAX_STATS_BUCKETS) {
+            throw new ViolationValidationException("A range can span at most " + MAX_STATS_BUCKETS + " buckets");
+        }
+        return ResponseEntity.ok(domainOrchestratorMapper.toStatsResponse(
+                violationServiceAdapter.getViolationStats(serial, resolved, start, end)));
+    }
+
+    @Override
+    public ResponseEntity<ViolationSpeedDistributionRepresentation> getViolationSpeedDistribution(String serial, Date from, Date to) {
+        // Histograms are kept per hour, so the range is widened to whole hours.
+        Instant end = ViolationStatsGranularity.HOUR.ceil(to == null ? clock.instant() : to.toInstant());
+        Instant start = from == null ? ViolationStatsGranularity.HOUR.defaultFrom(end) : ViolationStatsGranularity.HOUR.floor(from.toInstant());
+        if (!start.isBefore(end)) {
+            throw new ViolationValidationException("From must be before to");
+        }
+        if (Duration.between(start, end).compareTo(MAX_SPEED_RANGE) > 0) {
+            throw new ViolationValidationException("A range can span at most " + MAX_SPEED_RANGE.toDays() + " days");
+        }
+        return ResponseEntity.ok(domainOrchestratorMapper.toSpeedResponse(
+                violationServiceAdapter.getViolationSpeedDistribution(serial, start, end)));
+    }
 
+    private void writeLine(JsonGenerator generator, Violation violation) {
+        try {
+            generator.writeObject(domainOrchestratorMapper.toViolationResponseRepresentation(violation));
+            generator.writeRaw('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to write exported violation", ex);
+        }
     }
 }
@@ -2,7 +2,12 @@ package br.com.dagostini.infrasystem.shared.domain.orchestrator;
 
 import br.com.agostini.openapi.provider.representation.ViolationRequestRepresentation;
 import br.com.agostini.openapi.provider.representation.ViolationResponseRepresentation;
+import br.com.agostini.openapi.provider.representation.ViolationSpeedDistributionRepresentation;
+import br.com.agostini.openapi.provider.representation.ViolationStatsRepresentation;
 import br.com.dagostini.infrasystem.violation.domain.model.Violation;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationSpeedDistribution;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationStats;
+import org.mapstruct.Mapping;
 import org.mapstruct.Mapper;
 
 import java.time.OffsetDateTime;
@@ -12,11 +17,18 @@ import java.util.List;
 
 @Mapper(componentModel = "spring")
 public interface DomainOrchestratorMapper {
+    @Mapping(target = "idempotencyKey", ignore = true)
     Violation toDomain(ViolationRequestRepresentation violationRequestRepresentation);
     List<ViolationResponseRepresentation> toResponseList(List<Violation> violationList);
 
     ViolationResponseRepresentation toViolationResponseRepresentation(Violation violation);
 
+    @Mapping(target = "serial", source = "equipmentSerial")
+    ViolationStatsRepresentation toStatsResponse(ViolationStats stats);
+
+    @Mapping(target = "serial", source = "equipmentSerial")
+    ViolationSpeedDistributionRepresentation toSpeedResponse(ViolationSpeedDistribution distribution);
+
     default OffsetDateTime map(Date value) {
         return value == null ? null : value.toInstant().atOffset(ZoneOffset.UTC);
     }
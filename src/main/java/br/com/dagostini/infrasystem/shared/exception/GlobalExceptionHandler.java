@@ -3,12 +3,17 @@ package br.com.dagostini.infrasystem.shared.exception;
 import br.com.dagostini.infrasystem.equipment.domain.exception.EquipmentInactiveException;
 import br.com.dagostini.infrasystem.equipment.domain.exception.EquipmentNotFoundException;
 import br.com.dagostini.infrasystem.equipment.domain.exception.EquipmentValidationException;
+import br.com.dagostini.infrasystem.violation.domain.exception.ViolationNotFoundException;
+import br.com.dagostini.infrasystem.violation.domain.exception.ViolationQueueFullException;
+import br.com.dagostini.infrasystem.violation.domain.exception.ViolationSubmissionNotFoundException;
 import br.com.dagostini.infrasystem.violation.domain.exception.ViolationValidationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
 @ControllerAdvice
 public class GlobalExceptionHandler {
@@ -36,4 +41,24 @@ public class GlobalExceptionHandler {
   public ResponseEntity<String> handleViolationValidation(ViolationValidationException ex) {
     return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
   }
+
+  @ExceptionHandler(ViolationQueueFullException.class)
+  public ResponseEntity<String> handleViolationQueueFull(ViolationQueueFullException ex) {
+    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "1").body(ex.getMessage());
+  }
+
+  @ExceptionHandler(ViolationNotFoundException.class)
+  public ResponseEntity<String> handleViolationNotFound(ViolationNotFoundException ex) {
+    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+  }
+
+  @ExceptionHandler(ViolationSubmissionNotFoundException.class)
+  public ResponseEntity<String> handleViolationSubmissionNotFound(ViolationSubmissionNotFoundException ex) {
+    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+  }
+
+  @ExceptionHandler(MaxUploadSizeExceededException.class)
+  public ResponseEntity<String> handleMaxUploadSizeExceeded(MaxUploadSizeExceededException ex) {
+    return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body("Picture size exceeds 1MB");
+  }
 }
@@ -0,0 +1,143 @@
+package br.com.dagostini.infrasystem.shared.infrastructure.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Byte arrays keyed by a long, stored in a single direct buffer outside the Java heap. Values are appended
+ * around the buffer like a ring; when the write position comes back over old values they are evicted,
+ * oldest first. That FIFO order is only a good fit for values that never change once written. The heap
+ * holds just the index (key to offset and length). Metrics follow the {@code cache.*} names used for the
+ * Caffeine caches, tagged with the cache name, plus {@code cache.offheap.used} and
+ * {@code cache.offheap.capacity} in bytes.
+ */
+public class OffHeapByteCache {
+
+    private final ByteBuffer slab;
+    private final Map<Long, Long> index = new HashMap<>();
+    private final ArrayDeque<Long> writeOrder = new ArrayDeque<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter puts;
+    private final Counter evictions;
+    private int writePosition;
+    private long usedBytes;
+
+    public OffHeapByteCache(MeterRegistry meterRegistry, String name, int capacityBytes) {
+        this.slab = ByteBuffer.allocateDirect(capacityBytes);
+        this.hits = Counter.builder("cache.gets").tag("cache", name).tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("cache.gets").tag("cache", name).tag("result", "miss").register(meterRegistry);
+        this.puts = Counter.builder("cache.puts").tag("cache", name).register(meterRegistry);
+        this.evictions = Counter.builder("cache.evictions").tag("cache", name).register(meterRegistry);
+        Gauge.builder("cache.size", this, OffHeapByteCache::size).tag("cache", name).register(meterRegistry);
+        Gauge.builder("cache.offheap.used", this, OffHeapByteCache::usedBytes)
+                .tag("cache", name).baseUnit("bytes").register(meterRegistry);
+        Gauge.builder("cache.offheap.capacity", slab, ByteBuffer::capacity)
+                .tag("cache", name).baseUnit("bytes").register(meterRegistry);
+    }
+
+    /**
+     * Returns a copy of the value, or null when the key is not (or no longer) cached.
+     */
+    public byte[] get(long key) {
+        lock.readLock().lock();
+        try {
+            Long location = index.get(key);
+            if (location == null) {
+                misses.increment();
+                return null;
+            }
+            byte[] value = new byte[length(location)];
+            slab.get(offset(location), value);
+            hits.increment();
+            return value;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Stores the value unless the key is already cached; values larger than the whole buffer are ignored.
+     */
+    public void put(long key, byte[] value) {
+        if (value.length > slab.capacity()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (index.containsKey(key)) {
+                return;
+            }
+            boolean wrapped = writePosition + value.length > slab.capacity();
+            int start = wrapped ? 0 : writePosition;
+            int end = start + value.length;
+            evictOverlapping(start, end, wrapped);
+
+            slab.put(start, value);
+            index.put(key, location(start, value.length));
+            writeOrder.addLast(key);
+            usedBytes += value.length;
+            writePosition = end;
+            puts.increment();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Entries sit in the buffer in write order, so the ones about to be overwritten are always the oldest.
+    // After a wrap the abandoned tail [writePosition, capacity) holds the oldest of all and goes first.
+    private void evictOverlapping(int start, int end, boolean wrapped) {
+        while (!writeOrder.isEmpty()) {
+            long oldest = writeOrder.peekFirst();
+            int offset = offset(index.get(oldest));
+            boolean overwritten = wrapped
+                    ? offset >= writePosition || offset < end
+                    : offset >= start && offset < end;
+            if (!overwritten) {
+                return;
+            }
+            writeOrder.removeFirst();
+            usedBytes -= length(index.remove(oldest));
+            evictions.increment();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long usedBytes() {
+        lock.readLock().lock();
+        try {
+            return usedBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static long location(int offset, int length) {
+        return ((long) offset << 32) | length;
+    }
+
+    private static int offset(long location) {
+        return (int) (location >>> 32);
+    }
+
+    private static int length(long location) {
+        return (int) location;
+    }
+}
@@ -0,0 +1,42 @@
+package br.com.dagostini.infrasystem.shared.infrastructure.concurrent;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Chooses the executor for components that run blocking I/O off the request thread. When
+ * {@code spring.threads.virtual.enabled} is set and the JDK supports it (21+), every task gets its own
+ * virtual thread; otherwise the component's bounded platform pool is used. The code base targets Java 17,
+ * so virtual threads are only reached through Spring's {@link VirtualThreadTaskExecutor}.
+ */
+@Slf4j
+public final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    public static boolean isAvailable() {
+        return Runtime.version().feature() >= 21;
+    }
+
+    public static ExecutorService blockingExecutor(boolean virtualThreadsEnabled, String threadNamePrefix,
+                                                   Supplier<ExecutorService> platformExecutor) {
+        if (virtualThreadsEnabled && isAvailable()) {
+            log.info("Running {} tasks on virtual threads", threadNamePrefix);
+            // No core threads and no keep-alive: each task starts a fresh virtual thread that ends with it.
+            return new ThreadPoolExecutor(0, Integer.MAX_VALUE, 0L, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                    new VirtualThreadTaskExecutor(threadNamePrefix).getVirtualThreadFactory());
+        }
+        if (virtualThreadsEnabled) {
+            log.warn("Virtual threads requested but JDK {} does not support them, using platform threads for {}",
+                    Runtime.version().feature(), threadNamePrefix);
+        }
+        return platformExecutor.get();
+    }
+}
@@ -0,0 +1,31 @@
+package br.com.dagostini.infrasystem.shared.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.net.URI;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "cloud.aws")
+public record AwsProperties(
+        @DefaultValue Credentials credentials,
+        @DefaultValue S3 s3
+) {
+
+    public record Credentials(
+            @DefaultValue("minioadmin") String accessKey,
+            @DefaultValue("minioadmin") String secretKey
+    ) {
+    }
+
+    public record S3(
+            @DefaultValue("http://minio:9000") URI endpoint,
+            @DefaultValue("true") boolean pathStyleAccess,
+            @DefaultValue("64") int maxConcurrency,
+            @DefaultValue("10000") int maxPendingConnectionAcquires,
+            @DefaultValue("2s") Duration connectionTimeout,
+            @DefaultValue("5s") Duration connectionAcquisitionTimeout,
+            @DefaultValue("10s") Duration apiCallTimeout
+    ) {
+    }
+}
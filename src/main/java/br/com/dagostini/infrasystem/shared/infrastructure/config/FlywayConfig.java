@@ -2,6 +2,7 @@ package br.com.dagostini.infrasystem.shared.infrastructure.config;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DatabaseDriver;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.flywaydb.core.Flyway;
@@ -9,6 +10,9 @@ import org.flywaydb.core.Flyway;
 @Configuration
 public class FlywayConfig {
 
+    private static final String COMMON_LOCATION = "classpath:db/migration";
+    private static final String VENDOR_LOCATION = "classpath:db/vendor/";
+
     @Autowired
     private DataSourceProperties dataSourceProperties;
 
@@ -16,8 +20,9 @@ public class FlywayConfig {
     public Flyway flyway(DataSourceProperties properties) {
         Flyway flyway = Flyway.configure()
                 .dataSource(properties.getUrl(), properties.getUsername(), properties.getPassword())
+                .locations(COMMON_LOCATION, VENDOR_LOCATION + DatabaseDriver.fromJdbcUrl(properties.getUrl()).getId())
                 .load();
         flyway.migrate();
         return flyway;
     }
-}
\ No newline at end of file
+}
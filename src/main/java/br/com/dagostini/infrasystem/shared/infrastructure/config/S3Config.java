@@ -1,27 +1,40 @@
 package br.com.dagostini.infrasystem.shared.infrastructure.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
 import software.amazon.awssdk.regions.Region;
-import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Configuration;
 
-import java.net.URI;
-
 @Configuration
+@EnableConfigurationProperties(AwsProperties.class)
 public class S3Config {
 
-    @Bean
-    public S3Client s3Client() {
-        return S3Client.builder()
-                .endpointOverride(URI.create("http://minio:9000"))
-                .region(Region.US_EAST_1)
+    @Bean(destroyMethod = "close")
+    public S3AsyncClient s3AsyncClient(AwsProperties properties, @Value("${cloud.aws.region.static:us-east-1}") String region) {
+        AwsProperties.S3 s3 = properties.s3();
+        return S3AsyncClient.builder()
+                .endpointOverride(s3.endpoint())
+                .region(Region.of(region))
                 .credentialsProvider(StaticCredentialsProvider.create(
-                        AwsBasicCredentials.create("minioadmin", "minioadmin")
+                        AwsBasicCredentials.create(properties.credentials().accessKey(), properties.credentials().secretKey())
                 ))
                 .serviceConfiguration(S3Configuration.builder()
-                        .pathStyleAccessEnabled(true)
+                        .pathStyleAccessEnabled(s3.pathStyleAccess())
+                        .build())
+                .httpClientBuilder(NettyNioAsyncHttpClient.builder()
+                        .maxConcurrency(s3.maxConcurrency())
+                        .maxPendingConnectionAcquires(s3.maxPendingConnectionAcquires())
+                        .connectionTimeout(s3.connectionTimeout())
+                        .connectionAcquisitionTimeout(s3.connectionAcquisitionTimeout()))
+                .overrideConfiguration(ClientOverrideConfiguration.builder()
+                        .apiCallTimeout(s3.apiCallTimeout())
                         .build())
                 .build();
     }
@@ -0,0 +1,11 @@
+package br.com.dagostini.infrasystem.shared.infrastructure.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@ConditionalOnWebApplication
+public class SchedulingConfig {
+}
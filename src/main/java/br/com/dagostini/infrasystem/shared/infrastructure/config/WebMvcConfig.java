@@ -0,0 +1,19 @@
+package br.com.dagostini.infrasystem.shared.infrastructure.config;
+
+import br.com.dagostini.infrasystem.violation.interfaces.cache.ViolationResponseCacheInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final ViolationResponseCacheInterceptor violationResponseCacheInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(violationResponseCacheInterceptor).addPathPatterns("/violations/{id}");
+    }
+}
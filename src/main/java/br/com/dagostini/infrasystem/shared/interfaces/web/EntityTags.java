@@ -0,0 +1,40 @@
+package br.com.dagostini.infrasystem.shared.interfaces.web;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Strong entity tags for conditional GETs. Controllers check {@code If-None-Match} themselves, before loading
+ * anything they already know to exist, and answer {@code 304} through a {@code ResponseEntity} that carries
+ * the same tag.
+ */
+public final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    public static String of(Object version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Whether {@code If-None-Match} lists {@code etag} or {@code *}. Weak tags match too, as RFC 9110 asks
+     * for {@code If-None-Match}.
+     */
+    public static boolean notModified(WebRequest request, String etag) {
+        String ifNoneMatch = request == null ? null : request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,45 +1,164 @@
 package br.com.dagostini.infrasystem.shared.utils;
 
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
-import software.amazon.awssdk.services.s3.S3Client;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
 
+/**
+ * Stores pictures under the SHA-256 of their content, so a retransmitted frame maps to the object that is
+ * already in the bucket. Keys known to be stored are remembered in a bounded set; unknown keys are checked
+ * with a HEAD request before uploading. Outcomes are counted as {@code image.storage.uploads}. An object is
+ * only deleted by {@link #discard} and only when that same call uploaded it; one found in the bucket may
+ * back other violations.
+ */
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class ImageStorageService implements ImageStorageUseCase {
 
     private static final String BUCKET_NAME = "violations-bucket";
+    private static final String URL_PREFIX = "http://localhost:9000/" + BUCKET_NAME + "/";
     private static final long MAX_FILE_SIZE = 1048576; // 1MB
-    private static final List<String> ALLOWED_TYPES = List.of("image/jpeg", "image/png");
-
-    private final S3Client s3Client;
+    private static final Map<String, String> ALLOWED_TYPES = Map.of("image/jpeg", ".jpg", "image/png", ".png");
 
     private final S3Service s3Service;
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, Boolean> storedKeys;
+
+    public ImageStorageService(S3Service s3Service,
+                               MeterRegistry meterRegistry,
+                               @Value("${infrasystem.picture.known-keys.maximum-size:100000}") long knownKeys) {
+        this.s3Service = s3Service;
+        this.meterRegistry = meterRegistry;
+        this.storedKeys = Caffeine.newBuilder().maximumSize(knownKeys).build();
+    }
+
     @Override
     public String storeImage(MultipartFile file) {
-        if (!ALLOWED_TYPES.contains(file.getContentType())) {
+        return store(file).url();
+    }
+
+    @Override
+    public StoredImage store(MultipartFile file) {
+        return store(file, file.getSize(), file.getContentType());
+    }
+
+    @Override
+    public String storeImage(Path file, String contentType) {
+        try {
+            return store(new FileSystemResource(file), Files.size(file), contentType).url();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read picture", e);
+        }
+    }
+
+    private StoredImage store(InputStreamSource source, long size, String contentType) {
+        validateImage(contentType, size);
+
+        try {
+            // The picture is on disk: hash it in one pass, then stream it again only if it is new.
+            String key;
+            try (InputStream content = source.getInputStream()) {
+                key = contentKey(content, contentType);
+            }
+            if (isStored(key)) {
+                return new StoredImage(URL_PREFIX + key, key, false);
+            }
+            try (InputStream content = source.getInputStream()) {
+                s3Service.uploadStream(BUCKET_NAME, key, content, size, contentType);
+            }
+            stored(key);
+            return new StoredImage(URL_PREFIX + key, key, true);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to upload image to S3", e);
+        }
+    }
+
+    @Override
+    public void discard(StoredImage image) {
+        if (!image.uploaded()) {
+            return;
+        }
+        storedKeys.invalidate(image.key());
+        try {
+            s3Service.deleteFile(BUCKET_NAME, image.key());
+            meterRegistry.counter("image.storage.uploads", "outcome", "discarded").increment();
+        } catch (RuntimeException e) {
+            log.warn("Failed to discard picture {}: {}", image.key(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void validateImage(String contentType, long size) {
+        if (!ALLOWED_TYPES.containsKey(contentType)) {
             throw new IllegalArgumentException("Picture must be JPEG or PNG");
         }
 
-        if (file.getSize() > MAX_FILE_SIZE) {
+        if (size > MAX_FILE_SIZE) {
             throw new IllegalArgumentException("Picture size exceeds 1MB");
         }
+    }
+
+    @Override
+    public String contentKey(MultipartFile file) {
+        try (InputStream content = file.getInputStream()) {
+            return contentKey(content, file.getContentType());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read picture", e);
+        }
+    }
+
+    private boolean isStored(String key) {
+        if (storedKeys.getIfPresent(key) != null || s3Service.exists(BUCKET_NAME, key)) {
+            log.debug("Picture {} already stored, skipping upload", key);
+            storedKeys.put(key, Boolean.TRUE);
+            meterRegistry.counter("image.storage.uploads", "outcome", "deduplicated").increment();
+            return true;
+        }
+        return false;
+    }
+
+    private void stored(String key) {
+        storedKeys.put(key, Boolean.TRUE);
+        meterRegistry.counter("image.storage.uploads", "outcome", "stored").increment();
+    }
+
+    static String contentKey(byte[] content, String contentType) {
+        return HexFormat.of().formatHex(sha256().digest(content)) + ALLOWED_TYPES.get(contentType);
+    }
 
+    static String contentKey(InputStream content, String contentType) {
+        MessageDigest digest = sha256();
+        try (DigestInputStream digesting = new DigestInputStream(content, digest)) {
+            digesting.transferTo(OutputStream.nullOutputStream());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read picture", e);
+        }
+        return HexFormat.of().formatHex(digest.digest()) + ALLOWED_TYPES.get(contentType);
+    }
+
+    private static MessageDigest sha256() {
         try {
-            String fileName = System.currentTimeMillis() + "-" + file.getOriginalFilename();
-            s3Service.uploadFile(
-                    BUCKET_NAME,
-                    fileName,
-                    file.getBytes(),
-                    file.getContentType()
-            );
-
-            return "http://localhost:9000/" + BUCKET_NAME + "/" + fileName;
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to upload image to S3", e);
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
         }
     }
-}
\ No newline at end of file
+}
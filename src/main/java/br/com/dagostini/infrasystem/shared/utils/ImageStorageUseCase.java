@@ -2,6 +2,18 @@ package br.com.dagostini.infrasystem.shared.utils;
 
 import org.springframework.web.multipart.MultipartFile;
 
+import java.nio.file.Path;
+
 public interface ImageStorageUseCase {
     String storeImage(MultipartFile file);
+
+    StoredImage store(MultipartFile file);
+
+    void discard(StoredImage image);
+
+    String storeImage(Path file, String contentType);
+
+    void validateImage(String contentType, long size);
+
+    String contentKey(MultipartFile file);
 }
@@ -0,0 +1,15 @@
+package br.com.dagostini.infrasystem.shared.utils;
+
+/** Masks identifiers before they are logged. */
+public final class Masking {
+
+    private Masking() {
+    }
+
+    public static String maskSerial(String serial) {
+        if (serial == null || serial.length() < 4) {
+            return "****";
+        }
+        return "****" + serial.substring(serial.length() - 4);
+    }
+}
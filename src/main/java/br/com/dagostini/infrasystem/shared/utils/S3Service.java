@@ -1,37 +1,162 @@
 package br.com.dagostini.infrasystem.shared.utils;
 
+import br.com.dagostini.infrasystem.shared.infrastructure.concurrent.VirtualThreads;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
-import software.amazon.awssdk.core.sync.RequestBody;
-import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.model.CreateBucketRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadBucketRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.NoSuchBucketException;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutBucketPolicyRequest;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Storage adapter over the pooled {@link S3AsyncClient}. Each bucket is provisioned (created if missing and
+ * made publicly readable) once per process; uploads afterwards cost a single PUT. Every S3 call is timed
+ * as {@code s3.client.requests} tagged with the operation and its outcome.
+ * <p>
+ * {@link #uploadStream} sends a body of known length straight from an {@link InputStream}, so callers
+ * holding a multipart part never materialise the picture on the heap.
+ */
+@Slf4j
 @Service
 public class S3Service {
 
-    private final S3Client s3Client;
+    private static final String METRIC_NAME = "s3.client.requests";
+
+    private final S3AsyncClient s3Client;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService streamReader;
+    private final Map<String, CompletableFuture<Void>> provisionedBuckets = new ConcurrentHashMap<>();
+
+    @Autowired
+    public S3Service(S3AsyncClient s3Client, MeterRegistry meterRegistry,
+                     @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        // Readers block on the source stream; their number is bounded by the callers waiting on the upload.
+        this(s3Client, meterRegistry, VirtualThreads.blockingExecutor(virtualThreads, "s3-stream-",
+                () -> Executors.newCachedThreadPool(new CustomizableThreadFactory("s3-stream-"))));
+    }
 
-    public S3Service(S3Client s3Client) {
+    S3Service(S3AsyncClient s3Client, MeterRegistry meterRegistry, ExecutorService streamReader) {
         this.s3Client = s3Client;
+        this.meterRegistry = meterRegistry;
+        this.streamReader = streamReader;
     }
 
     public String uploadFile(String bucketName, String key, byte[] content, String contentType) {
-        boolean bucketExists = s3Client.listBuckets()
-                .buckets()
-                .stream()
-                .anyMatch(b -> b.name().equals(bucketName));
+        return join(uploadFileAsync(bucketName, key, content, contentType));
+    }
 
-        if (!bucketExists) {
-            s3Client.createBucket(CreateBucketRequest.builder().bucket(bucketName).build());
-        }
+    public CompletableFuture<String> uploadFileAsync(String bucketName, String key, byte[] content, String contentType) {
+        PutObjectRequest request = PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .contentType(contentType)
+                .build();
+        AsyncRequestBody body = AsyncRequestBody.fromBytes(content);
+
+        return ensureBucket(bucketName)
+                .thenCompose(ignored -> timed("putObject", () -> s3Client.putObject(request, body)))
+                .thenApply(response -> String.format("http://localhost:9001/%s/%s", bucketName, key));
+    }
 
+    /**
+     * Uploads {@code contentLength} bytes read from {@code content} and waits for S3 to acknowledge them.
+     * The stream is consumed in small chunks and is not closed.
+     */
+    public String uploadStream(String bucketName, String key, InputStream content, long contentLength, String contentType) {
         PutObjectRequest request = PutObjectRequest.builder()
                 .bucket(bucketName)
                 .key(key)
                 .contentType(contentType)
+                .contentLength(contentLength)
                 .build();
 
-        String policy = "{\n" +
+        return join(ensureBucket(bucketName)
+                .thenCompose(ignored -> timed("putObject", () -> s3Client.putObject(request,
+                        AsyncRequestBody.fromInputStream(content, contentLength, streamReader))))
+                .thenApply(response -> String.format("http://localhost:9001/%s/%s", bucketName, key)));
+    }
+
+    public boolean exists(String bucketName, String key) {
+        return join(ensureBucket(bucketName)
+                .thenCompose(ignored -> timed("headObject", () -> s3Client.headObject(HeadObjectRequest.builder()
+                        .bucket(bucketName)
+                        .key(key)
+                        .build())))
+                .thenApply(response -> true)
+                .exceptionallyCompose(ex -> unwrap(ex) instanceof NoSuchKeyException
+                        ? CompletableFuture.completedFuture(false)
+                        : CompletableFuture.failedFuture(unwrap(ex))));
+    }
+
+    public void deleteFile(String bucketName, String key) {
+        join(timed("deleteObject", () -> s3Client.deleteObject(DeleteObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .build())));
+    }
+
+    CompletableFuture<Void> ensureBucket(String bucketName) {
+        CompletableFuture<Void> provisioning = provisionedBuckets.computeIfAbsent(bucketName, this::provisionBucket);
+        // A failed attempt is forgotten so the next upload retries instead of failing forever.
+        provisioning.whenComplete((ignored, ex) -> {
+            if (ex != null) {
+                provisionedBuckets.remove(bucketName, provisioning);
+            }
+        });
+        return provisioning;
+    }
+
+    private CompletableFuture<Void> provisionBucket(String bucketName) {
+        log.info("Provisioning S3 bucket {}", bucketName);
+        return timed("headBucket", () -> s3Client.headBucket(HeadBucketRequest.builder().bucket(bucketName).build()))
+                .<Void>thenApply(response -> null)
+                .exceptionallyCompose(ex -> {
+                    if (unwrap(ex) instanceof NoSuchBucketException) {
+                        return timed("createBucket", () -> s3Client.createBucket(CreateBucketRequest.builder().bucket(bucketName).build()))
+                                .thenApply(response -> null);
+                    }
+                    return CompletableFuture.failedFuture(unwrap(ex));
+                })
+                .thenCompose(ignored -> timed("putBucketPolicy",
+                        () -> s3Client.putBucketPolicy(PutBucketPolicyRequest.builder()
+                                .bucket(bucketName)
+                                .policy(publicReadPolicy(bucketName))
+                                .build())))
+                .thenApply(response -> null);
+    }
+
+    private <T> CompletableFuture<T> timed(String operation, Supplier<CompletableFuture<T>> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        return call.get().whenComplete((response, ex) -> sample.stop(Timer.builder(METRIC_NAME)
+                .description("Latency of S3 operations")
+                .tag("operation", operation)
+                .tag("outcome", ex == null ? "success" : "error")
+                .register(meterRegistry)));
+    }
+
+    private static String publicReadPolicy(String bucketName) {
+        return "{\n" +
                 "  \"Version\": \"2012-10-17\",\n" +
                 "  \"Statement\": [\n" +
                 "    {\n" +
@@ -42,10 +167,25 @@ public class S3Service {
                 "    }\n" +
                 "  ]\n" +
                 "}";
-        s3Client.putObject(request, RequestBody.fromBytes(content));
-        s3Client.putBucketPolicy(b -> b.bucket(bucketName).policy(policy));
+    }
 
-        return String.format("http://localhost:9001/%s/%s", bucketName, key);
+    @PreDestroy
+    public void shutdown() {
+        streamReader.shutdown();
+    }
+
+    private static Throwable unwrap(Throwable ex) {
+        return ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+    }
 
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
     }
 }
@@ -0,0 +1,5 @@
+package br.com.dagostini.infrasystem.shared.utils;
+
+/** Where a picture was stored, and whether this call uploaded it or found it already in the bucket. */
+public record StoredImage(String url, String key, boolean uploaded) {
+}
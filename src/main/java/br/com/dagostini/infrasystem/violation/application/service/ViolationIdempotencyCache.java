@@ -0,0 +1,91 @@
+package br.com.dagostini.infrasystem.violation.application.service;
+
+import br.com.dagostini.infrasystem.violation.domain.model.Violation;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived memory of violations registered per idempotency key. The first request for a key does the
+ * work; concurrent retries wait for its outcome and later replays get the registered violation without
+ * touching S3 or the database. Failures are not remembered, so a retry after an error runs again.
+ * Replays are counted as {@code violation.idempotency.replays}.
+ */
+@Slf4j
+@Component
+public class ViolationIdempotencyCache {
+
+    private final Cache<String, CompletableFuture<Violation>> cache;
+    private final Counter replays;
+
+    public ViolationIdempotencyCache(MeterRegistry meterRegistry,
+                                     @Value("${infrasystem.violation.idempotency.maximum-size:100000}") long maximumSize,
+                                     @Value("${infrasystem.violation.idempotency.ttl:PT10M}") Duration ttl) {
+        this(meterRegistry, maximumSize, ttl, Ticker.systemTicker());
+    }
+
+    ViolationIdempotencyCache(MeterRegistry meterRegistry, long maximumSize, Duration ttl, Ticker ticker) {
+        this.cache = Caffeine.newBuilder()
+                .ticker(ticker)
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+        this.replays = Counter.builder("violation.idempotency.replays")
+                .description("Violation requests answered from an earlier request with the same idempotency key")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The client's key when it sent one, otherwise a key derived from the equipment serial, the occurrence
+     * date and the picture content, so a retransmission maps to the same violation.
+     */
+    public static String keyOf(Violation violation, Supplier<String> pictureKey) {
+        if (violation.idempotencyKey() != null) {
+            return violation.idempotencyKey();
+        }
+        return violation.equipmentSerial() + "|"
+                + (violation.occurrenceDateUtc() == null ? null : violation.occurrenceDateUtc().toInstant()) + "|"
+                + pictureKey.get();
+    }
+
+    public Violation execute(String idempotencyKey, Supplier<Violation> registration) {
+        CompletableFuture<Violation> attempt = new CompletableFuture<>();
+        CompletableFuture<Violation> previous = cache.asMap().putIfAbsent(idempotencyKey, attempt);
+        if (previous != null) {
+            log.info("Replaying violation request with idempotency key {}", idempotencyKey);
+            replays.increment();
+            return join(previous);
+        }
+
+        try {
+            Violation violation = registration.get();
+            attempt.complete(violation);
+            return violation;
+        } catch (RuntimeException ex) {
+            cache.asMap().remove(idempotencyKey, attempt);
+            attempt.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    private static Violation join(CompletableFuture<Violation> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+}
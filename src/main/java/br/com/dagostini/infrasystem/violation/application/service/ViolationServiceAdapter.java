@@ -1,12 +1,25 @@
 package br.com.dagostini.infrasystem.violation.application.service;
 
 import br.com.dagostini.infrasystem.violation.domain.model.Violation;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationCursor;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationPage;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationSpeedDistribution;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationStats;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationStatsGranularity;
 
+import java.time.Instant;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface ViolationServiceAdapter {
     Violation saveViolationRegistry(Violation violation);
+    List<Violation> saveViolationRegistries(List<Violation> violations);
     Violation findViolationById(Long id);
-    List<Violation> listViolationsByEquipment(String serial, Date from, Date to);
+    Optional<Violation> findViolationByIdempotencyKey(String idempotencyKey);
+    ViolationPage listViolationsByEquipment(String serial, Date from, Date to, ViolationCursor after, int limit);
+    long exportViolationsByEquipment(String serial, Date from, Date to, Consumer<Violation> sink);
+    ViolationStats getViolationStats(String serial, ViolationStatsGranularity granularity, Instant from, Instant to);
+    ViolationSpeedDistribution getViolationSpeedDistribution(String serial, Instant from, Instant to);
 }
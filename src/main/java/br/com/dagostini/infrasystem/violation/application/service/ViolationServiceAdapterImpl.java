@@ -1,17 +1,31 @@
 package br.com.dagostini.infrasystem.violation.application.service;
 
 import br.com.dagostini.infrasystem.violation.domain.model.Violation;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationCursor;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationPage;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationSpeedDistribution;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationStats;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationStatsGranularity;
+import br.com.dagostini.infrasystem.violation.domain.repository.ViolationExportRepository;
 import br.com.dagostini.infrasystem.violation.domain.repository.ViolationRepository;
+import br.com.dagostini.infrasystem.violation.domain.repository.ViolationRollupRepository;
+import br.com.dagostini.infrasystem.violation.domain.repository.ViolationSpeedRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 public class ViolationServiceAdapterImpl implements ViolationServiceAdapter {
     private final ViolationRepository violationRepository;
+    private final ViolationExportRepository violationExportRepository;
+    private final ViolationRollupRepository violationRollupRepository;
+    private final ViolationSpeedRepository violationSpeedRepository;
 
 
     @Override
@@ -19,13 +33,38 @@ public class ViolationServiceAdapterImpl implements ViolationServiceAdapter {
         return violationRepository.save(violation);
     }
 
+    @Override
+    public List<Violation> saveViolationRegistries(List<Violation> violations) {
+        return violationRepository.saveAll(violations);
+    }
+
     @Override
     public Violation findViolationById(Long id) {
         return violationRepository.findById(id);
     }
 
     @Override
-    public List<Violation> listViolationsByEquipment(String serial, Date from, Date to) {
-        return violationRepository.findBySerialAndOptionalDateRange(serial, from, to);
+    public Optional<Violation> findViolationByIdempotencyKey(String idempotencyKey) {
+        return violationRepository.findByIdempotencyKey(idempotencyKey);
+    }
+
+    @Override
+    public ViolationPage listViolationsByEquipment(String serial, Date from, Date to, ViolationCursor after, int limit) {
+        return violationRepository.findPageBySerial(serial, from, to, after, limit);
+    }
+
+    @Override
+    public long exportViolationsByEquipment(String serial, Date from, Date to, Consumer<Violation> sink) {
+        return violationExportRepository.exportBySerial(serial, from, to, sink);
+    }
+
+    @Override
+    public ViolationStats getViolationStats(String serial, ViolationStatsGranularity granularity, Instant from, Instant to) {
+        return ViolationStats.of(serial, granularity, from, to, violationRollupRepository.findBySerial(serial, from, to));
+    }
+
+    @Override
+    public ViolationSpeedDistribution getViolationSpeedDistribution(String serial, Instant from, Instant to) {
+        return violationSpeedRepository.findDistribution(serial, from, to);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,205 @@
+package br.com.dagostini.infrasystem.violation.application.service;
+
+import br.com.dagostini.infrasystem.shared.utils.ImageStorageUseCase;
+import br.com.dagostini.infrasystem.violation.application.usecase.CreateViolationUseCase;
+import br.com.dagostini.infrasystem.violation.domain.exception.ViolationQueueFullException;
+import br.com.dagostini.infrasystem.violation.domain.model.Violation;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationSubmission;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationSubmissionStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded two-stage pipeline behind the asynchronous violation endpoint: the upload stage stores the
+ * picture and hands the violation to the persist stage. Pictures wait in the queue as files under
+ * {@code spool-directory}, deleted once uploaded. A full upload queue rejects new submissions, while a full
+ * persist queue makes upload workers run the insert themselves, slowing intake down.
+ */
+@Slf4j
+@Component
+public class ViolationSubmissionPipeline {
+
+    private final ImageStorageUseCase imageStorageUseCase;
+    private final CreateViolationUseCase createViolationUseCase;
+    private final ThreadPoolExecutor uploadExecutor;
+    private final ThreadPoolExecutor persistExecutor;
+    private final Counter rejectedCounter;
+    private final Duration retention;
+    private final Path spoolDirectory;
+    private final Map<String, ViolationSubmission> submissions = new ConcurrentHashMap<>();
+
+    public ViolationSubmissionPipeline(ImageStorageUseCase imageStorageUseCase,
+                                       CreateViolationUseCase createViolationUseCase,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${infrasystem.violation.pipeline.queue-capacity:500}") int queueCapacity,
+                                       @Value("${infrasystem.violation.pipeline.upload-workers:4}") int uploadWorkers,
+                                       @Value("${infrasystem.violation.pipeline.persist-workers:2}") int persistWorkers,
+                                       @Value("${infrasystem.violation.pipeline.retention:PT15M}") Duration retention,
+                                       @Value("${infrasystem.violation.pipeline.spool-directory:${java.io.tmpdir}}") Path spoolDirectory) {
+        this.imageStorageUseCase = imageStorageUseCase;
+        this.createViolationUseCase = createViolationUseCase;
+        this.retention = retention;
+        this.spoolDirectory = spoolDirectory;
+        this.uploadExecutor = new ThreadPoolExecutor(uploadWorkers, uploadWorkers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("violation-upload-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.persistExecutor = new ThreadPoolExecutor(persistWorkers, persistWorkers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("violation-persist-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+
+        Gauge.builder("violation.pipeline.queue.depth", uploadExecutor, executor -> executor.getQueue().size())
+                .tag("stage", "upload")
+                .description("Violations waiting for the picture upload")
+                .register(meterRegistry);
+        Gauge.builder("violation.pipeline.queue.depth", persistExecutor, executor -> executor.getQueue().size())
+                .tag("stage", "persist")
+                .description("Violations waiting to be persisted")
+                .register(meterRegistry);
+        Gauge.builder("violation.pipeline.submissions", submissions, Map::size)
+                .description("Tracked asynchronous submissions")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("violation.pipeline.rejected")
+                .description("Submissions refused because the queue was full")
+                .register(meterRegistry);
+    }
+
+    public ViolationSubmission submit(Violation violation, MultipartFile picture) {
+        Path spooled = spool(picture);
+        String contentType = picture.getContentType();
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        ViolationSubmission submission = ViolationSubmission.builder()
+                .ticket(UUID.randomUUID().toString())
+                .status(ViolationSubmissionStatus.PENDING)
+                .submittedAt(now)
+                .updatedAt(now)
+                .build();
+        submissions.put(submission.ticket(), submission);
+        try {
+            uploadExecutor.execute(() -> upload(submission.ticket(), violation, spooled, contentType));
+        } catch (RejectedExecutionException ex) {
+            submissions.remove(submission.ticket());
+            delete(spooled);
+            rejectedCounter.increment();
+            log.warn("Violation submission rejected, upload queue is full");
+            throw new ViolationQueueFullException("Violation processing queue is full, retry later.");
+        }
+        return submission;
+    }
+
+    /** Tracks an already completed submission for a violation registered by an earlier request. */
+    public ViolationSubmission replay(Violation registered) {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        ViolationSubmission submission = ViolationSubmission.builder()
+                .ticket(UUID.randomUUID().toString())
+                .status(ViolationSubmissionStatus.COMPLETED)
+                .submittedAt(now)
+                .updatedAt(now)
+                .violation(registered)
+                .build();
+        submissions.put(submission.ticket(), submission);
+        return submission;
+    }
+
+    public Optional<ViolationSubmission> find(String ticket) {
+        return Optional.ofNullable(submissions.get(ticket));
+    }
+
+    private Path spool(MultipartFile picture) {
+        Path spooled = null;
+        try {
+            // The multipart temp file is gone once the request completes, so the part moves to a file we own.
+            spooled = Files.createTempFile(spoolDirectory, "violation-", ".part");
+            picture.transferTo(spooled);
+            return spooled;
+        } catch (IOException ex) {
+            if (spooled != null) {
+                delete(spooled);
+            }
+            log.error("Failed to spool picture to {}: {}", spoolDirectory, ex.getMessage());
+            throw new UncheckedIOException("Unable to read picture.", ex);
+        }
+    }
+
+    private void upload(String ticket, Violation violation, Path picture, String contentType) {
+        try {
+            update(ticket, ViolationSubmissionStatus.STORING_PICTURE, null, null);
+            String pictureUrl = imageStorageUseCase.storeImage(picture, contentType);
+            persistExecutor.execute(() -> persist(ticket, violation.toBuilder().picture(pictureUrl).build()));
+        } catch (RuntimeException ex) {
+            fail(ticket, ex);
+        } finally {
+            delete(picture);
+        }
+    }
+
+    private void delete(Path spooled) {
+        try {
+            Files.deleteIfExists(spooled);
+        } catch (IOException ex) {
+            log.warn("Failed to delete spooled picture {}: {}", spooled, ex.getMessage());
+        }
+    }
+
+    private void persist(String ticket, Violation violation) {
+        try {
+            update(ticket, ViolationSubmissionStatus.PERSISTING, null, null);
+            Violation created = createViolationUseCase.execute(violation);
+            update(ticket, ViolationSubmissionStatus.COMPLETED, created, null);
+        } catch (RuntimeException ex) {
+            fail(ticket, ex);
+        }
+    }
+
+    private void fail(String ticket, RuntimeException ex) {
+        log.warn("Asynchronous violation submission failed: {}", ex.getMessage());
+        update(ticket, ViolationSubmissionStatus.FAILED, null, ex.getMessage());
+    }
+
+    private void update(String ticket, ViolationSubmissionStatus status, Violation violation, String error) {
+        submissions.computeIfPresent(ticket, (key, current) -> current.toBuilder()
+                .status(status)
+                .updatedAt(OffsetDateTime.now(ZoneOffset.UTC))
+                .violation(violation)
+                .error(error)
+                .build());
+    }
+
+    @Scheduled(fixedDelayString = "${infrasystem.violation.pipeline.cleanup-interval:PT1M}")
+    public void evictFinished() {
+        OffsetDateTime threshold = OffsetDateTime.now(ZoneOffset.UTC).minus(retention);
+        submissions.values().removeIf(submission ->
+                submission.status().isFinished() && submission.updatedAt().isBefore(threshold));
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        uploadExecutor.shutdown();
+        uploadExecutor.awaitTermination(30, TimeUnit.SECONDS);
+        persistExecutor.shutdown();
+        persistExecutor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,11 @@
+package br.com.dagostini.infrasystem.violation.application.usecase;
+
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationBatchItem;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+import java.util.Map;
+
+public interface CreateViolationBatchUseCase {
+    List<ViolationBatchItem> execute(List<ViolationBatchItem> items, Map<Integer, MultipartFile> pictures);
+}
@@ -0,0 +1,80 @@
+package br.com.dagostini.infrasystem.violation.application.usecase;
+
+import br.com.dagostini.infrasystem.shared.utils.ImageStorageUseCase;
+import br.com.dagostini.infrasystem.violation.application.service.ViolationIdempotencyCache;
+import br.com.dagostini.infrasystem.violation.domain.model.Violation;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationBatchItem;
+import br.com.dagostini.infrasystem.violation.domain.service.ViolationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CreateViolationBatchUseCaseImpl implements CreateViolationBatchUseCase {
+    private final ViolationService violationService;
+    private final ImageStorageUseCase imageStorageUseCase;
+
+    /**
+     * Checks the equipment of every item before uploading any picture, so the pictures of items from unknown
+     * or inactive equipment are never stored. Items whose idempotency key is already registered are answered
+     * with that violation; the others are stored and persisted under their key. Pictures are keyed by item
+     * index.
+     */
+    @Override
+    public List<ViolationBatchItem> execute(List<ViolationBatchItem> items, Map<Integer, MultipartFile> pictures) {
+        List<ViolationBatchItem> results = new ArrayList<>(violationService.validateEquipments(items));
+        List<Integer> pending = new ArrayList<>();
+        List<ViolationBatchItem> stored = new ArrayList<>();
+        for (int position = 0; position < results.size(); position++) {
+            ViolationBatchItem item = results.get(position);
+            if (item.isRejected()) {
+                continue;
+            }
+            MultipartFile picture = pictures.get(item.index());
+            ViolationBatchItem keyed = withIdempotencyKey(item, picture);
+            Optional<Violation> registered = keyed.isRejected()
+                    ? Optional.empty()
+                    : violationService.findViolationByIdempotencyKey(keyed.violation().idempotencyKey());
+            if (registered.isPresent()) {
+                results.set(position, ViolationBatchItem.accepted(item.index(), registered.get()));
+            } else {
+                pending.add(position);
+                stored.add(keyed.isRejected() ? keyed : storePicture(keyed, picture));
+            }
+        }
+
+        List<ViolationBatchItem> registered = violationService.registerViolations(stored);
+        for (int i = 0; i < pending.size(); i++) {
+            results.set(pending.get(i), registered.get(i));
+        }
+        return results;
+    }
+
+    private ViolationBatchItem withIdempotencyKey(ViolationBatchItem item, MultipartFile picture) {
+        try {
+            String idempotencyKey = ViolationIdempotencyCache.keyOf(item.violation(), () -> imageStorageUseCase.contentKey(picture));
+            return ViolationBatchItem.accepted(item.index(), item.violation().toBuilder().idempotencyKey(idempotencyKey).build());
+        } catch (RuntimeException ex) {
+            log.warn("Rejecting violation {} of batch: {}", item.index(), ex.getMessage());
+            return ViolationBatchItem.rejected(item.index(), ex.getMessage());
+        }
+    }
+
+    private ViolationBatchItem storePicture(ViolationBatchItem item, MultipartFile picture) {
+        try {
+            String pictureUrl = imageStorageUseCase.storeImage(picture);
+            return ViolationBatchItem.accepted(item.index(), item.violation().toBuilder().picture(pictureUrl).build());
+        } catch (RuntimeException ex) {
+            log.warn("Rejecting violation {} of batch: {}", item.index(), ex.getMessage());
+            return ViolationBatchItem.rejected(item.index(), ex.getMessage());
+        }
+    }
+}
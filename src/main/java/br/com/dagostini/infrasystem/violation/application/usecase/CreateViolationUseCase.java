@@ -1,7 +1,10 @@
 package br.com.dagostini.infrasystem.violation.application.usecase;
 
 import br.com.dagostini.infrasystem.violation.domain.model.Violation;
+import org.springframework.web.multipart.MultipartFile;
 
 public interface CreateViolationUseCase {
     Violation execute(Violation violation);
+
+    Violation execute(Violation violation, MultipartFile picture);
 }
@@ -1,19 +1,120 @@
 package br.com.dagostini.infrasystem.violation.application.usecase;
 
+import br.com.dagostini.infrasystem.shared.infrastructure.concurrent.VirtualThreads;
+import br.com.dagostini.infrasystem.shared.utils.ImageStorageUseCase;
+import br.com.dagostini.infrasystem.shared.utils.StoredImage;
+import br.com.dagostini.infrasystem.violation.application.service.ViolationIdempotencyCache;
 import br.com.dagostini.infrasystem.violation.domain.model.Violation;
 import br.com.dagostini.infrasystem.violation.domain.service.ViolationService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
 @Service
 public class CreateViolationUseCaseImpl implements CreateViolationUseCase {
 
     private final ViolationService violationService;
-    public CreateViolationUseCaseImpl(ViolationService violationService) {
+    private final ImageStorageUseCase imageStorageUseCase;
+    private final ViolationIdempotencyCache idempotencyCache;
+    private final ExecutorService executor;
+
+    @Autowired
+    public CreateViolationUseCaseImpl(ViolationService violationService,
+                                      ImageStorageUseCase imageStorageUseCase,
+                                      ViolationIdempotencyCache idempotencyCache,
+                                      @Value("${infrasystem.violation.executor.pool-size:16}") int poolSize,
+                                      @Value("${infrasystem.violation.executor.queue-capacity:200}") int queueCapacity,
+                                      @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        // When saturated the request thread runs the task itself, degrading to the sequential flow.
+        this(violationService, imageStorageUseCase, idempotencyCache, VirtualThreads.blockingExecutor(virtualThreads, "violation-task-",
+                () -> new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+                        new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("violation-task-"),
+                        new ThreadPoolExecutor.CallerRunsPolicy())));
+    }
+
+    CreateViolationUseCaseImpl(ViolationService violationService, ImageStorageUseCase imageStorageUseCase,
+                               ViolationIdempotencyCache idempotencyCache, ExecutorService executor) {
         this.violationService = violationService;
+        this.imageStorageUseCase = imageStorageUseCase;
+        this.idempotencyCache = idempotencyCache;
+        this.executor = executor;
     }
 
+    /** Registers a violation whose picture is already stored, at most once per idempotency key when it has one. */
     @Override
     public Violation execute(Violation violation) {
-        return violationService.createViolation(violation);
+        String idempotencyKey = violation == null ? null : violation.idempotencyKey();
+        if (idempotencyKey == null) {
+            return violationService.createViolation(violation);
+        }
+        return idempotencyCache.execute(idempotencyKey, () -> violationService.findViolationByIdempotencyKey(idempotencyKey)
+                .orElseGet(() -> violationService.createViolation(violation)));
+    }
+
+    /**
+     * Registers the violation at most once per idempotency key (see {@link ViolationIdempotencyCache#keyOf}).
+     * Replays are answered from memory or, once forgotten, from the unique key column.
+     */
+    @Override
+    public Violation execute(Violation violation, MultipartFile picture) {
+        imageStorageUseCase.validateImage(picture.getContentType(), picture.getSize());
+
+        String idempotencyKey = ViolationIdempotencyCache.keyOf(violation, () -> imageStorageUseCase.contentKey(picture));
+        return idempotencyCache.execute(idempotencyKey, () -> violationService.findViolationByIdempotencyKey(idempotencyKey)
+                .orElseGet(() -> register(violation.toBuilder().idempotencyKey(idempotencyKey).build(), picture)));
+    }
+
+    /**
+     * Checks the equipment before uploading when the cache can answer; otherwise checks and uploads
+     * concurrently and discards the picture this call uploaded if the equipment is rejected.
+     */
+    private Violation register(Violation violation, MultipartFile picture) {
+        String serial = violation.equipmentSerial();
+        if (violationService.isEquipmentCached(serial)) {
+            violationService.validateEquipment(serial);
+            String pictureUrl = imageStorageUseCase.store(picture).url();
+            return violationService.registerViolation(violation.toBuilder().picture(pictureUrl).build());
+        }
+
+        CompletableFuture<Void> equipmentCheck = CompletableFuture.runAsync(
+                () -> violationService.validateEquipment(serial), executor);
+        CompletableFuture<StoredImage> upload = CompletableFuture.supplyAsync(
+                () -> imageStorageUseCase.store(picture), executor);
+        try {
+            join(equipmentCheck);
+        } catch (RuntimeException ex) {
+            upload.thenAccept(imageStorageUseCase::discard);
+            throw ex;
+        }
+        String pictureUrl = join(upload).url();
+        return violationService.registerViolation(violation.toBuilder().picture(pictureUrl).build());
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,7 @@
+package br.com.dagostini.infrasystem.violation.application.usecase;
+
+import br.com.dagostini.infrasystem.violation.domain.model.TopEquipment;
+
+public interface GetTopViolatingEquipmentsUseCase {
+    TopEquipment execute(String window, Integer limit);
+}
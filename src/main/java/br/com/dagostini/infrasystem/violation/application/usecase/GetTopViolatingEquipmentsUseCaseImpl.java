@@ -0,0 +1,27 @@
+package br.com.dagostini.infrasystem.violation.application.usecase;
+
+import br.com.dagostini.infrasystem.violation.domain.exception.ViolationValidationException;
+import br.com.dagostini.infrasystem.violation.domain.model.TopEquipment;
+import br.com.dagostini.infrasystem.violation.domain.model.TopEquipmentWindow;
+import br.com.dagostini.infrasystem.violation.domain.repository.ViolationTopEquipmentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class GetTopViolatingEquipmentsUseCaseImpl implements GetTopViolatingEquipmentsUseCase {
+
+    static final int DEFAULT_LIMIT = 20;
+    static final int MAX_LIMIT = 100;
+
+    private final ViolationTopEquipmentRepository violationTopEquipmentRepository;
+
+    @Override
+    public TopEquipment execute(String window, Integer limit) {
+        int size = limit == null ? DEFAULT_LIMIT : limit;
+        if (size < 1 || size > MAX_LIMIT) {
+            throw new ViolationValidationException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        return violationTopEquipmentRepository.findTop(TopEquipmentWindow.from(window), size);
+    }
+}
@@ -0,0 +1,9 @@
+package br.com.dagostini.infrasystem.violation.application.usecase;
+
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationHeatmap;
+
+import java.util.Date;
+
+public interface GetViolationHeatmapUseCase {
+    ViolationHeatmap execute(String bbox, Integer zoom, Date from, Date to);
+}
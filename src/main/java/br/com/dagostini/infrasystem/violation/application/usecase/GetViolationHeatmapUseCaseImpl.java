@@ -0,0 +1,60 @@
+package br.com.dagostini.infrasystem.violation.application.usecase;
+
+import br.com.dagostini.infrasystem.violation.domain.exception.ViolationValidationException;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationHeatmap;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationHeatmapArea;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationStatsGranularity;
+import br.com.dagostini.infrasystem.violation.domain.repository.ViolationHeatmapRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+/**
+ * Heatmaps are kept per UTC day, so the range is widened to whole days. The tile and day limits bound a
+ * request to one primary key range scan of at most {@link #MAX_TILES} times 366 rows.
+ */
+@Service
+public class GetViolationHeatmapUseCaseImpl implements GetViolationHeatmapUseCase {
+
+    // A 64 x 64 tile window, more than a full-screen map shows.
+    static final int MAX_TILES = 4096;
+    static final Duration MAX_RANGE = Duration.ofDays(366);
+
+    private final ViolationHeatmapRepository violationHeatmapRepository;
+    private final Clock clock;
+
+    @Autowired
+    public GetViolationHeatmapUseCaseImpl(ViolationHeatmapRepository violationHeatmapRepository) {
+        this(violationHeatmapRepository, Clock.systemUTC());
+    }
+
+    GetViolationHeatmapUseCaseImpl(ViolationHeatmapRepository violationHeatmapRepository, Clock clock) {
+        this.violationHeatmapRepository = violationHeatmapRepository;
+        this.clock = clock;
+    }
+
+    @Override
+    public ViolationHeatmap execute(String bbox, Integer zoom, Date from, Date to) {
+        if (zoom == null) {
+            throw new ViolationValidationException("Zoom is required");
+        }
+        ViolationHeatmapArea area = ViolationHeatmapArea.of(bbox, zoom);
+        if (area.tiles() > MAX_TILES) {
+            throw new ViolationValidationException("A heatmap can span at most " + MAX_TILES + " tiles; lower the zoom or shrink the box");
+        }
+        ViolationStatsGranularity days = ViolationStatsGranularity.DAY;
+        Instant end = days.ceil(to == null ? clock.instant() : to.toInstant());
+        Instant start = from == null ? days.defaultFrom(end) : days.floor(from.toInstant());
+        if (!start.isBefore(end)) {
+            throw new ViolationValidationException("From must be before to");
+        }
+        if (Duration.between(start, end).compareTo(MAX_RANGE) > 0) {
+            throw new ViolationValidationException("A range can span at most " + MAX_RANGE.toDays() + " days");
+        }
+        return ViolationHeatmap.of(zoom, start, end, violationHeatmapRepository.findTiles(area, start, end));
+    }
+}
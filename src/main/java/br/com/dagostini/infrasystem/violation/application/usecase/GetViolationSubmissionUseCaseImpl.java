@@ -0,0 +1,19 @@
+package br.com.dagostini.infrasystem.violation.application.usecase;
+
+import br.com.dagostini.infrasystem.violation.application.service.ViolationSubmissionPipeline;
+import br.com.dagostini.infrasystem.violation.domain.exception.ViolationSubmissionNotFoundException;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationSubmission;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class GetViolationSubmissionUseCaseImpl implements GetViolationSubmissionUseCase {
+    private final ViolationSubmissionPipeline violationSubmissionPipeline;
+
+    @Override
+    public ViolationSubmission execute(String ticket) {
+        return violationSubmissionPipeline.find(ticket)
+                .orElseThrow(() -> new ViolationSubmissionNotFoundException(ticket));
+    }
+}
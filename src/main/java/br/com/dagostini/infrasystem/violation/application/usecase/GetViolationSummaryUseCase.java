@@ -0,0 +1,9 @@
+package br.com.dagostini.infrasystem.violation.application.usecase;
+
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationSummary;
+
+import java.util.Date;
+
+public interface GetViolationSummaryUseCase {
+    ViolationSummary execute(Date from, Date to, String serial, String type, Integer limit);
+}
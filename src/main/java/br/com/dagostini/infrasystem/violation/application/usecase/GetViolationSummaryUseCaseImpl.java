@@ -0,0 +1,64 @@
+package br.com.dagostini.infrasystem.violation.application.usecase;
+
+import br.com.dagostini.infrasystem.violation.domain.exception.ViolationValidationException;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationSummary;
+import br.com.dagostini.infrasystem.violation.domain.repository.ViolationSummaryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+/**
+ * Summaries only cover the recent violations kept in memory. A range starting slightly before them, as a
+ * "last 7 days" computed by the client a moment earlier does, is moved to their start; an older one is
+ * rejected.
+ */
+@Service
+public class GetViolationSummaryUseCaseImpl implements GetViolationSummaryUseCase {
+
+    static final int DEFAULT_LIMIT = 20;
+    static final int MAX_LIMIT = 100;
+    static final Duration SLACK = Duration.ofHours(1);
+
+    private final ViolationSummaryRepository violationSummaryRepository;
+    private final Clock clock;
+
+    @Autowired
+    public GetViolationSummaryUseCaseImpl(ViolationSummaryRepository violationSummaryRepository) {
+        this(violationSummaryRepository, Clock.systemUTC());
+    }
+
+    GetViolationSummaryUseCaseImpl(ViolationSummaryRepository violationSummaryRepository, Clock clock) {
+        this.violationSummaryRepository = violationSummaryRepository;
+        this.clock = clock;
+    }
+
+    @Override
+    public ViolationSummary execute(Date from, Date to, String serial, String type, Integer limit) {
+        int size = limit == null ? DEFAULT_LIMIT : limit;
+        if (size < 1 || size > MAX_LIMIT) {
+            throw new ViolationValidationException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        Instant coveredSince = violationSummaryRepository.coveredSince();
+        Instant start = from == null ? coveredSince : from.toInstant();
+        if (start.isBefore(coveredSince.minus(SLACK))) {
+            throw new ViolationValidationException("Summaries cover violations since " + coveredSince
+                    + "; use the statistics of each equipment for older ones");
+        }
+        if (start.isBefore(coveredSince)) {
+            start = coveredSince;
+        }
+        Instant end = to == null ? clock.instant() : to.toInstant();
+        if (!start.isBefore(end)) {
+            throw new ViolationValidationException("From must be before to");
+        }
+        return violationSummaryRepository.summarize(start, end, blankToNull(serial), blankToNull(type), size);
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
@@ -0,0 +1,10 @@
+package br.com.dagostini.infrasystem.violation.application.usecase;
+
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationImportFormat;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationImportReport;
+
+import java.nio.file.Path;
+
+public interface ImportViolationsUseCase {
+    ViolationImportReport execute(Path source, ViolationImportFormat format);
+}
@@ -0,0 +1,31 @@
+package br.com.dagostini.infrasystem.violation.application.usecase;
+
+import br.com.dagostini.infrasystem.violation.domain.exception.ViolationValidationException;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationImportFormat;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationImportReport;
+import br.com.dagostini.infrasystem.violation.domain.repository.ViolationImportRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImportViolationsUseCaseImpl implements ImportViolationsUseCase {
+    private final ViolationImportRepository violationImportRepository;
+
+    @Override
+    public ViolationImportReport execute(Path source, ViolationImportFormat format) {
+        if (!Files.isRegularFile(source) || !Files.isReadable(source)) {
+            throw new ViolationValidationException("Import file not found or not readable: " + source);
+        }
+        ViolationImportFormat resolvedFormat = format != null ? format : ViolationImportFormat.fromPath(source);
+        log.info("Starting {} import of violations from {}", resolvedFormat, source);
+        ViolationImportReport report = violationImportRepository.importFrom(source, resolvedFormat);
+        log.info("Import of {} finished: {} imported, {} rejected", source, report.imported(), report.rejected());
+        return report;
+    }
+}
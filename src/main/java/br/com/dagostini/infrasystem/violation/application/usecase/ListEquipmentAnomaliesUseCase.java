@@ -0,0 +1,9 @@
+package br.com.dagostini.infrasystem.violation.application.usecase;
+
+import br.com.dagostini.infrasystem.violation.domain.model.EquipmentAnomaly;
+
+import java.util.List;
+
+public interface ListEquipmentAnomaliesUseCase {
+    List<EquipmentAnomaly> execute(String type);
+}
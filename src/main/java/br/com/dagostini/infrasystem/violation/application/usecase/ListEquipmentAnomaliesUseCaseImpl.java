@@ -0,0 +1,34 @@
+package br.com.dagostini.infrasystem.violation.application.usecase;
+
+import br.com.dagostini.infrasystem.violation.domain.exception.ViolationValidationException;
+import br.com.dagostini.infrasystem.violation.domain.model.EquipmentAnomaly;
+import br.com.dagostini.infrasystem.violation.domain.repository.EquipmentAnomalyRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class ListEquipmentAnomaliesUseCaseImpl implements ListEquipmentAnomaliesUseCase {
+
+    private final EquipmentAnomalyRepository equipmentAnomalyRepository;
+
+    @Override
+    public List<EquipmentAnomaly> execute(String type) {
+        List<EquipmentAnomaly> anomalies = equipmentAnomalyRepository.findAll();
+        if (type == null || type.isBlank()) {
+            return anomalies;
+        }
+        EquipmentAnomaly.Type wanted = parse(type);
+        return anomalies.stream().filter(anomaly -> anomaly.type() == wanted).toList();
+    }
+
+    private static EquipmentAnomaly.Type parse(String type) {
+        try {
+            return EquipmentAnomaly.Type.valueOf(type);
+        } catch (IllegalArgumentException ex) {
+            throw new ViolationValidationException("Type must be SPIKE, DROP or SPEED_SHIFT");
+        }
+    }
+}
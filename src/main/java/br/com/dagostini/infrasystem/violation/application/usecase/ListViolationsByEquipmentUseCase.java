@@ -1,10 +1,10 @@
 package br.com.dagostini.infrasystem.violation.application.usecase;
 
-import br.com.dagostini.infrasystem.violation.domain.model.Violation;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationCursor;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationPage;
 
 import java.util.Date;
-import java.util.List;
 
 public interface ListViolationsByEquipmentUseCase {
-    List<Violation> listViolationsByEquipment(String serial, Date from, Date to);
+    ViolationPage listViolationsByEquipment(String serial, Date from, Date to, ViolationCursor after, int limit);
 }
@@ -0,0 +1,7 @@
+package br.com.dagostini.infrasystem.violation.application.usecase;
+
+import java.time.Instant;
+
+public interface RebuildViolationRollupsUseCase {
+    long execute(Instant from, Instant to);
+}
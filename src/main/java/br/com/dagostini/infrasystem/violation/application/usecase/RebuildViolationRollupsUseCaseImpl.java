@@ -0,0 +1,44 @@
+package br.com.dagostini.infrasystem.violation.application.usecase;
+
+import br.com.dagostini.infrasystem.violation.domain.exception.ViolationValidationException;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationStatsGranularity;
+import br.com.dagostini.infrasystem.violation.domain.repository.ViolationRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Recomputes the rollups of a range of hours, one day per transaction, so a backfill of years neither
+ * holds one long transaction nor loses the days already done when it fails.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RebuildViolationRollupsUseCaseImpl implements RebuildViolationRollupsUseCase {
+
+    static final Duration WINDOW = Duration.ofDays(1);
+
+    private final ViolationRollupRepository violationRollupRepository;
+
+    @Override
+    public long execute(Instant from, Instant to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new ViolationValidationException("Rebuild range must have a start before its end");
+        }
+        Instant start = ViolationStatsGranularity.HOUR.floor(from);
+        Instant end = ViolationStatsGranularity.HOUR.ceil(to);
+        log.info("Rebuilding violation rollups from {} to {}", start, end);
+
+        long written = 0;
+        for (Instant windowStart = start; windowStart.isBefore(end); windowStart = windowStart.plus(WINDOW)) {
+            Instant windowEnd = windowStart.plus(WINDOW).isBefore(end) ? windowStart.plus(WINDOW) : end;
+            written += violationRollupRepository.rebuild(windowStart, windowEnd);
+            log.debug("Rebuilt violation rollups up to {}", windowEnd);
+        }
+        log.info("Rebuilt violation rollups from {} to {}: {} rows", start, end, written);
+        return written;
+    }
+}
@@ -0,0 +1,9 @@
+package br.com.dagostini.infrasystem.violation.application.usecase;
+
+import br.com.dagostini.infrasystem.violation.domain.model.Violation;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationSubmission;
+import org.springframework.web.multipart.MultipartFile;
+
+public interface SubmitViolationUseCase {
+    ViolationSubmission execute(Violation violation, MultipartFile picture);
+}
@@ -0,0 +1,43 @@
+package br.com.dagostini.infrasystem.violation.application.usecase;
+
+import br.com.dagostini.infrasystem.shared.utils.ImageStorageUseCase;
+import br.com.dagostini.infrasystem.violation.application.service.ViolationIdempotencyCache;
+import br.com.dagostini.infrasystem.violation.application.service.ViolationSubmissionPipeline;
+import br.com.dagostini.infrasystem.violation.domain.exception.ViolationValidationException;
+import br.com.dagostini.infrasystem.violation.domain.model.Violation;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationSubmission;
+import br.com.dagostini.infrasystem.violation.domain.service.ViolationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+public class SubmitViolationUseCaseImpl implements SubmitViolationUseCase {
+    private final ImageStorageUseCase imageStorageUseCase;
+    private final ViolationService violationService;
+    private final ViolationSubmissionPipeline violationSubmissionPipeline;
+
+    /**
+     * Queues the violation under its idempotency key (see {@link ViolationIdempotencyCache#keyOf}); a key
+     * already registered is answered with a completed submission without queueing anything.
+     */
+    @Override
+    public ViolationSubmission execute(Violation violation, MultipartFile picture) {
+        try {
+            imageStorageUseCase.validateImage(picture.getContentType(), picture.getSize());
+        } catch (IllegalArgumentException ex) {
+            throw new ViolationValidationException(ex.getMessage());
+        }
+        String idempotencyKey = ViolationIdempotencyCache.keyOf(violation, () -> imageStorageUseCase.contentKey(picture));
+        Optional<Violation> registered = violationService.findViolationByIdempotencyKey(idempotencyKey);
+        if (registered.isPresent()) {
+            return violationSubmissionPipeline.replay(registered.get());
+        }
+        // Answered from the equipment cache, so unknown or inactive serials are refused before queueing.
+        violationService.validateEquipment(violation.equipmentSerial());
+        return violationSubmissionPipeline.submit(violation.toBuilder().idempotencyKey(idempotencyKey).build(), picture);
+    }
+}
@@ -0,0 +1,7 @@
+package br.com.dagostini.infrasystem.violation.domain.exception;
+
+public class ViolationNotFoundException extends RuntimeException {
+    public ViolationNotFoundException(Long id) {
+        super("Violation not found: " + id);
+    }
+}
@@ -0,0 +1,7 @@
+package br.com.dagostini.infrasystem.violation.domain.exception;
+
+public class ViolationQueueFullException extends RuntimeException {
+    public ViolationQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package br.com.dagostini.infrasystem.violation.domain.exception;
+
+public class ViolationSubmissionNotFoundException extends RuntimeException {
+    public ViolationSubmissionNotFoundException(String ticket) {
+        super("Violation submission not found: " + ticket);
+    }
+}
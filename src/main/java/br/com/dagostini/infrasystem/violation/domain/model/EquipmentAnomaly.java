@@ -0,0 +1,24 @@
+package br.com.dagostini.infrasystem.violation.domain.model;
+
+import java.time.Instant;
+
+/**
+ * An equipment whose violations stopped following its usual pattern, as a miscalibrated or broken camera
+ * does. {@code observed} and {@code expected} are violations in an hour for {@link Type#SPIKE}, missing
+ * violations over the silent hours for {@link Type#DROP} and mean measured speeds for
+ * {@link Type#SPEED_SHIFT}.
+ */
+public record EquipmentAnomaly(
+        String serial,
+        Type type,
+        Instant detectedAt,
+        double observed,
+        double expected
+) {
+
+    public enum Type {
+        SPIKE,
+        DROP,
+        SPEED_SHIFT
+    }
+}
@@ -0,0 +1,40 @@
+package br.com.dagostini.infrasystem.violation.domain.model;
+
+/**
+ * A tile of the Web Mercator grid used by web maps: at {@code zoom} the world is {@code 2^zoom} tiles
+ * across, numbered from the antimeridian eastwards and from the north edge southwards.
+ */
+public record MapTile(int zoom, int x, int y) {
+
+    /** Tiles about 600 m across at the equator: a street segment, a handful of cameras. */
+    public static final int MAX_ZOOM = 16;
+    /** Latitude of the Mercator square's edges; points beyond it fall in the first or last row. */
+    private static final double MAX_LATITUDE = 85.05112878;
+
+    public static MapTile of(int zoom, double latitude, double longitude) {
+        return new MapTile(zoom, column(zoom, longitude), row(zoom, latitude));
+    }
+
+    public static int column(int zoom, double longitude) {
+        return clamp(zoom, (long) Math.floor((longitude + 180) / 360 * (1L << zoom)));
+    }
+
+    public static int row(int zoom, double latitude) {
+        double radians = Math.toRadians(Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, latitude)));
+        double mercator = Math.log(Math.tan(radians) + 1 / Math.cos(radians));
+        return clamp(zoom, (long) Math.floor((1 - mercator / Math.PI) / 2 * (1L << zoom)));
+    }
+
+    public double centerLatitude() {
+        double mercator = Math.PI * (1 - 2 * (y + 0.5) / (1L << zoom));
+        return Math.toDegrees(Math.atan(Math.sinh(mercator)));
+    }
+
+    public double centerLongitude() {
+        return (x + 0.5) / (1L << zoom) * 360 - 180;
+    }
+
+    private static int clamp(int zoom, long index) {
+        return (int) Math.max(0, Math.min((1L << zoom) - 1, index));
+    }
+}
@@ -0,0 +1,19 @@
+package br.com.dagostini.infrasystem.violation.domain.model;
+
+/**
+ * How far the considered speed of a violation is over the regulated one, in the bands of the traffic code
+ * (CTB, art. 218): up to 20%, over 20% up to 50%, and over 50%.
+ */
+public enum SpeedExcessBand {
+    UP_TO_20,
+    FROM_20_TO_50,
+    OVER_50;
+
+    /** The band of {@code excess}, the considered speed over the regulated one minus 1; null when not over. */
+    public static SpeedExcessBand of(double excess) {
+        if (!(excess > 0)) {
+            return null;
+        }
+        return excess <= 0.2 ? UP_TO_20 : excess <= 0.5 ? FROM_20_TO_50 : OVER_50;
+    }
+}
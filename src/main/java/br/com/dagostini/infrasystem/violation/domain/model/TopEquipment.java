@@ -0,0 +1,19 @@
+package br.com.dagostini.infrasystem.violation.domain.model;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * The equipment with the most violations in [{@code from}, {@code to}), most first. Counts are estimates:
+ * the true count of an entry is between {@code violations - maxError} and {@code violations}.
+ */
+public record TopEquipment(
+        TopEquipmentWindow window,
+        Instant from,
+        Instant to,
+        List<Entry> equipments
+) {
+
+    public record Entry(String serial, long violations, long maxError) {
+    }
+}
@@ -0,0 +1,54 @@
+package br.com.dagostini.infrasystem.violation.domain.model;
+
+import br.com.dagostini.infrasystem.violation.domain.exception.ViolationValidationException;
+
+import java.time.Duration;
+
+/**
+ * Sliding windows of the equipment ranking. Each window slides by its bucket: it covers its length plus
+ * the part of the current bucket already elapsed.
+ */
+public enum TopEquipmentWindow {
+    FIFTEEN_MINUTES("15m", Duration.ofMinutes(15), Duration.ofMinutes(1)),
+    HOUR("1h", Duration.ofHours(1), Duration.ofMinutes(5)),
+    DAY("1d", Duration.ofDays(1), Duration.ofHours(1));
+
+    private final String value;
+    private final Duration length;
+    private final Duration bucket;
+
+    TopEquipmentWindow(String value, Duration length, Duration bucket) {
+        this.value = value;
+        this.length = length;
+        this.bucket = bucket;
+    }
+
+    public static TopEquipmentWindow from(String value) {
+        if (value == null || value.isBlank()) {
+            return HOUR;
+        }
+        for (TopEquipmentWindow window : values()) {
+            if (window.value.equals(value.trim())) {
+                return window;
+            }
+        }
+        throw new ViolationValidationException("Window must be 15m, 1h or 1d");
+    }
+
+    public String value() {
+        return value;
+    }
+
+    public Duration length() {
+        return length;
+    }
+
+    public Duration bucket() {
+        return bucket;
+    }
+
+    /** Whole buckets in the window's length. */
+    public int buckets() {
+        return (int) (length.toMillis() / bucket.toMillis());
+    }
+}
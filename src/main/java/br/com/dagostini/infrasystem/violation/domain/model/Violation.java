@@ -4,7 +4,7 @@ import lombok.Builder;
 
 import java.time.OffsetDateTime;
 
-@Builder
+@Builder(toBuilder = true)
 public record Violation(
         Long id,
         String equipmentSerial,
@@ -13,6 +13,7 @@ public record Violation(
         Double consideredSpeed,
         Double regulatedSpeed,
         String picture,
-        String type
+        String type,
+        String idempotencyKey
 ) {
 }
\ No newline at end of file
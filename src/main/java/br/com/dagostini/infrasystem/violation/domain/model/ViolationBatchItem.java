@@ -0,0 +1,22 @@
+package br.com.dagostini.infrasystem.violation.domain.model;
+
+import lombok.Builder;
+
+@Builder(toBuilder = true)
+public record ViolationBatchItem(
+        int index,
+        Violation violation,
+        String error
+) {
+    public static ViolationBatchItem accepted(int index, Violation violation) {
+        return new ViolationBatchItem(index, violation, null);
+    }
+
+    public static ViolationBatchItem rejected(int index, String error) {
+        return new ViolationBatchItem(index, null, error);
+    }
+
+    public boolean isRejected() {
+        return error != null;
+    }
+}
@@ -0,0 +1,39 @@
+package br.com.dagostini.infrasystem.violation.domain.model;
+
+import br.com.dagostini.infrasystem.violation.domain.exception.ViolationValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * Position of the last violation of a page in the (occurrence date, ID) order. Clients receive it as an
+ * opaque base64url token and send it back unchanged to get the next page.
+ */
+public record ViolationCursor(
+        OffsetDateTime occurrenceDateUtc,
+        Long id
+) {
+    public static ViolationCursor after(Violation violation) {
+        return new ViolationCursor(violation.occurrenceDateUtc(), violation.id());
+    }
+
+    public String encode() {
+        String position = occurrenceDateUtc.toInstant() + "," + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ViolationCursor decode(String token) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = position.indexOf(',');
+            return new ViolationCursor(
+                    Instant.parse(position.substring(0, separator)).atOffset(ZoneOffset.UTC),
+                    Long.parseLong(position.substring(separator + 1)));
+        } catch (RuntimeException ex) {
+            throw new ViolationValidationException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package br.com.dagostini.infrasystem.violation.domain.model;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Violations per map tile of an area in [{@code from}, {@code to}); tiles without violations are left out.
+ */
+public record ViolationHeatmap(
+        int zoom,
+        Instant from,
+        Instant to,
+        long total,
+        List<Tile> tiles
+) {
+
+    public record Tile(int x, int y, double latitude, double longitude, long violations) {
+
+        public static Tile of(MapTile tile, long violations) {
+            return new Tile(tile.x(), tile.y(), tile.centerLatitude(), tile.centerLongitude(), violations);
+        }
+    }
+
+    public static ViolationHeatmap of(int zoom, Instant from, Instant to, List<Tile> tiles) {
+        return new ViolationHeatmap(zoom, from, to, tiles.stream().mapToLong(Tile::violations).sum(), tiles);
+    }
+}
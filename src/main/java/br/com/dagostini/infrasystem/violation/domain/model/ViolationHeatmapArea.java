@@ -0,0 +1,46 @@
+package br.com.dagostini.infrasystem.violation.domain.model;
+
+import br.com.dagostini.infrasystem.violation.domain.exception.ViolationValidationException;
+
+/**
+ * The tiles at {@code zoom} covering a bounding box, as inclusive column and row ranges.
+ */
+public record ViolationHeatmapArea(int zoom, int minX, int maxX, int minY, int maxY) {
+
+    /**
+     * Parses {@code west,south,east,north} in degrees. Boxes crossing the antimeridian are rejected.
+     */
+    public static ViolationHeatmapArea of(String bbox, int zoom) {
+        if (zoom < 0 || zoom > MapTile.MAX_ZOOM) {
+            throw new ViolationValidationException("Zoom must be between 0 and " + MapTile.MAX_ZOOM);
+        }
+        String[] parts = bbox == null ? new String[0] : bbox.split(",");
+        if (parts.length != 4) {
+            throw new ViolationValidationException("Bounding box must be west,south,east,north");
+        }
+        double[] degrees = new double[4];
+        for (int i = 0; i < 4; i++) {
+            try {
+                degrees[i] = Double.parseDouble(parts[i].trim());
+            } catch (NumberFormatException ex) {
+                throw new ViolationValidationException("Bounding box must be west,south,east,north");
+            }
+        }
+        double west = degrees[0];
+        double south = degrees[1];
+        double east = degrees[2];
+        double north = degrees[3];
+        if (!(west >= -180 && east <= 180 && west <= east)) {
+            throw new ViolationValidationException("Bounding box longitudes must be between -180 and 180, west first");
+        }
+        if (!(south >= -90 && north <= 90 && south <= north)) {
+            throw new ViolationValidationException("Bounding box latitudes must be between -90 and 90, south first");
+        }
+        return new ViolationHeatmapArea(zoom, MapTile.column(zoom, west), MapTile.column(zoom, east),
+                MapTile.row(zoom, north), MapTile.row(zoom, south));
+    }
+
+    public long tiles() {
+        return (long) (maxX - minX + 1) * (maxY - minY + 1);
+    }
+}
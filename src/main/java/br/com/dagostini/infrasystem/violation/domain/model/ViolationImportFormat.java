@@ -0,0 +1,14 @@
+package br.com.dagostini.infrasystem.violation.domain.model;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+public enum ViolationImportFormat {
+    CSV,
+    NDJSON;
+
+    public static ViolationImportFormat fromPath(Path path) {
+        String fileName = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        return fileName.endsWith(".ndjson") || fileName.endsWith(".jsonl") ? NDJSON : CSV;
+    }
+}
@@ -0,0 +1,14 @@
+package br.com.dagostini.infrasystem.violation.domain.model;
+
+import lombok.Builder;
+
+@Builder
+public record ViolationImportReport(
+        String source,
+        long resumedFromLine,
+        long lastLine,
+        long imported,
+        long rejected,
+        String rejectsFile
+) {
+}
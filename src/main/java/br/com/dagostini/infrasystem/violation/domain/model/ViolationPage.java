@@ -0,0 +1,12 @@
+package br.com.dagostini.infrasystem.violation.domain.model;
+
+import java.util.List;
+
+public record ViolationPage(
+        List<Violation> violations,
+        ViolationCursor next
+) {
+    public boolean hasNext() {
+        return next != null;
+    }
+}
@@ -0,0 +1,14 @@
+package br.com.dagostini.infrasystem.violation.domain.model;
+
+import java.time.Instant;
+
+/**
+ * Number of violations of one type registered by an equipment within the UTC hour starting at {@code hour}.
+ */
+public record ViolationRollup(
+        String equipmentSerial,
+        Instant hour,
+        String type,
+        long violations
+) {
+}
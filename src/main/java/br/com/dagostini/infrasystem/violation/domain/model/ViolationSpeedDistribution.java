@@ -0,0 +1,22 @@
+package br.com.dagostini.infrasystem.violation.domain.model;
+
+import java.time.Instant;
+
+/**
+ * Measured speeds (km/h) of the violations of an equipment in [{@code from}, {@code to}). Values are
+ * accurate to about 1%; all of them are null when no violation in the range has a measured speed.
+ */
+public record ViolationSpeedDistribution(
+        String equipmentSerial,
+        Instant from,
+        Instant to,
+        long violations,
+        Double minSpeed,
+        Double maxSpeed,
+        Double meanSpeed,
+        Double p50,
+        Double p85,
+        Double p95,
+        Double p99
+) {
+}
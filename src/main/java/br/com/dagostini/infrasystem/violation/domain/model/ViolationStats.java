@@ -0,0 +1,51 @@
+package br.com.dagostini.infrasystem.violation.domain.model;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Violations of an equipment per bucket in [{@code from}, {@code to}), one bucket per hour or day
+ * including the empty ones, with the count of each type.
+ */
+public record ViolationStats(
+        String equipmentSerial,
+        ViolationStatsGranularity granularity,
+        Instant from,
+        Instant to,
+        long total,
+        List<Bucket> buckets
+) {
+
+    public record Bucket(Instant start, long total, Map<String, Long> byType) {
+    }
+
+    /** Folds hourly rollups into buckets; {@code from} and {@code to} must be aligned to the granularity. */
+    public static ViolationStats of(String equipmentSerial, ViolationStatsGranularity granularity, Instant from, Instant to,
+                                    List<ViolationRollup> rollups) {
+        int size = (int) granularity.bucket(from, to);
+        long[] totals = new long[size];
+        List<Map<String, Long>> byType = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            byType.add(new TreeMap<>());
+        }
+        long total = 0;
+        for (ViolationRollup rollup : rollups) {
+            if (rollup.hour().isBefore(from) || !rollup.hour().isBefore(to)) {
+                continue;
+            }
+            int bucket = (int) granularity.bucket(from, rollup.hour());
+            totals[bucket] += rollup.violations();
+            byType.get(bucket).merge(rollup.type(), rollup.violations(), Long::sum);
+            total += rollup.violations();
+        }
+
+        List<Bucket> buckets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            buckets.add(new Bucket(granularity.bucketStart(from, i), totals[i], byType.get(i)));
+        }
+        return new ViolationStats(equipmentSerial, granularity, from, to, total, buckets);
+    }
+}
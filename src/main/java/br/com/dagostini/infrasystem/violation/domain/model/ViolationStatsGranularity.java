@@ -0,0 +1,57 @@
+package br.com.dagostini.infrasystem.violation.domain.model;
+
+import br.com.dagostini.infrasystem.violation.domain.exception.ViolationValidationException;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+
+/**
+ * Width of the buckets of violation statistics, aligned to UTC, and how many of them a query covers
+ * when it gives no start.
+ */
+public enum ViolationStatsGranularity {
+    HOUR(ChronoUnit.HOURS, 24),
+    DAY(ChronoUnit.DAYS, 30);
+
+    private final ChronoUnit unit;
+    private final int defaultBuckets;
+
+    ViolationStatsGranularity(ChronoUnit unit, int defaultBuckets) {
+        this.unit = unit;
+        this.defaultBuckets = defaultBuckets;
+    }
+
+    public static ViolationStatsGranularity from(String value) {
+        if (value == null || value.isBlank()) {
+            return HOUR;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new ViolationValidationException("Granularity must be hour or day");
+        }
+    }
+
+    public Instant floor(Instant instant) {
+        return instant.truncatedTo(unit);
+    }
+
+    public Instant ceil(Instant instant) {
+        Instant floor = floor(instant);
+        return floor.equals(instant) ? instant : floor.plus(1, unit);
+    }
+
+    public Instant bucketStart(Instant from, long bucket) {
+        return from.plus(bucket, unit);
+    }
+
+    /** Index of the bucket holding {@code instant} when the first one starts at {@code from}. */
+    public long bucket(Instant from, Instant instant) {
+        return unit.between(from, floor(instant));
+    }
+
+    public Instant defaultFrom(Instant to) {
+        return to.minus(defaultBuckets, unit);
+    }
+}
@@ -0,0 +1,16 @@
+package br.com.dagostini.infrasystem.violation.domain.model;
+
+import lombok.Builder;
+
+import java.time.OffsetDateTime;
+
+@Builder(toBuilder = true)
+public record ViolationSubmission(
+        String ticket,
+        ViolationSubmissionStatus status,
+        OffsetDateTime submittedAt,
+        OffsetDateTime updatedAt,
+        Violation violation,
+        String error
+) {
+}
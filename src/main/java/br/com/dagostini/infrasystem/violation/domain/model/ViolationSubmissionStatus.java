@@ -0,0 +1,13 @@
+package br.com.dagostini.infrasystem.violation.domain.model;
+
+public enum ViolationSubmissionStatus {
+    PENDING,
+    STORING_PICTURE,
+    PERSISTING,
+    COMPLETED,
+    FAILED;
+
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED;
+    }
+}
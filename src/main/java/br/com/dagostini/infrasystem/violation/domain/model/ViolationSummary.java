@@ -0,0 +1,30 @@
+package br.com.dagostini.infrasystem.violation.domain.model;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Violations in [{@code from}, {@code to}) matching a filter: their total, their count per type and per
+ * speed excess band, and the equipment with the most of them, most first. Violations from {@code localSince}
+ * on are only counted if the instance answering registered them; it is null when nothing was loaded from
+ * the database, so only those are counted.
+ */
+public record ViolationSummary(
+        Instant from,
+        Instant to,
+        long total,
+        List<TypeCount> types,
+        List<BandCount> speedExcess,
+        List<EquipmentCount> equipments,
+        Instant localSince
+) {
+
+    public record TypeCount(String type, long violations) {
+    }
+
+    public record BandCount(SpeedExcessBand band, long violations) {
+    }
+
+    public record EquipmentCount(String serial, long violations) {
+    }
+}
@@ -0,0 +1,10 @@
+package br.com.dagostini.infrasystem.violation.domain.repository;
+
+import br.com.dagostini.infrasystem.violation.domain.model.EquipmentAnomaly;
+
+import java.util.List;
+
+public interface EquipmentAnomalyRepository {
+    /** The anomalies flagged now, most recent first. */
+    List<EquipmentAnomaly> findAll();
+}
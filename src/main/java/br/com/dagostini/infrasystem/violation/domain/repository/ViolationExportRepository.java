@@ -0,0 +1,10 @@
+package br.com.dagostini.infrasystem.violation.domain.repository;
+
+import br.com.dagostini.infrasystem.violation.domain.model.Violation;
+
+import java.util.Date;
+import java.util.function.Consumer;
+
+public interface ViolationExportRepository {
+    long exportBySerial(String serial, Date from, Date to, Consumer<Violation> sink);
+}
@@ -0,0 +1,12 @@
+package br.com.dagostini.infrasystem.violation.domain.repository;
+
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationHeatmap;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationHeatmapArea;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface ViolationHeatmapRepository {
+    /** Non-empty tiles of {@code area} over the UTC days in [from, to), by column then row. */
+    List<ViolationHeatmap.Tile> findTiles(ViolationHeatmapArea area, Instant from, Instant to);
+}
@@ -1,12 +1,17 @@
 package br.com.dagostini.infrasystem.violation.domain.repository;
 
 import br.com.dagostini.infrasystem.violation.domain.model.Violation;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationCursor;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationPage;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
 public interface ViolationRepository {
     Violation save(Violation violation);
+    List<Violation> saveAll(List<Violation> violations);
     Violation findById(Long id);
-    List<Violation> findBySerialAndOptionalDateRange(String serial, Date from, Date to);
+    Optional<Violation> findByIdempotencyKey(String idempotencyKey);
+    ViolationPage findPageBySerial(String serial, Date from, Date to, ViolationCursor after, int limit);
 }
@@ -0,0 +1,14 @@
+package br.com.dagostini.infrasystem.violation.domain.repository;
+
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationRollup;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface ViolationRollupRepository {
+    /** Hourly rollups of {@code serial} for the hours in [from, to), including counts not yet flushed. */
+    List<ViolationRollup> findBySerial(String serial, Instant from, Instant to);
+
+    /** Recomputes the rollups of every equipment for the hours in [from, to) from the violations; returns the rows written. */
+    long rebuild(Instant from, Instant to);
+}
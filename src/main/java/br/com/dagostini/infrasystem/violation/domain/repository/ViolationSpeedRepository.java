@@ -0,0 +1,10 @@
+package br.com.dagostini.infrasystem.violation.domain.repository;
+
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationSpeedDistribution;
+
+import java.time.Instant;
+
+public interface ViolationSpeedRepository {
+    /** Speed distribution of {@code serial} over the whole UTC hours in [from, to). */
+    ViolationSpeedDistribution findDistribution(String serial, Instant from, Instant to);
+}
@@ -0,0 +1,16 @@
+package br.com.dagostini.infrasystem.violation.domain.repository;
+
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationSummary;
+
+import java.time.Instant;
+
+public interface ViolationSummaryRepository {
+    /** The earliest occurrence time summaries can cover. */
+    Instant coveredSince();
+
+    /**
+     * Summary of the violations in [{@code from}, {@code to}), of {@code serial} and {@code type} when not
+     * null, with at most {@code limit} equipment.
+     */
+    ViolationSummary summarize(Instant from, Instant to, String serial, String type, int limit);
+}
@@ -0,0 +1,9 @@
+package br.com.dagostini.infrasystem.violation.domain.repository;
+
+import br.com.dagostini.infrasystem.violation.domain.model.TopEquipment;
+import br.com.dagostini.infrasystem.violation.domain.model.TopEquipmentWindow;
+
+public interface ViolationTopEquipmentRepository {
+    /** At most {@code limit} equipment with the most violations in {@code window}, up to now. */
+    TopEquipment findTop(TopEquipmentWindow window, int limit);
+}
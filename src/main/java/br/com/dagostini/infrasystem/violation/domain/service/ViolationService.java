@@ -1,12 +1,22 @@
 package br.com.dagostini.infrasystem.violation.domain.service;
 
 import br.com.dagostini.infrasystem.violation.domain.model.Violation;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationBatchItem;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationCursor;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationPage;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
 public interface ViolationService {
     Violation createViolation(Violation violation);
+    void validateEquipment(String serial);
+    boolean isEquipmentCached(String serial);
+    Violation registerViolation(Violation violation);
+    List<ViolationBatchItem> validateEquipments(List<ViolationBatchItem> items);
+    List<ViolationBatchItem> registerViolations(List<ViolationBatchItem> items);
     Violation findViolationById(Long id);
-    List<Violation> listViolationsByEquipment(String serial, Date from, Date to);
+    Optional<Violation> findViolationByIdempotencyKey(String idempotencyKey);
+    ViolationPage listViolationsByEquipment(String serial, Date from, Date to, ViolationCursor after, int limit);
 }
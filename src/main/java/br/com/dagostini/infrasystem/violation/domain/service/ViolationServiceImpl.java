@@ -1,15 +1,23 @@
 package br.com.dagostini.infrasystem.violation.domain.service;
 
 import br.com.dagostini.infrasystem.equipment.application.service.EquipmentServiceAdapter;
+import br.com.dagostini.infrasystem.equipment.domain.exception.EquipmentNotFoundException;
 import br.com.dagostini.infrasystem.violation.application.service.ViolationServiceAdapter;
 import br.com.dagostini.infrasystem.violation.domain.exception.ViolationValidationException;
 import br.com.dagostini.infrasystem.violation.domain.model.Violation;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationBatchItem;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationCursor;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationPage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Slf4j
 @Service
@@ -22,21 +30,112 @@ public class ViolationServiceImpl implements ViolationService {
     public Violation createViolation(Violation violation) {
         log.info("Creating violation for equipment serial: {}", violation.equipmentSerial());
 
-        Boolean isActive = conectionEquipmentService.isEquipmentActive(violation.equipmentSerial());
+        validateEquipment(violation.equipmentSerial());
+        return registerViolation(violation);
+    }
+
+    @Override
+    public void validateEquipment(String serial) {
+        Boolean isActive = conectionEquipmentService.isEquipmentActive(serial);
         if (!isActive) {
-            log.error("Cannot create violation: Equipment {} is inactive", violation.equipmentSerial());
-            throw new ViolationValidationException("Cannot create violation for inactive equipment: " + violation.equipmentSerial());
+            log.error("Cannot create violation: Equipment {} is inactive", serial);
+            throw new ViolationValidationException("Cannot create violation for inactive equipment: " + serial);
         }
+    }
+
+    @Override
+    public boolean isEquipmentCached(String serial) {
+        return conectionEquipmentService.isEquipmentCached(serial);
+    }
+
+    @Override
+    public Violation registerViolation(Violation violation) {
         return violationServiceAdapter.saveViolationRegistry(violation);
     }
 
+    @Override
+    public List<ViolationBatchItem> validateEquipments(List<ViolationBatchItem> items) {
+        Map<String, Optional<String>> equipmentErrors = new HashMap<>();
+        List<ViolationBatchItem> results = new ArrayList<>(items.size());
+        for (ViolationBatchItem item : items) {
+            if (item.isRejected()) {
+                results.add(item);
+                continue;
+            }
+            Optional<String> equipmentError = equipmentErrors.computeIfAbsent(item.violation().equipmentSerial(), this::checkEquipment);
+            results.add(equipmentError.map(error -> ViolationBatchItem.rejected(item.index(), error)).orElse(item));
+        }
+        return results;
+    }
+
+    @Override
+    public List<ViolationBatchItem> registerViolations(List<ViolationBatchItem> items) {
+        log.info("Registering batch of {} violations", items.size());
+
+        List<ViolationBatchItem> results = new ArrayList<>(items);
+        List<Integer> accepted = new ArrayList<>();
+        List<Violation> violations = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            if (!items.get(i).isRejected()) {
+                accepted.add(i);
+                violations.add(items.get(i).violation());
+            }
+        }
+
+        if (violations.isEmpty()) {
+            return results;
+        }
+
+        try {
+            List<Violation> saved = violationServiceAdapter.saveViolationRegistries(violations);
+            for (int i = 0; i < accepted.size(); i++) {
+                int position = accepted.get(i);
+                results.set(position, ViolationBatchItem.accepted(items.get(position).index(), saved.get(i)));
+            }
+        } catch (RuntimeException ex) {
+            // The batch insert is rolled back whole: saving one by one rejects only the items that fail on their own.
+            log.warn("Failed to persist batch of {} violations, saving them one by one: {}", violations.size(), ex.getMessage());
+            for (int position : accepted) {
+                results.set(position, registerBatchItem(items.get(position)));
+            }
+        }
+        return results;
+    }
+
     @Override
     public Violation findViolationById(Long id) {
         return violationServiceAdapter.findViolationById(id);
     }
 
     @Override
-    public List<Violation> listViolationsByEquipment(String serial, Date from, Date to) {
-        return violationServiceAdapter.listViolationsByEquipment(serial,from,to);
+    public Optional<Violation> findViolationByIdempotencyKey(String idempotencyKey) {
+        return violationServiceAdapter.findViolationByIdempotencyKey(idempotencyKey);
+    }
+
+    @Override
+    public ViolationPage listViolationsByEquipment(String serial, Date from, Date to, ViolationCursor after, int limit) {
+        return violationServiceAdapter.listViolationsByEquipment(serial, from, to, after, limit);
+    }
+
+    private ViolationBatchItem registerBatchItem(ViolationBatchItem item) {
+        try {
+            return ViolationBatchItem.accepted(item.index(), violationServiceAdapter.saveViolationRegistry(item.violation()));
+        } catch (RuntimeException ex) {
+            log.error("Failed to persist violation {} of batch: {}", item.index(), ex.getMessage());
+            return ViolationBatchItem.rejected(item.index(), "Failed to persist violation");
+        }
+    }
+
+    private Optional<String> checkEquipment(String serial) {
+        try {
+            if (!conectionEquipmentService.isEquipmentActive(serial)) {
+                log.error("Cannot create violation: Equipment {} is inactive", serial);
+                return Optional.of("Cannot create violation for inactive equipment: " + serial);
+            }
+            return Optional.empty();
+        } catch (EquipmentNotFoundException ex) {
+            log.warn("Cannot create violation: {}", ex.getMessage());
+            return Optional.of(ex.getMessage());
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,85 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.export;
+
+import br.com.dagostini.infrasystem.shared.utils.Masking;
+import br.com.dagostini.infrasystem.violation.domain.model.Violation;
+import br.com.dagostini.infrasystem.violation.domain.repository.ViolationExportRepository;
+import br.com.dagostini.infrasystem.violation.infrastructure.persistence.OccurrenceRange;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.Date;
+import java.util.function.Consumer;
+
+/**
+ * Reads the violations of an equipment through a forward-only, read-only cursor and hands each row to the
+ * sink as soon as it is read, so memory stays flat whatever the size of the result. PostgreSQL only fetches
+ * in batches of {@code fetchSize} rows when auto-commit is off; otherwise the driver buffers the whole result.
+ */
+@Slf4j
+@Repository
+public class ViolationCursorExporter implements ViolationExportRepository {
+
+    static final String SELECT_BY_SERIAL = "SELECT id, equipment_serial, occurrence_date_utc, measured_speed, "
+            + "considered_speed, regulated_speed, picture, type FROM violation "
+            + "WHERE equipment_serial = ? AND occurrence_date_utc >= ? AND occurrence_date_utc <= ? "
+            + "ORDER BY occurrence_date_utc, id";
+
+    private final DataSource dataSource;
+    private final int fetchSize;
+
+    public ViolationCursorExporter(DataSource dataSource,
+                                   @Value("${infrasystem.violation.export.fetch-size:1000}") int fetchSize) {
+        this.dataSource = dataSource;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public long exportBySerial(String serial, Date from, Date to, Consumer<Violation> sink) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            try (PreparedStatement statement = connection.prepareStatement(
+                    SELECT_BY_SERIAL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                statement.setFetchSize(fetchSize);
+                statement.setString(1, serial);
+                statement.setObject(2, OccurrenceRange.from(from));
+                statement.setObject(3, OccurrenceRange.to(to));
+
+                long exported = 0;
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        sink.accept(toViolation(resultSet));
+                        exported++;
+                    }
+                }
+                log.info("Exported {} violations for serial: {}", exported, Masking.maskSerial(serial));
+                return exported;
+            } finally {
+                connection.rollback();
+            }
+        } catch (SQLException ex) {
+            log.error("Error exporting violations for serial: {} - {}", Masking.maskSerial(serial), ex.getMessage());
+            throw new IllegalStateException("Failed to export violations", ex);
+        }
+    }
+
+    private static Violation toViolation(ResultSet resultSet) throws SQLException {
+        return Violation.builder()
+                .id(resultSet.getLong(1))
+                .equipmentSerial(resultSet.getString(2))
+                .occurrenceDateUtc(resultSet.getObject(3, OffsetDateTime.class))
+                .measuredSpeed(resultSet.getObject(4, Double.class))
+                .consideredSpeed(resultSet.getObject(5, Double.class))
+                .regulatedSpeed(resultSet.getObject(6, Double.class))
+                .picture(resultSet.getString(7))
+                .type(resultSet.getString(8))
+                .build();
+    }
+}
@@ -0,0 +1,224 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.importer;
+
+import br.com.dagostini.infrasystem.equipment.infrastructure.persistence.repository.EquipmentJpaRepository;
+import br.com.dagostini.infrasystem.violation.domain.exception.ViolationValidationException;
+import br.com.dagostini.infrasystem.violation.domain.model.Violation;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationImportFormat;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationImportReport;
+import br.com.dagostini.infrasystem.violation.domain.repository.ViolationImportRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Streams historical violations into the violation table through PostgreSQL COPY.
+ * Lines are copied in chunks and every chunk commits together with its checkpoint,
+ * so an interrupted load resumes after the last committed line. Rejected lines are
+ * appended to a side file next to the source as {@code line<TAB>reason<TAB>content}.
+ */
+@Slf4j
+@Repository
+public class ViolationCopyImporter implements ViolationImportRepository {
+
+    static final String COPY_SQL = "COPY violation (equipment_serial, occurrence_date_utc, measured_speed, "
+            + "considered_speed, regulated_speed, picture, type) FROM STDIN WITH (FORMAT csv)";
+    static final String SELECT_CHECKPOINT =
+            "SELECT last_line, imported, rejected FROM violation_import_checkpoint WHERE source = ?";
+    static final String UPSERT_CHECKPOINT = "INSERT INTO violation_import_checkpoint "
+            + "(source, last_line, imported, rejected, updated_at) VALUES (?, ?, ?, ?, ?) "
+            + "ON CONFLICT (source) DO UPDATE SET last_line = EXCLUDED.last_line, imported = EXCLUDED.imported, "
+            + "rejected = EXCLUDED.rejected, updated_at = EXCLUDED.updated_at";
+    static final String REJECTS_SUFFIX = ".rejects";
+
+    private final DataSource dataSource;
+    private final EquipmentJpaRepository equipmentJpaRepository;
+    private final ViolationImportLineParser parser;
+    private final int chunkSize;
+
+    public ViolationCopyImporter(DataSource dataSource,
+                                 EquipmentJpaRepository equipmentJpaRepository,
+                                 ViolationImportLineParser parser,
+                                 @Value("${infrasystem.import.chunk-size:10000}") int chunkSize) {
+        this.dataSource = dataSource;
+        this.equipmentJpaRepository = equipmentJpaRepository;
+        this.parser = parser;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public ViolationImportReport importFrom(Path source, ViolationImportFormat format) {
+        String key = source.toAbsolutePath().normalize().toString();
+        Path rejectsFile = source.resolveSibling(source.getFileName() + REJECTS_SUFFIX);
+        Set<String> serials = new HashSet<>(equipmentJpaRepository.findAllSerials());
+        log.info("Loaded {} equipment serials for import validation", serials.size());
+
+        try (Connection connection = dataSource.getConnection();
+             BufferedReader reader = Files.newBufferedReader(source, StandardCharsets.UTF_8)) {
+            if (!connection.isWrapperFor(PGConnection.class)) {
+                throw new IllegalStateException("Bulk import requires a PostgreSQL datasource");
+            }
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            connection.setAutoCommit(false);
+            ImportRun run = new ImportRun(connection, copyManager, key, rejectsFile, readCheckpoint(connection, key));
+            if (run.resumedFromLine > 0) {
+                log.info("Resuming import of {} after line {}", key, run.resumedFromLine);
+            }
+
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (lineNumber <= run.resumedFromLine || line.isBlank() || parser.isHeader(line, format)) {
+                    continue;
+                }
+                run.accept(lineNumber, line, format, serials);
+                if (run.pending() >= chunkSize) {
+                    run.flush(lineNumber);
+                }
+            }
+            run.flush(Math.max(lineNumber, run.resumedFromLine));
+
+            return ViolationImportReport.builder()
+                    .source(key)
+                    .resumedFromLine(run.resumedFromLine)
+                    .lastLine(run.lastLine)
+                    .imported(run.imported)
+                    .rejected(run.rejected)
+                    .rejectsFile(run.rejected > 0 ? rejectsFile.toString() : null)
+                    .build();
+        } catch (IOException | SQLException ex) {
+            log.error("Error importing violations from {} - {}", key, ex.getMessage());
+            throw new IllegalStateException("Failed to import violations from " + key, ex);
+        }
+    }
+
+    private Checkpoint readCheckpoint(Connection connection, String key) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_CHECKPOINT)) {
+            statement.setString(1, key);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (resultSet.next()) {
+                    return new Checkpoint(resultSet.getLong(1), resultSet.getLong(2), resultSet.getLong(3));
+                }
+            }
+        }
+        return new Checkpoint(0, 0, 0);
+    }
+
+    private record Checkpoint(long lastLine, long imported, long rejected) {
+    }
+
+    private final class ImportRun {
+        private final Connection connection;
+        private final CopyManager copyManager;
+        private final String key;
+        private final Path rejectsFile;
+        private final long resumedFromLine;
+        private final StringBuilder rows = new StringBuilder();
+        private final StringBuilder rejects = new StringBuilder();
+        private int pendingRows;
+        private int pendingRejects;
+        private long lastLine;
+        private long imported;
+        private long rejected;
+
+        private ImportRun(Connection connection, CopyManager copyManager, String key, Path rejectsFile, Checkpoint checkpoint) {
+            this.connection = connection;
+            this.copyManager = copyManager;
+            this.key = key;
+            this.rejectsFile = rejectsFile;
+            this.resumedFromLine = checkpoint.lastLine();
+            this.lastLine = checkpoint.lastLine();
+            this.imported = checkpoint.imported();
+            this.rejected = checkpoint.rejected();
+        }
+
+        private int pending() {
+            return pendingRows + pendingRejects;
+        }
+
+        private void accept(long lineNumber, String line, ViolationImportFormat format, Set<String> serials) {
+            try {
+                Violation violation = parser.parse(line, format);
+                if (!serials.contains(violation.equipmentSerial())) {
+                    throw new ViolationValidationException("Unknown equipment serial: " + violation.equipmentSerial());
+                }
+                appendRow(violation);
+                pendingRows++;
+            } catch (ViolationValidationException ex) {
+                rejects.append(lineNumber).append('\t').append(ex.getMessage()).append('\t').append(line).append('\n');
+                pendingRejects++;
+            }
+        }
+
+        private void appendRow(Violation violation) {
+            rows.append(csv(violation.equipmentSerial())).append(',')
+                    .append(violation.occurrenceDateUtc()).append(',')
+                    .append(number(violation.measuredSpeed())).append(',')
+                    .append(number(violation.consideredSpeed())).append(',')
+                    .append(number(violation.regulatedSpeed())).append(',')
+                    .append(csv(violation.picture())).append(',')
+                    .append(csv(violation.type())).append('\n');
+        }
+
+        private void flush(long lineNumber) throws SQLException, IOException {
+            try {
+                long copied = pendingRows == 0 ? 0 : copyManager.copyIn(COPY_SQL, new StringReader(rows.toString()));
+                saveCheckpoint(lineNumber, imported + copied, rejected + pendingRejects);
+                connection.commit();
+                imported += copied;
+            } catch (SQLException | IOException ex) {
+                connection.rollback();
+                throw ex;
+            }
+            rejected += pendingRejects;
+            lastLine = lineNumber;
+            if (pendingRejects > 0) {
+                Files.writeString(rejectsFile, rejects, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            log.debug("Committed import of {} up to line {}", key, lineNumber);
+            rows.setLength(0);
+            rejects.setLength(0);
+            pendingRows = 0;
+            pendingRejects = 0;
+        }
+
+        private void saveCheckpoint(long lineNumber, long importedTotal, long rejectedTotal) throws SQLException {
+            try (PreparedStatement statement = connection.prepareStatement(UPSERT_CHECKPOINT)) {
+                statement.setString(1, key);
+                statement.setLong(2, lineNumber);
+                statement.setLong(3, importedTotal);
+                statement.setLong(4, rejectedTotal);
+                statement.setTimestamp(5, Timestamp.from(Instant.now()));
+                statement.executeUpdate();
+            }
+        }
+    }
+
+    private static String csv(String value) {
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static String number(Double value) {
+        return value == null ? "" : value.toString();
+    }
+}
@@ -0,0 +1,143 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.importer;
+
+import br.com.dagostini.infrasystem.violation.domain.exception.ViolationValidationException;
+import br.com.dagostini.infrasystem.violation.domain.model.Violation;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationImportFormat;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Parses one line of a historical violation file. CSV files use the column order of
+ * {@link #CSV_HEADER}; NDJSON lines use the field names of the violation API.
+ */
+@Component
+@RequiredArgsConstructor
+public class ViolationImportLineParser {
+
+    public static final String CSV_HEADER =
+            "equipment_serial,occurrence_date_utc,measured_speed,considered_speed,regulated_speed,picture,type";
+
+    private static final Set<String> TYPES = Set.of("VELOCITY", "STOP_CROSSWALKING");
+    private static final int COLUMNS = 7;
+
+    private final ObjectMapper objectMapper;
+
+    public boolean isHeader(String line, ViolationImportFormat format) {
+        return format == ViolationImportFormat.CSV && line.startsWith("equipment_serial");
+    }
+
+    public Violation parse(String line, ViolationImportFormat format) {
+        String[] fields = format == ViolationImportFormat.NDJSON ? jsonFields(line) : csvFields(line);
+        String type = required(fields[6], "type");
+        if (!TYPES.contains(type)) {
+            throw new ViolationValidationException("Unknown violation type: " + type);
+        }
+        Violation violation = Violation.builder()
+                .equipmentSerial(required(fields[0], "equipment_serial"))
+                .occurrenceDateUtc(date(required(fields[1], "occurrence_date_utc")))
+                .measuredSpeed(speed(fields[2], "measured_speed"))
+                .consideredSpeed(speed(fields[3], "considered_speed"))
+                .regulatedSpeed(speed(fields[4], "regulated_speed"))
+                .picture(required(fields[5], "picture"))
+                .type(type)
+                .build();
+        if ("VELOCITY".equals(type) && (violation.measuredSpeed() == null
+                || violation.consideredSpeed() == null || violation.regulatedSpeed() == null)) {
+            throw new ViolationValidationException("For VELOCITY type, measuredSpeed, consideredSpeed, and regulatedSpeed are required.");
+        }
+        return violation;
+    }
+
+    private String[] jsonFields(String line) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (JsonProcessingException ex) {
+            throw new ViolationValidationException("Malformed JSON: " + ex.getOriginalMessage());
+        }
+        if (node == null || !node.isObject()) {
+            throw new ViolationValidationException("Expected a JSON object");
+        }
+        return new String[]{
+                text(node, "equipmentSerial"), text(node, "occurrenceDateUtc"), text(node, "measuredSpeed"),
+                text(node, "consideredSpeed"), text(node, "regulatedSpeed"), text(node, "picture"), text(node, "type")};
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private static String[] csvFields(String line) {
+        List<String> fields = new ArrayList<>(COLUMNS);
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new ViolationValidationException("Unterminated quoted field");
+        }
+        fields.add(current.toString());
+        if (fields.size() != COLUMNS) {
+            throw new ViolationValidationException("Expected " + COLUMNS + " columns but found " + fields.size());
+        }
+        return fields.toArray(String[]::new);
+    }
+
+    private static String required(String value, String field) {
+        if (value == null || value.isBlank()) {
+            throw new ViolationValidationException("Missing " + field);
+        }
+        return value.trim();
+    }
+
+    private static OffsetDateTime date(String value) {
+        try {
+            return OffsetDateTime.parse(value);
+        } catch (DateTimeParseException ex) {
+            throw new ViolationValidationException("Invalid occurrence_date_utc: " + value);
+        }
+    }
+
+    private static Double speed(String value, String field) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            double speed = Double.parseDouble(value.trim());
+            if (speed < 0 || Double.isNaN(speed) || Double.isInfinite(speed)) {
+                throw new ViolationValidationException("Invalid " + field + ": " + value);
+            }
+            return speed;
+        } catch (NumberFormatException ex) {
+            throw new ViolationValidationException("Invalid " + field + ": " + value);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.partition;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the monthly partitions of the violation table (see V7) ahead of the clock: the current month and
+ * the next {@code monthsAhead} always exist, months with rows in the default partition (e.g. an import of
+ * old history) are moved into their own, and months older than {@code retentionMonths} are detached.
+ * Detached partitions become plain tables that can be archived or dropped by hand. Runs at startup and then
+ * periodically; only one node works at a time, the others skip on the advisory lock. Does nothing on
+ * databases other than PostgreSQL. Failures are logged as errors and counted as
+ * {@code violation.partition.failures}, and {@code violation.partitions.missing} gauges the months still
+ * without a partition, for alerting.
+ */
+@Slf4j
+@Component
+public class ViolationPartitionMaintenance {
+
+    static final String TRY_LOCK = "SELECT pg_try_advisory_lock(?)";
+    static final String UNLOCK = "SELECT pg_advisory_unlock(?)";
+    static final String SELECT_PARTITIONS = "SELECT child.relname FROM pg_inherits "
+            + "JOIN pg_class child ON child.oid = pg_inherits.inhrelid "
+            + "WHERE pg_inherits.inhparent = 'violation'::regclass";
+    static final String SELECT_DEFAULT_MONTHS = "SELECT DISTINCT date_trunc('month', occurrence_date_utc AT TIME ZONE 'UTC') "
+            + "FROM violation_default";
+    static final String LOCK_DEFAULT = "LOCK TABLE violation_default IN EXCLUSIVE MODE";
+    static final long LOCK_KEY = 0x76696f6c6174L; // "violat"
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("violation_p(\\d{4})(\\d{2})");
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final DataSource dataSource;
+    private final MeterRegistry meterRegistry;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final Clock clock;
+    private final AtomicInteger missing;
+
+    @Autowired
+    public ViolationPartitionMaintenance(DataSource dataSource,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${infrasystem.violation.partition.months-ahead:3}") int monthsAhead,
+                                         @Value("${infrasystem.violation.partition.retention-months:60}") int retentionMonths) {
+        this(dataSource, meterRegistry, monthsAhead, retentionMonths, Clock.systemUTC());
+    }
+
+    ViolationPartitionMaintenance(DataSource dataSource, MeterRegistry meterRegistry,
+                                  int monthsAhead, int retentionMonths, Clock clock) {
+        this.dataSource = dataSource;
+        this.meterRegistry = meterRegistry;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.clock = clock;
+        this.missing = meterRegistry.gauge("violation.partitions.missing", new AtomicInteger());
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${infrasystem.violation.partition.maintenance-interval:PT6H}")
+    public void maintain() {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!connection.isWrapperFor(PGConnection.class)) {
+                log.debug("Violation table is only partitioned on PostgreSQL, skipping maintenance");
+                return;
+            }
+            if (!lock(connection, TRY_LOCK)) {
+                log.debug("Violation partition maintenance is running on another node");
+                return;
+            }
+            try {
+                connection.setAutoCommit(true);
+                maintain(connection);
+            } finally {
+                lock(connection, UNLOCK);
+            }
+        } catch (SQLException ex) {
+            log.error("Violation partition maintenance failed - {}", ex.getMessage());
+            meterRegistry.counter("violation.partition.failures", "action", "maintain").increment();
+        }
+    }
+
+    private void maintain(Connection connection) throws SQLException {
+        TreeSet<YearMonth> existing = partitions(connection);
+        YearMonth current = YearMonth.now(clock.withZone(ZoneOffset.UTC));
+
+        int notCreated = 0;
+        // Each month commits on its own, so one failure does not undo the rest of the run.
+        for (YearMonth month : defaultMonths(connection)) {
+            if (!existing.contains(month)) {
+                if (move(connection, month)) {
+                    existing.add(month);
+                } else {
+                    notCreated++;
+                }
+            }
+        }
+        for (YearMonth month = current; !month.isAfter(current.plusMonths(monthsAhead)); month = month.plusMonths(1)) {
+            if (!existing.contains(month) && !execute(connection, "created", month, "CREATE TABLE IF NOT EXISTS " + name(month)
+                    + " PARTITION OF violation" + bounds(month))) {
+                notCreated++;
+            }
+        }
+        missing.set(notCreated);
+        if (notCreated > 0) {
+            log.error("{} violation partitions are missing, their rows stay in the default partition", notCreated);
+        }
+
+        YearMonth oldestKept = current.minusMonths(retentionMonths);
+        for (YearMonth month : existing.headSet(oldestKept, false)) {
+            execute(connection, "detached", month, "ALTER TABLE violation DETACH PARTITION " + name(month));
+        }
+    }
+
+    private TreeSet<YearMonth> partitions(Connection connection) throws SQLException {
+        TreeSet<YearMonth> months = new TreeSet<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(SELECT_PARTITIONS)) {
+            while (resultSet.next()) {
+                Matcher matcher = PARTITION_NAME.matcher(resultSet.getString(1));
+                if (matcher.matches()) {
+                    months.add(YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))));
+                }
+            }
+        }
+        return months;
+    }
+
+    private TreeSet<YearMonth> defaultMonths(Connection connection) throws SQLException {
+        TreeSet<YearMonth> months = new TreeSet<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(SELECT_DEFAULT_MONTHS)) {
+            while (resultSet.next()) {
+                months.add(YearMonth.from(resultSet.getObject(1, LocalDateTime.class)));
+            }
+        }
+        return months;
+    }
+
+    /**
+     * Creates the partition of {@code month} from its rows in the default partition. Creating it in place
+     * would fail on those rows, so it is filled as a plain table and attached once they are gone.
+     */
+    private boolean move(Connection connection, YearMonth month) {
+        String rows = " WHERE occurrence_date_utc >= '" + month.atDay(1) + " 00:00:00+00'"
+                + " AND occurrence_date_utc < '" + month.plusMonths(1).atDay(1) + " 00:00:00+00'";
+        try (Statement statement = connection.createStatement()) {
+            connection.setAutoCommit(false);
+            try {
+                statement.execute(LOCK_DEFAULT);
+                statement.execute("CREATE TABLE " + name(month) + " (LIKE violation INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+                statement.execute("INSERT INTO " + name(month) + " SELECT * FROM violation_default" + rows);
+                statement.execute("DELETE FROM violation_default" + rows);
+                statement.execute("ALTER TABLE violation ATTACH PARTITION " + name(month) + bounds(month));
+                connection.commit();
+            } catch (SQLException ex) {
+                connection.rollback();
+                throw ex;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+            log.info("Violation partition {} moved out of the default partition", name(month));
+            meterRegistry.counter("violation.partitions", "action", "moved").increment();
+            return true;
+        } catch (SQLException ex) {
+            log.error("Violation partition {} was not moved - {}", name(month), ex.getMessage());
+            meterRegistry.counter("violation.partition.failures", "action", "moved").increment();
+            return false;
+        }
+    }
+
+    private boolean execute(Connection connection, String action, YearMonth month, String ddl) {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(ddl);
+            log.info("Violation partition {} {}", name(month), action);
+            meterRegistry.counter("violation.partitions", "action", action).increment();
+            return true;
+        } catch (SQLException ex) {
+            log.error("Violation partition {} was not {} - {}", name(month), action, ex.getMessage());
+            meterRegistry.counter("violation.partition.failures", "action", action).increment();
+            return false;
+        }
+    }
+
+    private static boolean lock(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, LOCK_KEY);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+    }
+
+    private static String bounds(YearMonth month) {
+        return " FOR VALUES FROM ('" + month.atDay(1) + " 00:00:00+00') TO ('" + month.plusMonths(1).atDay(1) + " 00:00:00+00')";
+    }
+
+    static String name(YearMonth month) {
+        return "violation_p" + month.format(SUFFIX);
+    }
+}
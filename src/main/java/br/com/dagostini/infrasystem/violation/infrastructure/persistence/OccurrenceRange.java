@@ -0,0 +1,24 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.persistence;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Date;
+
+/** Bounds of a query on occurrence dates, where a missing end stands for an open range. */
+public final class OccurrenceRange {
+
+    // Inside what both PostgreSQL and H2 can store.
+    private static final OffsetDateTime EARLIEST = OffsetDateTime.of(1, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+    private static final OffsetDateTime LATEST = OffsetDateTime.of(9999, 12, 31, 23, 59, 59, 0, ZoneOffset.UTC);
+
+    private OccurrenceRange() {
+    }
+
+    public static OffsetDateTime from(Date from) {
+        return from == null ? EARLIEST : from.toInstant().atOffset(ZoneOffset.UTC);
+    }
+
+    public static OffsetDateTime to(Date to) {
+        return to == null ? LATEST : to.toInstant().atOffset(ZoneOffset.UTC);
+    }
+}
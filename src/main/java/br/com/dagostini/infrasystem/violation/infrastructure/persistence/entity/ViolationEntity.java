@@ -5,6 +5,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.Data;
 
@@ -16,7 +17,8 @@ import java.time.OffsetDateTime;
 public class ViolationEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "violation_id_seq")
+    @SequenceGenerator(name = "violation_id_seq", sequenceName = "violation_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "equipment_serial", nullable = false)
@@ -39,4 +41,7 @@ public class ViolationEntity {
 
     @Column(name = "type", nullable = false)
     private String type;
+
+    @Column(name = "idempotency_key", unique = true)
+    private String idempotencyKey;
 }
\ No newline at end of file
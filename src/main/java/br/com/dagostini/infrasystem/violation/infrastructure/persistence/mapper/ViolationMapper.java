@@ -9,6 +9,7 @@ import java.util.List;
 @Mapper(componentModel = "spring")
 public interface ViolationMapper {
     ViolationEntity toEntity(Violation violation);
+    List<ViolationEntity> toEntityList(List<Violation> violationList);
     Violation toDomain(ViolationEntity entity);
     List<Violation> toDomainList(List<ViolationEntity> violationEntityList);
 }
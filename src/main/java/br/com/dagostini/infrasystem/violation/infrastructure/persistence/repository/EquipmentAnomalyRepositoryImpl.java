@@ -0,0 +1,25 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.persistence.repository;
+
+import br.com.dagostini.infrasystem.violation.domain.model.EquipmentAnomaly;
+import br.com.dagostini.infrasystem.violation.domain.repository.EquipmentAnomalyRepository;
+import br.com.dagostini.infrasystem.violation.infrastructure.rollup.ViolationAnomalyDetector;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class EquipmentAnomalyRepositoryImpl implements EquipmentAnomalyRepository {
+
+    private final ViolationAnomalyDetector anomalyDetector;
+
+    @Override
+    public List<EquipmentAnomaly> findAll() {
+        List<EquipmentAnomaly> anomalies = anomalyDetector.anomalies();
+        log.debug("Retrieved {} equipment anomalies", anomalies.size());
+        return anomalies;
+    }
+}
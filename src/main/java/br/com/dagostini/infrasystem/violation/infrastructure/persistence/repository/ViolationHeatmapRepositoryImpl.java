@@ -0,0 +1,27 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.persistence.repository;
+
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationHeatmap;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationHeatmapArea;
+import br.com.dagostini.infrasystem.violation.domain.repository.ViolationHeatmapRepository;
+import br.com.dagostini.infrasystem.violation.infrastructure.rollup.ViolationHeatmapStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class ViolationHeatmapRepositoryImpl implements ViolationHeatmapRepository {
+
+    private final ViolationHeatmapStore store;
+
+    @Override
+    public List<ViolationHeatmap.Tile> findTiles(ViolationHeatmapArea area, Instant from, Instant to) {
+        List<ViolationHeatmap.Tile> tiles = store.findTiles(area, from, to);
+        log.debug("Retrieved {} heatmap tiles at zoom {} from {} to {}", tiles.size(), area.zoom(), from, to);
+        return tiles;
+    }
+}
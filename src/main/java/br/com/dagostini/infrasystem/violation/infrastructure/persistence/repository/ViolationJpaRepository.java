@@ -1,31 +1,57 @@
 package br.com.dagostini.infrasystem.violation.infrastructure.persistence.repository;
 
 import br.com.dagostini.infrasystem.violation.infrastructure.persistence.entity.ViolationEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
-import java.util.Date;
+import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ViolationJpaRepository extends JpaRepository<ViolationEntity, Long> {
+    Optional<ViolationEntity> findByIdempotencyKey(String idempotencyKey);
+
     @Query(value = """
     SELECT * FROM violation v
     WHERE v.equipment_serial = :serial
-      AND v.occurrence_date_utc >= :from
+      AND v.occurrence_date_utc >= :afterDate
       AND v.occurrence_date_utc <= :to
+      AND (v.occurrence_date_utc, v.id) > (:afterDate, :afterId)
+    ORDER BY v.occurrence_date_utc, v.id
+    LIMIT :limit
 """, nativeQuery = true)
-    List<ViolationEntity> findBySerialAndOptionalDateRange(
+    List<ViolationEntity> findPageBySerial(
             @Param("serial") String serial,
-            @Param("from") Date from,
-            @Param("to") Date to
+            @Param("afterDate") OffsetDateTime afterDate,
+            @Param("afterId") long afterId,
+            @Param("to") OffsetDateTime to,
+            @Param("limit") int limit
     );
 
-    @Query(value = """
-    SELECT * FROM violation v
-    WHERE v.equipment_serial = :serial
-""", nativeQuery = true)
-    List<ViolationEntity> findBySerialAndOptional(
-            @Param("serial") String serial
-    );
-}
\ No newline at end of file
+    /** The columns summaries need of the violations since {@code since}, streamed; needs a transaction. */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+    SELECT v.equipmentSerial AS equipmentSerial, v.occurrenceDateUtc AS occurrenceDateUtc,
+           v.consideredSpeed AS consideredSpeed, v.regulatedSpeed AS regulatedSpeed, v.type AS type
+    FROM ViolationEntity v
+    WHERE v.occurrenceDateUtc >= :since
+""")
+    Stream<RecentViolation> streamSince(@Param("since") OffsetDateTime since);
+
+    interface RecentViolation {
+        String getEquipmentSerial();
+
+        OffsetDateTime getOccurrenceDateUtc();
+
+        Double getConsideredSpeed();
+
+        Double getRegulatedSpeed();
+
+        String getType();
+    }
+}
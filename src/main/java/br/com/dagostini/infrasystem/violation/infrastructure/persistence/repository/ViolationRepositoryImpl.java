@@ -1,15 +1,27 @@
 package br.com.dagostini.infrasystem.violation.infrastructure.persistence.repository;
 
+import br.com.dagostini.infrasystem.shared.utils.Masking;
 import br.com.dagostini.infrasystem.violation.domain.model.Violation;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationCursor;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationPage;
 import br.com.dagostini.infrasystem.violation.domain.repository.ViolationRepository;
+import br.com.dagostini.infrasystem.violation.infrastructure.persistence.OccurrenceRange;
 import br.com.dagostini.infrasystem.violation.infrastructure.persistence.entity.ViolationEntity;
 import br.com.dagostini.infrasystem.violation.infrastructure.persistence.mapper.ViolationMapper;
+import br.com.dagostini.infrasystem.violation.infrastructure.rollup.ViolationAnomalyDetector;
+import br.com.dagostini.infrasystem.violation.infrastructure.rollup.ViolationHeatmapCounters;
+import br.com.dagostini.infrasystem.violation.infrastructure.rollup.ViolationHotWindow;
+import br.com.dagostini.infrasystem.violation.infrastructure.rollup.ViolationRollupCounters;
+import br.com.dagostini.infrasystem.violation.infrastructure.rollup.ViolationSpeedHistograms;
+import br.com.dagostini.infrasystem.violation.infrastructure.rollup.ViolationTopEquipment;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Repository;
 
+import java.time.OffsetDateTime;
 import java.util.Date;
 import java.util.List;
-import java.util.Objects;
+import java.util.Optional;
 
 @Slf4j
 @Repository
@@ -17,10 +29,25 @@ public class ViolationRepositoryImpl implements ViolationRepository {
 
     private final ViolationJpaRepository jpaRepository;
     private final ViolationMapper mapper;
+    private final ViolationRollupCounters rollupCounters;
+    private final ViolationSpeedHistograms speedHistograms;
+    private final ViolationHeatmapCounters heatmapCounters;
+    private final ViolationTopEquipment topEquipment;
+    private final ViolationAnomalyDetector anomalyDetector;
+    private final ViolationHotWindow hotWindow;
 
-    public ViolationRepositoryImpl(ViolationJpaRepository jpaRepository, ViolationMapper mapper) {
+    public ViolationRepositoryImpl(ViolationJpaRepository jpaRepository, ViolationMapper mapper,
+                                   ViolationRollupCounters rollupCounters, ViolationSpeedHistograms speedHistograms,
+                                   ViolationHeatmapCounters heatmapCounters, ViolationTopEquipment topEquipment,
+                                   ViolationAnomalyDetector anomalyDetector, ViolationHotWindow hotWindow) {
         this.jpaRepository = jpaRepository;
         this.mapper = mapper;
+        this.rollupCounters = rollupCounters;
+        this.speedHistograms = speedHistograms;
+        this.heatmapCounters = heatmapCounters;
+        this.topEquipment = topEquipment;
+        this.anomalyDetector = anomalyDetector;
+        this.hotWindow = hotWindow;
     }
 
     @Override
@@ -30,18 +57,57 @@ public class ViolationRepositoryImpl implements ViolationRepository {
             ViolationEntity entity = mapper.toEntity(violation);
             entity = jpaRepository.save(entity);
             log.info("Successfully saved violation with ID: {}", maskViolationId(entity.getId()));
-            return mapper.toDomain(entity);
+            Violation saved = mapper.toDomain(entity);
+            // Counted only here: a repeated idempotency key below answers with a violation already counted.
+            rollupCounters.record(saved);
+            speedHistograms.record(saved);
+            heatmapCounters.record(saved);
+            topEquipment.record(saved);
+            anomalyDetector.record(saved);
+            hotWindow.record(saved);
+            return saved;
+        } catch (DataIntegrityViolationException ex) {
+            // Another node registered the same idempotency key first: answer with its violation.
+            Optional<Violation> existing = violation.idempotencyKey() == null
+                    ? Optional.empty()
+                    : findByIdempotencyKey(violation.idempotencyKey());
+            if (existing.isPresent()) {
+                log.info("Violation already registered with ID: {}", maskViolationId(existing.get().id()));
+                return existing.get();
+            }
+            log.error("Error saving violation with ID: {} - {}", maskViolationId(violation.id()), ex.getMessage());
+            throw ex;
         } catch (Exception ex) {
             log.error("Error saving violation with ID: {} - {}", maskViolationId(violation.id()), ex.getMessage());
             throw ex;
         }
     }
 
+    @Override
+    public List<Violation> saveAll(List<Violation> violations) {
+        log.info("Saving batch of {} violations", violations.size());
+        try {
+            List<ViolationEntity> entities = jpaRepository.saveAll(mapper.toEntityList(violations));
+            log.info("Successfully saved batch of {} violations", entities.size());
+            List<Violation> saved = mapper.toDomainList(entities);
+            rollupCounters.record(saved);
+            speedHistograms.record(saved);
+            heatmapCounters.record(saved);
+            topEquipment.record(saved);
+            anomalyDetector.record(saved);
+            hotWindow.record(saved);
+            return saved;
+        } catch (Exception ex) {
+            log.error("Error saving batch of {} violations - {}", violations.size(), ex.getMessage());
+            throw ex;
+        }
+    }
+
     @Override
     public Violation findById(Long id) {
         log.info("Finding violation by ID: {}", maskViolationId(id));
         try {
-            Violation violation = mapper.toDomain(jpaRepository.getReferenceById(id));
+            Violation violation = jpaRepository.findById(id).map(mapper::toDomain).orElse(null);
             if (violation == null) {
                 log.warn("Violation not found for ID: {}", maskViolationId(id));
             } else {
@@ -55,30 +121,33 @@ public class ViolationRepositoryImpl implements ViolationRepository {
     }
 
     @Override
-    public List<Violation> findBySerialAndOptionalDateRange(String serial, Date from, Date to) {
-        log.info("Finding violations for serial: {} with date range from {} to {}", maskSerial(serial), from, to);
+    public Optional<Violation> findByIdempotencyKey(String idempotencyKey) {
+        return jpaRepository.findByIdempotencyKey(idempotencyKey).map(mapper::toDomain);
+    }
+
+    @Override
+    public ViolationPage findPageBySerial(String serial, Date from, Date to, ViolationCursor after, int limit) {
+        log.info("Finding violations for serial: {} with date range from {} to {}", Masking.maskSerial(serial), from, to);
         try {
-            List<Violation> violations;
-            if (Objects.isNull(from) && Objects.isNull(to)) {
-                violations = mapper.toDomainList(jpaRepository.findBySerialAndOptional(serial));
-            } else {
-                violations = mapper.toDomainList(jpaRepository.findBySerialAndOptionalDateRange(serial, from, to));
+            // Without a cursor the page starts at the first violation on or after "from".
+            OffsetDateTime afterDate = after != null ? after.occurrenceDateUtc() : OccurrenceRange.from(from);
+            long afterId = after != null ? after.id() : Long.MIN_VALUE;
+            // One extra row tells whether there is a next page without a count query.
+            List<Violation> violations = mapper.toDomainList(jpaRepository.findPageBySerial(
+                    serial, afterDate, afterId, OccurrenceRange.to(to), limit + 1));
+            ViolationCursor next = null;
+            if (violations.size() > limit) {
+                violations = violations.subList(0, limit);
+                next = ViolationCursor.after(violations.get(limit - 1));
             }
-            log.info("Retrieved {} violations for serial: {}", violations.size(), maskSerial(serial));
-            return violations;
+            log.info("Retrieved {} violations for serial: {}", violations.size(), Masking.maskSerial(serial));
+            return new ViolationPage(violations, next);
         } catch (Exception ex) {
-            log.error("Error retrieving violations for serial: {} - {}", maskSerial(serial), ex.getMessage());
+            log.error("Error retrieving violations for serial: {} - {}", Masking.maskSerial(serial), ex.getMessage());
             throw ex;
         }
     }
 
-    private String maskSerial(String serial) {
-        if (serial == null || serial.length() < 4) {
-            return "****";
-        }
-        return "****" + serial.substring(serial.length() - 4);
-    }
-
     private String maskViolationId(Long id) {
         if (id == null) {
             return "****";
@@ -0,0 +1,38 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.persistence.repository;
+
+import br.com.dagostini.infrasystem.shared.utils.Masking;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationRollup;
+import br.com.dagostini.infrasystem.violation.domain.repository.ViolationRollupRepository;
+import br.com.dagostini.infrasystem.violation.infrastructure.rollup.ViolationRollupCounters;
+import br.com.dagostini.infrasystem.violation.infrastructure.rollup.ViolationRollupStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class ViolationRollupRepositoryImpl implements ViolationRollupRepository {
+
+    private final ViolationRollupStore store;
+    private final ViolationRollupCounters counters;
+
+    @Override
+    public List<ViolationRollup> findBySerial(String serial, Instant from, Instant to) {
+        List<ViolationRollup> rollups = new ArrayList<>(store.findBySerial(serial, from, to));
+        rollups.addAll(counters.pending(serial, from, to));
+        rollups.sort(Comparator.comparing(ViolationRollup::hour).thenComparing(ViolationRollup::type));
+        log.debug("Retrieved {} violation rollups for serial: {}", rollups.size(), Masking.maskSerial(serial));
+        return rollups;
+    }
+
+    @Override
+    public long rebuild(Instant from, Instant to) {
+        return counters.afterFlush(() -> store.rebuild(from, to));
+    }
+}
@@ -0,0 +1,27 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.persistence.repository;
+
+import br.com.dagostini.infrasystem.shared.utils.Masking;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationSpeedDistribution;
+import br.com.dagostini.infrasystem.violation.domain.repository.ViolationSpeedRepository;
+import br.com.dagostini.infrasystem.violation.infrastructure.rollup.SpeedHistograms;
+import br.com.dagostini.infrasystem.violation.infrastructure.rollup.ViolationSpeedHistogramStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class ViolationSpeedRepositoryImpl implements ViolationSpeedRepository {
+
+    private final ViolationSpeedHistogramStore store;
+
+    @Override
+    public ViolationSpeedDistribution findDistribution(String serial, Instant from, Instant to) {
+        ViolationSpeedDistribution distribution = SpeedHistograms.distribution(serial, from, to, store.findBySerial(serial, from, to));
+        log.debug("Speed distribution of {} violations for serial: {}", distribution.violations(), Masking.maskSerial(serial));
+        return distribution;
+    }
+}
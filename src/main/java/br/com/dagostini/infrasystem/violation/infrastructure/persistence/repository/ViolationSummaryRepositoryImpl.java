@@ -0,0 +1,30 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.persistence.repository;
+
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationSummary;
+import br.com.dagostini.infrasystem.violation.domain.repository.ViolationSummaryRepository;
+import br.com.dagostini.infrasystem.violation.infrastructure.rollup.ViolationHotWindow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class ViolationSummaryRepositoryImpl implements ViolationSummaryRepository {
+
+    private final ViolationHotWindow hotWindow;
+
+    @Override
+    public Instant coveredSince() {
+        return hotWindow.coveredSince();
+    }
+
+    @Override
+    public ViolationSummary summarize(Instant from, Instant to, String serial, String type, int limit) {
+        ViolationSummary summary = hotWindow.summarize(from, to, serial, type, limit);
+        log.debug("Summarized {} violations from {} to {}", summary.total(), from, to);
+        return summary;
+    }
+}
@@ -0,0 +1,24 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.persistence.repository;
+
+import br.com.dagostini.infrasystem.violation.domain.model.TopEquipment;
+import br.com.dagostini.infrasystem.violation.domain.model.TopEquipmentWindow;
+import br.com.dagostini.infrasystem.violation.domain.repository.ViolationTopEquipmentRepository;
+import br.com.dagostini.infrasystem.violation.infrastructure.rollup.ViolationTopEquipment;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Repository;
+
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class ViolationTopEquipmentRepositoryImpl implements ViolationTopEquipmentRepository {
+
+    private final ViolationTopEquipment topEquipment;
+
+    @Override
+    public TopEquipment findTop(TopEquipmentWindow window, int limit) {
+        TopEquipment top = topEquipment.top(window, limit);
+        log.debug("Ranked {} equipment over {} from {} to {}", top.equipments().size(), window.value(), top.from(), top.to());
+        return top;
+    }
+}
@@ -0,0 +1,129 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.rollup;
+
+import br.com.dagostini.infrasystem.violation.domain.model.EquipmentAnomaly;
+
+/** Per-hour-of-day violation rates and speed averages of one equipment, updated in O(1); not thread-safe. */
+final class EquipmentBaseline {
+
+    static final int HOURS_PER_DAY = 24;
+    // About the last ten days of the same hour of the day.
+    static final double RATE_ALPHA = 0.1;
+    // The fast average follows the last tens of violations, the slow one the last hundreds.
+    static final double FAST_SPEED_ALPHA = 0.05;
+    static final double SLOW_SPEED_ALPHA = 0.002;
+    static final int MIN_SPEED_SAMPLES = 500;
+    // Keeps hours that usually see no violation from flagging a spike on the first few.
+    private static final double MIN_RATE_DEVIATION = 1;
+    private static final double MIN_SPEED_DEVIATION = 1;
+
+    private final float[] means = new float[HOURS_PER_DAY];
+    private final float[] variances = new float[HOURS_PER_DAY];
+    private final byte[] days = new byte[HOURS_PER_DAY];
+    private long hour;
+    private long count;
+    private long lastViolationHour;
+    private double silentExpected;
+    private double fastSpeed;
+    private double slowSpeed;
+    private double speedVariance;
+    private long speeds;
+
+    EquipmentBaseline(long hour) {
+        this.hour = hour;
+        this.lastViolationHour = hour;
+    }
+
+    /** Sets the violations of hour {@code now}, after closing the hours before it; closed hours are ignored. */
+    void count(long now, long violations, Settings settings, Sink sink) {
+        if (now < hour) {
+            return;
+        }
+        advance(now, settings, sink);
+        count = violations;
+        lastViolationHour = hour;
+        if (silent(settings)) {
+            sink.clear(EquipmentAnomaly.Type.DROP);
+        }
+        silentExpected = 0;
+        int slot = slot(hour);
+        if (days[slot] >= settings.warmupDays() && count > rateThreshold(slot, settings)) {
+            sink.flag(EquipmentAnomaly.Type.SPIKE, count, means[slot]);
+        }
+    }
+
+    void speed(double measured, Settings settings, Sink sink) {
+        speeds++;
+        fastSpeed += Math.max(FAST_SPEED_ALPHA, 1.0 / speeds) * (measured - fastSpeed);
+        if (speeds > MIN_SPEED_SAMPLES) {
+            // Standard deviation of a fast average of speeds drawn around the slow one.
+            double deviation = Math.sqrt(speedVariance * FAST_SPEED_ALPHA / (2 - FAST_SPEED_ALPHA));
+            if (Math.abs(fastSpeed - slowSpeed) > settings.threshold() * Math.max(deviation, MIN_SPEED_DEVIATION)) {
+                sink.flag(EquipmentAnomaly.Type.SPEED_SHIFT, fastSpeed, slowSpeed);
+            } else {
+                sink.clear(EquipmentAnomaly.Type.SPEED_SHIFT);
+            }
+        }
+        double alpha = Math.max(SLOW_SPEED_ALPHA, 1.0 / speeds);
+        double difference = measured - slowSpeed;
+        slowSpeed += alpha * difference;
+        speedVariance = (1 - alpha) * (speedVariance + alpha * difference * difference);
+    }
+
+    /** Closes the hours before {@code now}, flagging spikes and drops; gaps beyond {@code maxGapHours} are skipped. */
+    void advance(long now, Settings settings, Sink sink) {
+        if (now - hour > settings.maxGapHours()) {
+            hour = now - settings.maxGapHours();
+            count = 0;
+        }
+        for (; hour < now; hour++, count = 0) {
+            int slot = slot(hour);
+            if (days[slot] >= settings.warmupDays()) {
+                if (count == 0) {
+                    silentExpected += means[slot];
+                    if (silent(settings)) {
+                        sink.flag(EquipmentAnomaly.Type.DROP, 0, silentExpected);
+                    }
+                }
+                if (count <= rateThreshold(slot, settings)) {
+                    sink.clear(EquipmentAnomaly.Type.SPIKE);
+                }
+            }
+            double alpha = Math.max(RATE_ALPHA, 1.0 / (days[slot] + 1));
+            double difference = count - means[slot];
+            means[slot] += (float) (alpha * difference);
+            variances[slot] = (float) ((1 - alpha) * (variances[slot] + alpha * difference * difference));
+            if (days[slot] < Byte.MAX_VALUE) {
+                days[slot]++;
+            }
+        }
+    }
+
+    /** Hours since the last violation, as of the open hour. */
+    long idleHours() {
+        return hour - lastViolationHour;
+    }
+
+    private boolean silent(Settings settings) {
+        return silentExpected > settings.threshold() * settings.threshold();
+    }
+
+    private double rateThreshold(int slot, Settings settings) {
+        // Counts are at least as spread as a Poisson count of the same mean.
+        double deviation = Math.sqrt(Math.max(Math.max(variances[slot], means[slot]), MIN_RATE_DEVIATION));
+        return means[slot] + settings.threshold() * deviation;
+    }
+
+    private static int slot(long hour) {
+        return (int) Math.floorMod(hour, (long) HOURS_PER_DAY);
+    }
+
+    record Settings(double threshold, int warmupDays, long maxGapHours) {
+    }
+
+    /** Receives the anomalies a baseline finds, and the ones it no longer sees. */
+    interface Sink {
+        void flag(EquipmentAnomaly.Type type, double observed, double expected);
+
+        void clear(EquipmentAnomaly.Type type);
+    }
+}
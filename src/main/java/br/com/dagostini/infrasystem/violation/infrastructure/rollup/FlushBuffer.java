@@ -0,0 +1,113 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.rollup;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/** Per-key accumulators drained by a periodic flush; a batch the writer fails to store is kept whole for the next. */
+@Slf4j
+final class FlushBuffer<K, A, V> {
+
+    /** Stores a batch and returns the entries it left for the next flush. */
+    @FunctionalInterface
+    interface Writer<K, V> {
+        Map<K, V> write(Map<K, V> batch);
+    }
+
+    private final String name;
+    private final Supplier<A> factory;
+    private final Function<A, V> drain;
+    private final Predicate<V> empty;
+    private final BinaryOperator<V> merge;
+    private final Map<K, A> accumulators = new ConcurrentHashMap<>();
+    private final Map<K, A> retired = new ConcurrentHashMap<>();
+    private final Map<K, V> unsaved = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    FlushBuffer(String name, Supplier<A> factory, Function<A, V> drain, Predicate<V> empty, BinaryOperator<V> merge) {
+        this.name = name;
+        this.factory = factory;
+        this.drain = drain;
+        this.empty = empty;
+        this.merge = merge;
+    }
+
+    A accumulator(K key) {
+        return accumulators.computeIfAbsent(key, ignored -> factory.get());
+    }
+
+    void flush(Writer<K, V> writer) {
+        lock.lock();
+        try {
+            Map<K, V> batch = new HashMap<>(unsaved);
+            unsaved.clear();
+            retired.forEach((key, accumulator) -> add(batch, key, drain.apply(accumulator)));
+            retired.clear();
+            accumulators.forEach((key, accumulator) -> {
+                V value = drain.apply(accumulator);
+                if (!empty.test(value)) {
+                    add(batch, key, value);
+                } else if (accumulators.remove(key, accumulator)) {
+                    retired.put(key, accumulator);
+                }
+            });
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            Map<K, V> kept;
+            try {
+                kept = writer.write(batch);
+                log.debug("Flushed {} {}", batch.size() - kept.size(), name);
+            } catch (RuntimeException ex) {
+                log.warn("Could not flush {} {}, retrying on the next flush - {}", batch.size(), name, ex.getMessage());
+                kept = batch;
+            }
+            unsaved.putAll(kept);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Flushes, then runs {@code task} with further flushes held until it returns. */
+    <T> T afterFlush(Writer<K, V> writer, Supplier<T> task) {
+        lock.lock();
+        try {
+            flush(writer);
+            return task.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Visits the values not yet stored, read through {@code peek} without draining; a flush in progress may hide some. */
+    void forEachPending(Function<A, V> peek, BiConsumer<K, V> action) {
+        BiConsumer<K, A> visit = (key, accumulator) -> {
+            V value = peek.apply(accumulator);
+            if (!empty.test(value)) {
+                action.accept(key, value);
+            }
+        };
+        accumulators.forEach(visit);
+        retired.forEach(visit);
+        unsaved.forEach(action);
+    }
+
+    int size() {
+        return accumulators.size() + retired.size();
+    }
+
+    private void add(Map<K, V> batch, K key, V value) {
+        if (!empty.test(value)) {
+            batch.merge(key, value, merge);
+        }
+    }
+}
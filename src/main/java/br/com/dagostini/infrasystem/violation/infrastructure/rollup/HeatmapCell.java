@@ -0,0 +1,9 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.rollup;
+
+import br.com.dagostini.infrasystem.violation.domain.model.MapTile;
+
+import java.time.Instant;
+
+/** A map tile on a UTC day, the unit heatmap counts are stored by. */
+record HeatmapCell(MapTile tile, Instant day) {
+}
@@ -0,0 +1,45 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.rollup;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+
+/** Runs one statement over many rows in JDBC batches, all in one transaction. */
+final class JdbcBatches {
+
+    private JdbcBatches() {
+    }
+
+    /** Executes {@code sql} once per row; a failed flush is retried whole, so no chunk of it may stay committed. */
+    static <T> void execute(DataSource dataSource, String sql, int batchSize, Collection<T> rows, Binder<T> binder)
+            throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                int pending = 0;
+                for (T row : rows) {
+                    binder.bind(statement, row);
+                    statement.addBatch();
+                    if (++pending == batchSize) {
+                        statement.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    statement.executeBatch();
+                }
+                connection.commit();
+            } catch (SQLException | RuntimeException ex) {
+                connection.rollback();
+                throw ex;
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface Binder<T> {
+        void bind(PreparedStatement statement, T row) throws SQLException;
+    }
+}
@@ -0,0 +1,80 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.rollup;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+/** Space-Saving summary of the heaviest keys of a stream in at most {@code capacity} counters; not thread-safe. */
+final class SpaceSaving {
+
+    private static final Comparator<Counter> BY_COUNT = Comparator.<Counter>comparingLong(counter -> counter.count)
+            .thenComparing(counter -> counter.key);
+
+    private final int capacity;
+    private final Map<String, Counter> counters = new HashMap<>();
+    private final TreeSet<Counter> ordered = new TreeSet<>(BY_COUNT);
+
+    SpaceSaving(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+        this.capacity = capacity;
+    }
+
+    void add(String key, long count) {
+        Counter counter = counters.get(key);
+        if (counter == null) {
+            if (counters.size() < capacity) {
+                counter = new Counter(key, 0, 0);
+            } else {
+                Counter smallest = ordered.pollFirst();
+                counters.remove(smallest.key);
+                counter = new Counter(key, smallest.count, smallest.count);
+            }
+            counters.put(key, counter);
+        } else {
+            ordered.remove(counter);
+        }
+        counter.count += count;
+        ordered.add(counter);
+    }
+
+    /** The count any key not in the summary may have reached: the smallest counter once the summary is full. */
+    long unseenBound() {
+        return counters.size() < capacity ? 0 : ordered.first().count;
+    }
+
+    void forEach(Consumer<Counter> action) {
+        counters.values().forEach(action);
+    }
+
+    int size() {
+        return counters.size();
+    }
+
+    static final class Counter {
+        private final String key;
+        private long count;
+        private final long error;
+
+        private Counter(String key, long count, long error) {
+            this.key = key;
+            this.count = count;
+            this.error = error;
+        }
+
+        String key() {
+            return key;
+        }
+
+        long count() {
+            return count;
+        }
+
+        long error() {
+            return error;
+        }
+    }
+}
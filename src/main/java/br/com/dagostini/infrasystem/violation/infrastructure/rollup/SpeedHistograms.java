@@ -0,0 +1,74 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.rollup;
+
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationSpeedDistribution;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.zip.DataFormatException;
+
+/** Speeds as histogram values: tenths of km/h, two significant digits, capped at {@link #MAX_TENTHS}. */
+public final class SpeedHistograms {
+
+    static final int SIGNIFICANT_DIGITS = 2;
+    static final long MAX_TENTHS = 5_000;
+
+    private SpeedHistograms() {
+    }
+
+    /** The speed as a histogram value, or -1 when it cannot be recorded. */
+    static long toValue(Double speed) {
+        if (speed == null || speed.isNaN() || speed < 0) {
+            return -1;
+        }
+        return Math.min(Math.round(speed * 10), MAX_TENTHS);
+    }
+
+    /** A recorder sized up front; auto-resizing ones stall writers under their phase lock. */
+    static Recorder recorder() {
+        return new Recorder(1, MAX_TENTHS, SIGNIFICANT_DIGITS);
+    }
+
+    static Histogram empty() {
+        return new Histogram(SIGNIFICANT_DIGITS);
+    }
+
+    static byte[] encode(Histogram histogram) {
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        byte[] encoded = new byte[length];
+        buffer.flip();
+        buffer.get(encoded);
+        return encoded;
+    }
+
+    static Histogram decode(byte[] encoded) {
+        try {
+            Histogram histogram = Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(encoded), 0);
+            histogram.setAutoResize(true);
+            return histogram;
+        } catch (DataFormatException ex) {
+            throw new IllegalStateException("Corrupt speed histogram", ex);
+        }
+    }
+
+    public static ViolationSpeedDistribution distribution(String serial, Instant from, Instant to, Histogram histogram) {
+        long violations = histogram.getTotalCount();
+        if (violations == 0) {
+            return new ViolationSpeedDistribution(serial, from, to, 0, null, null, null, null, null, null, null);
+        }
+        return new ViolationSpeedDistribution(serial, from, to, violations,
+                speed(histogram.getMinValue()),
+                speed(histogram.getMaxValue()),
+                Math.round(histogram.getMean()) / 10.0,
+                speed(histogram.getValueAtPercentile(50)),
+                speed(histogram.getValueAtPercentile(85)),
+                speed(histogram.getValueAtPercentile(95)),
+                speed(histogram.getValueAtPercentile(99)));
+    }
+
+    private static double speed(long value) {
+        return value / 10.0;
+    }
+}
@@ -0,0 +1,7 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.rollup;
+
+import java.time.Instant;
+
+/** A UTC hour of one equipment, the unit speed histograms are kept and stored by. */
+record SpeedHour(String serial, Instant hour) {
+}
@@ -0,0 +1,202 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.rollup;
+
+import br.com.dagostini.infrasystem.equipment.application.service.EquipmentServiceAdapter;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentActivation;
+import br.com.dagostini.infrasystem.shared.utils.Masking;
+import br.com.dagostini.infrasystem.violation.domain.model.EquipmentAnomaly;
+import br.com.dagostini.infrasystem.violation.domain.model.Violation;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/** Flags equipment whose closed hours in {@code violation_rollup} or speeds leave their {@link EquipmentBaseline}. */
+@Slf4j
+@Component
+public class ViolationAnomalyDetector {
+
+    static final Duration HISTORY = Duration.ofDays(28);
+    private static final long SECONDS_PER_HOUR = 3600;
+    private static final Set<EquipmentAnomaly.Type> DEACTIVATING = EnumSet.of(EquipmentAnomaly.Type.SPIKE, EquipmentAnomaly.Type.SPEED_SHIFT);
+
+    private final ViolationRollupStore store;
+    private final EquipmentServiceAdapter equipmentService;
+    private final EquipmentBaseline.Settings settings;
+    private final boolean deactivate;
+    private final Duration flushInterval;
+    private final Clock clock;
+    // First hour not yet read from violation_rollup.
+    private volatile long readUntil;
+    private final Map<String, EquipmentBaseline> baselines = new ConcurrentHashMap<>();
+    // Only written while holding the baseline of the serial, in baselines.compute.
+    private final Map<Key, EquipmentAnomaly> anomalies = new ConcurrentHashMap<>();
+    private final Set<String> toDeactivate = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public ViolationAnomalyDetector(ViolationRollupStore store, EquipmentServiceAdapter equipmentService,
+                                    @Value("${infrasystem.violation.anomaly.threshold:4}") double threshold,
+                                    @Value("${infrasystem.violation.anomaly.warmup-days:7}") int warmupDays,
+                                    @Value("${infrasystem.violation.anomaly.deactivate:false}") boolean deactivate,
+                                    @Value("${infrasystem.violation.rollup.flush-interval:PT5S}") Duration flushInterval) {
+        this(store, equipmentService, threshold, warmupDays, deactivate, flushInterval, Clock.systemUTC());
+    }
+
+    ViolationAnomalyDetector(ViolationRollupStore store, EquipmentServiceAdapter equipmentService, double threshold,
+                             int warmupDays, boolean deactivate, Duration flushInterval, Clock clock) {
+        this.store = store;
+        this.equipmentService = equipmentService;
+        this.settings = new EquipmentBaseline.Settings(threshold, warmupDays, HISTORY.toHours());
+        this.deactivate = deactivate;
+        this.flushInterval = flushInterval;
+        this.clock = clock;
+        this.readUntil = hourOf(clock.instant()) - settings.maxGapHours();
+    }
+
+    public void record(Violation violation) {
+        if (violation == null || violation.equipmentSerial() == null || violation.measuredSpeed() == null) {
+            return;
+        }
+        String serial = violation.equipmentSerial();
+        Instant now = clock.instant();
+        baselines.compute(serial, (key, baseline) -> {
+            EquipmentBaseline current = baseline != null ? baseline : new EquipmentBaseline(readUntil);
+            current.speed(violation.measuredSpeed(), settings, sink(serial, now));
+            return current;
+        });
+    }
+
+    public void record(Collection<Violation> violations) {
+        violations.forEach(this::record);
+    }
+
+    public List<EquipmentAnomaly> anomalies() {
+        return anomalies.values().stream()
+                .sorted(Comparator.comparing(EquipmentAnomaly::detectedAt).reversed()
+                        .thenComparing(EquipmentAnomaly::serial)
+                        .thenComparing(EquipmentAnomaly::type))
+                .toList();
+    }
+
+    @Scheduled(initialDelayString = "${infrasystem.violation.anomaly.check-interval:PT1M}",
+            fixedDelayString = "${infrasystem.violation.anomaly.check-interval:PT1M}")
+    public synchronized void check() {
+        Instant now = clock.instant();
+        readClosedHours(now);
+        long hour = readUntil;
+        for (String serial : baselines.keySet()) {
+            baselines.computeIfPresent(serial, (key, baseline) -> {
+                baseline.advance(hour, settings, sink(serial, now));
+                if (baseline.idleHours() >= settings.maxGapHours()) {
+                    for (EquipmentAnomaly.Type type : EquipmentAnomaly.Type.values()) {
+                        anomalies.remove(new Key(serial, type));
+                    }
+                    return null;
+                }
+                return baseline;
+            });
+        }
+        deactivateFlagged();
+    }
+
+    public void seed() {
+        check();
+        log.info("Seeded violation baselines of {} equipment, {} flagged", baselines.size(), anomalies.size());
+    }
+
+    /** Reads the hours closed since the last read; on failure they are read again on the next check. */
+    private void readClosedHours(Instant now) {
+        long from = readUntil;
+        long to = hourOf(now.minus(flushInterval));
+        if (to <= from) {
+            return;
+        }
+        try {
+            store.forEachHour(Instant.ofEpochSecond(from * SECONDS_PER_HOUR), Instant.ofEpochSecond(to * SECONDS_PER_HOUR),
+                    (serial, at, violations) -> baselines.compute(serial, (key, baseline) -> {
+                        EquipmentBaseline current = baseline != null ? baseline : new EquipmentBaseline(hourOf(at));
+                        current.count(hourOf(at), violations, settings, sink(serial, now));
+                        return current;
+                    }));
+            readUntil = to;
+        } catch (RuntimeException ex) {
+            log.warn("Could not read violation rollups since {}, retrying on the next check - {}",
+                    Instant.ofEpochSecond(from * SECONDS_PER_HOUR), ex.getMessage());
+        }
+    }
+
+    private EquipmentBaseline.Sink sink(String serial, Instant at) {
+        return new EquipmentBaseline.Sink() {
+            @Override
+            public void flag(EquipmentAnomaly.Type type, double observed, double expected) {
+                Key key = new Key(serial, type);
+                EquipmentAnomaly previous = anomalies.get(key);
+                anomalies.put(key, new EquipmentAnomaly(serial, type, previous == null ? at : previous.detectedAt(), observed, expected));
+                if (previous == null) {
+                    log.warn("Equipment {} flagged with a violation {}: observed {}, expected {}",
+                            Masking.maskSerial(serial), type, Math.round(observed), Math.round(expected));
+                    if (deactivate && DEACTIVATING.contains(type)) {
+                        toDeactivate.add(serial);
+                    }
+                }
+            }
+
+            @Override
+            public void clear(EquipmentAnomaly.Type type) {
+                if (anomalies.remove(new Key(serial, type)) != null) {
+                    log.info("Equipment {} no longer flagged with a violation {}", Masking.maskSerial(serial), type);
+                }
+            }
+        };
+    }
+
+    private void deactivateFlagged() {
+        if (toDeactivate.isEmpty()) {
+            return;
+        }
+        List<String> serials = new ArrayList<>();
+        for (String serial : toDeactivate) {
+            if (toDeactivate.remove(serial) && flaggedForDeactivation(serial)) {
+                serials.add(serial);
+            }
+        }
+        if (serials.isEmpty()) {
+            return;
+        }
+        try {
+            EquipmentActivation activation = equipmentService.setEquipmentActivation(serials, false);
+            log.warn("Deactivated {} equipment flagged as anomalous", activation.changed().size());
+        } catch (RuntimeException ex) {
+            log.warn("Could not deactivate {} anomalous equipment, retrying on the next check - {}", serials.size(), ex.getMessage());
+            toDeactivate.addAll(serials);
+        }
+    }
+
+    private boolean flaggedForDeactivation(String serial) {
+        for (EquipmentAnomaly.Type type : DEACTIVATING) {
+            if (anomalies.containsKey(new Key(serial, type))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long hourOf(Instant instant) {
+        return Math.floorDiv(instant.getEpochSecond(), SECONDS_PER_HOUR);
+    }
+
+    private record Key(String serial, EquipmentAnomaly.Type type) {
+    }
+}
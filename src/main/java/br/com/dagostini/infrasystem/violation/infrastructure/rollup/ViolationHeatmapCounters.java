@@ -0,0 +1,110 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.rollup;
+
+import br.com.dagostini.infrasystem.equipment.application.service.EquipmentServiceAdapter;
+import br.com.dagostini.infrasystem.equipment.domain.exception.EquipmentNotFoundException;
+import br.com.dagostini.infrasystem.equipment.domain.model.Equipment;
+import br.com.dagostini.infrasystem.shared.utils.Masking;
+import br.com.dagostini.infrasystem.violation.domain.model.MapTile;
+import br.com.dagostini.infrasystem.violation.domain.model.Violation;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/** Violations per (equipment, UTC day), flushed into the tiles of each equipment's current location. */
+@Slf4j
+@Component
+public class ViolationHeatmapCounters {
+
+    private final ViolationHeatmapStore store;
+    private final EquipmentServiceAdapter equipmentService;
+    private final FlushBuffer<Key, LongAdder, Long> buffer =
+            new FlushBuffer<>("heatmap equipment days", LongAdder::new, LongAdder::sumThenReset, count -> count == 0, Long::sum);
+
+    public ViolationHeatmapCounters(ViolationHeatmapStore store, EquipmentServiceAdapter equipmentService) {
+        this.store = store;
+        this.equipmentService = equipmentService;
+    }
+
+    public void record(Violation violation) {
+        if (violation == null || violation.equipmentSerial() == null || violation.occurrenceDateUtc() == null) {
+            return;
+        }
+        Key key = new Key(violation.equipmentSerial(), violation.occurrenceDateUtc().toInstant().truncatedTo(ChronoUnit.DAYS));
+        buffer.accumulator(key).increment();
+    }
+
+    public void record(Collection<Violation> violations) {
+        violations.forEach(this::record);
+    }
+
+    @Scheduled(initialDelayString = "${infrasystem.violation.heatmap.flush-interval:PT10S}",
+            fixedDelayString = "${infrasystem.violation.heatmap.flush-interval:PT10S}")
+    @PreDestroy
+    public void flush() {
+        buffer.flush(this::write);
+    }
+
+    int size() {
+        return buffer.size();
+    }
+
+    private Map<Key, Long> write(Map<Key, Long> batch) {
+        Map<String, Optional<MapTile>> locations = new HashMap<>();
+        Map<Key, Long> unlocated = new HashMap<>();
+        Map<HeatmapCell, Long> cells = new HashMap<>();
+        long dropped = 0;
+        for (Map.Entry<Key, Long> entry : batch.entrySet()) {
+            Key key = entry.getKey();
+            Optional<MapTile> location;
+            try {
+                location = locations.computeIfAbsent(key.serial(), this::locate);
+            } catch (RuntimeException ex) {
+                log.warn("Could not locate equipment {}, retrying on the next flush - {}", Masking.maskSerial(key.serial()), ex.getMessage());
+                unlocated.put(key, entry.getValue());
+                continue;
+            }
+            if (location.isEmpty()) {
+                dropped += entry.getValue();
+                continue;
+            }
+            MapTile deepest = location.get();
+            for (int zoom = 0; zoom <= MapTile.MAX_ZOOM; zoom++) {
+                int shift = MapTile.MAX_ZOOM - zoom;
+                cells.merge(new HeatmapCell(new MapTile(zoom, deepest.x() >> shift, deepest.y() >> shift), key.day()),
+                        entry.getValue(), Long::sum);
+            }
+        }
+        if (dropped > 0) {
+            log.warn("Dropped {} violations from the heatmap: equipment not found or without coordinates", dropped);
+        }
+        if (!cells.isEmpty()) {
+            store.add(cells);
+        }
+        return unlocated;
+    }
+
+    /** The equipment's tile at {@link MapTile#MAX_ZOOM}, or empty when it cannot be placed on the map. */
+    private Optional<MapTile> locate(String serial) {
+        try {
+            Equipment equipment = equipmentService.getEquipmentBySerial(serial);
+            if (equipment.getLatitude() == null || equipment.getLongitude() == null) {
+                return Optional.empty();
+            }
+            return Optional.of(MapTile.of(MapTile.MAX_ZOOM, equipment.getLatitude(), equipment.getLongitude()));
+        } catch (EquipmentNotFoundException ex) {
+            return Optional.empty();
+        }
+    }
+
+    private record Key(String serial, Instant day) {
+    }
+}
@@ -0,0 +1,90 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.rollup;
+
+import br.com.dagostini.infrasystem.violation.domain.model.MapTile;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationHeatmap;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationHeatmapArea;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/** The {@code violation_heatmap} table through plain JDBC on PostgreSQL. */
+@Slf4j
+@Component
+public class ViolationHeatmapStore {
+
+    static final String ADD = "INSERT INTO violation_heatmap (zoom, tile_x, tile_y, day_utc, violations) VALUES (?, ?, ?, ?, ?) "
+            + "ON CONFLICT (zoom, tile_x, tile_y, day_utc) DO UPDATE "
+            + "SET violations = violation_heatmap.violations + EXCLUDED.violations";
+    static final String SELECT_AREA = "SELECT tile_x, tile_y, sum(violations) FROM violation_heatmap "
+            + "WHERE zoom = ? AND tile_x BETWEEN ? AND ? AND tile_y BETWEEN ? AND ? AND day_utc >= ? AND day_utc < ? "
+            + "GROUP BY tile_x, tile_y ORDER BY tile_x, tile_y";
+
+    private final DataSource dataSource;
+    private final int batchSize;
+
+    public ViolationHeatmapStore(DataSource dataSource,
+                                 @Value("${infrasystem.violation.heatmap.jdbc-batch-size:500}") int batchSize) {
+        this.dataSource = dataSource;
+        this.batchSize = batchSize;
+    }
+
+    void add(Map<HeatmapCell, Long> cells) {
+        if (cells.isEmpty()) {
+            return;
+        }
+        try {
+            JdbcBatches.execute(dataSource, ADD, batchSize, cells.entrySet(), (statement, cell) -> {
+                MapTile tile = cell.getKey().tile();
+                statement.setInt(1, tile.zoom());
+                statement.setInt(2, tile.x());
+                statement.setInt(3, tile.y());
+                statement.setObject(4, utc(cell.getKey().day()));
+                statement.setLong(5, cell.getValue());
+            });
+            log.debug("Added {} heatmap cells", cells.size());
+        } catch (SQLException ex) {
+            log.error("Error adding {} heatmap cells - {}", cells.size(), ex.getMessage());
+            throw new IllegalStateException("Failed to save violation heatmap", ex);
+        }
+    }
+
+    public List<ViolationHeatmap.Tile> findTiles(ViolationHeatmapArea area, Instant from, Instant to) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_AREA)) {
+            statement.setInt(1, area.zoom());
+            statement.setInt(2, area.minX());
+            statement.setInt(3, area.maxX());
+            statement.setInt(4, area.minY());
+            statement.setInt(5, area.maxY());
+            statement.setObject(6, utc(from));
+            statement.setObject(7, utc(to));
+            List<ViolationHeatmap.Tile> tiles = new ArrayList<>();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    MapTile tile = new MapTile(area.zoom(), resultSet.getInt(1), resultSet.getInt(2));
+                    tiles.add(ViolationHeatmap.Tile.of(tile, resultSet.getLong(3)));
+                }
+            }
+            return tiles;
+        } catch (SQLException ex) {
+            log.error("Error reading violation heatmap from {} to {} - {}", from, to, ex.getMessage());
+            throw new IllegalStateException("Failed to read violation heatmap", ex);
+        }
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+}
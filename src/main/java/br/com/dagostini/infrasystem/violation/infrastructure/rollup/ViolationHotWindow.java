@@ -0,0 +1,374 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.rollup;
+
+import br.com.dagostini.infrasystem.violation.domain.model.SpeedExcessBand;
+import br.com.dagostini.infrasystem.violation.domain.model.Violation;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationSummary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReentrantLock;
+
+/** This instance's violations of the last {@code retention}, kept column by column in fixed-size segments. */
+@Slf4j
+@Component
+public class ViolationHotWindow {
+
+    static final int SEGMENT_ROWS = 1 << 16;
+    private static final int ANY = -1;
+    private static final int UNKNOWN = -2;
+    private static final int BANDS = SpeedExcessBand.values().length;
+
+    private final ViolationHotWindowStore store;
+    private final Duration retention;
+    private final boolean parallel;
+    private final Clock clock;
+    private final Dictionary serials = new Dictionary();
+    private final Dictionary types = new Dictionary();
+    // Replaced under the lock; a summary reads one array and the size of each of its segments once.
+    private volatile Segment[] segments = new Segment[0];
+    private volatile Instant localSince;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    @Autowired
+    public ViolationHotWindow(ViolationHotWindowStore store,
+                              @Value("${infrasystem.violation.hot-window.retention:P7D}") Duration retention,
+                              @Value("${infrasystem.violation.hot-window.parallel:true}") boolean parallel) {
+        this(store, retention, parallel, Clock.systemUTC());
+    }
+
+    ViolationHotWindow(ViolationHotWindowStore store, Duration retention, boolean parallel, Clock clock) {
+        this.store = store;
+        this.retention = retention;
+        this.parallel = parallel;
+        this.clock = clock;
+    }
+
+    public void record(Violation violation) {
+        if (violation != null) {
+            record(List.of(violation));
+        }
+    }
+
+    public void record(Collection<Violation> violations) {
+        lock.lock();
+        try {
+            for (Violation violation : violations) {
+                if (violation != null && violation.occurrenceDateUtc() != null) {
+                    append(violation.equipmentSerial(), violation.occurrenceDateUtc().toInstant(),
+                            violation.consideredSpeed(), violation.regulatedSpeed(), violation.type());
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Instant coveredSince() {
+        return clock.instant().minus(retention);
+    }
+
+    public ViolationSummary summarize(Instant from, Instant to, String serial, String type, int limit) {
+        Segment[] snapshot = segments;
+        int[] sizes = new int[snapshot.length];
+        for (int i = 0; i < snapshot.length; i++) {
+            sizes[i] = snapshot[i].size;
+        }
+        // Read after the sizes: every id in the rows read is already in the dictionaries.
+        String[] serialNames = serials.names();
+        String[] typeNames = types.names();
+        Filter filter = new Filter(from.toEpochMilli(), to.toEpochMilli(),
+                serial == null ? ANY : serials.idOf(serial), type == null ? ANY : types.idOf(type));
+
+        Counts counts;
+        if (filter.serial() == UNKNOWN || filter.type() == UNKNOWN || snapshot.length == 0) {
+            counts = new Counts(typeNames.length, serialNames.length);
+        } else {
+            int leaf = parallel
+                    ? Math.max(1, -Math.floorDiv(-snapshot.length, ForkJoinPool.getCommonPoolParallelism() * 2))
+                    : snapshot.length;
+            CountTask task = new CountTask(snapshot, sizes, 0, snapshot.length, leaf, filter, typeNames.length, serialNames.length);
+            counts = leaf < snapshot.length ? ForkJoinPool.commonPool().invoke(task) : task.compute();
+        }
+        return toSummary(from, to, counts, serialNames, typeNames, limit, localSince);
+    }
+
+    @Scheduled(initialDelayString = "${infrasystem.violation.hot-window.evict-interval:PT5M}",
+            fixedDelayString = "${infrasystem.violation.hot-window.evict-interval:PT5M}")
+    public void evict() {
+        lock.lock();
+        try {
+            evictExpired();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void load() {
+        Instant start = clock.instant();
+        Instant since = start.minus(retention);
+        // Held for the whole load: violations registered meanwhile wait for it rather than being missed.
+        lock.lock();
+        try {
+            long read = store.forEachSince(since, row -> append(row.getEquipmentSerial(), row.getOccurrenceDateUtc().toInstant(),
+                    row.getConsideredSpeed(), row.getRegulatedSpeed(), row.getType()));
+            localSince = start;
+            log.info("Loaded {} violations since {} into the hot window", read, since);
+        } catch (RuntimeException ex) {
+            log.warn("Could not load the hot window, summarizing new violations only - {}", ex.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int segmentCount() {
+        return segments.length;
+    }
+
+    private void append(String serial, Instant occurrence, Double consideredSpeed, Double regulatedSpeed, String type) {
+        if (serial == null || type == null) {
+            return;
+        }
+        Segment[] current = segments;
+        Segment last = current.length == 0 ? null : current[current.length - 1];
+        if (last == null || last.size == SEGMENT_ROWS) {
+            last = new Segment();
+            current = Arrays.copyOf(current, current.length + 1);
+            current[current.length - 1] = last;
+            segments = current;
+            evictExpired();
+        }
+        // Clamped to now: a row dated in the future would keep its segment from ever being evicted.
+        last.append(Math.min(occurrence.toEpochMilli(), clock.millis()), toFloat(consideredSpeed), toFloat(regulatedSpeed),
+                serials.add(serial), types.add(type));
+    }
+
+    private void evictExpired() {
+        long oldest = coveredSince().toEpochMilli();
+        Segment[] current = segments;
+        // The last segment is the one being appended to.
+        List<Segment> kept = new ArrayList<>(current.length);
+        for (int i = 0; i < current.length; i++) {
+            if (i == current.length - 1 || current[i].maxTime >= oldest) {
+                kept.add(current[i]);
+            }
+        }
+        if (kept.size() < current.length) {
+            segments = kept.toArray(new Segment[0]);
+            log.debug("Dropped {} hot window segments older than {}", current.length - kept.size(), oldest);
+        }
+    }
+
+    private static ViolationSummary toSummary(Instant from, Instant to, Counts counts, String[] serialNames,
+                                              String[] typeNames, int limit, Instant localSince) {
+        List<ViolationSummary.TypeCount> typeCounts = new ArrayList<>();
+        for (int type = 0; type < counts.types.length; type++) {
+            if (counts.types[type] > 0) {
+                typeCounts.add(new ViolationSummary.TypeCount(typeNames[type], counts.types[type]));
+            }
+        }
+        typeCounts.sort(Comparator.comparingLong(ViolationSummary.TypeCount::violations).reversed()
+                .thenComparing(ViolationSummary.TypeCount::type));
+
+        List<ViolationSummary.BandCount> bands = new ArrayList<>(BANDS);
+        for (SpeedExcessBand band : SpeedExcessBand.values()) {
+            bands.add(new ViolationSummary.BandCount(band, counts.bands[band.ordinal()]));
+        }
+
+        // The top serials by a bounded heap over the ids, whose weakest is polled first.
+        Comparator<Integer> weakestFirst = Comparator.<Integer>comparingInt(id -> counts.serials[id])
+                .thenComparing(id -> serialNames[id], Comparator.reverseOrder());
+        PriorityQueue<Integer> top = new PriorityQueue<>(weakestFirst);
+        for (int id = 0; id < counts.serials.length && limit > 0; id++) {
+            if (counts.serials[id] > 0) {
+                top.add(id);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+        }
+        List<ViolationSummary.EquipmentCount> equipments = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            int id = top.poll();
+            equipments.add(new ViolationSummary.EquipmentCount(serialNames[id], counts.serials[id]));
+        }
+        equipments.sort(Comparator.comparingLong(ViolationSummary.EquipmentCount::violations).reversed()
+                .thenComparing(ViolationSummary.EquipmentCount::serial));
+
+        return new ViolationSummary(from, to, counts.total, typeCounts, bands, equipments, localSince);
+    }
+
+    private static float toFloat(Double value) {
+        return value == null ? Float.NaN : value.floatValue();
+    }
+
+    /** Fixed-size columns of rows; written under the window lock and published by {@code size}. */
+    private static final class Segment {
+        private final long[] times = new long[SEGMENT_ROWS];
+        private final float[] speeds = new float[SEGMENT_ROWS];
+        private final float[] limits = new float[SEGMENT_ROWS];
+        private final int[] serials = new int[SEGMENT_ROWS];
+        private final int[] types = new int[SEGMENT_ROWS];
+        private long minTime = Long.MAX_VALUE;
+        private long maxTime = Long.MIN_VALUE;
+        private volatile int size;
+
+        void append(long time, float speed, float limit, int serial, int type) {
+            int row = size;
+            times[row] = time;
+            speeds[row] = speed;
+            limits[row] = limit;
+            serials[row] = serial;
+            types[row] = type;
+            minTime = Math.min(minTime, time);
+            maxTime = Math.max(maxTime, time);
+            size = row + 1;
+        }
+
+        void count(int size, Filter filter, Counts counts) {
+            if (size == 0 || maxTime < filter.from() || minTime >= filter.to()) {
+                return;
+            }
+            long from = filter.from();
+            long to = filter.to();
+            int serialFilter = filter.serial();
+            int typeFilter = filter.type();
+            for (int row = 0; row < size; row++) {
+                long time = times[row];
+                if (time < from || time >= to) {
+                    continue;
+                }
+                int serial = serials[row];
+                int type = types[row];
+                if ((serialFilter != ANY && serial != serialFilter) || (typeFilter != ANY && type != typeFilter)) {
+                    continue;
+                }
+                counts.total++;
+                counts.types[type]++;
+                counts.serials[serial]++;
+                float limit = limits[row];
+                if (limit > 0) {
+                    SpeedExcessBand band = SpeedExcessBand.of(speeds[row] / limit - 1);
+                    if (band != null) {
+                        counts.bands[band.ordinal()]++;
+                    }
+                }
+            }
+        }
+    }
+
+    /** Sums a range of segments, splitting it in halves down to {@code leaf} segments per task. */
+    private static final class CountTask extends RecursiveTask<Counts> {
+        private final Segment[] segments;
+        private final int[] sizes;
+        private final int start;
+        private final int end;
+        private final int leaf;
+        private final Filter filter;
+        private final int typeCount;
+        private final int serialCount;
+
+        CountTask(Segment[] segments, int[] sizes, int start, int end, int leaf, Filter filter, int typeCount, int serialCount) {
+            this.segments = segments;
+            this.sizes = sizes;
+            this.start = start;
+            this.end = end;
+            this.leaf = leaf;
+            this.filter = filter;
+            this.typeCount = typeCount;
+            this.serialCount = serialCount;
+        }
+
+        @Override
+        protected Counts compute() {
+            if (end - start <= leaf) {
+                Counts counts = new Counts(typeCount, serialCount);
+                for (int i = start; i < end; i++) {
+                    segments[i].count(sizes[i], filter, counts);
+                }
+                return counts;
+            }
+            int middle = (start + end) >>> 1;
+            CountTask left = new CountTask(segments, sizes, start, middle, leaf, filter, typeCount, serialCount);
+            left.fork();
+            Counts right = new CountTask(segments, sizes, middle, end, leaf, filter, typeCount, serialCount).compute();
+            return left.join().add(right);
+        }
+    }
+
+    private static final class Counts {
+        private long total;
+        private final long[] types;
+        private final long[] bands = new long[BANDS];
+        private final int[] serials;
+
+        Counts(int typeCount, int serialCount) {
+            this.types = new long[typeCount];
+            this.serials = new int[serialCount];
+        }
+
+        Counts add(Counts other) {
+            total += other.total;
+            for (int i = 0; i < types.length; i++) {
+                types[i] += other.types[i];
+            }
+            for (int i = 0; i < bands.length; i++) {
+                bands[i] += other.bands[i];
+            }
+            for (int i = 0; i < serials.length; i++) {
+                serials[i] += other.serials[i];
+            }
+            return this;
+        }
+    }
+
+    private record Filter(long from, long to, int serial, int type) {
+    }
+
+    /** Ids of strings, handed out in order; added to under the window lock, read without it. */
+    private static final class Dictionary {
+        private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+        private volatile String[] names = new String[64];
+        private volatile int size;
+
+        int add(String name) {
+            Integer id = ids.get(name);
+            if (id != null) {
+                return id;
+            }
+            int next = size;
+            if (next == names.length) {
+                names = Arrays.copyOf(names, next * 2);
+            }
+            names[next] = name;
+            ids.put(name, next);
+            size = next + 1;
+            return next;
+        }
+
+        int idOf(String name) {
+            Integer id = ids.get(name);
+            return id == null ? UNKNOWN : id;
+        }
+
+        String[] names() {
+            int count = size;
+            return Arrays.copyOf(names, count);
+        }
+    }
+}
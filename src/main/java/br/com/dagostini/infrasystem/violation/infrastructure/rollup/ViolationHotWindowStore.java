@@ -0,0 +1,32 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.rollup;
+
+import br.com.dagostini.infrasystem.violation.infrastructure.persistence.repository.ViolationJpaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/** Streams the recent violations that seed the {@link ViolationHotWindow}. */
+@Component
+@RequiredArgsConstructor
+public class ViolationHotWindowStore {
+
+    private final ViolationJpaRepository jpaRepository;
+
+    // The stream reads from an open cursor, which lives as long as the transaction.
+    @Transactional(readOnly = true)
+    public long forEachSince(Instant since, Consumer<ViolationJpaRepository.RecentViolation> consumer) {
+        long read = 0;
+        try (Stream<ViolationJpaRepository.RecentViolation> rows = jpaRepository.streamSince(since.atOffset(ZoneOffset.UTC))) {
+            for (ViolationJpaRepository.RecentViolation row : (Iterable<ViolationJpaRepository.RecentViolation>) rows::iterator) {
+                consumer.accept(row);
+                read++;
+            }
+        }
+        return read;
+    }
+}
@@ -0,0 +1,119 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.rollup;
+
+import br.com.dagostini.infrasystem.violation.domain.model.Violation;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationRollup;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationStatsGranularity;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/** Violations per (equipment, UTC hour, type) within the lateness horizon, flushed to {@code violation_rollup}. */
+@Slf4j
+@Component
+public class ViolationRollupCounters {
+
+    private final ViolationRollupStore store;
+    private final FlushBuffer<Key, LongAdder, Long> buffer =
+            new FlushBuffer<>("violation rollups", LongAdder::new, LongAdder::sumThenReset, count -> count == 0, Long::sum);
+
+    private final Duration lateness;
+    private final Clock clock;
+
+    @Autowired
+    public ViolationRollupCounters(ViolationRollupStore store,
+                                   @Value("${infrasystem.violation.rollup.lateness:PT24H}") Duration lateness) {
+        this(store, lateness, Clock.systemUTC());
+    }
+
+    ViolationRollupCounters(ViolationRollupStore store, Duration lateness, Clock clock) {
+        this.store = store;
+        this.lateness = lateness;
+        this.clock = clock;
+    }
+
+    public void record(Violation violation) {
+        if (violation == null || violation.equipmentSerial() == null || violation.occurrenceDateUtc() == null
+                || violation.type() == null) {
+            return;
+        }
+        Instant hour = violation.occurrenceDateUtc().toInstant().truncatedTo(ChronoUnit.HOURS);
+        if (hour.isBefore(horizon())) {
+            return;
+        }
+        buffer.accumulator(new Key(violation.equipmentSerial(), hour, violation.type())).increment();
+    }
+
+    public void record(Collection<Violation> violations) {
+        violations.forEach(this::record);
+    }
+
+    /** Counts of {@code serial} for the hours in [from, to) not yet flushed; a flush in progress may hide some. */
+    public List<ViolationRollup> pending(String serial, Instant from, Instant to) {
+        Map<Key, Long> counts = new HashMap<>();
+        buffer.forEachPending(LongAdder::sum, (key, count) -> {
+            if (key.serial().equals(serial) && !key.hour().isBefore(from) && key.hour().isBefore(to)) {
+                counts.merge(key, count, Long::sum);
+            }
+        });
+        List<ViolationRollup> rollups = new ArrayList<>(counts.size());
+        counts.forEach((key, count) -> rollups.add(key.rollup(count)));
+        return rollups;
+    }
+
+    @Scheduled(initialDelayString = "${infrasystem.violation.rollup.flush-interval:PT5S}",
+            fixedDelayString = "${infrasystem.violation.rollup.flush-interval:PT5S}")
+    @PreDestroy
+    public void flush() {
+        buffer.flush(this::write);
+    }
+
+    /** Flushes, then runs {@code task} with further flushes held until it returns. */
+    public <T> T afterFlush(Supplier<T> task) {
+        return buffer.afterFlush(this::write, task);
+    }
+
+    int size() {
+        return buffer.size();
+    }
+
+    private Map<Key, Long> write(Map<Key, Long> batch) {
+        Instant horizon = horizon();
+        List<ViolationRollup> rollups = new ArrayList<>(batch.size());
+        batch.forEach((key, count) -> {
+            if (!key.hour().isBefore(horizon)) {
+                rollups.add(key.rollup(count));
+            }
+        });
+        if (rollups.size() < batch.size()) {
+            log.warn("Dropped {} violation rollups older than {}, left to the rebuild", batch.size() - rollups.size(), horizon);
+        }
+        store.add(rollups);
+        return Map.of();
+    }
+
+    /** First hour still counted live. */
+    private Instant horizon() {
+        return ViolationStatsGranularity.HOUR.floor(clock.instant().minus(lateness));
+    }
+
+    private record Key(String serial, Instant hour, String type) {
+        ViolationRollup rollup(long violations) {
+            return new ViolationRollup(serial, hour, type, violations);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.rollup;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+
+/** Fills the in-memory views of recent violations before the application takes requests. */
+@Component
+@ConditionalOnWebApplication
+@RequiredArgsConstructor
+public class ViolationRollupSeeder implements SmartInitializingSingleton {
+
+    private final ViolationTopEquipment topEquipment;
+    private final ViolationAnomalyDetector anomalyDetector;
+    private final ViolationHotWindow hotWindow;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        topEquipment.seed();
+        anomalyDetector.seed();
+        hotWindow.load();
+    }
+}
@@ -0,0 +1,141 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.rollup;
+
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationRollup;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/** The {@code violation_rollup} table through plain JDBC on PostgreSQL. */
+@Slf4j
+@Component
+public class ViolationRollupStore {
+
+    static final String ADD = "INSERT INTO violation_rollup (equipment_serial, hour_utc, type, violations) VALUES (?, ?, ?, ?) "
+            + "ON CONFLICT (equipment_serial, hour_utc, type) DO UPDATE "
+            + "SET violations = violation_rollup.violations + EXCLUDED.violations";
+    static final String SELECT_BY_SERIAL = "SELECT hour_utc, type, violations FROM violation_rollup "
+            + "WHERE equipment_serial = ? AND hour_utc >= ? AND hour_utc < ? ORDER BY hour_utc, type";
+    static final String SELECT_HOURS = "SELECT equipment_serial, hour_utc, sum(violations) FROM violation_rollup "
+            + "WHERE hour_utc >= ? AND hour_utc < ? GROUP BY equipment_serial, hour_utc ORDER BY equipment_serial, hour_utc";
+    static final String DELETE_RANGE = "DELETE FROM violation_rollup WHERE hour_utc >= ? AND hour_utc < ?";
+    static final String REBUILD_RANGE = "INSERT INTO violation_rollup (equipment_serial, hour_utc, type, violations) "
+            + "SELECT equipment_serial, hour_utc, type, count(*) FROM ("
+            + "SELECT equipment_serial, date_trunc('hour', occurrence_date_utc AT TIME ZONE 'UTC') AT TIME ZONE 'UTC' AS hour_utc, type "
+            + "FROM violation WHERE occurrence_date_utc >= ? AND occurrence_date_utc < ?) hours "
+            + "GROUP BY equipment_serial, hour_utc, type";
+
+    private final DataSource dataSource;
+    private final int batchSize;
+
+    public ViolationRollupStore(DataSource dataSource,
+                                @Value("${infrasystem.violation.rollup.jdbc-batch-size:500}") int batchSize) {
+        this.dataSource = dataSource;
+        this.batchSize = batchSize;
+    }
+
+    public void add(List<ViolationRollup> rollups) {
+        if (rollups.isEmpty()) {
+            return;
+        }
+        try {
+            JdbcBatches.execute(dataSource, ADD, batchSize, rollups, (statement, rollup) -> {
+                statement.setString(1, rollup.equipmentSerial());
+                statement.setObject(2, utc(rollup.hour()));
+                statement.setString(3, rollup.type());
+                statement.setLong(4, rollup.violations());
+            });
+            log.debug("Added {} violation rollups", rollups.size());
+        } catch (SQLException ex) {
+            log.error("Error adding {} violation rollups - {}", rollups.size(), ex.getMessage());
+            throw new IllegalStateException("Failed to save violation rollups", ex);
+        }
+    }
+
+    public List<ViolationRollup> findBySerial(String serial, Instant from, Instant to) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_BY_SERIAL)) {
+            statement.setString(1, serial);
+            statement.setObject(2, utc(from));
+            statement.setObject(3, utc(to));
+            List<ViolationRollup> rollups = new ArrayList<>();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    rollups.add(new ViolationRollup(serial, resultSet.getObject(1, OffsetDateTime.class).toInstant(),
+                            resultSet.getString(2), resultSet.getLong(3)));
+                }
+            }
+            return rollups;
+        } catch (SQLException ex) {
+            log.error("Error reading violation rollups from {} to {} - {}", from, to, ex.getMessage());
+            throw new IllegalStateException("Failed to read violation rollups", ex);
+        }
+    }
+
+    /** Streams the violations of each equipment and hour in [from, to), {@code batchSize} rows at a time. */
+    void forEachHour(Instant from, Instant to, HourCountConsumer consumer) {
+        try (Connection connection = dataSource.getConnection()) {
+            // PostgreSQL only honours the fetch size inside a transaction.
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            try (PreparedStatement statement = connection.prepareStatement(SELECT_HOURS)) {
+                statement.setFetchSize(batchSize);
+                statement.setObject(1, utc(from));
+                statement.setObject(2, utc(to));
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        consumer.accept(resultSet.getString(1), resultSet.getObject(2, OffsetDateTime.class).toInstant(),
+                                resultSet.getLong(3));
+                    }
+                }
+            } finally {
+                connection.rollback();
+            }
+        } catch (SQLException ex) {
+            log.error("Error reading violation rollups from {} to {} - {}", from, to, ex.getMessage());
+            throw new IllegalStateException("Failed to read violation rollups", ex);
+        }
+    }
+
+    public long rebuild(Instant from, Instant to) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement delete = connection.prepareStatement(DELETE_RANGE);
+                 PreparedStatement insert = connection.prepareStatement(REBUILD_RANGE)) {
+                delete.setObject(1, utc(from));
+                delete.setObject(2, utc(to));
+                delete.executeUpdate();
+                insert.setObject(1, utc(from));
+                insert.setObject(2, utc(to));
+                long written = insert.executeUpdate();
+                connection.commit();
+                return written;
+            } catch (SQLException ex) {
+                connection.rollback();
+                throw ex;
+            }
+        } catch (SQLException ex) {
+            log.error("Error rebuilding violation rollups from {} to {} - {}", from, to, ex.getMessage());
+            throw new IllegalStateException("Failed to rebuild violation rollups", ex);
+        }
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+
+    @FunctionalInterface
+    interface HourCountConsumer {
+        void accept(String serial, Instant hour, long violations);
+    }
+}
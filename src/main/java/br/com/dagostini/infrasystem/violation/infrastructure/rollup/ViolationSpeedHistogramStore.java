@@ -0,0 +1,128 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.rollup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/** The {@code violation_speed_histogram} table through plain JDBC on PostgreSQL. */
+@Slf4j
+@Component
+public class ViolationSpeedHistogramStore {
+
+    static final String INSERT_EMPTY = "INSERT INTO violation_speed_histogram (equipment_serial, hour_utc, histogram) "
+            + "VALUES (?, ?, ?) ON CONFLICT (equipment_serial, hour_utc) DO NOTHING";
+    // Locks by serial and the batch's span of hours: a few rows outside the batch may be locked too.
+    static final String SELECT_FOR_UPDATE = "SELECT equipment_serial, hour_utc, histogram FROM violation_speed_histogram "
+            + "WHERE equipment_serial = ANY(?) AND hour_utc >= ? AND hour_utc <= ? "
+            + "ORDER BY equipment_serial, hour_utc FOR UPDATE";
+    static final String UPDATE = "UPDATE violation_speed_histogram SET histogram = ? WHERE equipment_serial = ? AND hour_utc = ?";
+    static final String SELECT_RANGE = "SELECT histogram FROM violation_speed_histogram "
+            + "WHERE equipment_serial = ? AND hour_utc >= ? AND hour_utc < ?";
+
+    private static final byte[] EMPTY = SpeedHistograms.encode(SpeedHistograms.empty());
+
+    private final DataSource dataSource;
+
+    public ViolationSpeedHistogramStore(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    void merge(Map<SpeedHour, Histogram> histograms) {
+        if (histograms.isEmpty()) {
+            return;
+        }
+        // One order for every writer, so two instances locking the same rows cannot deadlock.
+        List<SpeedHour> hours = new ArrayList<>(histograms.keySet());
+        hours.sort(Comparator.comparing(SpeedHour::serial).thenComparing(SpeedHour::hour));
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                try (PreparedStatement insert = connection.prepareStatement(INSERT_EMPTY)) {
+                    for (SpeedHour hour : hours) {
+                        insert.setString(1, hour.serial());
+                        insert.setObject(2, utc(hour.hour()));
+                        insert.setBytes(3, EMPTY);
+                        insert.addBatch();
+                    }
+                    insert.executeBatch();
+                }
+
+                Map<SpeedHour, Histogram> stored = lock(connection, hours);
+                try (PreparedStatement update = connection.prepareStatement(UPDATE)) {
+                    for (SpeedHour hour : hours) {
+                        Histogram merged = stored.getOrDefault(hour, SpeedHistograms.empty());
+                        merged.add(histograms.get(hour));
+                        update.setBytes(1, SpeedHistograms.encode(merged));
+                        update.setString(2, hour.serial());
+                        update.setObject(3, utc(hour.hour()));
+                        update.addBatch();
+                    }
+                    update.executeBatch();
+                }
+                connection.commit();
+                log.debug("Merged {} speed histograms", hours.size());
+            } catch (SQLException | RuntimeException ex) {
+                connection.rollback();
+                throw ex;
+            }
+        } catch (SQLException ex) {
+            log.error("Error merging {} speed histograms - {}", hours.size(), ex.getMessage());
+            throw new IllegalStateException("Failed to save speed histograms", ex);
+        }
+    }
+
+    public Histogram findBySerial(String serial, Instant from, Instant to) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_RANGE)) {
+            statement.setString(1, serial);
+            statement.setObject(2, utc(from));
+            statement.setObject(3, utc(to));
+            Histogram merged = SpeedHistograms.empty();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    merged.add(SpeedHistograms.decode(resultSet.getBytes(1)));
+                }
+            }
+            return merged;
+        } catch (SQLException ex) {
+            log.error("Error reading speed histograms from {} to {} - {}", from, to, ex.getMessage());
+            throw new IllegalStateException("Failed to read speed histograms", ex);
+        }
+    }
+
+    private static Map<SpeedHour, Histogram> lock(Connection connection, List<SpeedHour> hours) throws SQLException {
+        Instant first = hours.stream().map(SpeedHour::hour).min(Comparator.naturalOrder()).orElseThrow();
+        Instant last = hours.stream().map(SpeedHour::hour).max(Comparator.naturalOrder()).orElseThrow();
+        Map<SpeedHour, Histogram> stored = new HashMap<>();
+        try (PreparedStatement select = connection.prepareStatement(SELECT_FOR_UPDATE)) {
+            select.setArray(1, connection.createArrayOf("varchar", hours.stream().map(SpeedHour::serial).distinct().toArray()));
+            select.setObject(2, utc(first));
+            select.setObject(3, utc(last));
+            try (ResultSet resultSet = select.executeQuery()) {
+                while (resultSet.next()) {
+                    stored.put(new SpeedHour(resultSet.getString(1), resultSet.getObject(2, OffsetDateTime.class).toInstant()),
+                            SpeedHistograms.decode(resultSet.getBytes(3)));
+                }
+            }
+        }
+        return stored;
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+}
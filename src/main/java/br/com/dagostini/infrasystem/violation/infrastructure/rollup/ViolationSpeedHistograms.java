@@ -0,0 +1,59 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.rollup;
+
+import br.com.dagostini.infrasystem.violation.domain.model.Violation;
+import jakarta.annotation.PreDestroy;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Map;
+
+/** Measured speeds per (equipment, UTC hour) in wait-free recorders, merged into {@code violation_speed_histogram}. */
+@Component
+public class ViolationSpeedHistograms {
+
+    private final ViolationSpeedHistogramStore store;
+    private final FlushBuffer<SpeedHour, Recorder, Histogram> buffer = new FlushBuffer<>("speed histograms of equipment hours",
+            SpeedHistograms::recorder, Recorder::getIntervalHistogram, histogram -> histogram.getTotalCount() == 0,
+            (merged, interval) -> {
+                merged.add(interval);
+                return merged;
+            });
+
+    public ViolationSpeedHistograms(ViolationSpeedHistogramStore store) {
+        this.store = store;
+    }
+
+    public void record(Violation violation) {
+        if (violation == null || violation.equipmentSerial() == null || violation.occurrenceDateUtc() == null) {
+            return;
+        }
+        long value = SpeedHistograms.toValue(violation.measuredSpeed());
+        if (value < 0) {
+            return;
+        }
+        SpeedHour hour = new SpeedHour(violation.equipmentSerial(), violation.occurrenceDateUtc().toInstant().truncatedTo(ChronoUnit.HOURS));
+        buffer.accumulator(hour).recordValue(value);
+    }
+
+    public void record(Collection<Violation> violations) {
+        violations.forEach(this::record);
+    }
+
+    @Scheduled(initialDelayString = "${infrasystem.violation.speed-histogram.flush-interval:PT30S}",
+            fixedDelayString = "${infrasystem.violation.speed-histogram.flush-interval:PT30S}")
+    @PreDestroy
+    public void flush() {
+        buffer.flush(batch -> {
+            store.merge(batch);
+            return Map.of();
+        });
+    }
+
+    int size() {
+        return buffer.size();
+    }
+}
@@ -0,0 +1,157 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.rollup;
+
+import br.com.dagostini.infrasystem.violation.domain.model.TopEquipment;
+import br.com.dagostini.infrasystem.violation.domain.model.TopEquipmentWindow;
+import br.com.dagostini.infrasystem.violation.domain.model.Violation;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/** Live ranking of equipment by violations over each {@link TopEquipmentWindow}, in bounded memory. */
+@Slf4j
+@Component
+public class ViolationTopEquipment {
+
+    private final ViolationTopEquipmentStore store;
+    private final Clock clock;
+    private final Map<TopEquipmentWindow, Ring> rings = new EnumMap<>(TopEquipmentWindow.class);
+
+    @Autowired
+    public ViolationTopEquipment(ViolationTopEquipmentStore store,
+                                 @Value("${infrasystem.violation.top.capacity:1000}") int capacity) {
+        this(store, capacity, Clock.systemUTC());
+    }
+
+    ViolationTopEquipment(ViolationTopEquipmentStore store, int capacity, Clock clock) {
+        this.store = store;
+        this.clock = clock;
+        for (TopEquipmentWindow window : TopEquipmentWindow.values()) {
+            rings.put(window, new Ring(window, capacity));
+        }
+    }
+
+    public void record(Violation violation) {
+        if (violation == null || violation.equipmentSerial() == null || violation.occurrenceDateUtc() == null) {
+            return;
+        }
+        add(violation.equipmentSerial(), violation.occurrenceDateUtc().toInstant(), 1, clock.instant());
+    }
+
+    public void record(Collection<Violation> violations) {
+        violations.forEach(this::record);
+    }
+
+    public TopEquipment top(TopEquipmentWindow window, int limit) {
+        return rings.get(window).top(limit, clock.instant());
+    }
+
+    public void seed() {
+        Instant now = clock.instant();
+        Instant since = now.minus(TopEquipmentWindow.DAY.length()).minus(TopEquipmentWindow.DAY.bucket());
+        try {
+            List<ViolationTopEquipmentStore.MinuteCount> counts = store.countsSince(since);
+            counts.forEach(count -> add(count.serial(), count.minute(), count.violations(), now));
+            log.info("Seeded the equipment ranking with {} equipment minutes since {}", counts.size(), since);
+        } catch (RuntimeException ex) {
+            log.warn("Could not seed the equipment ranking, starting empty - {}", ex.getMessage());
+        }
+    }
+
+    private void add(String serial, Instant at, long count, Instant now) {
+        Instant occurrence = at.isAfter(now) ? now : at;
+        rings.values().forEach(ring -> ring.add(serial, occurrence, count, now));
+    }
+
+    /** The bucket summaries of one window, each slot tagged with the bucket it holds. */
+    private static final class Ring {
+
+        private final TopEquipmentWindow window;
+        private final int capacity;
+        private final long bucketMillis;
+        private final SpaceSaving[] slots;
+        private final long[] tags;
+        private final ReentrantLock lock = new ReentrantLock();
+
+        Ring(TopEquipmentWindow window, int capacity) {
+            this.window = window;
+            this.capacity = capacity;
+            this.bucketMillis = window.bucket().toMillis();
+            this.slots = new SpaceSaving[window.buckets() + 1];
+            this.tags = new long[slots.length];
+            Arrays.fill(tags, Long.MIN_VALUE);
+        }
+
+        void add(String serial, Instant at, long count, Instant now) {
+            long bucket = Math.floorDiv(at.toEpochMilli(), bucketMillis);
+            if (bucket < oldest(now)) {
+                return;
+            }
+            int slot = (int) Math.floorMod(bucket, (long) slots.length);
+            lock.lock();
+            try {
+                if (tags[slot] < bucket) {
+                    slots[slot] = new SpaceSaving(capacity);
+                    tags[slot] = bucket;
+                } else if (tags[slot] > bucket) {
+                    return;
+                }
+                slots[slot].add(serial, count);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        TopEquipment top(int limit, Instant now) {
+            long oldest = oldest(now);
+            Map<String, long[]> merged = new HashMap<>();
+            long unseen = 0;
+            lock.lock();
+            try {
+                for (int slot = 0; slot < slots.length; slot++) {
+                    if (slots[slot] == null || tags[slot] < oldest) {
+                        continue;
+                    }
+                    long bound = slots[slot].unseenBound();
+                    unseen += bound;
+                    slots[slot].forEach(counter -> {
+                        long[] totals = merged.computeIfAbsent(counter.key(), ignored -> new long[3]);
+                        totals[0] += counter.count();
+                        totals[1] += counter.error();
+                        totals[2] += bound;
+                    });
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            // A bucket that evicted a key may have held up to its smallest count of it.
+            List<TopEquipment.Entry> entries = new ArrayList<>(merged.size());
+            for (Map.Entry<String, long[]> entry : merged.entrySet()) {
+                long[] totals = entry.getValue();
+                long absent = unseen - totals[2];
+                entries.add(new TopEquipment.Entry(entry.getKey(), totals[0] + absent, totals[1] + absent));
+            }
+            entries.sort(Comparator.comparingLong(TopEquipment.Entry::violations).reversed()
+                    .thenComparing(TopEquipment.Entry::serial));
+            return new TopEquipment(window, Instant.ofEpochMilli(oldest * bucketMillis), now,
+                    entries.size() > limit ? new ArrayList<>(entries.subList(0, limit)) : entries);
+        }
+
+        private long oldest(Instant now) {
+            return Math.floorDiv(now.toEpochMilli(), bucketMillis) - window.buckets();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.rollup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Recent violations per equipment and minute, read to seed the equipment ranking. */
+@Slf4j
+@Component
+public class ViolationTopEquipmentStore {
+
+    static final String SELECT_RECENT = "SELECT equipment_serial, minute_utc, count(*) FROM ("
+            + "SELECT equipment_serial, date_trunc('minute', occurrence_date_utc AT TIME ZONE 'UTC') AT TIME ZONE 'UTC' AS minute_utc "
+            + "FROM violation WHERE occurrence_date_utc >= ?) minutes "
+            + "GROUP BY equipment_serial, minute_utc";
+
+    private final DataSource dataSource;
+
+    public ViolationTopEquipmentStore(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    List<MinuteCount> countsSince(Instant since) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_RECENT)) {
+            statement.setObject(1, since.atOffset(ZoneOffset.UTC));
+            List<MinuteCount> counts = new ArrayList<>();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    counts.add(new MinuteCount(resultSet.getString(1),
+                            resultSet.getObject(2, OffsetDateTime.class).toInstant(), resultSet.getLong(3)));
+                }
+            }
+            return counts;
+        } catch (SQLException ex) {
+            log.error("Error reading violation counts since {} - {}", since, ex.getMessage());
+            throw new IllegalStateException("Failed to read recent violation counts", ex);
+        }
+    }
+
+    record MinuteCount(String serial, Instant minute, long violations) {
+    }
+}
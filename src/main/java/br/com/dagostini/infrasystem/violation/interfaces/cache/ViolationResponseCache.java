@@ -0,0 +1,61 @@
+package br.com.dagostini.infrasystem.violation.interfaces.cache;
+
+import br.com.agostini.openapi.provider.representation.ViolationResponseRepresentation;
+import br.com.dagostini.infrasystem.shared.infrastructure.cache.OffHeapByteCache;
+import br.com.dagostini.infrasystem.shared.interfaces.web.EntityTags;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Serialized {@code GET /violations/{id}} bodies, kept off-heap. A violation never changes once saved, so
+ * its JSON is stored when it is created or first read and later reads are answered with those bytes by
+ * {@link ViolationResponseCacheInterceptor}, skipping the database, the mappers and Jackson. Metrics are
+ * tagged {@code cache=violation-response}. For the same reason clients get the ID as ETag and may keep the
+ * body for a year.
+ */
+@Slf4j
+@Component
+public class ViolationResponseCache {
+
+    private final OffHeapByteCache cache;
+    private final ObjectMapper objectMapper;
+
+    public ViolationResponseCache(MeterRegistry meterRegistry,
+                                  ObjectMapper objectMapper,
+                                  @Value("${infrasystem.violation.response-cache.capacity:64MB}") DataSize capacity) {
+        this.cache = new OffHeapByteCache(meterRegistry, "violation-response", Math.toIntExact(capacity.toBytes()));
+        this.objectMapper = objectMapper;
+    }
+
+    public static String etag(long id) {
+        return EntityTags.of(id);
+    }
+
+    public static CacheControl cacheControl() {
+        // private: responses are only served to authenticated clients
+        return CacheControl.maxAge(Duration.ofDays(365)).cachePrivate().immutable();
+    }
+
+    public byte[] get(long id) {
+        return cache.get(id);
+    }
+
+    public void put(ViolationResponseRepresentation response) {
+        if (response == null || response.getId() == null) {
+            return;
+        }
+        try {
+            cache.put(response.getId(), objectMapper.writeValueAsBytes(response));
+        } catch (JsonProcessingException ex) {
+            log.warn("Could not cache response of violation {} - {}", response.getId(), ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package br.com.dagostini.infrasystem.violation.interfaces.cache;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Answers {@code GET /violations/{id}} from {@link ViolationResponseCache} before the controller runs.
+ * Misses, conditional requests and clients that do not accept JSON continue to the controller, which fills
+ * the cache and answers {@code If-None-Match} once it knows the violation exists.
+ */
+@Component
+@RequiredArgsConstructor
+public class ViolationResponseCacheInterceptor implements HandlerInterceptor {
+
+    private final ViolationResponseCache cache;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (!HttpMethod.GET.matches(request.getMethod()) || request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || !acceptsJson(request)) {
+            return true;
+        }
+        Long id = violationId(request);
+        byte[] body = id == null ? null : cache.get(id);
+        if (body == null) {
+            return true;
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader(HttpHeaders.ETAG, ViolationResponseCache.etag(id));
+        response.setHeader(HttpHeaders.CACHE_CONTROL, ViolationResponseCache.cacheControl().getHeaderValue());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+        return false;
+    }
+
+    private static Long violationId(HttpServletRequest request) {
+        Object variables = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (variables instanceof Map<?, ?> map && map.get("id") instanceof String id) {
+            try {
+                return Long.valueOf(id);
+            } catch (NumberFormatException ex) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static boolean acceptsJson(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || accept.isBlank()) {
+            return true;
+        }
+        try {
+            return MediaType.parseMediaTypes(accept).stream().anyMatch(type -> type.isCompatibleWith(MediaType.APPLICATION_JSON));
+        } catch (InvalidMediaTypeException ex) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package br.com.dagostini.infrasystem.violation.interfaces.cli;
+
+import br.com.dagostini.infrasystem.violation.application.usecase.ImportViolationsUseCase;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationImportFormat;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationImportReport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * CLI run mode for historical backfills, e.g.
+ * {@code java -jar infrasystem.jar --spring.main.web-application-type=none --infrasystem.import.file=/data/violations.csv}.
+ * The application exits once the import is done.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "infrasystem.import", name = "file")
+public class ViolationImportRunner implements ApplicationRunner {
+    private final ImportViolationsUseCase importViolationsUseCase;
+    private final ApplicationContext context;
+    private final Path file;
+    private final ViolationImportFormat format;
+
+    public ViolationImportRunner(ImportViolationsUseCase importViolationsUseCase,
+                                 ApplicationContext context,
+                                 @Value("${infrasystem.import.file}") Path file,
+                                 @Value("${infrasystem.import.format:#{null}}") ViolationImportFormat format) {
+        this.importViolationsUseCase = importViolationsUseCase;
+        this.context = context;
+        this.file = file;
+        this.format = format;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        ViolationImportReport report = importViolationsUseCase.execute(file, format);
+        log.info("Violation import from {} complete: lines {}-{}, {} imported, {} rejected{}",
+                report.source(), report.resumedFromLine() + 1, report.lastLine(), report.imported(), report.rejected(),
+                report.rejectsFile() != null ? " (see " + report.rejectsFile() + ")" : "");
+        SpringApplication.exit(context);
+    }
+}
@@ -0,0 +1,67 @@
+package br.com.dagostini.infrasystem.violation.interfaces.cli;
+
+import br.com.dagostini.infrasystem.violation.application.usecase.RebuildViolationRollupsUseCase;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationStatsGranularity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * CLI run mode recomputing violation rollups after a backfill, e.g.
+ * {@code java -jar infrasystem.jar --spring.main.web-application-type=none --infrasystem.violation.rollup.rebuild-from=2020-01-01T00:00:00Z
+ * --infrasystem.violation.rollup.rebuild-to=2021-01-01T00:00:00Z}. The range must end before the live counters'
+ * lateness horizon, whose hours running instances may still add to; the application exits once the rebuild is done.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "infrasystem.violation.rollup", name = "rebuild-from")
+public class ViolationRollupRebuildRunner implements ApplicationRunner {
+    private final RebuildViolationRollupsUseCase rebuildViolationRollupsUseCase;
+    private final ApplicationContext context;
+    private final Instant from;
+    private final Instant to;
+
+    @Autowired
+    public ViolationRollupRebuildRunner(RebuildViolationRollupsUseCase rebuildViolationRollupsUseCase,
+                                        ApplicationContext context,
+                                        @Value("${infrasystem.violation.rollup.rebuild-from}") String from,
+                                        @Value("${infrasystem.violation.rollup.rebuild-to:#{null}}") String to,
+                                        @Value("${infrasystem.violation.rollup.lateness:PT24H}") Duration lateness,
+                                        @Value("${infrasystem.violation.rollup.flush-interval:PT5S}") Duration flushInterval) {
+        this(rebuildViolationRollupsUseCase, context, from, to, lateness, flushInterval, Clock.systemUTC());
+    }
+
+    ViolationRollupRebuildRunner(RebuildViolationRollupsUseCase rebuildViolationRollupsUseCase, ApplicationContext context,
+                                 String from, String to, Duration lateness, Duration flushInterval, Clock clock) {
+        if (to == null) {
+            throw new IllegalArgumentException("infrasystem.violation.rollup.rebuild-to is required");
+        }
+        Instant settled = ViolationStatsGranularity.HOUR.floor(clock.instant().minus(lateness).minus(flushInterval));
+        Instant end = Instant.parse(to);
+        if (end.isAfter(settled)) {
+            throw new IllegalArgumentException("Rebuild range must end no later than " + settled
+                    + ", hours after it may still receive live rollup counts");
+        }
+        this.rebuildViolationRollupsUseCase = rebuildViolationRollupsUseCase;
+        this.context = context;
+        this.from = Instant.parse(from);
+        this.to = end;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long written = rebuildViolationRollupsUseCase.execute(from, to);
+        log.info("Violation rollup rebuild from {} to {} complete: {} rows written", from, to, written);
+        SpringApplication.exit(context);
+    }
+}
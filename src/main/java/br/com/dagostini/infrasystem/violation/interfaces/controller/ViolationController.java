@@ -1,16 +1,34 @@
 package br.com.dagostini.infrasystem.violation.interfaces.controller;
 
 import br.com.agostini.openapi.provider.api.ViolationsApi;
+import br.com.agostini.openapi.provider.representation.EquipmentAnomalyRepresentation;
+import br.com.agostini.openapi.provider.representation.TopViolatingEquipmentsRepresentation;
+import br.com.agostini.openapi.provider.representation.ViolationBatchResponseRepresentation;
+import br.com.agostini.openapi.provider.representation.ViolationHeatmapRepresentation;
 import br.com.agostini.openapi.provider.representation.ViolationRequestRepresentation;
 import br.com.agostini.openapi.provider.representation.ViolationResponseRepresentation;
+import br.com.agostini.openapi.provider.representation.ViolationSubmissionRepresentation;
+import br.com.agostini.openapi.provider.representation.ViolationSummaryRepresentation;
 import br.com.dagostini.infrasystem.equipment.domain.exception.EquipmentInactiveException;
 import br.com.dagostini.infrasystem.equipment.domain.exception.EquipmentNotFoundException;
+import br.com.dagostini.infrasystem.shared.interfaces.web.EntityTags;
 import br.com.dagostini.infrasystem.shared.utils.ImageStorageUseCase;
+import br.com.dagostini.infrasystem.violation.application.usecase.CreateViolationBatchUseCase;
 import br.com.dagostini.infrasystem.violation.application.usecase.CreateViolationUseCase;
 import br.com.dagostini.infrasystem.violation.application.usecase.FindViolationByIdUseCase;
+import br.com.dagostini.infrasystem.violation.application.usecase.GetTopViolatingEquipmentsUseCase;
+import br.com.dagostini.infrasystem.violation.application.usecase.GetViolationHeatmapUseCase;
+import br.com.dagostini.infrasystem.violation.application.usecase.GetViolationSubmissionUseCase;
+import br.com.dagostini.infrasystem.violation.application.usecase.GetViolationSummaryUseCase;
+import br.com.dagostini.infrasystem.violation.application.usecase.ListEquipmentAnomaliesUseCase;
 import br.com.dagostini.infrasystem.violation.application.usecase.ListViolationsByEquipmentUseCase;
+import br.com.dagostini.infrasystem.violation.application.usecase.SubmitViolationUseCase;
+import br.com.dagostini.infrasystem.violation.domain.exception.ViolationNotFoundException;
 import br.com.dagostini.infrasystem.violation.domain.exception.ViolationValidationException;
 import br.com.dagostini.infrasystem.violation.domain.model.Violation;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationBatchItem;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationSubmission;
+import br.com.dagostini.infrasystem.violation.interfaces.cache.ViolationResponseCache;
 import br.com.dagostini.infrasystem.violation.interfaces.mapper.ViolationDtoMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -20,8 +38,14 @@ import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.multipart.MultipartRequest;
 
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Slf4j
@@ -29,6 +53,8 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class ViolationController implements ViolationsApi {
 
+    private static final int MAX_BATCH_SIZE = 100;
+
     private final ImageStorageUseCase imageStorageUseCase;
 
     private final ViolationDtoMapper violationDtoMapper;
@@ -39,37 +65,47 @@ public class ViolationController implements ViolationsApi {
 
     private final ListViolationsByEquipmentUseCase listViolationsByEquipment;
 
+    private final CreateViolationBatchUseCase createViolationBatchUseCase;
+
+    private final SubmitViolationUseCase submitViolationUseCase;
+
+    private final GetViolationSubmissionUseCase getViolationSubmissionUseCase;
+
+    private final GetViolationHeatmapUseCase getViolationHeatmapUseCase;
+
+    private final GetTopViolatingEquipmentsUseCase getTopViolatingEquipmentsUseCase;
+
+    private final ListEquipmentAnomaliesUseCase listEquipmentAnomaliesUseCase;
+
+    private final GetViolationSummaryUseCase getViolationSummaryUseCase;
+
+    private final ViolationResponseCache violationResponseCache;
+
+    private final NativeWebRequest request;
+
     @Override
     public Optional<NativeWebRequest> getRequest() {
-        return ViolationsApi.super.getRequest();
+        return Optional.ofNullable(request);
     }
 
     @Override
-    public ResponseEntity<ViolationResponseRepresentation> createViolation(@RequestPart("violation") ViolationRequestRepresentation violationRequestRepresentation, @RequestPart("picture") MultipartFile picture) {
+    public ResponseEntity<ViolationResponseRepresentation> createViolation(@RequestPart("violation") ViolationRequestRepresentation violationRequestRepresentation, @RequestPart("picture") MultipartFile picture, String idempotencyKey) {
         log.info("Received request to create violation of type: {}", violationRequestRepresentation.getType());
         try {
-            if (violationRequestRepresentation.getType() == ViolationRequestRepresentation.TypeEnum.VELOCITY) {
-                if (violationRequestRepresentation.getMeasuredSpeed() == null ||
-                        violationRequestRepresentation.getConsideredSpeed() == null ||
-                        violationRequestRepresentation.getRegulatedSpeed() == null) {
-                    log.error("Validation failed: Missing required speed fields for VELOCITY violation");
-                    throw new ViolationValidationException("For VELOCITY type, measuredSpeed, consideredSpeed, and regulatedSpeed are required.");
-                }
-            }
-            log.debug("Storing image for violation");
-
-            String pictureUrl;
-            pictureUrl = imageStorageUseCase.storeImage(picture);
+            validateSpeedFields(violationRequestRepresentation);
+            log.debug("Checking equipment and storing image for violation");
 
-            violationRequestRepresentation.setPicture(pictureUrl);
-
-            Violation violation = createViolationUseCase.execute(violationDtoMapper.toDomain(violationRequestRepresentation));
+            Violation violation = createViolationUseCase.execute(violationDtoMapper.toDomain(violationRequestRepresentation).toBuilder()
+                    .idempotencyKey(idempotencyKey)
+                    .build(), picture);
             URI location = URI.create("/violations/" + violation.id());
             log.info("Successfully created violation with ID: {}", maskViolationId(violation.id()));
 
+            ViolationResponseRepresentation response = violationDtoMapper.toResponse(violation);
+            violationResponseCache.put(response);
             return ResponseEntity
                     .created(location)
-                    .body(violationDtoMapper.toResponse(violation));
+                    .body(response);
         } catch (ViolationValidationException ex) {
             log.error("Validation error during violation creation: {}", ex.getMessage());
             throw ex;
@@ -82,19 +118,136 @@ public class ViolationController implements ViolationsApi {
         }
     }
 
+    @Override
+    public ResponseEntity<ViolationBatchResponseRepresentation> createViolationBatch(List<ViolationRequestRepresentation> violations) {
+        log.info("Received request to create batch of {} violations", violations.size());
+        if (violations.isEmpty() || violations.size() > MAX_BATCH_SIZE) {
+            throw new ViolationValidationException("A batch must contain between 1 and " + MAX_BATCH_SIZE + " violations.");
+        }
+        MultipartRequest multipartRequest = getRequest()
+                .map(webRequest -> webRequest.getNativeRequest(MultipartRequest.class))
+                .orElseThrow(() -> new ViolationValidationException("Batch requests must be sent as multipart/form-data."));
+
+        List<ViolationBatchItem> items = new ArrayList<>(violations.size());
+        Map<Integer, MultipartFile> pictures = new HashMap<>();
+        for (int index = 0; index < violations.size(); index++) {
+            ViolationRequestRepresentation violationRequestRepresentation = violations.get(index);
+            try {
+                validateSpeedFields(violationRequestRepresentation);
+                MultipartFile picture = multipartRequest.getFile(violationRequestRepresentation.getPicture());
+                if (picture == null) {
+                    throw new ViolationValidationException("Picture part '" + violationRequestRepresentation.getPicture() + "' not found.");
+                }
+                imageStorageUseCase.validateImage(picture.getContentType(), picture.getSize());
+                items.add(ViolationBatchItem.accepted(index, violationDtoMapper.toDomain(violationRequestRepresentation)));
+                pictures.put(index, picture);
+            } catch (RuntimeException ex) {
+                log.warn("Rejecting violation {} of batch: {}", index, ex.getMessage());
+                items.add(ViolationBatchItem.rejected(index, ex.getMessage()));
+            }
+        }
+
+        List<ViolationBatchItem> results = createViolationBatchUseCase.execute(items, pictures);
+        ViolationBatchResponseRepresentation response = violationDtoMapper.toBatchResponse(results);
+        log.info("Batch processed: {} created, {} rejected", response.getCreated(), response.getRejected());
+        return ResponseEntity.status(HttpStatus.MULTI_STATUS).body(response);
+    }
+
+    @Override
+    public ResponseEntity<ViolationSubmissionRepresentation> submitViolation(@RequestPart("violation") ViolationRequestRepresentation violationRequestRepresentation, @RequestPart("picture") MultipartFile picture, String idempotencyKey) {
+        log.info("Received asynchronous request to create violation of type: {}", violationRequestRepresentation.getType());
+        validateSpeedFields(violationRequestRepresentation);
+
+        ViolationSubmission submission = submitViolationUseCase.execute(violationDtoMapper.toDomain(violationRequestRepresentation).toBuilder()
+                .idempotencyKey(idempotencyKey)
+                .build(), picture);
+        log.info("Violation accepted for processing with ticket: {}", submission.ticket());
+
+        return ResponseEntity
+                .accepted()
+                .location(URI.create("/violations/requests/" + submission.ticket()))
+                .body(violationDtoMapper.toSubmissionResponse(submission));
+    }
+
+    @Override
+    public ResponseEntity<ViolationSubmissionRepresentation> getViolationSubmission(String ticket) {
+        log.debug("Received request for status of violation submission: {}", ticket);
+        return ResponseEntity.ok(violationDtoMapper.toSubmissionResponse(getViolationSubmissionUseCase.execute(ticket)));
+    }
+
     @Override
     public ResponseEntity<ViolationResponseRepresentation> findViolationById(Long id) {
         log.info("Received request to find violation by ID: {}", maskViolationId(id));
+        String etag = ViolationResponseCache.etag(id);
+        boolean notModified = EntityTags.notModified(request, etag);
+        // Only a violation known to exist is not modified: a cached one, or else one loaded first.
+        if (notModified && violationResponseCache.get(id) != null) {
+            return notModified(id, etag);
+        }
         try {
             Violation violation = findViolationByIdUseCase.findViolationById(id);
+            if (violation == null) {
+                throw new ViolationNotFoundException(id);
+            }
             log.info("Successfully retrieved violation for ID: {}", maskViolationId(id));
-            return ResponseEntity.status(HttpStatus.OK).body(violationDtoMapper.toResponse(violation));
+            ViolationResponseRepresentation response = violationDtoMapper.toResponse(violation);
+            violationResponseCache.put(response);
+            if (notModified) {
+                return notModified(id, etag);
+            }
+            return ResponseEntity.status(HttpStatus.OK)
+                    .eTag(etag)
+                    .cacheControl(ViolationResponseCache.cacheControl())
+                    .body(response);
         } catch (Exception ex) {
             log.error("Error retrieving violation for ID: {} - {}", maskViolationId(id), ex.getMessage());
             throw ex;
         }
     }
 
+    private ResponseEntity<ViolationResponseRepresentation> notModified(Long id, String etag) {
+        log.info("Violation {} not modified, returning 304", maskViolationId(id));
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(ViolationResponseCache.cacheControl())
+                .build();
+    }
+
+    @Override
+    public ResponseEntity<ViolationHeatmapRepresentation> getViolationHeatmap(String bbox, Integer zoom, Date from, Date to) {
+        log.info("Received request for the violation heatmap of {} at zoom {} from {} to {}", bbox, zoom, from, to);
+        return ResponseEntity.ok(violationDtoMapper.toHeatmapResponse(getViolationHeatmapUseCase.execute(bbox, zoom, from, to)));
+    }
+
+    @Override
+    public ResponseEntity<TopViolatingEquipmentsRepresentation> getTopViolatingEquipments(String window, Integer limit) {
+        log.info("Received request for the top {} violating equipment over {}", limit, window);
+        return ResponseEntity.ok(violationDtoMapper.toTopEquipmentsResponse(getTopViolatingEquipmentsUseCase.execute(window, limit)));
+    }
+
+    @Override
+    public ResponseEntity<List<EquipmentAnomalyRepresentation>> listEquipmentAnomalies(String type) {
+        log.info("Received request for the equipment anomalies of type {}", type);
+        return ResponseEntity.ok(violationDtoMapper.toAnomalyResponseList(listEquipmentAnomaliesUseCase.execute(type)));
+    }
+
+    @Override
+    public ResponseEntity<ViolationSummaryRepresentation> getViolationSummary(Date from, Date to, String serial, String type, Integer limit) {
+        log.info("Received request for the violation summary of type {} from {} to {}", type, from, to);
+        return ResponseEntity.ok(violationDtoMapper.toSummaryResponse(getViolationSummaryUseCase.execute(from, to, serial, type, limit)));
+    }
+
+    private void validateSpeedFields(ViolationRequestRepresentation violationRequestRepresentation) {
+        if (violationRequestRepresentation.getType() == ViolationRequestRepresentation.TypeEnum.VELOCITY) {
+            if (violationRequestRepresentation.getMeasuredSpeed() == null ||
+                    violationRequestRepresentation.getConsideredSpeed() == null ||
+                    violationRequestRepresentation.getRegulatedSpeed() == null) {
+                log.error("Validation failed: Missing required speed fields for VELOCITY violation");
+                throw new ViolationValidationException("For VELOCITY type, measuredSpeed, consideredSpeed, and regulatedSpeed are required.");
+            }
+        }
+    }
+
     private String maskViolationId(Long id) {
         if (id == null) {
             return "****";
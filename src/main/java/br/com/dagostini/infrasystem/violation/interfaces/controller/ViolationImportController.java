@@ -0,0 +1,51 @@
+package br.com.dagostini.infrasystem.violation.interfaces.controller;
+
+import br.com.agostini.openapi.provider.api.AdminApi;
+import br.com.agostini.openapi.provider.representation.ViolationImportRequestRepresentation;
+import br.com.agostini.openapi.provider.representation.ViolationImportResponseRepresentation;
+import br.com.dagostini.infrasystem.violation.application.usecase.ImportViolationsUseCase;
+import br.com.dagostini.infrasystem.violation.domain.exception.ViolationValidationException;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationImportFormat;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationImportReport;
+import br.com.dagostini.infrasystem.violation.interfaces.mapper.ViolationDtoMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.file.Path;
+
+@Slf4j
+@RestController
+public class ViolationImportController implements AdminApi {
+
+    private final ImportViolationsUseCase importViolationsUseCase;
+
+    private final ViolationDtoMapper violationDtoMapper;
+
+    private final Path importDirectory;
+
+    public ViolationImportController(ImportViolationsUseCase importViolationsUseCase,
+                                     ViolationDtoMapper violationDtoMapper,
+                                     @Value("${infrasystem.import.directory:/var/lib/infrasystem/imports}") Path importDirectory) {
+        this.importViolationsUseCase = importViolationsUseCase;
+        this.violationDtoMapper = violationDtoMapper;
+        this.importDirectory = importDirectory.toAbsolutePath().normalize();
+    }
+
+    @Override
+    public ResponseEntity<ViolationImportResponseRepresentation> importViolations(ViolationImportRequestRepresentation violationImportRequestRepresentation) {
+        log.info("Received request to import violations from {}", violationImportRequestRepresentation.getFile());
+        Path source = importDirectory.resolve(violationImportRequestRepresentation.getFile()).normalize();
+        if (!source.startsWith(importDirectory)) {
+            throw new ViolationValidationException("Import file must be inside the import directory.");
+        }
+        ViolationImportFormat format = violationImportRequestRepresentation.getFormat() == null
+                ? null
+                : ViolationImportFormat.valueOf(violationImportRequestRepresentation.getFormat().getValue());
+
+        ViolationImportReport report = importViolationsUseCase.execute(source, format);
+        log.info("Import finished: {} imported, {} rejected", report.imported(), report.rejected());
+        return ResponseEntity.ok(violationDtoMapper.toImportResponse(report));
+    }
+}
@@ -1,20 +1,75 @@
 package br.com.dagostini.infrasystem.violation.interfaces.mapper;
 
+import br.com.agostini.openapi.provider.representation.EquipmentAnomalyRepresentation;
+import br.com.agostini.openapi.provider.representation.TopViolatingEquipmentsRepresentation;
+import br.com.agostini.openapi.provider.representation.ViolationBatchResponseRepresentation;
+import br.com.agostini.openapi.provider.representation.ViolationBatchResultRepresentation;
+import br.com.agostini.openapi.provider.representation.ViolationHeatmapRepresentation;
+import br.com.agostini.openapi.provider.representation.ViolationImportResponseRepresentation;
 import br.com.agostini.openapi.provider.representation.ViolationRequestRepresentation;
 import br.com.agostini.openapi.provider.representation.ViolationResponseRepresentation;
+import br.com.agostini.openapi.provider.representation.ViolationSubmissionRepresentation;
+import br.com.agostini.openapi.provider.representation.ViolationSummaryRepresentation;
+import br.com.dagostini.infrasystem.violation.domain.model.EquipmentAnomaly;
+import br.com.dagostini.infrasystem.violation.domain.model.TopEquipment;
+import br.com.dagostini.infrasystem.violation.domain.model.TopEquipmentWindow;
 import br.com.dagostini.infrasystem.violation.domain.model.Violation;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationBatchItem;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationHeatmap;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationImportReport;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationSubmission;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationSummary;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.Date;
+import java.util.List;
 
 @Mapper(componentModel = "spring")
 public interface ViolationDtoMapper {
 
-
+    @Mapping(target = "idempotencyKey", ignore = true)
     Violation toDomain(ViolationRequestRepresentation violationRequestRepresentation);
     ViolationResponseRepresentation toResponse(Violation violation);
+    ViolationImportResponseRepresentation toImportResponse(ViolationImportReport report);
+    ViolationSubmissionRepresentation toSubmissionResponse(ViolationSubmission submission);
+    ViolationHeatmapRepresentation toHeatmapResponse(ViolationHeatmap heatmap);
+    TopViolatingEquipmentsRepresentation toTopEquipmentsResponse(TopEquipment top);
+    List<EquipmentAnomalyRepresentation> toAnomalyResponseList(List<EquipmentAnomaly> anomalies);
+    ViolationSummaryRepresentation toSummaryResponse(ViolationSummary summary);
+
+    default String map(TopEquipmentWindow window) {
+        return window == null ? null : window.value();
+    }
+
+    default ViolationBatchResultRepresentation toBatchResult(ViolationBatchItem item) {
+        ViolationBatchResultRepresentation result = new ViolationBatchResultRepresentation();
+        result.setIndex(item.index());
+        if (item.isRejected()) {
+            result.setStatus(ViolationBatchResultRepresentation.StatusEnum.REJECTED);
+            result.setError(item.error());
+        } else {
+            result.setStatus(ViolationBatchResultRepresentation.StatusEnum.CREATED);
+            result.setViolation(toResponse(item.violation()));
+        }
+        return result;
+    }
+
+    default ViolationBatchResponseRepresentation toBatchResponse(List<ViolationBatchItem> items) {
+        ViolationBatchResponseRepresentation response = new ViolationBatchResponseRepresentation();
+        int rejected = 0;
+        for (ViolationBatchItem item : items) {
+            response.addResultsItem(toBatchResult(item));
+            if (item.isRejected()) {
+                rejected++;
+            }
+        }
+        response.setCreated(items.size() - rejected);
+        response.setRejected(rejected);
+        return response;
+    }
 
     default OffsetDateTime map(Date value) {
         return value == null ? null : value.toInstant().atOffset(ZoneOffset.UTC);
@@ -0,0 +1,9 @@
+-- Violations per equipment, UTC hour and type. Kept up to date in batches by the application
+-- (see ViolationRollupCounters) and recomputed from violation by the rebuild run mode.
+CREATE TABLE violation_rollup (
+    equipment_serial VARCHAR(50) NOT NULL REFERENCES equipment(serial),
+    hour_utc TIMESTAMP WITH TIME ZONE NOT NULL,
+    type VARCHAR(50) NOT NULL,
+    violations BIGINT NOT NULL,
+    PRIMARY KEY (equipment_serial, hour_utc, type)
+);
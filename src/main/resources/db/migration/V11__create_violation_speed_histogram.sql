@@ -0,0 +1,8 @@
+-- Measured speeds per equipment and UTC hour as a compressed HdrHistogram, merged by the application
+-- (see ViolationSpeedHistograms). Percentiles of any range come from adding the hours of the range.
+CREATE TABLE violation_speed_histogram (
+    equipment_serial VARCHAR(50) NOT NULL REFERENCES equipment(serial),
+    hour_utc TIMESTAMP WITH TIME ZONE NOT NULL,
+    histogram BYTEA NOT NULL,
+    PRIMARY KEY (equipment_serial, hour_utc)
+);
@@ -0,0 +1,10 @@
+-- Violations per web map tile and UTC day, at every zoom level the heatmap serves, placed by the
+-- location of their equipment. Kept up to date in batches by the application (see ViolationHeatmapCounters).
+CREATE TABLE violation_heatmap (
+    zoom SMALLINT NOT NULL,
+    tile_x INTEGER NOT NULL,
+    tile_y INTEGER NOT NULL,
+    day_utc TIMESTAMP WITH TIME ZONE NOT NULL,
+    violations BIGINT NOT NULL,
+    PRIMARY KEY (zoom, tile_x, tile_y, day_utc)
+);
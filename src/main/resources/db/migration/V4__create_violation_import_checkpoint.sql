@@ -0,0 +1,7 @@
+CREATE TABLE violation_import_checkpoint (
+    source VARCHAR(1024) PRIMARY KEY,
+    last_line BIGINT NOT NULL,
+    imported BIGINT NOT NULL,
+    rejected BIGINT NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
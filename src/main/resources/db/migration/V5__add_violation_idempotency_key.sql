@@ -0,0 +1,3 @@
+ALTER TABLE violation ADD COLUMN idempotency_key VARCHAR(255);
+
+CREATE UNIQUE INDEX ux_violation_idempotency_key ON violation (idempotency_key);
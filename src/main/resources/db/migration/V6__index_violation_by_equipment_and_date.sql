@@ -0,0 +1 @@
+CREATE INDEX ix_violation_equipment_occurrence ON violation (equipment_serial, occurrence_date_utc, id);
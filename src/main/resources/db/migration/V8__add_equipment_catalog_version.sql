@@ -0,0 +1,9 @@
+-- Every write to an equipment takes a new catalog version from the sequence; clients sync the catalog
+-- with GET /equipments?sinceVersion=N, which returns the equipment whose version is greater than N.
+CREATE SEQUENCE equipment_catalog_version_seq;
+
+ALTER TABLE equipment ADD COLUMN catalog_version BIGINT;
+UPDATE equipment SET catalog_version = nextval('equipment_catalog_version_seq');
+ALTER TABLE equipment ALTER COLUMN catalog_version SET NOT NULL;
+
+CREATE INDEX ix_equipment_catalog_version ON equipment (catalog_version);
@@ -0,0 +1,5 @@
+-- Last heartbeat of each equipment, written in batches by the application (see EquipmentHeartbeats).
+CREATE TABLE equipment_status (
+    equipment_serial VARCHAR(50) PRIMARY KEY REFERENCES equipment(serial),
+    last_seen_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
@@ -0,0 +1,200 @@
+package br.com.dagostini.infrasystem.equipment.application.service;
+
+import br.com.dagostini.infrasystem.equipment.domain.model.Equipment;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EquipmentCacheTest {
+
+    private static final String SERIAL = "ABC12345";
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final Ticker ticker = nanos::get;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private EquipmentCache cache;
+    private Equipment equipment;
+
+    @BeforeEach
+    void setUp() {
+        cache = new EquipmentCache(meterRegistry, 100, Duration.ofMinutes(10), Duration.ofSeconds(30), ticker,
+                Executors.newCachedThreadPool());
+        equipment = new Equipment();
+        equipment.setSerial(SERIAL);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.shutdown();
+    }
+
+    private Function<String, Optional<Equipment>> loader(Optional<Equipment> result) {
+        return serial -> {
+            loads.incrementAndGet();
+            return result;
+        };
+    }
+
+    @Test
+    void get_shouldKeepKnownEquipmentUntilTtl() {
+        cache.get(SERIAL, loader(Optional.of(equipment)));
+        nanos.addAndGet(Duration.ofMinutes(9).toNanos());
+        cache.get(SERIAL, loader(Optional.of(equipment)));
+        assertEquals(1, loads.get());
+
+        nanos.addAndGet(Duration.ofMinutes(2).toNanos());
+        cache.get(SERIAL, loader(Optional.of(equipment)));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_shouldExpireUnknownSerialsSooner() {
+        assertTrue(cache.get(SERIAL, loader(Optional.empty())).isEmpty());
+        nanos.addAndGet(Duration.ofSeconds(31).toNanos());
+
+        assertEquals(Optional.of(equipment), cache.get(SERIAL, loader(Optional.of(equipment))));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void invalidate_shouldNotBeLostToALoadInProgress() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread reader = new Thread(() -> cache.get(SERIAL, serial -> {
+            loading.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return Optional.of(equipment);
+        }));
+        reader.start();
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        Thread writer = new Thread(() -> cache.invalidate(SERIAL));
+        writer.start();
+        Thread.sleep(50);
+        release.countDown();
+        reader.join(5_000);
+        writer.join(5_000);
+
+        assertTrue(cache.get(SERIAL, loader(Optional.empty())).isEmpty());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_shouldLoadConcurrentMissesOfASerialOnce() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        Function<String, Optional<Equipment>> slowLoader = serial -> {
+            loads.incrementAndGet();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return Optional.of(equipment);
+        };
+        for (int i = 0; i < 8; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                cache.get(SERIAL, slowLoader);
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_shouldRethrowTheLoaderFailure() {
+        IllegalStateException failure = new IllegalStateException("DB down");
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> cache.get(SERIAL, serial -> {
+            throw failure;
+        }));
+
+        assertSame(failure, thrown);
+        assertEquals(Optional.of(equipment), cache.get(SERIAL, loader(Optional.of(equipment))));
+    }
+
+    @Test
+    void isCached_shouldReportOnlyCompletedLoads() {
+        assertFalse(cache.isCached(SERIAL));
+        cache.get(SERIAL, loader(Optional.empty()));
+
+        assertTrue(cache.isCached(SERIAL));
+        assertFalse(cache.isCached(null));
+        cache.invalidate(SERIAL);
+        assertFalse(cache.isCached(SERIAL));
+    }
+
+    @Test
+    void invalidate_shouldForceReload() {
+        cache.get(SERIAL, loader(Optional.empty()));
+
+        cache.invalidate(SERIAL);
+        cache.get(SERIAL, loader(Optional.of(equipment)));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void invalidateAll_shouldForceReloadOfEverySerial() {
+        cache.get(SERIAL, loader(Optional.of(equipment)));
+        cache.get("OTHER123", loader(Optional.empty()));
+        cache.get("KEPT1234", loader(Optional.empty()));
+
+        cache.invalidateAll(List.of(SERIAL, "OTHER123"));
+        cache.get(SERIAL, loader(Optional.of(equipment)));
+        cache.get("OTHER123", loader(Optional.empty()));
+        cache.get("KEPT1234", loader(Optional.empty()));
+
+        assertEquals(5, loads.get());
+    }
+
+    @Test
+    void get_shouldBypassCacheForNullSerial() {
+        cache.get(null, loader(Optional.empty()));
+        cache.get(null, loader(Optional.empty()));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_shouldPublishHitAndMissMetrics() {
+        cache.get(SERIAL, loader(Optional.of(equipment)));
+        cache.get(SERIAL, loader(Optional.of(equipment)));
+
+        assertEquals(1.0, meterRegistry.get("cache.gets").tags("cache", "equipment", "result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tags("cache", "equipment", "result", "miss").functionCounter().count());
+    }
+}
@@ -0,0 +1,120 @@
+package br.com.dagostini.infrasystem.equipment.application.service;
+
+import br.com.dagostini.infrasystem.equipment.domain.model.Equipment;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentCatalogPage;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentCatalogQuery;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentCursor;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EquipmentCatalogSnapshotTest {
+
+    private static Equipment equipment(String serial, String model, boolean active, long version) {
+        Equipment equipment = new Equipment();
+        equipment.setSerial(serial);
+        equipment.setModel(model);
+        equipment.setActive(active);
+        equipment.setCatalogVersion(version);
+        return equipment;
+    }
+
+    private static List<String> serials(EquipmentCatalogPage page) {
+        return page.equipments().stream().map(Equipment::getSerial).toList();
+    }
+
+    private final EquipmentCatalogSnapshot snapshot = EquipmentCatalogSnapshot.of(List.of(
+            equipment("C3", "Radar-X", true, 4),
+            equipment("A1", "Radar-X", true, 1),
+            equipment("D4", "Radar-Y", false, 2),
+            equipment("B2", "Radar-Y", true, 3)));
+
+    @Test
+    void ofShouldSortBySerialAndTakeTheHighestVersion() {
+        EquipmentCatalogPage page = snapshot.query(EquipmentCatalogQuery.all());
+
+        assertEquals(List.of("A1", "B2", "C3", "D4"), serials(page));
+        assertEquals(4L, page.version());
+        assertFalse(page.hasNext());
+        assertEquals(0L, EquipmentCatalogSnapshot.of(List.of()).version());
+    }
+
+    @Test
+    void queryShouldReturnOnlyEquipmentChangedSinceTheVersion() {
+        assertEquals(List.of("B2", "C3"), serials(snapshot.query(new EquipmentCatalogQuery(2L, null, null, null, null))));
+        assertTrue(snapshot.query(new EquipmentCatalogQuery(4L, null, null, null, null)).equipments().isEmpty());
+    }
+
+    @Test
+    void queryShouldFilterByActiveAndModel() {
+        assertEquals(List.of("D4"), serials(snapshot.query(new EquipmentCatalogQuery(null, false, null, null, null))));
+        assertEquals(List.of("A1", "C3"), serials(snapshot.query(new EquipmentCatalogQuery(null, true, "radar-x", null, null))));
+    }
+
+    @Test
+    void queryShouldPageWithCursors() {
+        EquipmentCatalogPage first = snapshot.query(new EquipmentCatalogQuery(null, true, null, null, 2));
+        assertEquals(List.of("A1", "B2"), serials(first));
+        assertEquals(new EquipmentCursor("B2"), first.next());
+
+        EquipmentCatalogPage second = snapshot.query(new EquipmentCatalogQuery(null, true, null, first.next(), 2));
+        assertEquals(List.of("C3"), serials(second));
+        assertFalse(second.hasNext());
+    }
+
+    @Test
+    void queryShouldResumeAfterASerialThatIsNoLongerListed() {
+        EquipmentCatalogPage page = snapshot.query(new EquipmentCatalogQuery(null, null, null, new EquipmentCursor("B0"), null));
+
+        assertEquals(List.of("B2", "C3", "D4"), serials(page));
+    }
+
+    @Test
+    void withShouldReplaceOrAddWithoutChangingTheOriginal() {
+        Equipment deactivated = equipment("A1", "Radar-X", false, 5);
+        EquipmentCatalogSnapshot changed = snapshot.with(deactivated).with(equipment("AA", "Radar-Z", true, 6));
+        deactivated.setModel("modified afterwards");
+
+        assertEquals(6L, changed.version());
+        assertEquals(List.of("A1", "AA", "B2", "C3", "D4"), serials(changed.query(EquipmentCatalogQuery.all())));
+        assertFalse(changed.find("A1").orElseThrow().getActive());
+        assertEquals("Radar-X", changed.find("A1").orElseThrow().getModel());
+        assertTrue(snapshot.find("A1").orElseThrow().getActive());
+        assertTrue(snapshot.find("AA").isEmpty());
+        assertEquals(4L, snapshot.version());
+    }
+
+    @Test
+    void withShouldApplyABatchInOneSnapshot() {
+        EquipmentCatalogSnapshot changed = snapshot.with(List.of(
+                equipment("B2", "Radar-Y", false, 8),
+                equipment("E5", "Radar-Z", true, 9),
+                equipment("0A", "Radar-Z", true, 7)));
+
+        assertEquals(9L, changed.version());
+        assertEquals(4L, changed.watermark());
+        assertEquals(4L, changed.query(EquipmentCatalogQuery.all()).watermark());
+        assertEquals(List.of("0A", "A1", "B2", "C3", "D4", "E5"), serials(changed.query(EquipmentCatalogQuery.all())));
+        assertFalse(changed.find("B2").orElseThrow().getActive());
+        assertEquals(4, snapshot.size());
+    }
+
+    @Test
+    void mergedWithShouldKeepLocalWritesNewerThanTheLoad() {
+        EquipmentCatalogSnapshot local = snapshot.with(equipment("B2", "Radar-Y", false, 7));
+
+        EquipmentCatalogSnapshot merged = local.mergedWith(List.of(
+                equipment("A1", "Radar-X", true, 6),
+                equipment("B2", "Radar-Y", true, 3),
+                equipment("E5", "Radar-Z", true, 5)));
+
+        assertEquals(7L, merged.version());
+        assertEquals(6L, merged.watermark());
+        assertEquals(6L, merged.find("A1").orElseThrow().getCatalogVersion());
+        assertFalse(merged.find("B2").orElseThrow().getActive());
+        assertTrue(merged.find("E5").isPresent());
+        assertTrue(merged.find("C3").isPresent());
+    }
+}
@@ -0,0 +1,105 @@
+package br.com.dagostini.infrasystem.equipment.application.service;
+
+import br.com.dagostini.infrasystem.equipment.domain.model.Equipment;
+import br.com.dagostini.infrasystem.equipment.domain.repository.EquipmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EquipmentCatalogTest {
+
+    @Mock
+    private EquipmentRepository repository;
+
+    private EquipmentCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new EquipmentCatalog(repository);
+    }
+
+    private static Equipment equipment(String serial, long version) {
+        Equipment equipment = new Equipment();
+        equipment.setSerial(serial);
+        equipment.setCatalogVersion(version);
+        return equipment;
+    }
+
+    @Test
+    void snapshotShouldLoadOnce() {
+        when(repository.findAll()).thenReturn(List.of(equipment("A1", 1)));
+
+        EquipmentCatalogSnapshot first = catalog.snapshot();
+
+        assertSame(first, catalog.snapshot());
+        assertEquals(1L, first.version());
+        verify(repository, times(1)).findAll();
+    }
+
+    @Test
+    void changedShouldPatchTheLoadedSnapshot() {
+        when(repository.findAll()).thenReturn(List.of(equipment("A1", 1)));
+        EquipmentCatalogSnapshot before = catalog.snapshot();
+
+        catalog.changed(equipment("B2", 2));
+
+        assertEquals(2L, catalog.snapshot().version());
+        assertEquals(1L, catalog.snapshot().watermark());
+        assertTrue(catalog.snapshot().find("B2").isPresent());
+        assertEquals(1L, before.version());
+        verify(repository, times(1)).findAll();
+    }
+
+    @Test
+    void changedShouldApplyABatchAtOnce() {
+        when(repository.findAll()).thenReturn(List.of(equipment("A1", 1)));
+        catalog.snapshot();
+
+        catalog.changed(List.of(equipment("A1", 3), equipment("B2", 2)));
+
+        assertEquals(3L, catalog.snapshot().version());
+        assertEquals(2, catalog.snapshot().size());
+        verify(repository, times(1)).findAll();
+    }
+
+    @Test
+    void changedShouldWaitForTheFirstLoad() {
+        catalog.changed(equipment("B2", 2));
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void refreshShouldPickUpWritesOfOtherInstances() {
+        when(repository.findAll())
+                .thenReturn(List.of(equipment("A1", 1)))
+                .thenReturn(List.of(equipment("A1", 1), equipment("C3", 3)));
+        catalog.snapshot();
+
+        catalog.refresh();
+
+        assertEquals(3L, catalog.snapshot().version());
+        assertEquals(3L, catalog.snapshot().watermark());
+        assertTrue(catalog.snapshot().find("C3").isPresent());
+    }
+
+    @Test
+    void refreshShouldKeepTheSnapshotWhenTheDatabaseFails() {
+        when(repository.findAll())
+                .thenReturn(List.of(equipment("A1", 1)))
+                .thenThrow(new RuntimeException("connection refused"));
+        EquipmentCatalogSnapshot loaded = catalog.snapshot();
+
+        catalog.refresh();
+
+        assertSame(loaded, catalog.snapshot());
+    }
+}
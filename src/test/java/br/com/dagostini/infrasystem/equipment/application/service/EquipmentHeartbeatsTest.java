@@ -0,0 +1,168 @@
+package br.com.dagostini.infrasystem.equipment.application.service;
+
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentStatus;
+import br.com.dagostini.infrasystem.equipment.domain.repository.EquipmentStatusRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EquipmentHeartbeatsTest {
+
+    private static final Instant START = Instant.parse("2024-06-01T12:00:00Z");
+
+    @Mock
+    private EquipmentStatusRepository repository;
+
+    private final MutableClock clock = new MutableClock();
+    private EquipmentHeartbeats heartbeats;
+
+    @BeforeEach
+    void setUp() {
+        heartbeats = new EquipmentHeartbeats(repository, Duration.ofSeconds(30), Duration.ofSeconds(10), clock);
+    }
+
+    @Test
+    void flushShouldWriteOnlyTheLatestBeatOfEachEquipment() {
+        heartbeats.beat("A1");
+        clock.advance(Duration.ofSeconds(5));
+        heartbeats.beat("A1");
+        heartbeats.beat("B2");
+
+        heartbeats.flush();
+        heartbeats.flush();
+
+        verify(repository, times(1)).saveLastSeen(Map.of("A1", START.plusSeconds(5), "B2", START.plusSeconds(5)));
+        assertEquals(0, heartbeats.pendingCount());
+    }
+
+    @Test
+    void flushShouldKeepTheBatchWhenTheDatabaseFails() {
+        heartbeats.beat("A1");
+        doThrow(new IllegalStateException("down")).doNothing().when(repository).saveLastSeen(anyMap());
+
+        heartbeats.flush();
+        assertEquals(1, heartbeats.pendingCount());
+
+        heartbeats.flush();
+        verify(repository, times(2)).saveLastSeen(Map.of("A1", START));
+        assertEquals(0, heartbeats.pendingCount());
+    }
+
+    @Test
+    void statusShouldGoDarkAfterTheOnlineWindow() {
+        when(repository.findAllLastSeen()).thenReturn(Map.of());
+        heartbeats.beat("A1");
+
+        assertEquals(new EquipmentStatus("A1", START, true), heartbeats.status("A1"));
+        clock.advance(Duration.ofSeconds(31));
+        assertFalse(heartbeats.status("A1").online());
+        assertEquals(new EquipmentStatus("B2", null, false), heartbeats.status("B2"));
+    }
+
+    @Test
+    void statusShouldSeedFromTheTableOnceWithoutRewindingNewerBeats() {
+        heartbeats.beat("A1");
+        when(repository.findAllLastSeen()).thenReturn(Map.of("A1", START.minusSeconds(60), "B2", START.minusSeconds(10)));
+
+        assertEquals(START, heartbeats.status("A1").lastSeenAt());
+        assertTrue(heartbeats.status("B2").online());
+        verify(repository, times(1)).findAllLastSeen();
+    }
+
+    @Test
+    void flushAfterSeedingShouldMergeTheBeatsOtherInstancesWrote() {
+        when(repository.findAllLastSeen()).thenReturn(Map.of());
+        heartbeats.status("A1");
+        clock.advance(Duration.ofSeconds(10));
+        when(repository.findLastSeenSince(START.minusSeconds(10))).thenReturn(Map.of("A1", START.plusSeconds(8)));
+
+        heartbeats.flush();
+
+        assertEquals(new EquipmentStatus("A1", START.plusSeconds(8), true), heartbeats.status("A1"));
+        verify(repository, never()).saveLastSeen(anyMap());
+    }
+
+    @Test
+    void aFailedRefreshShouldBeRetriedFromTheSameInstant() {
+        when(repository.findAllLastSeen()).thenReturn(Map.of());
+        heartbeats.status("A1");
+        when(repository.findLastSeenSince(START.minusSeconds(10)))
+                .thenThrow(new IllegalStateException("down"))
+                .thenReturn(Map.of());
+
+        heartbeats.flush();
+        clock.advance(Duration.ofSeconds(10));
+        heartbeats.flush();
+        heartbeats.flush();
+
+        verify(repository, times(2)).findLastSeenSince(START.minusSeconds(10));
+        verify(repository).findLastSeenSince(START);
+    }
+
+    @Test
+    void flushBeforeSeedingShouldNotReadTheTable() {
+        heartbeats.flush();
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void concurrentBeatsShouldCoalesceIntoOneRowPerEquipment() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch done = new CountDownLatch(8_000);
+        for (int i = 0; i < 8_000; i++) {
+            String serial = "EQ" + (i % 100);
+            executor.execute(() -> {
+                heartbeats.beat(serial);
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        heartbeats.flush();
+
+        verify(repository).saveLastSeen(argThat(batch -> batch.size() == 100));
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = START;
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -1,9 +1,22 @@
 package br.com.dagostini.infrasystem.equipment.application.service;
 
+import br.com.dagostini.infrasystem.equipment.application.usecase.CreateEquipmentBatchUseCase;
 import br.com.dagostini.infrasystem.equipment.application.usecase.CreateEquipmentUseCase;
+import br.com.dagostini.infrasystem.equipment.application.usecase.FindEquipmentsNearUseCase;
+import br.com.dagostini.infrasystem.equipment.application.usecase.FindEquipmentsWithinUseCase;
 import br.com.dagostini.infrasystem.equipment.application.usecase.GetEquipmentBySerialUseCase;
+import br.com.dagostini.infrasystem.equipment.application.usecase.GetEquipmentStatusUseCase;
 import br.com.dagostini.infrasystem.equipment.application.usecase.ListEquipmentsUseCase;
+import br.com.dagostini.infrasystem.equipment.application.usecase.RecordHeartbeatUseCase;
+import br.com.dagostini.infrasystem.equipment.application.usecase.SetEquipmentActivationUseCase;
 import br.com.dagostini.infrasystem.equipment.domain.model.Equipment;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentCatalogPage;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentActivation;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentBatchItem;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentCatalogQuery;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentStatus;
+import br.com.dagostini.infrasystem.equipment.domain.model.GeoPoint;
+import br.com.dagostini.infrasystem.equipment.domain.model.NearbyEquipment;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,6 +24,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
 
@@ -29,6 +43,27 @@ class EquipmentServiceAdapterImplTest {
     @Mock
     private GetEquipmentBySerialUseCase getEquipmentBySerialUseCase;
 
+    @Mock
+    private FindEquipmentsNearUseCase findEquipmentsNearUseCase;
+
+    @Mock
+    private FindEquipmentsWithinUseCase findEquipmentsWithinUseCase;
+
+    @Mock
+    private CreateEquipmentBatchUseCase createEquipmentBatchUseCase;
+
+    @Mock
+    private SetEquipmentActivationUseCase setEquipmentActivationUseCase;
+
+    @Mock
+    private RecordHeartbeatUseCase recordHeartbeatUseCase;
+
+    @Mock
+    private GetEquipmentStatusUseCase getEquipmentStatusUseCase;
+
+    @Mock
+    private EquipmentCache equipmentCache;
+
     @InjectMocks
     private EquipmentServiceAdapterImpl equipmentServiceAdapter;
 
@@ -54,13 +89,14 @@ class EquipmentServiceAdapterImplTest {
 
     @Test
     void listEquipments_shouldReturnEquipmentList() {
-        List<Equipment> expectedList = Collections.singletonList(testEquipment);
-        when(listEquipmentsUseCase.execute()).thenReturn(expectedList);
-        List<Equipment> result = equipmentServiceAdapter.listEquipments();
+        EquipmentCatalogQuery query = EquipmentCatalogQuery.all();
+        EquipmentCatalogPage expected = new EquipmentCatalogPage(Collections.singletonList(testEquipment), 1L, 1L, null);
+        when(listEquipmentsUseCase.execute(query)).thenReturn(expected);
+        EquipmentCatalogPage result = equipmentServiceAdapter.listEquipments(query);
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(testEquipment, result.get(0));
-        verify(listEquipmentsUseCase, times(1)).execute();
+        assertEquals(1, result.equipments().size());
+        assertEquals(testEquipment, result.equipments().get(0));
+        verify(listEquipmentsUseCase, times(1)).execute(query);
     }
 
     @Test
@@ -90,6 +126,14 @@ class EquipmentServiceAdapterImplTest {
         verify(getEquipmentBySerialUseCase, times(1)).execute(TEST_SERIAL);
     }
 
+    @Test
+    void isEquipmentCached_shouldAskTheCache() {
+        when(equipmentCache.isCached(TEST_SERIAL)).thenReturn(true);
+
+        assertTrue(equipmentServiceAdapter.isEquipmentCached(TEST_SERIAL));
+        verifyNoInteractions(getEquipmentBySerialUseCase);
+    }
+
     @Test
     void getEquipmentBySerial_shouldThrowExceptionWhenEquipmentNotFound() {
         when(getEquipmentBySerialUseCase.execute(TEST_SERIAL))
@@ -98,4 +142,55 @@ class EquipmentServiceAdapterImplTest {
                 equipmentServiceAdapter.getEquipmentBySerial(TEST_SERIAL));
         verify(getEquipmentBySerialUseCase, times(1)).execute(TEST_SERIAL);
     }
-}
\ No newline at end of file
+
+    @Test
+    void findEquipmentsNear_shouldDelegateToUseCase() {
+        GeoPoint center = new GeoPoint(-23.55, -46.63);
+        List<NearbyEquipment> expected = List.of(new NearbyEquipment(testEquipment, 12.5));
+        when(findEquipmentsNearUseCase.execute(center, 500, true, 10)).thenReturn(expected);
+
+        assertEquals(expected, equipmentServiceAdapter.findEquipmentsNear(center, 500, true, 10));
+    }
+
+    @Test
+    void findEquipmentsWithin_shouldDelegateToUseCase() {
+        List<GeoPoint> polygon = List.of(new GeoPoint(0, 0), new GeoPoint(0, 1), new GeoPoint(1, 1));
+        when(findEquipmentsWithinUseCase.execute(polygon, null)).thenReturn(List.of(testEquipment));
+
+        assertEquals(List.of(testEquipment), equipmentServiceAdapter.findEquipmentsWithin(polygon, null));
+    }
+
+    @Test
+    void createEquipmentBatch_shouldDelegateToUseCase() {
+        List<EquipmentBatchItem> items = List.of(EquipmentBatchItem.pending(0, testEquipment));
+        when(createEquipmentBatchUseCase.execute(items)).thenReturn(items);
+
+        assertEquals(items, equipmentServiceAdapter.createEquipmentBatch(items));
+    }
+
+    @Test
+    void setEquipmentActivation_shouldDelegateToUseCase() {
+        EquipmentActivation activation = new EquipmentActivation(true, List.of(), List.of(), List.of("X1"));
+        when(setEquipmentActivationUseCase.execute(List.of("X1"), true)).thenReturn(activation);
+
+        assertEquals(activation, equipmentServiceAdapter.setEquipmentActivation(List.of("X1"), true));
+    }
+
+    @Test
+    void recordHeartbeat_shouldDelegateToUseCase() {
+        Instant now = Instant.parse("2024-06-01T12:00:00Z");
+        when(recordHeartbeatUseCase.execute("A1")).thenReturn(now);
+
+        assertEquals(now, equipmentServiceAdapter.recordHeartbeat("A1"));
+    }
+
+    @Test
+    void equipmentStatus_shouldDelegateToUseCase() {
+        EquipmentStatus status = new EquipmentStatus("A1", null, false);
+        when(getEquipmentStatusUseCase.execute("A1")).thenReturn(status);
+        when(getEquipmentStatusUseCase.execute(false)).thenReturn(List.of(status));
+
+        assertEquals(status, equipmentServiceAdapter.getEquipmentStatus("A1"));
+        assertEquals(List.of(status), equipmentServiceAdapter.listEquipmentStatus(false));
+    }
+}
@@ -0,0 +1,108 @@
+package br.com.dagostini.infrasystem.equipment.application.service;
+
+import br.com.dagostini.infrasystem.equipment.domain.model.Equipment;
+import br.com.dagostini.infrasystem.equipment.domain.model.GeoPoint;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Compares the grid index with a naive scan of every equipment, for radius and polygon queries over
+ * 100k devices spread across a metropolitan area about the size of greater São Paulo.
+ * <p>
+ * Not part of the test suite. Run it with:
+ * <pre>
+ * java -cp target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout) \
+ *     br.com.dagostini.infrasystem.equipment.application.service.EquipmentSpatialIndexBenchmark
+ * </pre>
+ */
+public class EquipmentSpatialIndexBenchmark {
+
+    private static final int DEVICES = 100_000;
+    private static final int QUERIES = 2_000;
+    private static final double MIN_LATITUDE = -24.0;
+    private static final double MIN_LONGITUDE = -47.2;
+    private static final double SPAN_DEGREES = 1.0;
+
+    public static void main(String[] args) {
+        Random random = new Random(42);
+        List<Equipment> equipments = new ArrayList<>(DEVICES);
+        for (int i = 0; i < DEVICES; i++) {
+            Equipment equipment = new Equipment();
+            equipment.setSerial(String.format("EQ%06d", i));
+            equipment.setLatitude(MIN_LATITUDE + random.nextDouble() * SPAN_DEGREES);
+            equipment.setLongitude(MIN_LONGITUDE + random.nextDouble() * SPAN_DEGREES);
+            equipment.setActive(true);
+            equipments.add(equipment);
+        }
+
+        long start = System.nanoTime();
+        EquipmentSpatialIndex index = EquipmentSpatialIndex.of(equipments);
+        System.out.printf("%d devices, index built in %d ms%n", DEVICES, (System.nanoTime() - start) / 1_000_000);
+
+        List<GeoPoint> centers = new ArrayList<>(QUERIES);
+        List<List<GeoPoint>> polygons = new ArrayList<>(QUERIES);
+        for (int i = 0; i < QUERIES; i++) {
+            GeoPoint center = new GeoPoint(MIN_LATITUDE + random.nextDouble() * SPAN_DEGREES,
+                    MIN_LONGITUDE + random.nextDouble() * SPAN_DEGREES);
+            centers.add(center);
+            // A diamond about 5 km across around each center.
+            double half = 0.025;
+            polygons.add(List.of(
+                    new GeoPoint(center.latitude() - half, center.longitude()),
+                    new GeoPoint(center.latitude(), center.longitude() + half),
+                    new GeoPoint(center.latitude() + half, center.longitude()),
+                    new GeoPoint(center.latitude(), center.longitude() - half)));
+        }
+
+        for (double radius : new double[]{500, 2_000, 10_000}) {
+            System.out.printf("near, radius %.0f m%n", radius);
+            run("naive", () -> {
+                long found = 0;
+                for (GeoPoint center : centers) {
+                    for (Equipment equipment : equipments) {
+                        if (center.distanceMeters(GeoPoint.of(equipment)) <= radius) {
+                            found++;
+                        }
+                    }
+                }
+                return found;
+            });
+            run("index", () -> {
+                long found = 0;
+                for (GeoPoint center : centers) {
+                    found += index.near(center, radius, equipment -> true, Integer.MAX_VALUE).size();
+                }
+                return found;
+            });
+        }
+
+        System.out.println("within, 5 km diamond");
+        // A single cell covering the globe: every query tests every device against the polygon.
+        EquipmentSpatialIndex naive = EquipmentSpatialIndex.of(equipments, 360);
+        run("naive", () -> {
+            long found = 0;
+            for (List<GeoPoint> polygon : polygons) {
+                found += naive.within(polygon, equipment -> true).size();
+            }
+            return found;
+        });
+        run("index", () -> {
+            long found = 0;
+            for (List<GeoPoint> polygon : polygons) {
+                found += index.within(polygon, equipment -> true).size();
+            }
+            return found;
+        });
+    }
+
+    private static void run(String mode, Supplier<Long> queries) {
+        queries.get(); // warm-up
+        long start = System.nanoTime();
+        long found = queries.get();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("  %-6s %10.0f queries/s   %8.1f matches/query%n", mode, QUERIES / seconds, (double) found / QUERIES);
+    }
+}
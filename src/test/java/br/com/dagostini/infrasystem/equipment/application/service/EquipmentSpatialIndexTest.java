@@ -0,0 +1,132 @@
+package br.com.dagostini.infrasystem.equipment.application.service;
+
+import br.com.dagostini.infrasystem.equipment.domain.model.Equipment;
+import br.com.dagostini.infrasystem.equipment.domain.model.GeoPoint;
+import br.com.dagostini.infrasystem.equipment.domain.model.NearbyEquipment;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EquipmentSpatialIndexTest {
+
+    private static Equipment equipment(String serial, Double latitude, Double longitude, boolean active) {
+        Equipment equipment = new Equipment();
+        equipment.setSerial(serial);
+        equipment.setLatitude(latitude);
+        equipment.setLongitude(longitude);
+        equipment.setActive(active);
+        return equipment;
+    }
+
+    private static List<String> serials(List<Equipment> equipments) {
+        return equipments.stream().map(Equipment::getSerial).toList();
+    }
+
+    private static List<String> nearSerials(List<NearbyEquipment> nearby) {
+        return nearby.stream().map(found -> found.equipment().getSerial()).toList();
+    }
+
+    private static List<Equipment> random(int count, long seed, double minLatitude, double maxLatitude, double minLongitude, double maxLongitude) {
+        Random random = new Random(seed);
+        List<Equipment> equipments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            equipments.add(equipment(String.format("EQ%06d", i),
+                    minLatitude + random.nextDouble() * (maxLatitude - minLatitude),
+                    minLongitude + random.nextDouble() * (maxLongitude - minLongitude),
+                    random.nextBoolean()));
+        }
+        return equipments;
+    }
+
+    private static List<String> scanNear(List<Equipment> equipments, GeoPoint center, double radiusMeters) {
+        return equipments.stream()
+                .filter(equipment -> center.distanceMeters(GeoPoint.of(equipment)) <= radiusMeters)
+                .sorted(Comparator.comparingDouble((Equipment equipment) -> center.distanceMeters(GeoPoint.of(equipment)))
+                        .thenComparing(Equipment::getSerial))
+                .map(Equipment::getSerial)
+                .toList();
+    }
+
+    @Test
+    void nearShouldMatchAFullScan() {
+        List<Equipment> equipments = random(20_000, 17, -24.0, -23.0, -47.0, -46.0);
+        EquipmentSpatialIndex index = EquipmentSpatialIndex.of(equipments);
+        Random random = new Random(3);
+
+        for (int query = 0; query < 50; query++) {
+            GeoPoint center = new GeoPoint(-24.0 + random.nextDouble(), -47.0 + random.nextDouble());
+            double radius = 50 + random.nextDouble() * 10_000;
+
+            assertEquals(scanNear(equipments, center, radius), nearSerials(index.near(center, radius, equipment -> true, Integer.MAX_VALUE)));
+        }
+    }
+
+    @Test
+    void nearShouldOrderByDistanceFilterAndLimit() {
+        EquipmentSpatialIndex index = EquipmentSpatialIndex.of(List.of(
+                equipment("FAR", -23.5600, -46.6400, true),
+                equipment("NEAR", -23.5506, -46.6334, true),
+                equipment("MID", -23.5550, -46.6360, true),
+                equipment("OFF", -23.5507, -46.6335, false),
+                equipment("OUT", -22.9068, -43.1729, true)));
+        GeoPoint center = new GeoPoint(-23.5505, -46.6333);
+
+        List<NearbyEquipment> found = index.near(center, 2_000, equipment -> equipment.getActive(), 2);
+
+        assertEquals(List.of("NEAR", "MID"), nearSerials(found));
+        assertTrue(found.get(0).distanceMeters() < 20);
+    }
+
+    @Test
+    void nearShouldHandleThePolesAndTheAntimeridian() {
+        List<Equipment> equipments = List.of(
+                equipment("WEST", 10.0, -179.999, true),
+                equipment("EAST", 10.0, 179.999, true),
+                equipment("POLE", 89.999, 45.0, true),
+                equipment("OTHER_SIDE", 89.999, -135.0, true));
+        EquipmentSpatialIndex index = EquipmentSpatialIndex.of(equipments);
+
+        assertEquals(List.of("EAST", "WEST"), nearSerials(index.near(new GeoPoint(10.0, 180.0), 1_000, equipment -> true, 10)).stream().sorted().toList());
+        assertEquals(2, index.near(new GeoPoint(90.0, 0.0), 1_000, equipment -> true, 10).size());
+    }
+
+    @Test
+    void withinShouldMatchAFullScanForAConcavePolygon() {
+        List<Equipment> equipments = random(5_000, 5, -24.0, -23.0, -47.0, -46.0);
+        EquipmentSpatialIndex index = EquipmentSpatialIndex.of(equipments);
+        // An L shape: the square minus its north-east quarter.
+        List<GeoPoint> polygon = List.of(
+                new GeoPoint(-23.9, -46.9), new GeoPoint(-23.9, -46.1), new GeoPoint(-23.5, -46.1),
+                new GeoPoint(-23.5, -46.5), new GeoPoint(-23.1, -46.5), new GeoPoint(-23.1, -46.9));
+
+        List<String> expected = equipments.stream()
+                .filter(equipment -> equipment.getLatitude() > -23.9 && equipment.getLatitude() < -23.1
+                        && equipment.getLongitude() > -46.9 && equipment.getLongitude() < -46.1
+                        && !(equipment.getLatitude() > -23.5 && equipment.getLongitude() > -46.5))
+                .map(Equipment::getSerial)
+                .sorted()
+                .toList();
+
+        assertEquals(expected, serials(index.within(polygon, equipment -> true)));
+    }
+
+    @Test
+    void indexShouldSkipEquipmentWithoutCoordinates() {
+        EquipmentSpatialIndex index = EquipmentSpatialIndex.of(List.of(
+                equipment("A", -23.55, -46.63, true),
+                equipment("B", null, -46.63, true)));
+
+        assertEquals(1, index.size());
+        assertTrue(EquipmentSpatialIndex.of(List.of()).near(new GeoPoint(0, 0), 1_000, equipment -> true, 10).isEmpty());
+    }
+
+    @Test
+    void ofShouldRejectCellsTooSmallForTheKeySpace() {
+        assertThrows(IllegalArgumentException.class, () -> EquipmentSpatialIndex.of(List.of(), 0.001));
+    }
+}
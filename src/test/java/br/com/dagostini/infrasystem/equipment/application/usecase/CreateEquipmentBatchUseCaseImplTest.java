@@ -0,0 +1,87 @@
+package br.com.dagostini.infrasystem.equipment.application.usecase;
+
+import br.com.dagostini.infrasystem.equipment.application.service.EquipmentCache;
+import br.com.dagostini.infrasystem.equipment.application.service.EquipmentCatalog;
+import br.com.dagostini.infrasystem.equipment.domain.model.Equipment;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentBatchItem;
+import br.com.dagostini.infrasystem.equipment.domain.repository.EquipmentRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CreateEquipmentBatchUseCaseImplTest {
+
+    @Mock
+    private EquipmentRepository repository;
+
+    @Mock
+    private EquipmentCache equipmentCache;
+
+    @Mock
+    private EquipmentCatalog equipmentCatalog;
+
+    @InjectMocks
+    private CreateEquipmentBatchUseCaseImpl createEquipmentBatchUseCase;
+
+    private static Equipment equipment(String serial) {
+        Equipment equipment = new Equipment();
+        equipment.setSerial(serial);
+        return equipment;
+    }
+
+    private static EquipmentBatchItem stored(EquipmentBatchItem item, EquipmentBatchItem.Status status) {
+        return item.toBuilder().status(status).build();
+    }
+
+    @Test
+    void execute_shouldRejectBlankAndRepeatedSerialsAndUpsertTheRest() {
+        EquipmentBatchItem created = EquipmentBatchItem.pending(0, equipment("A1"));
+        EquipmentBatchItem blank = EquipmentBatchItem.pending(1, equipment(" "));
+        EquipmentBatchItem repeated = EquipmentBatchItem.pending(2, equipment("A1"));
+        EquipmentBatchItem unchanged = EquipmentBatchItem.pending(3, equipment("B2"));
+        EquipmentBatchItem updated = EquipmentBatchItem.pending(4, equipment("C3"));
+        when(repository.upsertAll(List.of(created, unchanged, updated))).thenReturn(List.of(
+                stored(created, EquipmentBatchItem.Status.CREATED),
+                stored(unchanged, EquipmentBatchItem.Status.UNCHANGED),
+                stored(updated, EquipmentBatchItem.Status.UPDATED)));
+
+        List<EquipmentBatchItem> results = createEquipmentBatchUseCase.execute(List.of(created, blank, repeated, unchanged, updated));
+
+        assertEquals(List.of(0, 1, 2, 3, 4), results.stream().map(EquipmentBatchItem::index).toList());
+        assertEquals(List.of(EquipmentBatchItem.Status.CREATED, EquipmentBatchItem.Status.REJECTED, EquipmentBatchItem.Status.REJECTED,
+                        EquipmentBatchItem.Status.UNCHANGED, EquipmentBatchItem.Status.UPDATED),
+                results.stream().map(EquipmentBatchItem::status).toList());
+        assertEquals("Serial repeated in the batch", results.get(2).error());
+        verify(equipmentCache, times(1)).invalidateAll(List.of("A1", "C3"));
+        verify(equipmentCatalog, times(1)).changed(List.of(created.equipment(), updated.equipment()));
+    }
+
+    @Test
+    void execute_shouldNotTouchCachesWhenNothingWasWritten() {
+        EquipmentBatchItem unchanged = EquipmentBatchItem.pending(0, equipment("B2"));
+        when(repository.upsertAll(List.of(unchanged))).thenReturn(List.of(stored(unchanged, EquipmentBatchItem.Status.UNCHANGED)));
+
+        createEquipmentBatchUseCase.execute(List.of(unchanged));
+
+        verify(equipmentCache, never()).invalidateAll(anyCollection());
+        verify(equipmentCatalog, never()).changed(any(List.class));
+    }
+
+    @Test
+    void execute_shouldSkipTheRepositoryWhenEveryItemIsRejected() {
+        List<EquipmentBatchItem> results = createEquipmentBatchUseCase.execute(List.of(EquipmentBatchItem.pending(0, equipment(null))));
+
+        assertTrue(results.get(0).isRejected());
+        verifyNoInteractions(repository, equipmentCache, equipmentCatalog);
+    }
+}
@@ -1,5 +1,7 @@
 package br.com.dagostini.infrasystem.equipment.application.usecase;
 
+import br.com.dagostini.infrasystem.equipment.application.service.EquipmentCache;
+import br.com.dagostini.infrasystem.equipment.application.service.EquipmentCatalog;
 import br.com.dagostini.infrasystem.equipment.domain.model.Equipment;
 import br.com.dagostini.infrasystem.equipment.domain.repository.EquipmentRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,6 +20,12 @@ class CreateEquipmentUseCaseImplTest {
     @Mock
     private EquipmentRepository repository;
 
+    @Mock
+    private EquipmentCache equipmentCache;
+
+    @Mock
+    private EquipmentCatalog equipmentCatalog;
+
     @InjectMocks
     private CreateEquipmentUseCaseImpl createEquipmentUseCase;
 
@@ -58,6 +66,8 @@ class CreateEquipmentUseCaseImplTest {
         assertEquals(TEST_LONGITUDE, result.getLongitude());
         assertEquals(TEST_ACTIVE, result.getActive());
         verify(repository, times(1)).save(testEquipment);
+        verify(equipmentCache, times(1)).invalidate(TEST_SERIAL);
+        verify(equipmentCatalog).changed(testEquipment);
     }
 
     @Test
@@ -69,6 +79,8 @@ class CreateEquipmentUseCaseImplTest {
                 createEquipmentUseCase.execute(testEquipment));
         assertEquals("Database error", thrown.getMessage());
         verify(repository, times(1)).save(testEquipment);
+        verifyNoInteractions(equipmentCache);
+        verifyNoInteractions(equipmentCatalog);
     }
 
     @Test
@@ -0,0 +1,55 @@
+package br.com.dagostini.infrasystem.equipment.application.usecase;
+
+import br.com.dagostini.infrasystem.equipment.application.service.EquipmentCatalog;
+import br.com.dagostini.infrasystem.equipment.domain.model.Equipment;
+import br.com.dagostini.infrasystem.equipment.domain.model.GeoPoint;
+import br.com.dagostini.infrasystem.equipment.domain.model.NearbyEquipment;
+import br.com.dagostini.infrasystem.equipment.domain.repository.EquipmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FindEquipmentsNearUseCaseImplTest {
+
+    @Mock
+    private EquipmentRepository repository;
+
+    private FindEquipmentsNearUseCaseImpl findEquipmentsNearUseCase;
+
+    @BeforeEach
+    void setUp() {
+        findEquipmentsNearUseCase = new FindEquipmentsNearUseCaseImpl(new EquipmentCatalog(repository));
+    }
+
+    private static Equipment equipment(String serial, double latitude, double longitude, boolean active) {
+        Equipment equipment = new Equipment();
+        equipment.setSerial(serial);
+        equipment.setLatitude(latitude);
+        equipment.setLongitude(longitude);
+        equipment.setActive(active);
+        return equipment;
+    }
+
+    @Test
+    void execute_shouldReturnEquipmentInTheRadiusFilteredByActive() {
+        when(repository.findAll()).thenReturn(List.of(
+                equipment("A1", -23.5506, -46.6334, true),
+                equipment("B2", -23.5507, -46.6335, false),
+                equipment("C3", -22.9068, -43.1729, true)));
+
+        List<NearbyEquipment> all = findEquipmentsNearUseCase.execute(new GeoPoint(-23.5505, -46.6333), 1_000, null, 10);
+        List<NearbyEquipment> active = findEquipmentsNearUseCase.execute(new GeoPoint(-23.5505, -46.6333), 1_000, true, 10);
+
+        assertEquals(List.of("A1", "B2"), all.stream().map(found -> found.equipment().getSerial()).toList());
+        assertEquals(List.of("A1"), active.stream().map(found -> found.equipment().getSerial()).toList());
+        verify(repository, times(1)).findAll();
+    }
+}
@@ -0,0 +1,54 @@
+package br.com.dagostini.infrasystem.equipment.application.usecase;
+
+import br.com.dagostini.infrasystem.equipment.application.service.EquipmentCatalog;
+import br.com.dagostini.infrasystem.equipment.domain.model.Equipment;
+import br.com.dagostini.infrasystem.equipment.domain.model.GeoPoint;
+import br.com.dagostini.infrasystem.equipment.domain.repository.EquipmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FindEquipmentsWithinUseCaseImplTest {
+
+    private static final List<GeoPoint> DOWNTOWN = List.of(
+            new GeoPoint(-23.56, -46.65), new GeoPoint(-23.56, -46.62),
+            new GeoPoint(-23.54, -46.62), new GeoPoint(-23.54, -46.65));
+
+    @Mock
+    private EquipmentRepository repository;
+
+    private FindEquipmentsWithinUseCaseImpl findEquipmentsWithinUseCase;
+
+    @BeforeEach
+    void setUp() {
+        findEquipmentsWithinUseCase = new FindEquipmentsWithinUseCaseImpl(new EquipmentCatalog(repository));
+    }
+
+    private static Equipment equipment(String serial, double latitude, double longitude, boolean active) {
+        Equipment equipment = new Equipment();
+        equipment.setSerial(serial);
+        equipment.setLatitude(latitude);
+        equipment.setLongitude(longitude);
+        equipment.setActive(active);
+        return equipment;
+    }
+
+    @Test
+    void execute_shouldReturnEquipmentInsideThePolygonBySerial() {
+        when(repository.findAll()).thenReturn(List.of(
+                equipment("C3", -23.55, -46.63, true),
+                equipment("A1", -23.545, -46.64, false),
+                equipment("B2", -23.60, -46.70, true)));
+
+        assertEquals(List.of("A1", "C3"), findEquipmentsWithinUseCase.execute(DOWNTOWN, null).stream().map(Equipment::getSerial).toList());
+        assertEquals(List.of("C3"), findEquipmentsWithinUseCase.execute(DOWNTOWN, true).stream().map(Equipment::getSerial).toList());
+    }
+}
@@ -1,15 +1,19 @@
 package br.com.dagostini.infrasystem.equipment.application.usecase;
 
+import br.com.dagostini.infrasystem.equipment.application.service.EquipmentCache;
 import br.com.dagostini.infrasystem.equipment.domain.exception.EquipmentNotFoundException;
 import br.com.dagostini.infrasystem.equipment.domain.model.Equipment;
 import br.com.dagostini.infrasystem.equipment.domain.repository.EquipmentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -21,6 +25,9 @@ class GetEquipmentBySerialUseCaseImplTest {
     @Mock
     private EquipmentRepository repository;
 
+    @Spy
+    private EquipmentCache equipmentCache = new EquipmentCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(10), Duration.ofSeconds(30), false);
+
     @InjectMocks
     private GetEquipmentBySerialUseCaseImpl getEquipmentBySerialUseCase;
 
@@ -93,4 +100,25 @@ class GetEquipmentBySerialUseCaseImplTest {
         assertEquals("Equipment with serial Equipment not found for serial: null not found.", thrown.getMessage());
         verify(repository, times(1)).findBySerial(null);
     }
-}
\ No newline at end of file
+
+    @Test
+    void execute_shouldServeRepeatedLookupsFromCache() {
+        when(repository.findBySerial(TEST_SERIAL)).thenReturn(Optional.of(testEquipment));
+
+        getEquipmentBySerialUseCase.execute(TEST_SERIAL);
+        Equipment result = getEquipmentBySerialUseCase.execute(TEST_SERIAL);
+
+        assertEquals(testEquipment, result);
+        verify(repository, times(1)).findBySerial(TEST_SERIAL);
+    }
+
+    @Test
+    void execute_shouldCacheUnknownSerials() {
+        when(repository.findBySerial(TEST_SERIAL)).thenReturn(Optional.empty());
+
+        assertThrows(EquipmentNotFoundException.class, () -> getEquipmentBySerialUseCase.execute(TEST_SERIAL));
+        assertThrows(EquipmentNotFoundException.class, () -> getEquipmentBySerialUseCase.execute(TEST_SERIAL));
+
+        verify(repository, times(1)).findBySerial(TEST_SERIAL);
+    }
+}
@@ -0,0 +1,62 @@
+package br.com.dagostini.infrasystem.equipment.application.usecase;
+
+import br.com.dagostini.infrasystem.equipment.application.service.EquipmentCatalog;
+import br.com.dagostini.infrasystem.equipment.application.service.EquipmentCatalogSnapshot;
+import br.com.dagostini.infrasystem.equipment.application.service.EquipmentHeartbeats;
+import br.com.dagostini.infrasystem.equipment.domain.exception.EquipmentNotFoundException;
+import br.com.dagostini.infrasystem.equipment.domain.model.Equipment;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GetEquipmentStatusUseCaseImplTest {
+
+    private static final Instant SEEN = Instant.parse("2024-06-01T12:00:00Z");
+
+    @Mock
+    private EquipmentCatalog equipmentCatalog;
+
+    @Mock
+    private EquipmentHeartbeats equipmentHeartbeats;
+
+    @InjectMocks
+    private GetEquipmentStatusUseCaseImpl getEquipmentStatusUseCase;
+
+    @BeforeEach
+    void setUp() {
+        Equipment a1 = new Equipment();
+        a1.setSerial("A1");
+        Equipment b2 = new Equipment();
+        b2.setSerial("B2");
+        when(equipmentCatalog.snapshot()).thenReturn(EquipmentCatalogSnapshot.of(List.of(b2, a1)));
+    }
+
+    @Test
+    void execute_shouldReturnTheStatusOfARegisteredSerial() {
+        EquipmentStatus status = new EquipmentStatus("A1", SEEN, true);
+        when(equipmentHeartbeats.status("A1")).thenReturn(status);
+
+        assertEquals(status, getEquipmentStatusUseCase.execute("A1"));
+        assertThrows(EquipmentNotFoundException.class, () -> getEquipmentStatusUseCase.execute("ZZ"));
+    }
+
+    @Test
+    void execute_shouldListEveryEquipmentFilteredByOnline() {
+        when(equipmentHeartbeats.status("A1")).thenReturn(new EquipmentStatus("A1", SEEN, true));
+        when(equipmentHeartbeats.status("B2")).thenReturn(new EquipmentStatus("B2", null, false));
+
+        assertEquals(List.of("A1", "B2"), getEquipmentStatusUseCase.execute((Boolean) null).stream().map(EquipmentStatus::serial).toList());
+        assertEquals(List.of("B2"), getEquipmentStatusUseCase.execute(false).stream().map(EquipmentStatus::serial).toList());
+    }
+}
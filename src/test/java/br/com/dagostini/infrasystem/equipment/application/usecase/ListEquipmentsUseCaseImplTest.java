@@ -1,11 +1,13 @@
 package br.com.dagostini.infrasystem.equipment.application.usecase;
 
+import br.com.dagostini.infrasystem.equipment.application.service.EquipmentCatalog;
 import br.com.dagostini.infrasystem.equipment.domain.model.Equipment;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentCatalogPage;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentCatalogQuery;
 import br.com.dagostini.infrasystem.equipment.domain.repository.EquipmentRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -21,7 +23,6 @@ class ListEquipmentsUseCaseImplTest {
     @Mock
     private EquipmentRepository repository;
 
-    @InjectMocks
     private ListEquipmentsUseCaseImpl listEquipmentsUseCase;
 
     private Equipment testEquipment;
@@ -35,6 +36,7 @@ class ListEquipmentsUseCaseImplTest {
 
     @BeforeEach
     void setUp() {
+        listEquipmentsUseCase = new ListEquipmentsUseCaseImpl(new EquipmentCatalog(repository));
         testEquipment = new Equipment();
         testEquipment.setId(TEST_ID);
         testEquipment.setSerial(TEST_SERIAL);
@@ -43,6 +45,7 @@ class ListEquipmentsUseCaseImplTest {
         testEquipment.setLatitude(TEST_LATITUDE);
         testEquipment.setLongitude(TEST_LONGITUDE);
         testEquipment.setActive(TEST_ACTIVE);
+        testEquipment.setCatalogVersion(3L);
     }
 
     @Test
@@ -50,9 +53,11 @@ class ListEquipmentsUseCaseImplTest {
         List<Equipment> expectedEquipments = Collections.singletonList(testEquipment);
         when(repository.findAll()).thenReturn(expectedEquipments);
 
-        List<Equipment> result = listEquipmentsUseCase.execute();
+        EquipmentCatalogPage page = listEquipmentsUseCase.execute(EquipmentCatalogQuery.all());
+        List<Equipment> result = page.equipments();
 
-        assertNotNull(result);
+        assertEquals(3L, page.version());
+        assertFalse(page.hasNext());
         assertEquals(1, result.size());
         assertEquals(testEquipment, result.get(0));
         assertEquals(TEST_ID, result.get(0).getId());
@@ -65,14 +70,25 @@ class ListEquipmentsUseCaseImplTest {
         verify(repository, times(1)).findAll();
     }
 
+    @Test
+    void execute_shouldAnswerLaterCallsFromTheSnapshot() {
+        when(repository.findAll()).thenReturn(Collections.singletonList(testEquipment));
+
+        listEquipmentsUseCase.execute(EquipmentCatalogQuery.all());
+        EquipmentCatalogPage delta = listEquipmentsUseCase.execute(new EquipmentCatalogQuery(3L, null, null, null, null));
+
+        assertTrue(delta.equipments().isEmpty());
+        verify(repository, times(1)).findAll();
+    }
+
     @Test
     void execute_shouldReturnEmptyListWhenNoEquipmentsFound() {
         when(repository.findAll()).thenReturn(Collections.emptyList());
 
-        List<Equipment> result = listEquipmentsUseCase.execute();
+        EquipmentCatalogPage page = listEquipmentsUseCase.execute(EquipmentCatalogQuery.all());
 
-        assertNotNull(result);
-        assertTrue(result.isEmpty());
+        assertEquals(0L, page.version());
+        assertTrue(page.equipments().isEmpty());
         verify(repository, times(1)).findAll();
     }
 
@@ -82,7 +98,7 @@ class ListEquipmentsUseCaseImplTest {
         when(repository.findAll()).thenThrow(exception);
 
         RuntimeException thrown = assertThrows(RuntimeException.class, () ->
-                listEquipmentsUseCase.execute());
+                listEquipmentsUseCase.execute(EquipmentCatalogQuery.all()));
         assertEquals("Database error", thrown.getMessage());
         verify(repository, times(1)).findAll();
     }
@@ -0,0 +1,54 @@
+package br.com.dagostini.infrasystem.equipment.application.usecase;
+
+import br.com.dagostini.infrasystem.equipment.application.service.EquipmentCatalog;
+import br.com.dagostini.infrasystem.equipment.application.service.EquipmentCatalogSnapshot;
+import br.com.dagostini.infrasystem.equipment.application.service.EquipmentHeartbeats;
+import br.com.dagostini.infrasystem.equipment.domain.exception.EquipmentNotFoundException;
+import br.com.dagostini.infrasystem.equipment.domain.model.Equipment;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RecordHeartbeatUseCaseImplTest {
+
+    @Mock
+    private EquipmentCatalog equipmentCatalog;
+
+    @Mock
+    private EquipmentHeartbeats equipmentHeartbeats;
+
+    @InjectMocks
+    private RecordHeartbeatUseCaseImpl recordHeartbeatUseCase;
+
+    private static EquipmentCatalogSnapshot catalogWith(String serial) {
+        Equipment equipment = new Equipment();
+        equipment.setSerial(serial);
+        return EquipmentCatalogSnapshot.of(List.of(equipment));
+    }
+
+    @Test
+    void execute_shouldRecordBeatsOfRegisteredEquipment() {
+        Instant now = Instant.parse("2024-06-01T12:00:00Z");
+        when(equipmentCatalog.snapshot()).thenReturn(catalogWith("A1"));
+        when(equipmentHeartbeats.beat("A1")).thenReturn(now);
+
+        assertEquals(now, recordHeartbeatUseCase.execute("A1"));
+    }
+
+    @Test
+    void execute_shouldRejectUnknownSerials() {
+        when(equipmentCatalog.snapshot()).thenReturn(catalogWith("A1"));
+
+        assertThrows(EquipmentNotFoundException.class, () -> recordHeartbeatUseCase.execute("ZZ"));
+        verifyNoInteractions(equipmentHeartbeats);
+    }
+}
@@ -0,0 +1,56 @@
+package br.com.dagostini.infrasystem.equipment.application.usecase;
+
+import br.com.dagostini.infrasystem.equipment.application.service.EquipmentCache;
+import br.com.dagostini.infrasystem.equipment.application.service.EquipmentCatalog;
+import br.com.dagostini.infrasystem.equipment.domain.model.Equipment;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentActivation;
+import br.com.dagostini.infrasystem.equipment.domain.repository.EquipmentRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SetEquipmentActivationUseCaseImplTest {
+
+    @Mock
+    private EquipmentRepository repository;
+
+    @Mock
+    private EquipmentCache equipmentCache;
+
+    @Mock
+    private EquipmentCatalog equipmentCatalog;
+
+    @InjectMocks
+    private SetEquipmentActivationUseCaseImpl setEquipmentActivationUseCase;
+
+    @Test
+    void execute_shouldUpdateCachesOnceForTheChangedEquipment() {
+        Equipment changed = new Equipment();
+        changed.setSerial("A1");
+        changed.setActive(false);
+        EquipmentActivation activation = new EquipmentActivation(false, List.of(changed), List.of("B2"), List.of("C3"));
+        when(repository.setActive(List.of("A1", "B2", "C3"), false)).thenReturn(activation);
+
+        assertEquals(activation, setEquipmentActivationUseCase.execute(List.of("A1", "B2", "C3"), false));
+
+        verify(equipmentCache, times(1)).invalidateAll(List.of("A1"));
+        verify(equipmentCatalog, times(1)).changed(List.of(changed));
+    }
+
+    @Test
+    void execute_shouldLeaveCachesAloneWhenNothingChanged() {
+        when(repository.setActive(List.of("B2"), true)).thenReturn(new EquipmentActivation(true, List.of(), List.of("B2"), List.of()));
+
+        setEquipmentActivationUseCase.execute(List.of("B2"), true);
+
+        verifyNoInteractions(equipmentCache, equipmentCatalog);
+    }
+}
@@ -0,0 +1,28 @@
+package br.com.dagostini.infrasystem.equipment.domain.model;
+
+import br.com.dagostini.infrasystem.equipment.domain.exception.EquipmentValidationException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EquipmentCursorTest {
+
+    @Test
+    void decodeShouldReturnTheEncodedSerial() {
+        EquipmentCursor cursor = new EquipmentCursor("ABC123f4d56");
+
+        assertEquals(cursor, EquipmentCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void encodeShouldBeUrlSafe() {
+        String token = new EquipmentCursor("serial/with+symbols?").encode();
+
+        assertTrue(token.matches("[A-Za-z0-9_-]+"), token);
+    }
+
+    @Test
+    void decodeShouldRejectMalformedTokens() {
+        assertThrows(EquipmentValidationException.class, () -> EquipmentCursor.decode("%%%"));
+    }
+}
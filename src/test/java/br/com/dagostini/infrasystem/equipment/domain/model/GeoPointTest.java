@@ -0,0 +1,26 @@
+package br.com.dagostini.infrasystem.equipment.domain.model;
+
+import br.com.dagostini.infrasystem.equipment.domain.exception.EquipmentValidationException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeoPointTest {
+
+    @Test
+    void distanceMetersShouldFollowTheGreatCircle() {
+        GeoPoint saoPaulo = new GeoPoint(-23.5505, -46.6333);
+        GeoPoint rio = new GeoPoint(-22.9068, -43.1729);
+
+        assertEquals(360_800, saoPaulo.distanceMeters(rio), 1_500);
+        assertEquals(0, saoPaulo.distanceMeters(saoPaulo), 1e-6);
+        assertEquals(111_195, new GeoPoint(0, 0).distanceMeters(new GeoPoint(1, 0)), 1);
+    }
+
+    @Test
+    void constructorShouldRejectCoordinatesOutOfRange() {
+        assertThrows(EquipmentValidationException.class, () -> new GeoPoint(90.5, 0));
+        assertThrows(EquipmentValidationException.class, () -> new GeoPoint(0, -180.5));
+        assertThrows(EquipmentValidationException.class, () -> new GeoPoint(Double.NaN, 0));
+    }
+}
@@ -0,0 +1,204 @@
+package br.com.dagostini.infrasystem.equipment.infrastructure.persistence.repository;
+
+import br.com.dagostini.infrasystem.equipment.domain.model.Equipment;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentActivation;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentBatchItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import javax.sql.DataSource;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class EquipmentBatchWriterTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement select;
+
+    @Mock
+    private PreparedStatement upsert;
+
+    @Mock
+    private PreparedStatement setActive;
+
+    @Mock
+    private PreparedStatement selectSerials;
+
+    @Mock
+    private PreparedStatement lockVersions;
+
+    @Mock
+    private Array array;
+
+    private EquipmentBatchWriter writer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createArrayOf(eq("varchar"), any())).thenReturn(array);
+        when(connection.prepareStatement(EquipmentBatchWriter.SELECT_BY_SERIALS)).thenReturn(select);
+        when(connection.prepareStatement(EquipmentBatchWriter.UPSERT)).thenReturn(upsert);
+        when(connection.prepareStatement(EquipmentBatchWriter.SET_ACTIVE)).thenReturn(setActive);
+        when(connection.prepareStatement(EquipmentBatchWriter.SELECT_SERIALS)).thenReturn(selectSerials);
+        when(connection.prepareStatement(EquipmentBatchWriter.LOCK_CATALOG_VERSIONS)).thenReturn(lockVersions);
+        writer = new EquipmentBatchWriter(dataSource, 2);
+    }
+
+    private static Equipment equipment(String serial, String model, long catalogVersion) {
+        Equipment equipment = new Equipment();
+        equipment.setId(catalogVersion);
+        equipment.setSerial(serial);
+        equipment.setModel(model);
+        equipment.setAddress("Av. Paulista, 1000");
+        equipment.setLatitude(-23.56);
+        equipment.setLongitude(-46.65);
+        equipment.setActive(true);
+        equipment.setCatalogVersion(catalogVersion);
+        return equipment;
+    }
+
+    /** A result set over the given equipment rows, read through the writer's column names. */
+    private static ResultSet rows(List<Equipment> equipments) throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class);
+        Iterator<Equipment> rows = equipments.iterator();
+        Equipment[] current = new Equipment[1];
+        when(resultSet.next()).thenAnswer(invocation -> {
+            current[0] = rows.hasNext() ? rows.next() : null;
+            return current[0] != null;
+        });
+        when(resultSet.getLong("id")).thenAnswer(invocation -> current[0].getId());
+        when(resultSet.getString("serial")).thenAnswer(invocation -> current[0].getSerial());
+        when(resultSet.getString(1)).thenAnswer(invocation -> current[0].getSerial());
+        when(resultSet.getString("model")).thenAnswer(invocation -> current[0].getModel());
+        when(resultSet.getString("address")).thenAnswer(invocation -> current[0].getAddress());
+        when(resultSet.getDouble("latitude")).thenAnswer(invocation -> current[0].getLatitude());
+        when(resultSet.getDouble("longitude")).thenAnswer(invocation -> current[0].getLongitude());
+        when(resultSet.getBoolean("active")).thenAnswer(invocation -> current[0].getActive());
+        when(resultSet.getLong("catalog_version")).thenAnswer(invocation -> current[0].getCatalogVersion());
+        return resultSet;
+    }
+
+    @Test
+    void upsertShouldClassifyItemsAndWriteOnlyChangesInBatches() throws Exception {
+        Equipment same = equipment("SAME0001", "Radar-X", 1);
+        Equipment moved = equipment("MOVE0001", "Radar-X", 2);
+        List<EquipmentBatchItem> items = new ArrayList<>();
+        items.add(EquipmentBatchItem.pending(0, equipment("NEW00001", "Radar-X", 0)));
+        items.add(EquipmentBatchItem.pending(1, equipment("SAME0001", "Radar-X", 0)));
+        items.add(EquipmentBatchItem.pending(2, equipment("MOVE0001", "Radar-Y", 0)));
+        items.add(EquipmentBatchItem.pending(3, equipment("NEW00002", "Radar-X", 0)));
+        ResultSet before = rows(List.of(same, moved));
+        ResultSet after = rows(List.of(equipment("NEW00001", "Radar-X", 10), equipment("MOVE0001", "Radar-Y", 11),
+                equipment("NEW00002", "Radar-X", 12)));
+        when(select.executeQuery()).thenReturn(before, after);
+
+        List<EquipmentBatchItem> results = writer.upsert(items);
+
+        assertEquals(List.of(EquipmentBatchItem.Status.CREATED, EquipmentBatchItem.Status.UNCHANGED,
+                        EquipmentBatchItem.Status.UPDATED, EquipmentBatchItem.Status.CREATED),
+                results.stream().map(EquipmentBatchItem::status).toList());
+        assertEquals(10L, results.get(0).equipment().getCatalogVersion());
+        assertEquals(1L, results.get(1).equipment().getCatalogVersion());
+        assertEquals("Radar-Y", results.get(2).equipment().getModel());
+        verify(upsert, times(3)).addBatch();
+        verify(upsert, times(2)).executeBatch();
+        verify(upsert, never()).setString(1, "SAME0001");
+        verify(lockVersions).execute();
+        verify(connection).setAutoCommit(false);
+        verify(connection).commit();
+    }
+
+    @Test
+    void upsertShouldSkipTheWriteWhenNothingChanged() throws Exception {
+        ResultSet current = rows(List.of(equipment("SAME0001", "Radar-X", 1)));
+        when(select.executeQuery()).thenReturn(current);
+
+        List<EquipmentBatchItem> results = writer.upsert(List.of(EquipmentBatchItem.pending(0, equipment("SAME0001", "Radar-X", 0))));
+
+        assertEquals(EquipmentBatchItem.Status.UNCHANGED, results.get(0).status());
+        verify(connection, never()).prepareStatement(EquipmentBatchWriter.UPSERT);
+        verify(connection, never()).prepareStatement(EquipmentBatchWriter.LOCK_CATALOG_VERSIONS);
+        verify(connection).commit();
+    }
+
+    @Test
+    void upsertShouldRollBackWhenABatchFails() throws Exception {
+        ResultSet empty = rows(List.of());
+        when(select.executeQuery()).thenReturn(empty);
+        when(upsert.executeBatch()).thenThrow(new SQLException("boom"));
+
+        assertThrows(IllegalStateException.class,
+                () -> writer.upsert(List.of(EquipmentBatchItem.pending(0, equipment("NEW00001", "Radar-X", 0)))));
+
+        verify(connection).rollback();
+        verify(connection, never()).commit();
+    }
+
+    @Test
+    void upsertShouldNotTouchTheDatabaseForAnEmptyBatch() throws Exception {
+        assertTrue(writer.upsert(List.of()).isEmpty());
+        verify(dataSource, never()).getConnection();
+    }
+
+    @Test
+    void setActiveShouldUpdateInOneStatementAndSplitTheRest() throws Exception {
+        Equipment changed = equipment("CHG00001", "Radar-X", 20);
+        changed.setActive(false);
+        ResultSet updated = rows(List.of(changed));
+        ResultSet registered = rows(List.of(equipment("OFF00001", "Radar-X", 3)));
+        when(setActive.executeQuery()).thenReturn(updated);
+        when(selectSerials.executeQuery()).thenReturn(registered);
+
+        EquipmentActivation activation = writer.setActive(List.of("CHG00001", "OFF00001", "MISSING1", "CHG00001"), false);
+
+        assertEquals(List.of("CHG00001"), activation.changed().stream().map(Equipment::getSerial).toList());
+        assertEquals(List.of("OFF00001"), activation.unchanged());
+        assertEquals(List.of("MISSING1"), activation.notFound());
+        verify(setActive).setBoolean(1, false);
+        verify(setActive).setBoolean(3, false);
+        verify(setActive, times(1)).executeQuery();
+        verify(lockVersions).execute();
+        verify(connection).commit();
+    }
+
+    @Test
+    void setActiveShouldSkipTheLookupWhenEverySerialChanged() throws Exception {
+        ResultSet updated = rows(List.of(equipment("CHG00001", "Radar-X", 20)));
+        when(setActive.executeQuery()).thenReturn(updated);
+
+        EquipmentActivation activation = writer.setActive(List.of("CHG00001"), true);
+
+        assertEquals(1, activation.changed().size());
+        verify(connection, never()).prepareStatement(EquipmentBatchWriter.SELECT_SERIALS);
+    }
+}
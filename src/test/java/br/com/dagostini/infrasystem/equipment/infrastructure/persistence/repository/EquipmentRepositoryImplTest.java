@@ -1,6 +1,8 @@
 package br.com.dagostini.infrasystem.equipment.infrastructure.persistence.repository;
 
 import br.com.dagostini.infrasystem.equipment.domain.model.Equipment;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentActivation;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentBatchItem;
 import br.com.dagostini.infrasystem.equipment.infrastructure.persistence.entity.EquipmentEntity;
 import br.com.dagostini.infrasystem.equipment.infrastructure.persistence.mapper.EquipmentMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,7 +13,6 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.Logger;
 
-import java.lang.reflect.Method;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -28,6 +29,9 @@ class EquipmentRepositoryImplTest {
     @Mock
     private EquipmentMapper mapper;
 
+    @Mock
+    private EquipmentBatchWriter batchWriter;
+
     @Mock
     private Logger logger;
 
@@ -37,8 +41,6 @@ class EquipmentRepositoryImplTest {
     private Equipment testEquipment;
     private EquipmentEntity testEquipmentEntity;
     private static final String TEST_SERIAL = "ABC12345";
-    private static final String SHORT_SERIAL = "ABC";
-    private static final String MASKED_SERIAL = "****2345";
 
     @BeforeEach
     void setUp() {
@@ -54,11 +56,13 @@ class EquipmentRepositoryImplTest {
     @Test
     void save_shouldSaveEquipmentAndReturnMappedDomain() {
         when(mapper.toEntity(testEquipment)).thenReturn(testEquipmentEntity);
+        when(jpaRepository.nextCatalogVersion()).thenReturn(7L);
         when(jpaRepository.save(testEquipmentEntity)).thenReturn(testEquipmentEntity);
         when(mapper.toDomain(testEquipmentEntity)).thenReturn(testEquipment);
 
         Equipment result = equipmentRepository.save(testEquipment);
 
+        assertEquals(7L, testEquipmentEntity.getCatalogVersion());
         assertNotNull(result);
         assertEquals(testEquipment, result);
         assertEquals(TEST_SERIAL, result.getSerial());
@@ -159,42 +163,20 @@ class EquipmentRepositoryImplTest {
     }
 
     @Test
-    void maskSerial_shouldMaskSerialCorrectly() throws Exception {
-        Method maskSerialMethod = EquipmentRepositoryImpl.class.getDeclaredMethod("maskSerial", String.class);
-        maskSerialMethod.setAccessible(true);
-
-        String result = (String) maskSerialMethod.invoke(equipmentRepository, TEST_SERIAL);
-
-        assertEquals(MASKED_SERIAL, result);
-    }
-
-    @Test
-    void maskSerial_shouldReturnDefaultMaskForNullSerial() throws Exception {
-        Method maskSerialMethod = EquipmentRepositoryImpl.class.getDeclaredMethod("maskSerial", String.class);
-        maskSerialMethod.setAccessible(true);
+    void upsertAll_shouldDelegateToBatchWriter() {
+        List<EquipmentBatchItem> items = List.of(EquipmentBatchItem.pending(0, testEquipment));
+        List<EquipmentBatchItem> stored = List.of(items.get(0).toBuilder().status(EquipmentBatchItem.Status.CREATED).build());
+        when(batchWriter.upsert(items)).thenReturn(stored);
 
-        String result = (String) maskSerialMethod.invoke(equipmentRepository, (String) null);
-
-        assertEquals("****", result);
+        assertEquals(stored, equipmentRepository.upsertAll(items));
+        verifyNoInteractions(jpaRepository);
     }
 
     @Test
-    void maskSerial_shouldReturnDefaultMaskForShortSerial() throws Exception {
-        Method maskSerialMethod = EquipmentRepositoryImpl.class.getDeclaredMethod("maskSerial", String.class);
-        maskSerialMethod.setAccessible(true);
-
-        String result = (String) maskSerialMethod.invoke(equipmentRepository, SHORT_SERIAL);
-
-        assertEquals("****", result);
-    }
-
-    @Test
-    void maskSerial_shouldReturnDefaultMaskForEmptySerial() throws Exception {
-        Method maskSerialMethod = EquipmentRepositoryImpl.class.getDeclaredMethod("maskSerial", String.class);
-        maskSerialMethod.setAccessible(true);
-
-        String result = (String) maskSerialMethod.invoke(equipmentRepository, "");
+    void setActive_shouldDelegateToBatchWriter() {
+        EquipmentActivation activation = new EquipmentActivation(false, List.of(testEquipment), List.of(), List.of());
+        when(batchWriter.setActive(List.of(TEST_SERIAL), false)).thenReturn(activation);
 
-        assertEquals("****", result);
+        assertEquals(activation, equipmentRepository.setActive(List.of(TEST_SERIAL), false));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,105 @@
+package br.com.dagostini.infrasystem.equipment.infrastructure.persistence.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EquipmentStatusRepositoryImplTest {
+
+    private static final Instant SEEN = Instant.parse("2024-06-01T12:00:00Z");
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private EquipmentStatusRepositoryImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new EquipmentStatusRepositoryImpl(dataSource, 2);
+    }
+
+    @Test
+    void saveLastSeenShouldUpsertInJdbcBatches() throws Exception {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(EquipmentStatusRepositoryImpl.UPSERT_LAST_SEEN)).thenReturn(statement);
+        Map<String, Instant> lastSeen = new LinkedHashMap<>();
+        lastSeen.put("A1", SEEN);
+        lastSeen.put("B2", SEEN);
+        lastSeen.put("C3", SEEN);
+
+        repository.saveLastSeen(lastSeen);
+
+        verify(statement, times(3)).addBatch();
+        verify(statement, times(2)).executeBatch();
+        verify(statement, times(3)).setObject(2, SEEN.atOffset(ZoneOffset.UTC));
+    }
+
+    @Test
+    void saveLastSeenShouldSkipAnEmptyFlush() throws Exception {
+        repository.saveLastSeen(Map.of());
+
+        verify(dataSource, never()).getConnection();
+    }
+
+    @Test
+    void saveLastSeenShouldWrapDatabaseErrors() throws Exception {
+        when(dataSource.getConnection()).thenThrow(new SQLException("down"));
+
+        assertThrows(IllegalStateException.class, () -> repository.saveLastSeen(Map.of("A1", SEEN)));
+    }
+
+    @Test
+    void findAllLastSeenShouldReadEveryRow() throws Exception {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(EquipmentStatusRepositoryImpl.SELECT_ALL)).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getString(1)).thenReturn("A1");
+        when(resultSet.getObject(2, OffsetDateTime.class)).thenReturn(SEEN.atOffset(ZoneOffset.UTC));
+
+        assertEquals(Map.of("A1", SEEN), repository.findAllLastSeen());
+    }
+
+    @Test
+    void findLastSeenSinceShouldReadRowsSeenAfterTheInstant() throws Exception {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(EquipmentStatusRepositoryImpl.SELECT_SINCE)).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getString(1)).thenReturn("A1");
+        when(resultSet.getObject(2, OffsetDateTime.class)).thenReturn(SEEN.atOffset(ZoneOffset.UTC));
+
+        assertEquals(Map.of("A1", SEEN), repository.findLastSeenSince(SEEN.minusSeconds(10)));
+        verify(statement).setObject(1, SEEN.minusSeconds(10).atOffset(ZoneOffset.UTC));
+    }
+}
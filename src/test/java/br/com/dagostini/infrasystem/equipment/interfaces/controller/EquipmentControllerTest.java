@@ -1,12 +1,31 @@
 package br.com.dagostini.infrasystem.equipment.interfaces.controller;
 
+import br.com.agostini.openapi.provider.representation.EquipmentActivationRequestRepresentation;
+import br.com.agostini.openapi.provider.representation.EquipmentActivationResponseRepresentation;
+import br.com.agostini.openapi.provider.representation.EquipmentAreaRequestRepresentation;
+import br.com.agostini.openapi.provider.representation.EquipmentBatchResponseRepresentation;
 import br.com.agostini.openapi.provider.representation.EquipmentRequestRepresentation;
 import br.com.agostini.openapi.provider.representation.EquipmentResponseRepresentation;
+import br.com.agostini.openapi.provider.representation.EquipmentStatusRepresentation;
+import br.com.agostini.openapi.provider.representation.GeoPointRepresentation;
+import br.com.agostini.openapi.provider.representation.NearbyEquipmentRepresentation;
 import br.com.agostini.openapi.provider.representation.ViolationResponseRepresentation;
+import br.com.agostini.openapi.provider.representation.ViolationSpeedDistributionRepresentation;
+import br.com.agostini.openapi.provider.representation.ViolationStatsRepresentation;
+import br.com.dagostini.infrasystem.equipment.application.service.EquipmentCatalog;
+import br.com.dagostini.infrasystem.equipment.application.service.EquipmentCatalogSnapshot;
 import br.com.dagostini.infrasystem.equipment.application.service.EquipmentServiceAdapterImpl;
 import br.com.dagostini.infrasystem.equipment.domain.exception.EquipmentNotFoundException;
 import br.com.dagostini.infrasystem.equipment.domain.exception.EquipmentValidationException;
 import br.com.dagostini.infrasystem.equipment.domain.model.Equipment;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentActivation;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentBatchItem;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentCatalogPage;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentCatalogQuery;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentCursor;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentStatus;
+import br.com.dagostini.infrasystem.equipment.domain.model.GeoPoint;
+import br.com.dagostini.infrasystem.equipment.domain.model.NearbyEquipment;
 import br.com.dagostini.infrasystem.equipment.interfaces.mapper.EquipmentDtoMapper;
 import br.com.dagostini.infrasystem.shared.domain.orchestrator.DomainOrchestrator;
 import br.com.dagostini.infrasystem.violation.application.service.ViolationServiceAdapter;
@@ -17,7 +36,10 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 
@@ -27,6 +49,7 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
@@ -47,6 +70,12 @@ class EquipmentControllerTest {
     @Mock
     private DomainOrchestrator domainOrchestrator;
 
+    @Mock
+    private EquipmentCatalog equipmentCatalog;
+
+    @Mock
+    private NativeWebRequest nativeWebRequest;
+
     @Test
     void shouldCreateEquipmentSuccessfully() {
         EquipmentRequestRepresentation request = new EquipmentRequestRepresentation();
@@ -97,12 +126,14 @@ class EquipmentControllerTest {
         response.setLongitude(BigDecimal.valueOf(-46.63331));
         response.setActive(true);
 
+        when(equipmentCatalog.snapshot()).thenReturn(catalogAtVersion(5L));
         when(equipmentService.getEquipmentBySerial(serial)).thenReturn(equipment);
         when(mapper.toResponse(equipment)).thenReturn(response);
 
         ResponseEntity<EquipmentResponseRepresentation> result = controller.findEquipmentBySerial(serial);
 
         assertEquals(200, result.getStatusCodeValue());
+        assertEquals("\"5\"", result.getHeaders().getETag());
         assertNotNull(result.getBody());
         assertEquals(serial, result.getBody().getSerial());
         verify(equipmentService).getEquipmentBySerial(serial);
@@ -112,6 +143,7 @@ class EquipmentControllerTest {
     @Test
     void shouldThrowWhenEquipmentNotFound() {
         String serial = "ABC123";
+        when(equipmentCatalog.snapshot()).thenReturn(catalogAtVersion(5L));
         assertThrows(EquipmentNotFoundException.class, () -> controller.findEquipmentBySerial(serial));
     }
 
@@ -130,15 +162,15 @@ class EquipmentControllerTest {
         List<ViolationResponseRepresentation> violations = Arrays.asList(v1, v2);
         ResponseEntity<List<ViolationResponseRepresentation>> response = ResponseEntity.ok(violations);
 
-        when(domainOrchestrator.listViolationsByEquipment(serial, from, to)).thenReturn(response);
+        when(domainOrchestrator.listViolationsByEquipment(serial, from, to, null, 100)).thenReturn(response);
 
-        ResponseEntity<List<ViolationResponseRepresentation>> result = controller.listViolationsByEquipment(serial, from, to);
+        ResponseEntity<List<ViolationResponseRepresentation>> result = controller.listViolationsByEquipment(serial, from, to, null, 100);
         assertEquals(200, result.getStatusCodeValue());
         assertEquals(2, result.getBody().size());
         assertEquals(1, result.getBody().get(0).getId());
         assertEquals(2, result.getBody().get(1).getId());
 
-        verify(domainOrchestrator).listViolationsByEquipment(serial, from, to);
+        verify(domainOrchestrator).listViolationsByEquipment(serial, from, to, null, 100);
     }
 
     @Test
@@ -168,19 +200,244 @@ class EquipmentControllerTest {
         EquipmentResponseRepresentation r2 = new EquipmentResponseRepresentation();
         r2.setSerial("B456");
 
-        when(equipmentService.listEquipments()).thenReturn(equipmentList);
+        when(equipmentCatalog.snapshot()).thenReturn(catalogAtVersion(5L));
+        when(nativeWebRequest.getHeader("If-None-Match")).thenReturn("\"4\"");
+        when(equipmentService.listEquipments(EquipmentCatalogQuery.all())).thenReturn(new EquipmentCatalogPage(equipmentList, 5L, 4L, null));
         when(mapper.toResponse(e1)).thenReturn(r1);
         when(mapper.toResponse(e2)).thenReturn(r2);
 
-        ResponseEntity<List<EquipmentResponseRepresentation>> result = controller.listEquipments();
+        ResponseEntity<List<EquipmentResponseRepresentation>> result = controller.listEquipments(null, null, null, null, null);
 
         assertEquals(200, result.getStatusCodeValue());
+        assertEquals("\"5\"", result.getHeaders().getETag());
+        assertEquals("4", result.getHeaders().getFirst(EquipmentController.CATALOG_VERSION_HEADER));
+        assertNull(result.getHeaders().getFirst(EquipmentController.NEXT_CURSOR_HEADER));
         assertEquals(2, result.getBody().size());
         assertEquals("A123", result.getBody().get(0).getSerial());
         assertEquals("B456", result.getBody().get(1).getSerial());
 
-        verify(equipmentService).listEquipments();
         verify(mapper).toResponse(e1);
         verify(mapper).toResponse(e2);
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldPassFiltersAndReturnNextCursor() {
+        Equipment e1 = new Equipment();
+        e1.setSerial("A123");
+        EquipmentCursor after = new EquipmentCursor("A000");
+        EquipmentCatalogQuery query = new EquipmentCatalogQuery(2L, true, "Modelo-X", after, 1);
+
+        when(equipmentCatalog.snapshot()).thenReturn(catalogAtVersion(5L));
+        when(equipmentService.listEquipments(query)).thenReturn(new EquipmentCatalogPage(List.of(e1), 5L, 5L, new EquipmentCursor("A123")));
+        when(mapper.toResponse(e1)).thenReturn(new EquipmentResponseRepresentation());
+
+        ResponseEntity<List<EquipmentResponseRepresentation>> result = controller.listEquipments(2L, true, "Modelo-X", after.encode(), 1);
+
+        assertEquals(1, result.getBody().size());
+        assertEquals(new EquipmentCursor("A123").encode(), result.getHeaders().getFirst(EquipmentController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void shouldRejectInvalidListParameters() {
+        assertThrows(EquipmentValidationException.class, () -> controller.listEquipments(-1L, null, null, null, null));
+        assertThrows(EquipmentValidationException.class, () -> controller.listEquipments(null, null, null, null, 0));
+        assertThrows(EquipmentValidationException.class, () -> controller.listEquipments(null, null, null, null, 1001));
+        assertThrows(EquipmentValidationException.class, () -> controller.listEquipments(null, null, null, "%%%", null));
+        verifyNoInteractions(equipmentService, equipmentCatalog);
+    }
+
+    @Test
+    void shouldAnswerNotModifiedForUnchangedCatalog() {
+        when(equipmentCatalog.snapshot()).thenReturn(catalogAtVersion(5L));
+        when(nativeWebRequest.getHeader("If-None-Match")).thenReturn("\"5\"");
+
+        ResponseEntity<List<EquipmentResponseRepresentation>> result = controller.listEquipments(null, null, null, null, null);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, result.getStatusCode());
+        assertEquals("\"5\"", result.getHeaders().getETag());
+        assertNull(result.getBody());
+        verifyNoInteractions(equipmentService, mapper);
+    }
+
+    @Test
+    void shouldAnswerNotModifiedForUnchangedEquipment() {
+        when(equipmentCatalog.snapshot()).thenReturn(catalogAtVersion(5L));
+        when(nativeWebRequest.getHeader("If-None-Match")).thenReturn("\"5\"");
+
+        ResponseEntity<EquipmentResponseRepresentation> result = controller.findEquipmentBySerial("ABC123f4d56");
+
+        assertEquals(HttpStatus.NOT_MODIFIED, result.getStatusCode());
+        verifyNoInteractions(equipmentService, mapper);
+    }
+
+    @Test
+    void shouldFindEquipmentsNearAPoint() {
+        Equipment e1 = new Equipment();
+        NearbyEquipment nearby = new NearbyEquipment(e1, 42.0);
+        NearbyEquipmentRepresentation response = new NearbyEquipmentRepresentation();
+        when(equipmentService.findEquipmentsNear(new GeoPoint(-23.55, -46.63), 500.0, true, 100)).thenReturn(List.of(nearby));
+        when(mapper.toNearbyResponse(nearby)).thenReturn(response);
+
+        ResponseEntity<List<NearbyEquipmentRepresentation>> result = controller.findEquipmentsNear(-23.55, -46.63, 500.0, true, null);
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(List.of(response), result.getBody());
+    }
+
+    @Test
+    void shouldRejectInvalidNearParameters() {
+        assertThrows(EquipmentValidationException.class, () -> controller.findEquipmentsNear(null, -46.63, 500.0, null, null));
+        assertThrows(EquipmentValidationException.class, () -> controller.findEquipmentsNear(91.0, -46.63, 500.0, null, null));
+        assertThrows(EquipmentValidationException.class, () -> controller.findEquipmentsNear(-23.55, -46.63, 0.5, null, null));
+        assertThrows(EquipmentValidationException.class, () -> controller.findEquipmentsNear(-23.55, -46.63, 100_001.0, null, null));
+        assertThrows(EquipmentValidationException.class, () -> controller.findEquipmentsNear(-23.55, -46.63, 500.0, null, 1001));
+        verifyNoInteractions(equipmentService);
+    }
+
+    @Test
+    void shouldFindEquipmentsWithinAPolygon() {
+        List<GeoPointRepresentation> vertices = List.of(
+                new GeoPointRepresentation(0.0, 0.0), new GeoPointRepresentation(0.0, 1.0), new GeoPointRepresentation(1.0, 1.0));
+        List<GeoPoint> polygon = List.of(new GeoPoint(0, 0), new GeoPoint(0, 1), new GeoPoint(1, 1));
+        for (int i = 0; i < vertices.size(); i++) {
+            when(mapper.toGeoPoint(vertices.get(i))).thenReturn(polygon.get(i));
+        }
+        Equipment e1 = new Equipment();
+        EquipmentResponseRepresentation response = new EquipmentResponseRepresentation();
+        when(equipmentService.findEquipmentsWithin(polygon, null)).thenReturn(List.of(e1));
+        when(mapper.toResponse(e1)).thenReturn(response);
+
+        ResponseEntity<List<EquipmentResponseRepresentation>> result =
+                controller.findEquipmentsWithin(new EquipmentAreaRequestRepresentation(vertices), null);
+
+        assertEquals(List.of(response), result.getBody());
+    }
+
+    @Test
+    void shouldRejectPolygonsWithTooFewPoints() {
+        EquipmentAreaRequestRepresentation area = new EquipmentAreaRequestRepresentation(
+                List.of(new GeoPointRepresentation(0.0, 0.0), new GeoPointRepresentation(0.0, 1.0)));
+
+        assertThrows(EquipmentValidationException.class, () -> controller.findEquipmentsWithin(area, null));
+        assertThrows(EquipmentValidationException.class, () -> controller.findEquipmentsWithin(null, null));
+        verifyNoInteractions(equipmentService);
+    }
+
+    @Test
+    void shouldCreateEquipmentBatchWithMultiStatus() {
+        EquipmentRequestRepresentation first = new EquipmentRequestRepresentation();
+        first.setSerial("A1");
+        EquipmentRequestRepresentation second = new EquipmentRequestRepresentation();
+        second.setSerial("B2");
+        Equipment e1 = new Equipment();
+        e1.setSerial("A1");
+        Equipment e2 = new Equipment();
+        e2.setSerial("B2");
+        List<EquipmentBatchItem> items = List.of(EquipmentBatchItem.pending(0, e1), EquipmentBatchItem.pending(1, e2));
+        EquipmentBatchResponseRepresentation response = new EquipmentBatchResponseRepresentation();
+        when(mapper.toDomain(first)).thenReturn(e1);
+        when(mapper.toDomain(second)).thenReturn(e2);
+        when(equipmentService.createEquipmentBatch(items)).thenReturn(items);
+        when(mapper.toBatchResponse(items)).thenReturn(response);
+
+        ResponseEntity<EquipmentBatchResponseRepresentation> result = controller.createEquipmentBatch(List.of(first, second));
+
+        assertEquals(HttpStatus.MULTI_STATUS, result.getStatusCode());
+        assertEquals(response, result.getBody());
+    }
+
+    @Test
+    void shouldRejectEmptyOrOversizedEquipmentBatch() {
+        List<EquipmentRequestRepresentation> oversized = java.util.Collections.nCopies(1001, new EquipmentRequestRepresentation());
+
+        assertThrows(EquipmentValidationException.class, () -> controller.createEquipmentBatch(List.of()));
+        assertThrows(EquipmentValidationException.class, () -> controller.createEquipmentBatch(oversized));
+        verifyNoInteractions(equipmentService);
+    }
+
+    @Test
+    void shouldSetActivationOfASerialList() {
+        EquipmentActivation activation = new EquipmentActivation(false, List.of(), List.of("A1"), List.of());
+        EquipmentActivationResponseRepresentation response = new EquipmentActivationResponseRepresentation();
+        when(equipmentService.setEquipmentActivation(List.of("A1"), false)).thenReturn(activation);
+        when(mapper.toActivationResponse(activation)).thenReturn(response);
+
+        ResponseEntity<EquipmentActivationResponseRepresentation> result =
+                controller.setEquipmentActivation(new EquipmentActivationRequestRepresentation(List.of("A1"), false));
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(response, result.getBody());
+    }
+
+    @Test
+    void shouldRejectInvalidActivationRequests() {
+        assertThrows(EquipmentValidationException.class,
+                () -> controller.setEquipmentActivation(new EquipmentActivationRequestRepresentation(List.of(), true)));
+        assertThrows(EquipmentValidationException.class,
+                () -> controller.setEquipmentActivation(new EquipmentActivationRequestRepresentation(List.of("A1"), null)));
+        verifyNoInteractions(equipmentService);
+    }
+
+    @Test
+    void shouldRecordHeartbeatWithNoContent() {
+        ResponseEntity<Void> result = controller.recordEquipmentHeartbeat("ABC123f4d56");
+
+        assertEquals(HttpStatus.NO_CONTENT, result.getStatusCode());
+        verify(equipmentService).recordHeartbeat("ABC123f4d56");
+    }
+
+    @Test
+    void shouldPropagateHeartbeatOfUnknownEquipment() {
+        when(equipmentService.recordHeartbeat("UNKNOWN1")).thenThrow(new EquipmentNotFoundException("UNKNOWN1"));
+
+        assertThrows(EquipmentNotFoundException.class, () -> controller.recordEquipmentHeartbeat("UNKNOWN1"));
+    }
+
+    @Test
+    void shouldReturnEquipmentStatus() {
+        EquipmentStatus status = new EquipmentStatus("ABC123f4d56", null, false);
+        EquipmentStatusRepresentation response = new EquipmentStatusRepresentation();
+        when(equipmentService.getEquipmentStatus("ABC123f4d56")).thenReturn(status);
+        when(equipmentService.listEquipmentStatus(false)).thenReturn(List.of(status));
+        when(mapper.toStatusResponse(status)).thenReturn(response);
+
+        assertEquals(response, controller.findEquipmentStatus("ABC123f4d56").getBody());
+        assertEquals(List.of(response), controller.listEquipmentStatus(false).getBody());
+    }
+
+    private static EquipmentCatalogSnapshot catalogAtVersion(long version) {
+        Equipment equipment = new Equipment();
+        equipment.setSerial("ABC123f4d56");
+        equipment.setCatalogVersion(version);
+        return EquipmentCatalogSnapshot.of(List.of(equipment));
+    }
+
+    @Test
+    void shouldDelegateViolationExportToOrchestrator() {
+        Date from = new Date(System.currentTimeMillis() - 1000000);
+        Date to = new Date();
+        StreamingResponseBody body = output -> { };
+        when(domainOrchestrator.exportViolationsByEquipment("ABC123f4d56", from, to)).thenReturn(ResponseEntity.ok(body));
+
+        ResponseEntity<StreamingResponseBody> result = controller.exportViolationsByEquipment("ABC123f4d56", from, to);
+
+        assertEquals(body, result.getBody());
+        verify(domainOrchestrator).exportViolationsByEquipment("ABC123f4d56", from, to);
+    }
+
+    @Test
+    void shouldDelegateViolationStatsToOrchestrator() {
+        ViolationStatsRepresentation stats = new ViolationStatsRepresentation();
+        when(domainOrchestrator.getViolationStats("ABC123f4d56", "day", null, null)).thenReturn(ResponseEntity.ok(stats));
+
+        assertEquals(stats, controller.getViolationStats("ABC123f4d56", "day", null, null).getBody());
+    }
+
+    @Test
+    void shouldDelegateSpeedDistributionToOrchestrator() {
+        ViolationSpeedDistributionRepresentation distribution = new ViolationSpeedDistributionRepresentation();
+        when(domainOrchestrator.getViolationSpeedDistribution("ABC123f4d56", null, null)).thenReturn(ResponseEntity.ok(distribution));
+
+        assertEquals(distribution, controller.getViolationSpeedDistribution("ABC123f4d56", null, null).getBody());
+    }
+}
@@ -1,15 +1,24 @@
 package br.com.dagostini.infrasystem.equipment.interfaces.mapper;
 
 
+import br.com.agostini.openapi.provider.representation.EquipmentActivationResponseRepresentation;
+import br.com.agostini.openapi.provider.representation.EquipmentBatchResponseRepresentation;
+import br.com.agostini.openapi.provider.representation.EquipmentBatchResultRepresentation;
 import br.com.agostini.openapi.provider.representation.EquipmentRequestRepresentation;
 import br.com.agostini.openapi.provider.representation.EquipmentResponseRepresentation;
 import br.com.dagostini.infrasystem.equipment.domain.model.Equipment;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentActivation;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentBatchItem;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentStatus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -180,4 +189,40 @@ class EquipmentDtoMapperImplTest {
         assertEquals(testRequestRepresentation.getLongitude(), result.getLongitude());
         assertEquals(testRequestRepresentation.getActive(), result.getActive());
     }
+
+    @Test
+    void toBatchResponse_shouldCountOutcomesAndKeepTheirOrder() {
+        EquipmentBatchResponseRepresentation response = equipmentDtoMapper.toBatchResponse(List.of(
+                EquipmentBatchItem.pending(0, testEquipment).toBuilder().status(EquipmentBatchItem.Status.CREATED).build(),
+                EquipmentBatchItem.rejected(1, new Equipment(), "Serial is required"),
+                EquipmentBatchItem.pending(2, testEquipment).toBuilder().status(EquipmentBatchItem.Status.UNCHANGED).build()));
+
+        assertEquals(1, response.getCreated());
+        assertEquals(0, response.getUpdated());
+        assertEquals(1, response.getUnchanged());
+        assertEquals(1, response.getRejected());
+        assertEquals(EquipmentBatchResultRepresentation.StatusEnum.REJECTED, response.getResults().get(1).getStatus());
+        assertEquals("Serial is required", response.getResults().get(1).getError());
+        assertNull(response.getResults().get(1).getEquipment());
+        assertEquals(TEST_SERIAL, response.getResults().get(2).getEquipment().getSerial());
+    }
+
+    @Test
+    void toActivationResponse_shouldListSerialsByOutcome() {
+        EquipmentActivationResponseRepresentation response = equipmentDtoMapper.toActivationResponse(
+                new EquipmentActivation(false, List.of(testEquipment), List.of("B2"), List.of("C3")));
+
+        assertEquals(false, response.getActive());
+        assertEquals(List.of(TEST_SERIAL), response.getChanged());
+        assertEquals(List.of("B2"), response.getUnchanged());
+        assertEquals(List.of("C3"), response.getNotFound());
+    }
+
+    @Test
+    void toStatusResponse_shouldMapLastSeenAndOnline() {
+        Instant seen = Instant.parse("2024-06-01T12:00:00Z");
+
+        assertEquals(Date.from(seen), equipmentDtoMapper.toStatusResponse(new EquipmentStatus(TEST_SERIAL, seen, true)).getLastSeenAt());
+        assertNull(equipmentDtoMapper.toStatusResponse(new EquipmentStatus(TEST_SERIAL, null, false)).getLastSeenAt());
+    }
 }
@@ -1,32 +1,48 @@
 package br.com.dagostini.infrasystem.shared.domain.orchestrator;
 
 import br.com.agostini.openapi.provider.representation.ViolationResponseRepresentation;
+import br.com.agostini.openapi.provider.representation.ViolationSpeedDistributionRepresentation;
+import br.com.agostini.openapi.provider.representation.ViolationStatsRepresentation;
 import br.com.dagostini.infrasystem.violation.application.service.ViolationServiceAdapter;
+import br.com.dagostini.infrasystem.violation.domain.exception.ViolationValidationException;
 import br.com.dagostini.infrasystem.violation.domain.model.Violation;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationCursor;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationPage;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationSpeedDistribution;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationStats;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationStatsGranularity;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class DomainOrchestratorImplTest {
 
-    @InjectMocks
     private DomainOrchestratorImpl domainOrchestrator;
 
     @Mock
@@ -42,6 +58,7 @@ class DomainOrchestratorImplTest {
 
     @BeforeEach
     void setUp() {
+        domainOrchestrator = new DomainOrchestratorImpl(violationServiceAdapter, domainOrchestratorMapper, new ObjectMapper(), 100, 1000);
         OffsetDateTime occurrenceDate = OffsetDateTime.of(2025, 7, 20, 22, 0, 0, 0, ZoneOffset.UTC);
         fromDate = new Date(1745174400000L); // Approx 2025-07-20
         toDate = new Date(1745260800000L);   // Approx 2025-07-21
@@ -75,13 +92,13 @@ class DomainOrchestratorImplTest {
         List<Violation> violations = Arrays.asList(violation);
         List<ViolationResponseRepresentation> responseList = Arrays.asList(responseRepresentation);
 
-        when(violationServiceAdapter.listViolationsByEquipment(serial, fromDate, toDate))
-                .thenReturn(violations);
+        when(violationServiceAdapter.listViolationsByEquipment(serial, fromDate, toDate, null, 100))
+                .thenReturn(new ViolationPage(violations, null));
         when(domainOrchestratorMapper.toResponseList(violations))
                 .thenReturn(responseList);
 
         // Act
-        ResponseEntity<List<ViolationResponseRepresentation>> response = domainOrchestrator.listViolationsByEquipment(serial, fromDate, toDate);
+        ResponseEntity<List<ViolationResponseRepresentation>> response = domainOrchestrator.listViolationsByEquipment(serial, fromDate, toDate, null, null);
 
         // Assert
         assertNotNull(response, "Response should not be null");
@@ -90,7 +107,7 @@ class DomainOrchestratorImplTest {
         assertEquals(1, response.getBody().size(), "Response list should contain one item");
         assertEquals("EQUIP123", response.getBody().get(0).getEquipmentSerial(), "Equipment serial should match");
 
-        verify(violationServiceAdapter).listViolationsByEquipment(serial, fromDate, toDate);
+        verify(violationServiceAdapter).listViolationsByEquipment(serial, fromDate, toDate, null, 100);
         verify(domainOrchestratorMapper).toResponseList(violations);
     }
 
@@ -101,13 +118,13 @@ class DomainOrchestratorImplTest {
         List<Violation> violations = Collections.emptyList();
         List<ViolationResponseRepresentation> responseList = Collections.emptyList();
 
-        when(violationServiceAdapter.listViolationsByEquipment(serial, fromDate, toDate))
-                .thenReturn(violations);
+        when(violationServiceAdapter.listViolationsByEquipment(serial, fromDate, toDate, null, 100))
+                .thenReturn(new ViolationPage(violations, null));
         when(domainOrchestratorMapper.toResponseList(violations))
                 .thenReturn(responseList);
 
         // Act
-        ResponseEntity<List<ViolationResponseRepresentation>> response = domainOrchestrator.listViolationsByEquipment(serial, fromDate, toDate);
+        ResponseEntity<List<ViolationResponseRepresentation>> response = domainOrchestrator.listViolationsByEquipment(serial, fromDate, toDate, null, null);
 
         // Assert
         assertNotNull(response, "Response should not be null");
@@ -115,7 +132,7 @@ class DomainOrchestratorImplTest {
         assertNotNull(response.getBody(), "Response body should not be null");
         assertTrue(response.getBody().isEmpty(), "Response body should be empty");
 
-        verify(violationServiceAdapter).listViolationsByEquipment(serial, fromDate, toDate);
+        verify(violationServiceAdapter).listViolationsByEquipment(serial, fromDate, toDate, null, 100);
         verify(domainOrchestratorMapper).toResponseList(violations);
     }
 
@@ -125,20 +142,20 @@ class DomainOrchestratorImplTest {
         List<Violation> violations = Arrays.asList(violation);
         List<ViolationResponseRepresentation> responseList = Arrays.asList(responseRepresentation);
 
-        when(violationServiceAdapter.listViolationsByEquipment(null, fromDate, toDate))
-                .thenReturn(violations);
+        when(violationServiceAdapter.listViolationsByEquipment(null, fromDate, toDate, null, 100))
+                .thenReturn(new ViolationPage(violations, null));
         when(domainOrchestratorMapper.toResponseList(violations))
                 .thenReturn(responseList);
 
         // Act
-        ResponseEntity<List<ViolationResponseRepresentation>> response = domainOrchestrator.listViolationsByEquipment(null, fromDate, toDate);
+        ResponseEntity<List<ViolationResponseRepresentation>> response = domainOrchestrator.listViolationsByEquipment(null, fromDate, toDate, null, null);
 
         // Assert
         assertNotNull(response, "Response should not be null");
         assertEquals(200, response.getStatusCodeValue(), "Status code should be 200 OK");
         assertEquals(responseList, response.getBody(), "Response body should match mapped list");
 
-        verify(violationServiceAdapter).listViolationsByEquipment(null, fromDate, toDate);
+        verify(violationServiceAdapter).listViolationsByEquipment(null, fromDate, toDate, null, 100);
         verify(domainOrchestratorMapper).toResponseList(violations);
     }
 
@@ -149,20 +166,20 @@ class DomainOrchestratorImplTest {
         List<Violation> violations = Arrays.asList(violation);
         List<ViolationResponseRepresentation> responseList = Arrays.asList(responseRepresentation);
 
-        when(violationServiceAdapter.listViolationsByEquipment(serial, null, null))
-                .thenReturn(violations);
+        when(violationServiceAdapter.listViolationsByEquipment(serial, null, null, null, 100))
+                .thenReturn(new ViolationPage(violations, null));
         when(domainOrchestratorMapper.toResponseList(violations))
                 .thenReturn(responseList);
 
         // Act
-        ResponseEntity<List<ViolationResponseRepresentation>> response = domainOrchestrator.listViolationsByEquipment(serial, null, null);
+        ResponseEntity<List<ViolationResponseRepresentation>> response = domainOrchestrator.listViolationsByEquipment(serial, null, null, null, null);
 
         // Assert
         assertNotNull(response, "Response should not be null");
         assertEquals(200, response.getStatusCodeValue(), "Status code should be 200 OK");
         assertEquals(responseList, response.getBody(), "Response body should match mapped list");
 
-        verify(violationServiceAdapter).listViolationsByEquipment(serial, null, null);
+        verify(violationServiceAdapter).listViolationsByEquipment(serial, null, null, null, 100);
         verify(domainOrchestratorMapper).toResponseList(violations);
     }
 
@@ -170,15 +187,15 @@ class DomainOrchestratorImplTest {
     void testListViolationsByEquipmentWithServiceException() {
         // Arrange
         String serial = "EQUIP123";
-        when(violationServiceAdapter.listViolationsByEquipment(serial, fromDate, toDate))
+        when(violationServiceAdapter.listViolationsByEquipment(serial, fromDate, toDate, null, 100))
                 .thenThrow(new RuntimeException("Service error"));
 
         // Act & Assert
         assertThrows(RuntimeException.class,
-                () -> domainOrchestrator.listViolationsByEquipment(serial, fromDate, toDate),
+                () -> domainOrchestrator.listViolationsByEquipment(serial, fromDate, toDate, null, null),
                 "Should propagate service exception");
 
-        verify(violationServiceAdapter).listViolationsByEquipment(serial, fromDate, toDate);
+        verify(violationServiceAdapter).listViolationsByEquipment(serial, fromDate, toDate, null, 100);
         verify(domainOrchestratorMapper, never()).toResponseList(anyList());
     }
 
@@ -190,20 +207,187 @@ class DomainOrchestratorImplTest {
         List<Violation> violations = Arrays.asList(violation);
         List<ViolationResponseRepresentation> responseList = Arrays.asList(responseRepresentation);
 
-        when(violationServiceAdapter.listViolationsByEquipment(serial, sameDate, sameDate))
-                .thenReturn(violations);
+        when(violationServiceAdapter.listViolationsByEquipment(serial, sameDate, sameDate, null, 100))
+                .thenReturn(new ViolationPage(violations, null));
         when(domainOrchestratorMapper.toResponseList(violations))
                 .thenReturn(responseList);
 
         // Act
-        ResponseEntity<List<ViolationResponseRepresentation>> response = domainOrchestrator.listViolationsByEquipment(serial, sameDate, sameDate);
+        ResponseEntity<List<ViolationResponseRepresentation>> response = domainOrchestrator.listViolationsByEquipment(serial, sameDate, sameDate, null, null);
 
         // Assert
         assertNotNull(response, "Response should not be null");
         assertEquals(200, response.getStatusCodeValue(), "Status code should be 200 OK");
         assertEquals(responseList, response.getBody(), "Response body should match mapped list");
 
-        verify(violationServiceAdapter).listViolationsByEquipment(serial, sameDate, sameDate);
+        verify(violationServiceAdapter).listViolationsByEquipment(serial, sameDate, sameDate, null, 100);
         verify(domainOrchestratorMapper).toResponseList(violations);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testListViolationsByEquipmentSetsNextCursorHeader() {
+        String serial = "EQUIP123";
+        List<Violation> violations = List.of(violation);
+        ViolationCursor next = ViolationCursor.after(violation);
+        when(violationServiceAdapter.listViolationsByEquipment(serial, null, null, null, 1))
+                .thenReturn(new ViolationPage(violations, next));
+        when(domainOrchestratorMapper.toResponseList(violations)).thenReturn(List.of(responseRepresentation));
+
+        ResponseEntity<List<ViolationResponseRepresentation>> response = domainOrchestrator.listViolationsByEquipment(serial, null, null, null, 1);
+
+        assertEquals(next.encode(), response.getHeaders().getFirst(DomainOrchestratorImpl.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void testListViolationsByEquipmentOmitsNextCursorOnLastPage() {
+        when(violationServiceAdapter.listViolationsByEquipment("EQUIP123", null, null, null, 100))
+                .thenReturn(new ViolationPage(List.of(), null));
+
+        ResponseEntity<List<ViolationResponseRepresentation>> response = domainOrchestrator.listViolationsByEquipment("EQUIP123", null, null, null, null);
+
+        assertFalse(response.getHeaders().containsKey(DomainOrchestratorImpl.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void testListViolationsByEquipmentDecodesCursor() {
+        ViolationCursor after = ViolationCursor.after(violation);
+        when(violationServiceAdapter.listViolationsByEquipment("EQUIP123", null, null, after, 100))
+                .thenReturn(new ViolationPage(List.of(), null));
+
+        domainOrchestrator.listViolationsByEquipment("EQUIP123", null, null, after.encode(), null);
+
+        verify(violationServiceAdapter).listViolationsByEquipment("EQUIP123", null, null, after, 100);
+    }
+
+    @Test
+    void testListViolationsByEquipmentCapsLimitAtMaximumPageSize() {
+        when(violationServiceAdapter.listViolationsByEquipment("EQUIP123", null, null, null, 1000))
+                .thenReturn(new ViolationPage(List.of(), null));
+
+        domainOrchestrator.listViolationsByEquipment("EQUIP123", null, null, null, 50_000);
+
+        verify(violationServiceAdapter).listViolationsByEquipment("EQUIP123", null, null, null, 1000);
+    }
+
+    @Test
+    void testListViolationsByEquipmentRejectsNonPositiveLimit() {
+        assertThrows(ViolationValidationException.class,
+                () -> domainOrchestrator.listViolationsByEquipment("EQUIP123", null, null, null, 0));
+
+        verifyNoInteractions(violationServiceAdapter);
+    }
+
+    @Test
+    void testListViolationsByEquipmentRejectsMalformedCursor() {
+        assertThrows(ViolationValidationException.class,
+                () -> domainOrchestrator.listViolationsByEquipment("EQUIP123", null, null, "not-a-cursor", null));
+
+        verifyNoInteractions(violationServiceAdapter);
+    }
+
+    @Test
+    void testExportViolationsByEquipmentWritesOneJsonDocumentPerLine() throws Exception {
+        Violation second = violation.toBuilder().id(2L).build();
+        ViolationResponseRepresentation secondRepresentation = new ViolationResponseRepresentation();
+        secondRepresentation.setId(2L);
+        when(domainOrchestratorMapper.toViolationResponseRepresentation(violation)).thenReturn(responseRepresentation);
+        when(domainOrchestratorMapper.toViolationResponseRepresentation(second)).thenReturn(secondRepresentation);
+        when(violationServiceAdapter.exportViolationsByEquipment(eq("EQUIP123"), eq(fromDate), eq(toDate), any()))
+                .thenAnswer(invocation -> {
+                    Consumer<Violation> sink = invocation.getArgument(3);
+                    sink.accept(violation);
+                    sink.accept(second);
+                    return 2L;
+                });
+
+        ResponseEntity<StreamingResponseBody> response = domainOrchestrator.exportViolationsByEquipment("EQUIP123", fromDate, toDate);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        response.getBody().writeTo(output);
+
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        ObjectMapper objectMapper = new ObjectMapper();
+        assertEquals("EQUIP123", objectMapper.readTree(lines[0]).get("equipmentSerial").asText());
+        assertEquals(2L, objectMapper.readTree(lines[1]).get("id").asLong());
+        assertTrue(output.toString(StandardCharsets.UTF_8).endsWith("\n"));
+    }
+
+    @Test
+    void testExportViolationsByEquipmentQueriesOnlyWhenBodyIsWritten() {
+        domainOrchestrator.exportViolationsByEquipment("EQUIP123", null, null);
+
+        verifyNoInteractions(violationServiceAdapter);
+    }
+
+    @Test
+    void testGetViolationStatsDefaultsToTheLastDayOfHours() {
+        DomainOrchestratorImpl clocked = new DomainOrchestratorImpl(violationServiceAdapter, domainOrchestratorMapper, new ObjectMapper(),
+                100, 1000, Clock.fixed(Instant.parse("2025-07-20T13:45:00Z"), ZoneOffset.UTC));
+        ViolationStats stats = ViolationStats.of("EQUIP123", ViolationStatsGranularity.HOUR,
+                Instant.parse("2025-07-19T14:00:00Z"), Instant.parse("2025-07-20T14:00:00Z"), List.of());
+        ViolationStatsRepresentation representation = new ViolationStatsRepresentation();
+        when(violationServiceAdapter.getViolationStats("EQUIP123", ViolationStatsGranularity.HOUR,
+                Instant.parse("2025-07-19T14:00:00Z"), Instant.parse("2025-07-20T14:00:00Z"))).thenReturn(stats);
+        when(domainOrchestratorMapper.toStatsResponse(stats)).thenReturn(representation);
+
+        assertSame(representation, clocked.getViolationStats("EQUIP123", null, null, null).getBody());
+    }
+
+    @Test
+    void testGetViolationStatsAlignsTheRangeToDays() {
+        Date from = Date.from(Instant.parse("2025-07-01T10:00:00Z"));
+        Date to = Date.from(Instant.parse("2025-07-03T10:00:00Z"));
+
+        domainOrchestrator.getViolationStats("EQUIP123", "day", from, to);
+
+        verify(violationServiceAdapter).getViolationStats("EQUIP123", ViolationStatsGranularity.DAY,
+                Instant.parse("2025-07-01T00:00:00Z"), Instant.parse("2025-07-04T00:00:00Z"));
+    }
+
+    @Test
+    void testGetViolationStatsRejectsInvalidRanges() {
+        Date from = Date.from(Instant.parse("2025-07-01T00:00:00Z"));
+
+        assertThrows(ViolationValidationException.class, () -> domainOrchestrator.getViolationStats("EQUIP123", "week", null, null));
+        assertThrows(ViolationValidationException.class, () -> domainOrchestrator.getViolationStats("EQUIP123", "hour", from, from));
+        assertThrows(ViolationValidationException.class, () -> domainOrchestrator.getViolationStats("EQUIP123", "hour",
+                from, Date.from(Instant.parse("2025-09-01T00:00:00Z"))));
+        verifyNoInteractions(violationServiceAdapter);
+    }
+
+    @Test
+    void testGetViolationSpeedDistributionDefaultsToTheLastDay() {
+        DomainOrchestratorImpl clocked = new DomainOrchestratorImpl(violationServiceAdapter, domainOrchestratorMapper, new ObjectMapper(),
+                100, 1000, Clock.fixed(Instant.parse("2025-07-20T13:45:00Z"), ZoneOffset.UTC));
+        ViolationSpeedDistribution distribution = new ViolationSpeedDistribution("EQUIP123", Instant.parse("2025-07-19T14:00:00Z"),
+                Instant.parse("2025-07-20T14:00:00Z"), 0, null, null, null, null, null, null, null);
+        ViolationSpeedDistributionRepresentation representation = new ViolationSpeedDistributionRepresentation();
+        when(violationServiceAdapter.getViolationSpeedDistribution("EQUIP123",
+                Instant.parse("2025-07-19T14:00:00Z"), Instant.parse("2025-07-20T14:00:00Z"))).thenReturn(distribution);
+        when(domainOrchestratorMapper.toSpeedResponse(distribution)).thenReturn(representation);
+
+        assertSame(representation, clocked.getViolationSpeedDistribution("EQUIP123", null, null).getBody());
+    }
+
+    @Test
+    void testGetViolationSpeedDistributionAlignsTheRangeToHours() {
+        Date from = Date.from(Instant.parse("2025-07-01T10:20:00Z"));
+        Date to = Date.from(Instant.parse("2025-07-03T10:20:00Z"));
+
+        domainOrchestrator.getViolationSpeedDistribution("EQUIP123", from, to);
+
+        verify(violationServiceAdapter).getViolationSpeedDistribution("EQUIP123",
+                Instant.parse("2025-07-01T10:00:00Z"), Instant.parse("2025-07-03T11:00:00Z"));
+    }
+
+    @Test
+    void testGetViolationSpeedDistributionRejectsInvalidRanges() {
+        Date from = Date.from(Instant.parse("2024-07-01T00:00:00Z"));
+
+        assertThrows(ViolationValidationException.class, () -> domainOrchestrator.getViolationSpeedDistribution("EQUIP123", from, from));
+        assertThrows(ViolationValidationException.class, () -> domainOrchestrator.getViolationSpeedDistribution("EQUIP123",
+                from, Date.from(Instant.parse("2025-07-03T00:00:00Z"))));
+        verifyNoInteractions(violationServiceAdapter);
+    }
+}
@@ -2,7 +2,13 @@ package br.com.dagostini.infrasystem.shared.domain.orchestrator;
 
 import br.com.agostini.openapi.provider.representation.ViolationRequestRepresentation;
 import br.com.agostini.openapi.provider.representation.ViolationResponseRepresentation;
+import br.com.agostini.openapi.provider.representation.ViolationSpeedDistributionRepresentation;
+import br.com.agostini.openapi.provider.representation.ViolationStatsRepresentation;
 import br.com.dagostini.infrasystem.violation.domain.model.Violation;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationRollup;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationSpeedDistribution;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationStats;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationStatsGranularity;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,12 +16,14 @@ import org.mockito.InjectMocks;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -193,4 +201,34 @@ class DomainOrchestratorMapperImplTest {
         assertThrows(IllegalArgumentException.class, () -> mapper.toViolationResponseRepresentation(invalidTypeViolation),
                 "Should throw IllegalArgumentException for invalid type");
     }
-}
\ No newline at end of file
+
+    @Test
+    void toStatsResponse_ShouldMapBucketsAndGranularity() {
+        Instant from = Instant.parse("2025-07-20T00:00:00Z");
+        ViolationStats stats = ViolationStats.of("EQUIP123", ViolationStatsGranularity.DAY, from, from.plusSeconds(86400),
+                List.of(new ViolationRollup("EQUIP123", from.plusSeconds(3600), "VELOCITY", 2)));
+
+        ViolationStatsRepresentation response = mapper.toStatsResponse(stats);
+
+        assertEquals("EQUIP123", response.getSerial());
+        assertEquals(ViolationStatsRepresentation.GranularityEnum.DAY, response.getGranularity());
+        assertEquals(Date.from(from), response.getFrom());
+        assertEquals(2L, response.getTotal());
+        assertEquals(Map.of("VELOCITY", 2L), response.getBuckets().get(0).getByType());
+    }
+
+    @Test
+    void toSpeedResponse_ShouldMapSerialAndPercentiles() {
+        Instant from = Instant.parse("2025-07-20T00:00:00Z");
+        ViolationSpeedDistribution distribution = new ViolationSpeedDistribution("EQUIP123", from, from.plusSeconds(86400),
+                40, 41.0, 139.0, 90.5, 90.0, 125.0, 135.0, 139.0);
+
+        ViolationSpeedDistributionRepresentation response = mapper.toSpeedResponse(distribution);
+
+        assertEquals("EQUIP123", response.getSerial());
+        assertEquals(Date.from(from), response.getFrom());
+        assertEquals(40L, response.getViolations());
+        assertEquals(125.0, response.getP85());
+        assertEquals(139.0, response.getMaxSpeed());
+    }
+}
@@ -4,14 +4,19 @@ package br.com.dagostini.infrasystem.shared.exception;
 import br.com.dagostini.infrasystem.equipment.domain.exception.EquipmentInactiveException;
 import br.com.dagostini.infrasystem.equipment.domain.exception.EquipmentNotFoundException;
 import br.com.dagostini.infrasystem.equipment.domain.exception.EquipmentValidationException;
+import br.com.dagostini.infrasystem.violation.domain.exception.ViolationNotFoundException;
+import br.com.dagostini.infrasystem.violation.domain.exception.ViolationQueueFullException;
+import br.com.dagostini.infrasystem.violation.domain.exception.ViolationSubmissionNotFoundException;
 import br.com.dagostini.infrasystem.violation.domain.exception.ViolationValidationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -129,4 +134,43 @@ class GlobalExceptionHandlerTest {
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
         assertNull(response.getBody());
     }
-}
\ No newline at end of file
+
+    @Test
+    void handleViolationQueueFull_shouldReturn429WithRetryAfter() {
+        ViolationQueueFullException ex = new ViolationQueueFullException("Violation processing queue is full, retry later.");
+
+        ResponseEntity<String> response = exceptionHandler.handleViolationQueueFull(ex);
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(ex.getMessage(), response.getBody());
+    }
+
+    @Test
+    void handleViolationNotFound_shouldReturn404() {
+        ViolationNotFoundException ex = new ViolationNotFoundException(42L);
+
+        ResponseEntity<String> response = exceptionHandler.handleViolationNotFound(ex);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals("Violation not found: 42", response.getBody());
+    }
+
+    @Test
+    void handleViolationSubmissionNotFound_shouldReturn404() {
+        ViolationSubmissionNotFoundException ex = new ViolationSubmissionNotFoundException("ticket-1");
+
+        ResponseEntity<String> response = exceptionHandler.handleViolationSubmissionNotFound(ex);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals("Violation submission not found: ticket-1", response.getBody());
+    }
+
+    @Test
+    void handleMaxUploadSizeExceeded_shouldReturn413() {
+        ResponseEntity<String> response = exceptionHandler.handleMaxUploadSizeExceeded(new MaxUploadSizeExceededException(1048576));
+
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, response.getStatusCode());
+        assertEquals("Picture size exceeds 1MB", response.getBody());
+    }
+}
@@ -0,0 +1,129 @@
+package br.com.dagostini.infrasystem.shared.infrastructure.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OffHeapByteCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void getShouldReturnStoredValue() {
+        OffHeapByteCache cache = new OffHeapByteCache(meterRegistry, "test", 64);
+
+        cache.put(1L, bytes("{\"id\":1}"));
+
+        assertArrayEquals(bytes("{\"id\":1}"), cache.get(1L));
+        assertNull(cache.get(2L));
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "miss").counter().count());
+        assertEquals(8.0, meterRegistry.get("cache.offheap.used").gauge().value());
+        assertEquals(64.0, meterRegistry.get("cache.offheap.capacity").gauge().value());
+    }
+
+    @Test
+    void putShouldKeepTheFirstValueOfAKey() {
+        OffHeapByteCache cache = new OffHeapByteCache(meterRegistry, "test", 64);
+
+        cache.put(1L, bytes("first"));
+        cache.put(1L, bytes("second"));
+
+        assertArrayEquals(bytes("first"), cache.get(1L));
+        assertEquals(1.0, meterRegistry.get("cache.puts").counter().count());
+    }
+
+    @Test
+    void putShouldEvictOldestEntriesWhenTheBufferWraps() {
+        OffHeapByteCache cache = new OffHeapByteCache(meterRegistry, "test", 10);
+
+        cache.put(1L, bytes("aaaa"));
+        cache.put(2L, bytes("bbbb"));
+        cache.put(3L, bytes("cccc"));
+
+        assertNull(cache.get(1L));
+        assertArrayEquals(bytes("bbbb"), cache.get(2L));
+        assertArrayEquals(bytes("cccc"), cache.get(3L));
+        assertEquals(1.0, meterRegistry.get("cache.evictions").counter().count());
+        assertEquals(8, cache.usedBytes());
+    }
+
+    @Test
+    void putShouldEvictTheAbandonedTailBeforeNewerEntries() {
+        OffHeapByteCache cache = new OffHeapByteCache(meterRegistry, "test", 10);
+        cache.put(1L, bytes("aaa"));
+        cache.put(2L, bytes("bbb"));
+        cache.put(3L, bytes("ccc"));
+        cache.put(4L, bytes("ddd"));   // wraps to 0 and overwrites 1; 10th byte stays unused
+        cache.put(5L, bytes("eeeee")); // overwrites 2 and the start of 3
+
+        assertNull(cache.get(1L));
+        assertNull(cache.get(2L));
+        assertNull(cache.get(3L));
+        assertArrayEquals(bytes("ddd"), cache.get(4L));
+        assertArrayEquals(bytes("eeeee"), cache.get(5L));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void putShouldIgnoreValuesLargerThanTheBuffer() {
+        OffHeapByteCache cache = new OffHeapByteCache(meterRegistry, "test", 4);
+
+        cache.put(1L, bytes("too large"));
+
+        assertNull(cache.get(1L));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void cachedValuesShouldNeverBeTorn() throws Exception {
+        OffHeapByteCache cache = new OffHeapByteCache(meterRegistry, "test", 1024);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int writer = 0; writer < 2; writer++) {
+                int first = writer * 10_000;
+                tasks.add(executor.submit(() -> {
+                    for (long key = first; key < first + 10_000; key++) {
+                        cache.put(key, bytes("value-" + key));
+                    }
+                }));
+            }
+            for (int reader = 0; reader < 2; reader++) {
+                tasks.add(executor.submit(() -> {
+                    for (long key = 0; key < 20_000; key++) {
+                        byte[] value = cache.get(key);
+                        assertTrue(value == null || new String(value, StandardCharsets.UTF_8).equals("value-" + key));
+                    }
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertTrue(cache.usedBytes() <= 1024);
+    }
+}
@@ -0,0 +1,79 @@
+package br.com.dagostini.infrasystem.shared.infrastructure.concurrent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the platform-thread default with the virtual-thread mode for the create-violation request
+ * shape: a request thread that fans out an equipment lookup and a picture upload and waits for both.
+ * Storage and database latency are simulated with sleeps, which is what saturates the thread pools
+ * when MinIO or Postgres slow down.
+ * <p>
+ * Not part of the test suite. Run it on JDK 21+ to get both columns:
+ * <pre>
+ * java -cp target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout) \
+ *     br.com.dagostini.infrasystem.shared.infrastructure.concurrent.VirtualThreadsBenchmark
+ * </pre>
+ */
+public class VirtualThreadsBenchmark {
+
+    private static final int REQUESTS = 5_000;
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final int TASK_POOL_SIZE = 16;
+    private static final long EQUIPMENT_LOOKUP_MILLIS = 5;
+
+    public static void main(String[] args) throws Exception {
+        for (long uploadMillis : new long[]{20, 200}) {
+            System.out.printf("upload latency %d ms, %d requests%n", uploadMillis, REQUESTS);
+            run("platform", uploadMillis, false);
+            if (VirtualThreads.isAvailable()) {
+                run("virtual", uploadMillis, true);
+            } else {
+                System.out.println("  virtual   skipped, JDK " + Runtime.version().feature() + " has no virtual threads");
+            }
+        }
+    }
+
+    private static void run(String mode, long uploadMillis, boolean virtualThreads) throws Exception {
+        ExecutorService requests = VirtualThreads.blockingExecutor(virtualThreads, "request-",
+                () -> Executors.newFixedThreadPool(TOMCAT_MAX_THREADS));
+        ExecutorService tasks = VirtualThreads.blockingExecutor(virtualThreads, "task-",
+                () -> Executors.newFixedThreadPool(TASK_POOL_SIZE));
+
+        long[] latencies = new long[REQUESTS];
+        List<CompletableFuture<Void>> futures = new ArrayList<>(REQUESTS);
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            int index = i;
+            long submitted = System.nanoTime();
+            futures.add(CompletableFuture.runAsync(() -> {
+                CompletableFuture<Void> lookup = CompletableFuture.runAsync(() -> sleep(EQUIPMENT_LOOKUP_MILLIS), tasks);
+                CompletableFuture<Void> upload = CompletableFuture.runAsync(() -> sleep(uploadMillis), tasks);
+                CompletableFuture.allOf(lookup, upload).join();
+                latencies[index] = System.nanoTime() - submitted;
+            }, requests));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Arrays.sort(latencies);
+        System.out.printf("  %-9s %8.0f req/s   p50 %6d ms   p99 %6d ms%n", mode, REQUESTS / seconds,
+                TimeUnit.NANOSECONDS.toMillis(latencies[REQUESTS / 2]),
+                TimeUnit.NANOSECONDS.toMillis(latencies[REQUESTS * 99 / 100]));
+        requests.shutdown();
+        tasks.shutdown();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package br.com.dagostini.infrasystem.shared.infrastructure.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VirtualThreadsTest {
+
+    @Test
+    void isAvailable_shouldFollowJdkVersion() {
+        assertEquals(Runtime.version().feature() >= 21, VirtualThreads.isAvailable());
+    }
+
+    @Test
+    void blockingExecutor_shouldUsePlatformPoolWhenDisabled() {
+        ExecutorService platform = Executors.newSingleThreadExecutor();
+
+        assertSame(platform, VirtualThreads.blockingExecutor(false, "test-", () -> platform));
+        platform.shutdown();
+    }
+
+    @Test
+    void blockingExecutor_shouldUseVirtualThreadsOnlyWhenSupported() throws Exception {
+        ExecutorService platform = Executors.newSingleThreadExecutor();
+
+        ExecutorService executor = VirtualThreads.blockingExecutor(true, "test-", () -> platform);
+        String threadName = CompletableFuture.supplyAsync(() -> Thread.currentThread().getName(), executor).get();
+
+        if (VirtualThreads.isAvailable()) {
+            assertNotSame(platform, executor);
+            assertTrue(threadName.startsWith("test-"));
+        } else {
+            assertSame(platform, executor);
+        }
+        executor.shutdown();
+        platform.shutdown();
+    }
+}
@@ -1,55 +1,39 @@
 package br.com.dagostini.infrasystem.shared.infrastructure.config;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
-import org.mockito.junit.jupiter.MockitoExtension;
-import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
-import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
-import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
 import software.amazon.awssdk.regions.Region;
-import software.amazon.awssdk.services.s3.S3Client;
-import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 
-import java.lang.reflect.Field;
 import java.net.URI;
+import java.time.Duration;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@ExtendWith(MockitoExtension.class)
 class S3ConfigTest {
 
-    @InjectMocks
-    private S3Config s3Config;
+    private final S3Config s3Config = new S3Config();
 
-    private S3Client s3Client;
+    private S3AsyncClient s3Client;
 
     @BeforeEach
     void setUp() {
-        s3Client = s3Config.s3Client();
+        AwsProperties properties = new AwsProperties(
+                new AwsProperties.Credentials("minioadmin", "minioadmin"),
+                new AwsProperties.S3(URI.create("http://minio:9000"), true, 32, 1000,
+                        Duration.ofSeconds(2), Duration.ofSeconds(5), Duration.ofSeconds(10)));
+        s3Client = s3Config.s3AsyncClient(properties, "us-east-1");
     }
 
-    @Test
-    void testS3ClientCreation() {
-        assertNotNull(s3Client, "S3Client should not be null");
+    @AfterEach
+    void tearDown() {
+        s3Client.close();
     }
 
     @Test
-    void testS3ClientEndpointOverride() {
-        S3Client testClient = S3Client.builder()
-                .endpointOverride(URI.create("http://minio:9000"))
-                .region(Region.US_EAST_1)
-                .credentialsProvider(StaticCredentialsProvider.create(
-                        AwsBasicCredentials.create("minioadmin", "minioadmin")))
-                .serviceConfiguration(S3Configuration.builder()
-                        .pathStyleAccessEnabled(true)
-                        .build())
-                .build();
-
-        assertEquals(s3Client.serviceClientConfiguration().region(),
-                testClient.serviceClientConfiguration().region(),
-                "Region should match the test client");
+    void testS3ClientCreation() {
+        assertNotNull(s3Client, "S3AsyncClient should not be null");
     }
 
     @Test
@@ -57,4 +41,5 @@ class S3ConfigTest {
         assertEquals(Region.US_EAST_1, s3Client.serviceClientConfiguration().region(),
                 "Region should be US_EAST_1");
     }
-}
\ No newline at end of file
+
+}
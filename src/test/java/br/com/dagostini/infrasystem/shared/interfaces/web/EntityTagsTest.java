@@ -0,0 +1,40 @@
+package br.com.dagostini.infrasystem.shared.interfaces.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EntityTagsTest {
+
+    private static ServletWebRequest request(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/equipments");
+        if (ifNoneMatch != null) {
+            request.addHeader("If-None-Match", ifNoneMatch);
+        }
+        return new ServletWebRequest(request);
+    }
+
+    @Test
+    void ofShouldQuoteTheVersion() {
+        assertEquals("\"42\"", EntityTags.of(42L));
+    }
+
+    @Test
+    void notModifiedShouldMatchAListedTag() {
+        assertTrue(EntityTags.notModified(request("\"41\", \"42\""), "\"42\""));
+        assertTrue(EntityTags.notModified(request("W/\"42\""), "\"42\""));
+        assertTrue(EntityTags.notModified(request("*"), "\"42\""));
+    }
+
+    @Test
+    void notModifiedShouldBeFalseOtherwise() {
+        assertFalse(EntityTags.notModified(request(null), "\"42\""));
+        assertFalse(EntityTags.notModified(request("\"41\""), "\"42\""));
+        assertFalse(EntityTags.notModified(request("42"), "\"42\""));
+        assertFalse(EntityTags.notModified(null, "\"42\""));
+    }
+}
@@ -1,33 +1,34 @@
 package br.com.dagostini.infrasystem.shared.utils;
 
-import br.com.dagostini.infrasystem.shared.utils.ImageStorageService;
-import br.com.dagostini.infrasystem.shared.utils.S3Service;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockMultipartFile;
-import software.amazon.awssdk.services.s3.S3Client;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class ImageStorageServiceTest {
 
-    @Mock
-    private S3Client s3Client;
-
     @Mock
     private S3Service s3Service;
 
-    @InjectMocks
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     private ImageStorageService imageStorageService;
 
     private MockMultipartFile validJpegFile;
@@ -36,10 +37,13 @@ class ImageStorageServiceTest {
     private MockMultipartFile largeFile;
 
     private final String BUCKET_NAME = "violations-bucket";
+    private final String URL_PREFIX = "http://localhost:9000/" + BUCKET_NAME + "/";
     private final long MAX_FILE_SIZE = 1048576; // 1MB
 
     @BeforeEach
     void setUp() {
+        imageStorageService = new ImageStorageService(s3Service, meterRegistry, 100);
+
         // Valid JPEG file (500KB)
         validJpegFile = new MockMultipartFile(
                 "file",
@@ -75,34 +79,34 @@ class ImageStorageServiceTest {
 
     @Test
     void testStoreImage_SuccessfulJpegUpload() throws IOException {
-        String expectedUrl = "http://localhost:9000/" + BUCKET_NAME + "/" + System.currentTimeMillis() + "-test.jpg";
+        String key = ImageStorageService.contentKey(validJpegFile.getBytes(), "image/jpeg");
 
         String result = imageStorageService.storeImage(validJpegFile);
 
-        verify(s3Service).uploadFile(
+        verify(s3Service).uploadStream(
                 eq(BUCKET_NAME),
-                any(String.class),
-                eq(validJpegFile.getBytes()),
+                eq(key),
+                any(InputStream.class),
+                eq(validJpegFile.getSize()),
                 eq("image/jpeg")
         );
-        assertTrue(result.startsWith("http://localhost:9000/" + BUCKET_NAME + "/"));
-        assertTrue(result.endsWith("-test.jpg"));
+        assertEquals(URL_PREFIX + key, result);
+        assertTrue(result.endsWith(".jpg"));
     }
 
     @Test
-    void testStoreImage_SuccessfulPngUpload() throws IOException {
-        String expectedUrl = "http://localhost:9000/" + BUCKET_NAME + "/" + System.currentTimeMillis() + "-test.png";
-
+    void testStoreImage_SuccessfulPngUpload() {
         String result = imageStorageService.storeImage(validPngFile);
 
-        verify(s3Service).uploadFile(
+        verify(s3Service).uploadStream(
                 eq(BUCKET_NAME),
-                any(String.class),
-                eq(validPngFile.getBytes()),
+                anyString(),
+                any(InputStream.class),
+                eq(validPngFile.getSize()),
                 eq("image/png")
         );
-        assertTrue(result.startsWith("http://localhost:9000/" + BUCKET_NAME + "/"));
-        assertTrue(result.endsWith("-test.png"));
+        assertTrue(result.startsWith(URL_PREFIX));
+        assertTrue(result.endsWith(".png"));
     }
 
     @Test
@@ -126,11 +130,12 @@ class ImageStorageServiceTest {
     }
 
     @Test
-    void testStoreImage_S3UploadFailure() throws IOException {
-        doThrow(new RuntimeException("S3 upload failed")).when(s3Service).uploadFile(
+    void testStoreImage_S3UploadFailure() {
+        doThrow(new RuntimeException("S3 upload failed")).when(s3Service).uploadStream(
                 eq(BUCKET_NAME),
-                any(String.class),
-                any(byte[].class),
+                anyString(),
+                any(InputStream.class),
+                eq(validJpegFile.getSize()),
                 eq("image/jpeg")
         );
 
@@ -139,12 +144,9 @@ class ImageStorageServiceTest {
         });
 
         assertEquals("Failed to upload image to S3", exception.getMessage());
-        verify(s3Service).uploadFile(
-                eq(BUCKET_NAME),
-                any(String.class),
-                eq(validJpegFile.getBytes()),
-                eq("image/jpeg")
-        );
+        // A failed upload is not remembered, the next attempt uploads again
+        assertThrows(RuntimeException.class, () -> imageStorageService.storeImage(validJpegFile));
+        verify(s3Service, times(2)).exists(eq(BUCKET_NAME), anyString());
     }
 
     @Test
@@ -168,13 +170,114 @@ class ImageStorageServiceTest {
 
         String result = imageStorageService.storeImage(emptyFile);
 
-        verify(s3Service).uploadFile(
+        verify(s3Service).uploadStream(
                 eq(BUCKET_NAME),
-                any(String.class),
-                eq(new byte[0]),
+                anyString(),
+                any(InputStream.class),
+                eq(0L),
                 eq("image/jpeg")
         );
-        assertTrue(result.startsWith("http://localhost:9000/" + BUCKET_NAME + "/"));
-        assertTrue(result.endsWith("-empty.jpg"));
+        assertEquals(URL_PREFIX + "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855.jpg", result);
+    }
+
+    @Test
+    void testStoreImage_StreamsPictureWithoutReadingItIntoMemory() throws IOException {
+        MockMultipartFile picture = spy(validJpegFile);
+
+        imageStorageService.storeImage(picture);
+
+        verify(picture, never()).getBytes();
+        verify(s3Service).uploadStream(eq(BUCKET_NAME), anyString(), any(InputStream.class), eq(500L * 1024), eq("image/jpeg"));
+    }
+
+    @Test
+    void testStoreImage_StreamsSpooledFile(@TempDir Path directory) throws IOException {
+        byte[] content = new byte[1024];
+        Path file = Files.write(directory.resolve("spooled.part"), content);
+
+        String result = imageStorageService.storeImage(file, "image/png");
+
+        String key = ImageStorageService.contentKey(content, "image/png");
+        verify(s3Service).uploadStream(eq(BUCKET_NAME), eq(key), any(InputStream.class), eq(1024L), eq("image/png"));
+        assertEquals(URL_PREFIX + key, result);
+    }
+
+    @Test
+    void testStoreImage_RejectsOversizedSpooledFile(@TempDir Path directory) throws IOException {
+        Path file = Files.write(directory.resolve("spooled.part"), new byte[(int) (MAX_FILE_SIZE + 1)]);
+
+        assertThrows(IllegalArgumentException.class, () -> imageStorageService.storeImage(file, "image/jpeg"));
+        verifyNoInteractions(s3Service);
+    }
+
+    @Test
+    void testStoreImage_SameContentIsUploadedOnce(@TempDir Path directory) throws IOException {
+        String first = imageStorageService.storeImage(validJpegFile);
+        Path retransmittedFile = Files.write(directory.resolve("other-name.part"), validJpegFile.getBytes());
+        String retransmitted = imageStorageService.storeImage(retransmittedFile, "image/jpeg");
+
+        assertEquals(first, retransmitted);
+        verify(s3Service, times(1)).exists(eq(BUCKET_NAME), anyString());
+        verify(s3Service, times(1)).uploadStream(anyString(), anyString(), any(InputStream.class), anyLong(), anyString());
+        assertEquals(1, meterRegistry.get("image.storage.uploads").tag("outcome", "stored").counter().count());
+        assertEquals(1, meterRegistry.get("image.storage.uploads").tag("outcome", "deduplicated").counter().count());
+    }
+
+    @Test
+    void testStoreImage_SkipsUploadWhenObjectAlreadyInBucket() {
+        when(s3Service.exists(eq(BUCKET_NAME), anyString())).thenReturn(true);
+
+        String result = imageStorageService.storeImage(validPngFile);
+
+        assertTrue(result.endsWith(".png"));
+        verify(s3Service, never()).uploadStream(anyString(), anyString(), any(InputStream.class), anyLong(), anyString());
+    }
+
+    @Test
+    void testDiscard_DeletesPictureThisCallUploaded() {
+        StoredImage stored = imageStorageService.store(validJpegFile);
+
+        imageStorageService.discard(stored);
+
+        assertTrue(stored.uploaded());
+        verify(s3Service).deleteFile(BUCKET_NAME, stored.key());
+        assertEquals(1, meterRegistry.get("image.storage.uploads").tag("outcome", "discarded").counter().count());
+        imageStorageService.storeImage(validJpegFile);
+        verify(s3Service, times(2)).exists(BUCKET_NAME, stored.key());
+    }
+
+    @Test
+    void testDiscard_KeepsPictureFoundInBucket() {
+        when(s3Service.exists(eq(BUCKET_NAME), anyString())).thenReturn(true);
+
+        StoredImage stored = imageStorageService.store(validJpegFile);
+        imageStorageService.discard(stored);
+
+        assertFalse(stored.uploaded());
+        verify(s3Service, never()).deleteFile(anyString(), anyString());
+    }
+
+    @Test
+    void testDiscard_SwallowsDeleteFailure() {
+        StoredImage stored = imageStorageService.store(validJpegFile);
+        doThrow(new RuntimeException("S3 down")).when(s3Service).deleteFile(BUCKET_NAME, stored.key());
+
+        assertDoesNotThrow(() -> imageStorageService.discard(stored));
+    }
+
+    @Test
+    void testContentKey_StreamAndBytesAgree() {
+        byte[] content = "frame".getBytes();
+
+        assertEquals(ImageStorageService.contentKey(content, "image/jpeg"),
+                ImageStorageService.contentKey(new ByteArrayInputStream(content), "image/jpeg"));
+    }
+
+    @Test
+    void testValidateImage_RejectsInvalidPictures() {
+        assertThrows(IllegalArgumentException.class, () -> imageStorageService.validateImage("text/plain", 10));
+        assertThrows(IllegalArgumentException.class, () -> imageStorageService.validateImage("image/jpeg", MAX_FILE_SIZE + 1));
+        assertDoesNotThrow(() -> imageStorageService.validateImage("image/jpeg", MAX_FILE_SIZE));
+        verifyNoInteractions(s3Service);
     }
-}
\ No newline at end of file
+}
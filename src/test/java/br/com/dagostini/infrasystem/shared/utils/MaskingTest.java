@@ -0,0 +1,28 @@
+package br.com.dagostini.infrasystem.shared.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MaskingTest {
+
+    @Test
+    void maskSerial_shouldKeepOnlyTheLastFourCharacters() {
+        assertEquals("****2345", Masking.maskSerial("ABC12345"));
+    }
+
+    @Test
+    void maskSerial_shouldReturnDefaultMaskForNullSerial() {
+        assertEquals("****", Masking.maskSerial(null));
+    }
+
+    @Test
+    void maskSerial_shouldReturnDefaultMaskForShortSerial() {
+        assertEquals("****", Masking.maskSerial("ABC"));
+    }
+
+    @Test
+    void maskSerial_shouldReturnDefaultMaskForEmptySerial() {
+        assertEquals("****", Masking.maskSerial(""));
+    }
+}
@@ -0,0 +1,64 @@
+package br.com.dagostini.infrasystem.shared.utils;
+
+import br.com.dagostini.infrasystem.shared.infrastructure.config.AwsProperties;
+import br.com.dagostini.infrasystem.shared.infrastructure.config.S3Config;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.MinIOContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+
+import java.net.URI;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static software.amazon.awssdk.core.async.AsyncResponseTransformer.toBytes;
+
+@Testcontainers(disabledWithoutDocker = true)
+class S3ServiceIntegrationTest {
+
+    private static final String BUCKET_NAME = "violations-bucket";
+
+    @Container
+    private static final MinIOContainer MINIO = new MinIOContainer("minio/minio:RELEASE.2024-05-10T01-41-38Z");
+
+    private static S3AsyncClient s3Client;
+    private static SimpleMeterRegistry meterRegistry;
+    private static S3Service s3Service;
+
+    @BeforeAll
+    static void setUp() {
+        AwsProperties properties = new AwsProperties(
+                new AwsProperties.Credentials(MINIO.getUserName(), MINIO.getPassword()),
+                new AwsProperties.S3(URI.create(MINIO.getS3URL()), true, 16, 100,
+                        Duration.ofSeconds(2), Duration.ofSeconds(5), Duration.ofSeconds(10)));
+        s3Client = new S3Config().s3AsyncClient(properties, "us-east-1");
+        meterRegistry = new SimpleMeterRegistry();
+        s3Service = new S3Service(s3Client, meterRegistry, false);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        s3Client.close();
+    }
+
+    @Test
+    void upload_shouldRoundTripThroughMinio() {
+        byte[] content = {1, 2, 3, 4};
+
+        s3Service.uploadFile(BUCKET_NAME, "a.jpg", content, "image/jpeg");
+        s3Service.uploadFile(BUCKET_NAME, "b.jpg", content, "image/jpeg");
+
+        ResponseBytes<GetObjectResponse> stored = s3Client.getObject(b -> b.bucket(BUCKET_NAME).key("a.jpg"), toBytes()).join();
+        assertArrayEquals(content, stored.asByteArray());
+        assertEquals("image/jpeg", stored.response().contentType());
+        assertEquals(1, meterRegistry.get("s3.client.requests").tag("operation", "createBucket").timer().count());
+        assertEquals(2, meterRegistry.get("s3.client.requests").tag("operation", "putObject").timer().count());
+    }
+}
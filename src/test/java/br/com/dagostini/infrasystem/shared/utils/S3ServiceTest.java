@@ -1,30 +1,41 @@
 package br.com.dagostini.infrasystem.shared.utils;
 
-import br.com.dagostini.infrasystem.shared.utils.S3Service;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import software.amazon.awssdk.core.sync.RequestBody;
-import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.model.*;
 
-import java.util.Collections;
-import java.util.function.Consumer;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class S3ServiceTest {
 
     @Mock
-    private S3Client s3Client;
+    private S3AsyncClient s3Client;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ExecutorService streamReader = Executors.newSingleThreadExecutor();
 
-    @InjectMocks
     private S3Service s3Service;
 
     private final String BUCKET_NAME = "test-bucket";
@@ -34,37 +45,132 @@ class S3ServiceTest {
 
     @BeforeEach
     void setUp() {
-        when(s3Client.listBuckets()).thenReturn(ListBucketsResponse.builder()
-                .buckets(Collections.emptyList())
-                .build());
+        s3Service = new S3Service(s3Client, meterRegistry, streamReader);
+    }
+
+    @AfterEach
+    void tearDown() {
+        s3Service.shutdown();
+    }
+
+    private void stubExistingBucket() {
+        when(s3Client.headBucket(any(HeadBucketRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(HeadBucketResponse.builder().build()));
+        when(s3Client.putBucketPolicy(any(PutBucketPolicyRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(PutBucketPolicyResponse.builder().build()));
     }
 
     @Test
-    void testUploadFile_ConsumerBasedBucketCreation() {
-        when(s3Client.listBuckets()).thenReturn(ListBucketsResponse.builder()
-                .buckets(Collections.emptyList())
-                .build());
-        when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
-                .thenReturn(PutObjectResponse.builder().build());
+    void testUploadFile_ProvisionsBucketOnlyOnce() {
+        stubExistingBucket();
+        when(s3Client.putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class)))
+                .thenReturn(CompletableFuture.completedFuture(PutObjectResponse.builder().build()));
+
         String result = s3Service.uploadFile(BUCKET_NAME, KEY, CONTENT, CONTENT_TYPE);
+        s3Service.uploadFile(BUCKET_NAME, "other.jpg", CONTENT, CONTENT_TYPE);
 
-        verify(s3Client).putObject(any(PutObjectRequest.class), any(RequestBody.class));
         assertEquals("http://localhost:9001/" + BUCKET_NAME + "/" + KEY, result);
+        verify(s3Client, times(1)).headBucket(any(HeadBucketRequest.class));
+        verify(s3Client, times(1)).putBucketPolicy(any(PutBucketPolicyRequest.class));
+        verify(s3Client, never()).createBucket(any(CreateBucketRequest.class));
+        verify(s3Client, times(2)).putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class));
     }
 
     @Test
-    void testUploadFile_EmptyBucketName() {
-        NullPointerException exception = assertThrows(NullPointerException.class, () -> {
-            s3Service.uploadFile("dsdsdsd", KEY, null, CONTENT_TYPE);
-        });
-        assertNotNull(exception);
+    void testUploadFile_CreatesMissingBucket() {
+        when(s3Client.headBucket(any(HeadBucketRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(NoSuchBucketException.builder().message("missing").build()));
+        when(s3Client.createBucket(any(CreateBucketRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(CreateBucketResponse.builder().build()));
+        when(s3Client.putBucketPolicy(any(PutBucketPolicyRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(PutBucketPolicyResponse.builder().build()));
+        when(s3Client.putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class)))
+                .thenReturn(CompletableFuture.completedFuture(PutObjectResponse.builder().build()));
+
+        s3Service.uploadFile(BUCKET_NAME, KEY, CONTENT, CONTENT_TYPE);
+
+        verify(s3Client).createBucket(CreateBucketRequest.builder().bucket(BUCKET_NAME).build());
     }
 
     @Test
-    void testUploadFile_NullKey() {
-        NullPointerException exception = assertThrows(NullPointerException.class, () -> {
-            s3Service.uploadFile(BUCKET_NAME, null, null, CONTENT_TYPE);
+    void testUploadFile_RetriesProvisioningAfterFailure() {
+        when(s3Client.headBucket(any(HeadBucketRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(S3Exception.builder().message("unavailable").build()))
+                .thenReturn(CompletableFuture.completedFuture(HeadBucketResponse.builder().build()));
+        when(s3Client.putBucketPolicy(any(PutBucketPolicyRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(PutBucketPolicyResponse.builder().build()));
+        when(s3Client.putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class)))
+                .thenReturn(CompletableFuture.completedFuture(PutObjectResponse.builder().build()));
+
+        S3Exception exception = assertThrows(S3Exception.class, () -> s3Service.uploadFile(BUCKET_NAME, KEY, CONTENT, CONTENT_TYPE));
+        assertEquals("unavailable", exception.getMessage());
+        s3Service.uploadFile(BUCKET_NAME, KEY, CONTENT, CONTENT_TYPE);
+
+        verify(s3Client, times(2)).headBucket(any(HeadBucketRequest.class));
+        verify(s3Client, times(1)).putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class));
+    }
+
+    @Test
+    void testUploadFile_RecordsLatencyPerOperation() {
+        stubExistingBucket();
+        when(s3Client.putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class)))
+                .thenReturn(CompletableFuture.failedFuture(S3Exception.builder().message("denied").build()));
+
+        assertThrows(S3Exception.class, () -> s3Service.uploadFile(BUCKET_NAME, KEY, CONTENT, CONTENT_TYPE));
+
+        assertEquals(1, meterRegistry.get("s3.client.requests").tags("operation", "headBucket", "outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get("s3.client.requests").tags("operation", "putObject", "outcome", "error").timer().count());
+    }
+
+    @Test
+    void testUploadFile_NullContent() {
+        assertThrows(NullPointerException.class, () -> s3Service.uploadFile(BUCKET_NAME, KEY, null, CONTENT_TYPE));
+    }
+
+    @Test
+    void testDeleteFile() {
+        when(s3Client.deleteObject(any(DeleteObjectRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(DeleteObjectResponse.builder().build()));
+
+        s3Service.deleteFile(BUCKET_NAME, KEY);
+
+        verify(s3Client).deleteObject(DeleteObjectRequest.builder().bucket(BUCKET_NAME).key(KEY).build());
+    }
+
+    @Test
+    void testUploadStream_SendsStreamWithKnownLength() {
+        stubExistingBucket();
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        when(s3Client.putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class))).thenAnswer(invocation -> {
+            AsyncRequestBody body = invocation.getArgument(1);
+            assertEquals(Optional.of((long) CONTENT.length), body.contentLength());
+            return body.subscribe(buffer -> {
+                byte[] chunk = new byte[buffer.remaining()];
+                buffer.get(chunk);
+                received.writeBytes(chunk);
+            }).thenApply(ignored -> PutObjectResponse.builder().build());
         });
-        assertNotNull(exception);
+
+        String result = s3Service.uploadStream(BUCKET_NAME, KEY, new ByteArrayInputStream(CONTENT), CONTENT.length, CONTENT_TYPE);
+
+        assertEquals("http://localhost:9001/" + BUCKET_NAME + "/" + KEY, result);
+        assertArrayEquals(CONTENT, received.toByteArray());
+        verify(s3Client).putObject(eq(PutObjectRequest.builder()
+                .bucket(BUCKET_NAME)
+                .key(KEY)
+                .contentType(CONTENT_TYPE)
+                .contentLength((long) CONTENT.length)
+                .build()), any(AsyncRequestBody.class));
+    }
+
+    @Test
+    void testExists_ReportsStoredAndMissingObjects() {
+        stubExistingBucket();
+        when(s3Client.headObject(any(HeadObjectRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(HeadObjectResponse.builder().build()))
+                .thenReturn(CompletableFuture.failedFuture(NoSuchKeyException.builder().message("missing").build()));
+
+        assertTrue(s3Service.exists(BUCKET_NAME, KEY));
+        assertFalse(s3Service.exists(BUCKET_NAME, KEY));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,119 @@
+package br.com.dagostini.infrasystem.violation.application.service;
+
+import br.com.dagostini.infrasystem.violation.domain.model.Violation;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ViolationIdempotencyCacheTest {
+
+    private static final String KEY = "ABC12345|2021-07-20T00:00:00Z|abc.jpg";
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final Ticker ticker = nanos::get;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger registrations = new AtomicInteger();
+
+    private ViolationIdempotencyCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ViolationIdempotencyCache(meterRegistry, 100, Duration.ofMinutes(10), ticker);
+    }
+
+    private Violation register() {
+        return Violation.builder().id((long) registrations.incrementAndGet()).idempotencyKey(KEY).build();
+    }
+
+    @Test
+    void execute_shouldReplayRegisteredViolationUntilTtl() {
+        Violation first = cache.execute(KEY, this::register);
+        nanos.addAndGet(Duration.ofMinutes(9).toNanos());
+
+        assertSame(first, cache.execute(KEY, this::register));
+        assertEquals(1, registrations.get());
+        assertEquals(1, meterRegistry.get("violation.idempotency.replays").counter().count());
+
+        nanos.addAndGet(Duration.ofMinutes(2).toNanos());
+        cache.execute(KEY, this::register);
+        assertEquals(2, registrations.get());
+    }
+
+    @Test
+    void execute_shouldNotRememberFailures() {
+        assertThrows(IllegalStateException.class, () -> cache.execute(KEY, () -> {
+            throw new IllegalStateException("S3 unavailable");
+        }));
+
+        cache.execute(KEY, this::register);
+        assertEquals(1, registrations.get());
+    }
+
+    @Test
+    void execute_shouldCollapseConcurrentRequestsForOneKey() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Violation> first = CompletableFuture.supplyAsync(() -> cache.execute(KEY, () -> {
+            started.countDown();
+            await(release);
+            return register();
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Violation> retry = CompletableFuture.supplyAsync(() -> cache.execute(KEY, this::register));
+        release.countDown();
+
+        assertSame(first.get(5, TimeUnit.SECONDS), retry.get(5, TimeUnit.SECONDS));
+        assertEquals(1, registrations.get());
+    }
+
+    @Test
+    void keyOf_shouldDeriveKeyFromSerialOccurrenceAndPicture() {
+        Violation violation = Violation.builder()
+                .equipmentSerial("ABC12345")
+                .occurrenceDateUtc(OffsetDateTime.of(2021, 7, 20, 0, 0, 0, 0, ZoneOffset.UTC))
+                .build();
+
+        assertEquals(KEY, ViolationIdempotencyCache.keyOf(violation, () -> "abc.jpg"));
+    }
+
+    @Test
+    void keyOf_shouldPreferClientKeyWithoutReadingPicture() {
+        Violation violation = Violation.builder().equipmentSerial("ABC12345").idempotencyKey("client-key").build();
+
+        assertEquals("client-key", ViolationIdempotencyCache.keyOf(violation, () -> {
+            throw new AssertionError("picture read");
+        }));
+    }
+
+    @Test
+    void execute_shouldKeepKeysIndependent() {
+        cache.execute(KEY, this::register);
+        cache.execute("other-key", this::register);
+
+        assertEquals(2, registrations.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,7 +1,15 @@
 package br.com.dagostini.infrasystem.violation.application.service;
 
 import br.com.dagostini.infrasystem.violation.domain.model.Violation;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationPage;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationRollup;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationSpeedDistribution;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationStats;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationStatsGranularity;
+import br.com.dagostini.infrasystem.violation.domain.repository.ViolationExportRepository;
 import br.com.dagostini.infrasystem.violation.domain.repository.ViolationRepository;
+import br.com.dagostini.infrasystem.violation.domain.repository.ViolationRollupRepository;
+import br.com.dagostini.infrasystem.violation.domain.repository.ViolationSpeedRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,6 +22,8 @@ import java.time.ZoneOffset;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -30,6 +40,15 @@ class ViolationServiceAdapterImplTest {
     @Mock
     private ViolationRepository violationRepository;
 
+    @Mock
+    private ViolationExportRepository violationExportRepository;
+
+    @Mock
+    private ViolationRollupRepository violationRollupRepository;
+
+    @Mock
+    private ViolationSpeedRepository violationSpeedRepository;
+
     @InjectMocks
     private ViolationServiceAdapterImpl violationServiceAdapter;
 
@@ -115,10 +134,10 @@ class ViolationServiceAdapterImplTest {
     @Test
     void listViolationsByEquipment_shouldReturnViolationsList() {
         List<Violation> expectedViolations = Collections.singletonList(testViolation);
-        when(violationRepository.findBySerialAndOptionalDateRange(TEST_SERIAL, TEST_DATE_FROM_TYPE_DATE, TEST_DATE_TO_TYPE_DATE))
-                .thenReturn(expectedViolations);
+        when(violationRepository.findPageBySerial(TEST_SERIAL, TEST_DATE_FROM_TYPE_DATE, TEST_DATE_TO_TYPE_DATE, null, 100))
+                .thenReturn(new ViolationPage(expectedViolations, null));
 
-        List<Violation> result = violationServiceAdapter.listViolationsByEquipment(TEST_SERIAL, TEST_DATE_FROM_TYPE_DATE, TEST_DATE_TO_TYPE_DATE);
+        List<Violation> result = violationServiceAdapter.listViolationsByEquipment(TEST_SERIAL, TEST_DATE_FROM_TYPE_DATE, TEST_DATE_TO_TYPE_DATE, null, 100).violations();
 
         assertNotNull(result);
         assertEquals(1, result.size());
@@ -126,28 +145,28 @@ class ViolationServiceAdapterImplTest {
         assertEquals(TEST_ID, result.get(0).id());
         assertEquals(TEST_SERIAL, result.get(0).equipmentSerial());
         assertEquals(TEST_DATE, result.get(0).occurrenceDateUtc());
-        verify(violationRepository, times(1)).findBySerialAndOptionalDateRange(TEST_SERIAL, TEST_DATE_FROM_TYPE_DATE, TEST_DATE_TO_TYPE_DATE);
+        verify(violationRepository, times(1)).findPageBySerial(TEST_SERIAL, TEST_DATE_FROM_TYPE_DATE, TEST_DATE_TO_TYPE_DATE, null, 100);
     }
 
     @Test
     void listViolationsByEquipment_shouldReturnEmptyListWhenNoViolationsFound() {
-        when(violationRepository.findBySerialAndOptionalDateRange(TEST_SERIAL, TEST_DATE_FROM_TYPE_DATE, TEST_DATE_TO_TYPE_DATE))
-                .thenReturn(Collections.emptyList());
+        when(violationRepository.findPageBySerial(TEST_SERIAL, TEST_DATE_FROM_TYPE_DATE, TEST_DATE_TO_TYPE_DATE, null, 100))
+                .thenReturn(new ViolationPage(Collections.emptyList(), null));
 
-        List<Violation> result = violationServiceAdapter.listViolationsByEquipment(TEST_SERIAL, TEST_DATE_FROM_TYPE_DATE, TEST_DATE_TO_TYPE_DATE);
+        List<Violation> result = violationServiceAdapter.listViolationsByEquipment(TEST_SERIAL, TEST_DATE_FROM_TYPE_DATE, TEST_DATE_TO_TYPE_DATE, null, 100).violations();
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
-        verify(violationRepository, times(1)).findBySerialAndOptionalDateRange(TEST_SERIAL, TEST_DATE_FROM_TYPE_DATE, TEST_DATE_TO_TYPE_DATE);
+        verify(violationRepository, times(1)).findPageBySerial(TEST_SERIAL, TEST_DATE_FROM_TYPE_DATE, TEST_DATE_TO_TYPE_DATE, null, 100);
     }
 
     @Test
     void listViolationsByEquipment_shouldHandleNullDates() {
         List<Violation> expectedViolations = Collections.singletonList(testViolation);
-        when(violationRepository.findBySerialAndOptionalDateRange(TEST_SERIAL, null, null))
-                .thenReturn(expectedViolations);
+        when(violationRepository.findPageBySerial(TEST_SERIAL, null, null, null, 100))
+                .thenReturn(new ViolationPage(expectedViolations, null));
 
-        List<Violation> result = violationServiceAdapter.listViolationsByEquipment(TEST_SERIAL, null, null);
+        List<Violation> result = violationServiceAdapter.listViolationsByEquipment(TEST_SERIAL, null, null, null, 100).violations();
 
         assertNotNull(result);
         assertEquals(1, result.size());
@@ -155,18 +174,68 @@ class ViolationServiceAdapterImplTest {
         assertEquals(TEST_ID, result.get(0).id());
         assertEquals(TEST_SERIAL, result.get(0).equipmentSerial());
         assertEquals(TEST_DATE, result.get(0).occurrenceDateUtc());
-        verify(violationRepository, times(1)).findBySerialAndOptionalDateRange(TEST_SERIAL, null, null);
+        verify(violationRepository, times(1)).findPageBySerial(TEST_SERIAL, null, null, null, 100);
     }
 
     @Test
     void listViolationsByEquipment_shouldThrowExceptionWhenRepositoryFails() {
         RuntimeException exception = new RuntimeException("Database error");
-        when(violationRepository.findBySerialAndOptionalDateRange(TEST_SERIAL, TEST_DATE_FROM_TYPE_DATE, TEST_DATE_TO_TYPE_DATE))
+        when(violationRepository.findPageBySerial(TEST_SERIAL, TEST_DATE_FROM_TYPE_DATE, TEST_DATE_TO_TYPE_DATE, null, 100))
                 .thenThrow(exception);
 
         RuntimeException thrown = assertThrows(RuntimeException.class, () ->
-                violationServiceAdapter.listViolationsByEquipment(TEST_SERIAL, TEST_DATE_FROM_TYPE_DATE, TEST_DATE_TO_TYPE_DATE));
+                violationServiceAdapter.listViolationsByEquipment(TEST_SERIAL, TEST_DATE_FROM_TYPE_DATE, TEST_DATE_TO_TYPE_DATE, null, 100));
         assertEquals("Database error", thrown.getMessage());
-        verify(violationRepository, times(1)).findBySerialAndOptionalDateRange(TEST_SERIAL, TEST_DATE_FROM_TYPE_DATE, TEST_DATE_TO_TYPE_DATE);
+        verify(violationRepository, times(1)).findPageBySerial(TEST_SERIAL, TEST_DATE_FROM_TYPE_DATE, TEST_DATE_TO_TYPE_DATE, null, 100);
+    }
+
+    @Test
+    void saveViolationRegistries_shouldDelegateToSaveAll() {
+        List<Violation> violations = List.of(testViolation);
+        when(violationRepository.saveAll(violations)).thenReturn(violations);
+
+        List<Violation> result = violationServiceAdapter.saveViolationRegistries(violations);
+
+        assertEquals(violations, result);
+        verify(violationRepository, times(1)).saveAll(violations);
+    }
+
+    @Test
+    void findViolationByIdempotencyKey_shouldDelegateToRepository() {
+        when(violationRepository.findByIdempotencyKey("key-1")).thenReturn(Optional.of(testViolation));
+
+        assertEquals(Optional.of(testViolation), violationServiceAdapter.findViolationByIdempotencyKey("key-1"));
+    }
+
+    @Test
+    void exportViolationsByEquipment_shouldDelegateToExportRepository() {
+        Consumer<Violation> sink = violation -> { };
+        when(violationExportRepository.exportBySerial(TEST_SERIAL, null, null, sink)).thenReturn(3L);
+
+        assertEquals(3L, violationServiceAdapter.exportViolationsByEquipment(TEST_SERIAL, null, null, sink));
+        verify(violationExportRepository).exportBySerial(TEST_SERIAL, null, null, sink);
+    }
+
+    @Test
+    void getViolationStats_ShouldFoldRollupsIntoBuckets() {
+        when(violationRollupRepository.findBySerial(TEST_SERIAL, TEST_DATE_FROM.toInstant(), TEST_DATE_TO.toInstant()))
+                .thenReturn(List.of(new ViolationRollup(TEST_SERIAL, TEST_DATE_FROM.toInstant().plusSeconds(3600), "VELOCITY", 3)));
+
+        ViolationStats stats = violationServiceAdapter.getViolationStats(TEST_SERIAL, ViolationStatsGranularity.HOUR,
+                TEST_DATE_FROM.toInstant(), TEST_DATE_TO.toInstant());
+
+        assertEquals(24, stats.buckets().size());
+        assertEquals(3, stats.total());
+        assertEquals(3, stats.buckets().get(1).total());
+    }
+
+    @Test
+    void getViolationSpeedDistribution_ShouldDelegateToSpeedRepository() {
+        ViolationSpeedDistribution distribution = new ViolationSpeedDistribution(TEST_SERIAL, TEST_DATE_FROM.toInstant(),
+                TEST_DATE_TO.toInstant(), 0, null, null, null, null, null, null, null);
+        when(violationSpeedRepository.findDistribution(TEST_SERIAL, TEST_DATE_FROM.toInstant(), TEST_DATE_TO.toInstant())).thenReturn(distribution);
+
+        assertEquals(distribution, violationServiceAdapter.getViolationSpeedDistribution(TEST_SERIAL,
+                TEST_DATE_FROM.toInstant(), TEST_DATE_TO.toInstant()));
     }
-}
\ No newline at end of file
+}
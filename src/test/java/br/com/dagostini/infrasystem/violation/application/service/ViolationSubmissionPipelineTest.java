@@ -0,0 +1,174 @@
+package br.com.dagostini.infrasystem.violation.application.service;
+
+import br.com.dagostini.infrasystem.shared.utils.ImageStorageUseCase;
+import br.com.dagostini.infrasystem.violation.application.usecase.CreateViolationUseCase;
+import br.com.dagostini.infrasystem.violation.domain.exception.ViolationQueueFullException;
+import br.com.dagostini.infrasystem.violation.domain.model.Violation;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationSubmission;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationSubmissionStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ViolationSubmissionPipelineTest {
+
+    private static final MockMultipartFile PICTURE = new MockMultipartFile("picture", "a.jpg", "image/jpeg", "image".getBytes());
+
+    @TempDir
+    Path spoolDirectory;
+
+    @Mock
+    private ImageStorageUseCase imageStorageUseCase;
+
+    @Mock
+    private CreateViolationUseCase createViolationUseCase;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ViolationSubmissionPipeline pipeline;
+
+    private final Violation violation = Violation.builder().equipmentSerial("ABC12345").type("STOP_CROSSWALKING").build();
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        pipeline.shutdown();
+    }
+
+    private ViolationSubmissionPipeline pipeline(int queueCapacity, Duration retention) {
+        pipeline = new ViolationSubmissionPipeline(imageStorageUseCase, createViolationUseCase, meterRegistry,
+                queueCapacity, 1, 1, retention, spoolDirectory);
+        return pipeline;
+    }
+
+    private ViolationSubmission awaitFinished(String ticket) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            ViolationSubmission submission = pipeline.find(ticket).orElseThrow();
+            if (submission.status().isFinished()) {
+                return submission;
+            }
+            Thread.sleep(10);
+        }
+        return fail("Submission " + ticket + " did not finish");
+    }
+
+    private long spooledFiles() throws IOException {
+        try (Stream<Path> files = Files.list(spoolDirectory)) {
+            return files.count();
+        }
+    }
+
+    @Test
+    void submit_shouldStorePictureThenPersistViolation() throws Exception {
+        Violation created = violation.toBuilder().id(1L).picture("http://localhost:9000/violations-bucket/a.jpg").build();
+        when(imageStorageUseCase.storeImage(any(Path.class), eq("image/jpeg"))).thenAnswer(invocation -> {
+            assertArrayEquals(PICTURE.getBytes(), Files.readAllBytes(invocation.getArgument(0)));
+            return created.picture();
+        });
+        when(createViolationUseCase.execute(violation.toBuilder().picture(created.picture()).build())).thenReturn(created);
+
+        ViolationSubmission submission = pipeline(10, Duration.ofMinutes(15)).submit(violation, PICTURE);
+
+        assertEquals(ViolationSubmissionStatus.PENDING, submission.status());
+        ViolationSubmission finished = awaitFinished(submission.ticket());
+        assertEquals(ViolationSubmissionStatus.COMPLETED, finished.status());
+        assertEquals(created, finished.violation());
+        assertEquals(0, spooledFiles());
+    }
+
+    @Test
+    void submit_shouldRecordFailure() throws Exception {
+        when(imageStorageUseCase.storeImage(any(Path.class), eq("image/jpeg"))).thenThrow(new RuntimeException("Failed to upload image to S3"));
+
+        ViolationSubmission submission = pipeline(10, Duration.ofMinutes(15)).submit(violation, PICTURE);
+
+        ViolationSubmission finished = awaitFinished(submission.ticket());
+        assertEquals(ViolationSubmissionStatus.FAILED, finished.status());
+        assertEquals("Failed to upload image to S3", finished.error());
+        assertEquals(0, spooledFiles());
+    }
+
+    @Test
+    void submit_shouldRejectWhenQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        when(imageStorageUseCase.storeImage(any(Path.class), any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "url";
+        });
+        pipeline(1, Duration.ofMinutes(15));
+
+        pipeline.submit(violation, PICTURE);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        pipeline.submit(violation, PICTURE);
+
+        assertEquals(1.0, meterRegistry.get("violation.pipeline.queue.depth").tag("stage", "upload").gauge().value());
+        assertThrows(ViolationQueueFullException.class, () -> pipeline.submit(violation, PICTURE));
+        assertEquals(1.0, meterRegistry.get("violation.pipeline.rejected").counter().count());
+        assertEquals(2.0, meterRegistry.get("violation.pipeline.submissions").gauge().value());
+        assertEquals(2, spooledFiles());
+        release.countDown();
+    }
+
+    @Test
+    void replay_shouldTrackCompletedSubmissionWithoutQueueing() throws Exception {
+        Violation registered = violation.toBuilder().id(1L).build();
+
+        ViolationSubmission submission = pipeline(10, Duration.ofMinutes(15)).replay(registered);
+
+        assertEquals(ViolationSubmissionStatus.COMPLETED, submission.status());
+        assertEquals(submission, pipeline.find(submission.ticket()).orElseThrow());
+        assertEquals(registered, submission.violation());
+        assertEquals(0, spooledFiles());
+        verifyNoInteractions(imageStorageUseCase, createViolationUseCase);
+    }
+
+    @Test
+    void evictFinished_shouldDropExpiredSubmissions() throws InterruptedException {
+        when(imageStorageUseCase.storeImage(any(Path.class), eq("image/jpeg"))).thenThrow(new RuntimeException("boom"));
+        ViolationSubmission submission = pipeline(10, Duration.ZERO).submit(violation, PICTURE);
+        awaitFinished(submission.ticket());
+        Thread.sleep(5);
+
+        pipeline.evictFinished();
+
+        assertTrue(pipeline.find(submission.ticket()).isEmpty());
+        verify(imageStorageUseCase).storeImage(any(Path.class), eq("image/jpeg"));
+    }
+
+    @Test
+    void submit_shouldKeepSharedPictureWhenPersistFails() throws InterruptedException {
+        when(imageStorageUseCase.storeImage(any(Path.class), eq("image/jpeg"))).thenReturn("url");
+        when(createViolationUseCase.execute(any(Violation.class))).thenThrow(new RuntimeException("Equipment inactive"));
+
+        ViolationSubmission submission = pipeline(10, Duration.ofMinutes(15)).submit(violation, PICTURE);
+
+        assertEquals(ViolationSubmissionStatus.FAILED, awaitFinished(submission.ticket()).status());
+    }
+}
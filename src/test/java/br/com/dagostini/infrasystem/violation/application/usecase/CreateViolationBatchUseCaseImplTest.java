@@ -0,0 +1,122 @@
+package br.com.dagostini.infrasystem.violation.application.usecase;
+
+import br.com.dagostini.infrasystem.shared.utils.ImageStorageUseCase;
+import br.com.dagostini.infrasystem.violation.domain.model.Violation;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationBatchItem;
+import br.com.dagostini.infrasystem.violation.domain.service.ViolationService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CreateViolationBatchUseCaseImplTest {
+
+    private static final String PICTURE_URL = "http://localhost:9000/violations-bucket/abc.jpg";
+    private static final String KEY = "ABC12345|null|abc.jpg";
+
+    @Mock
+    private ViolationService violationService;
+
+    @Mock
+    private ImageStorageUseCase imageStorageUseCase;
+
+    @InjectMocks
+    private CreateViolationBatchUseCaseImpl createViolationBatchUseCase;
+
+    private final Violation violation = Violation.builder().equipmentSerial("ABC12345").picture("p0").build();
+    private final Violation keyed = violation.toBuilder().idempotencyKey(KEY).build();
+    private final MultipartFile picture = new MockMultipartFile("p0", "violation.jpg", "image/jpeg", new byte[]{1});
+
+    @Test
+    void execute_shouldValidateEquipmentBeforeUploadingAndRegisterStoredItems() {
+        List<ViolationBatchItem> items = List.of(ViolationBatchItem.accepted(0, violation));
+        List<ViolationBatchItem> stored = List.of(ViolationBatchItem.accepted(0, keyed.toBuilder().picture(PICTURE_URL).build()));
+        when(violationService.validateEquipments(items)).thenReturn(items);
+        when(imageStorageUseCase.contentKey(picture)).thenReturn("abc.jpg");
+        when(imageStorageUseCase.storeImage(picture)).thenReturn(PICTURE_URL);
+        when(violationService.registerViolations(stored)).thenReturn(stored);
+
+        List<ViolationBatchItem> result = createViolationBatchUseCase.execute(items, Map.of(0, picture));
+
+        assertEquals(stored, result);
+        InOrder order = inOrder(violationService, imageStorageUseCase);
+        order.verify(violationService).validateEquipments(items);
+        order.verify(violationService).findViolationByIdempotencyKey(KEY);
+        order.verify(imageStorageUseCase).storeImage(picture);
+        order.verify(violationService).registerViolations(stored);
+    }
+
+    @Test
+    void execute_shouldAnswerRegisteredItemsWithoutUploadingOrSavingThemAgain() {
+        MultipartFile other = new MockMultipartFile("p1", "other.jpg", "image/jpeg", new byte[]{2});
+        Violation registered = keyed.toBuilder().id(7L).picture(PICTURE_URL).build();
+        List<ViolationBatchItem> items = List.of(ViolationBatchItem.accepted(0, violation), ViolationBatchItem.accepted(1, violation));
+        when(violationService.validateEquipments(items)).thenReturn(items);
+        when(imageStorageUseCase.contentKey(picture)).thenReturn("abc.jpg");
+        when(imageStorageUseCase.contentKey(other)).thenReturn("def.jpg");
+        when(violationService.findViolationByIdempotencyKey(KEY)).thenReturn(Optional.of(registered));
+        when(imageStorageUseCase.storeImage(other)).thenReturn(PICTURE_URL);
+        List<ViolationBatchItem> stored = List.of(ViolationBatchItem.accepted(1,
+                violation.toBuilder().idempotencyKey("ABC12345|null|def.jpg").picture(PICTURE_URL).build()));
+        when(violationService.registerViolations(stored)).thenReturn(stored);
+
+        List<ViolationBatchItem> result = createViolationBatchUseCase.execute(items, Map.of(0, picture, 1, other));
+
+        assertEquals(List.of(ViolationBatchItem.accepted(0, registered), stored.get(0)), result);
+        verify(imageStorageUseCase, never()).storeImage(picture);
+    }
+
+    @Test
+    void execute_shouldNotUploadPicturesOfRejectedItems() {
+        List<ViolationBatchItem> items = List.of(ViolationBatchItem.accepted(0, violation));
+        List<ViolationBatchItem> rejected = List.of(ViolationBatchItem.rejected(0, "Cannot create violation for inactive equipment: ABC12345"));
+        when(violationService.validateEquipments(items)).thenReturn(rejected);
+
+        assertEquals(rejected, createViolationBatchUseCase.execute(items, Map.of(0, picture)));
+        verify(imageStorageUseCase, never()).storeImage(any(MultipartFile.class));
+        verify(violationService).registerViolations(List.of());
+    }
+
+    @Test
+    void execute_shouldRejectOnlyTheItemWhoseUploadFails() {
+        MultipartFile other = new MockMultipartFile("p1", "other.jpg", "image/jpeg", new byte[]{2});
+        List<ViolationBatchItem> items = List.of(ViolationBatchItem.accepted(0, violation), ViolationBatchItem.accepted(1, violation));
+        when(violationService.validateEquipments(items)).thenReturn(items);
+        when(imageStorageUseCase.contentKey(picture)).thenReturn("abc.jpg");
+        when(imageStorageUseCase.contentKey(other)).thenReturn("abc.jpg");
+        when(imageStorageUseCase.storeImage(picture)).thenThrow(new RuntimeException("Failed to upload image to S3"));
+        when(imageStorageUseCase.storeImage(other)).thenReturn(PICTURE_URL);
+        List<ViolationBatchItem> expected = List.of(
+                ViolationBatchItem.rejected(0, "Failed to upload image to S3"),
+                ViolationBatchItem.accepted(1, keyed.toBuilder().picture(PICTURE_URL).build()));
+        when(violationService.registerViolations(expected)).thenReturn(expected);
+
+        assertEquals(expected, createViolationBatchUseCase.execute(items, Map.of(0, picture, 1, other)));
+    }
+
+    @Test
+    void execute_shouldPropagateServiceFailure() {
+        List<ViolationBatchItem> items = List.of();
+        when(violationService.validateEquipments(items)).thenThrow(new RuntimeException("Service error"));
+
+        RuntimeException thrown = assertThrows(RuntimeException.class, () -> createViolationBatchUseCase.execute(items, Map.of()));
+        assertEquals("Service error", thrown.getMessage());
+    }
+}
@@ -1,20 +1,42 @@
 package br.com.dagostini.infrasystem.violation.application.usecase;
 
+import br.com.dagostini.infrasystem.equipment.domain.exception.EquipmentNotFoundException;
+import br.com.dagostini.infrasystem.shared.utils.ImageStorageUseCase;
+import br.com.dagostini.infrasystem.shared.utils.StoredImage;
+import br.com.dagostini.infrasystem.violation.application.service.ViolationIdempotencyCache;
 import br.com.dagostini.infrasystem.violation.domain.model.Violation;
 import br.com.dagostini.infrasystem.violation.domain.service.ViolationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -23,16 +45,25 @@ class CreateViolationUseCaseImplTest {
     @Mock
     private ViolationService violationService;
 
-    @InjectMocks
+    @Mock
+    private ImageStorageUseCase imageStorageUseCase;
+
     private CreateViolationUseCaseImpl createViolationUseCase;
 
     private Violation testViolation;
     private static final Long TEST_ID = 1L;
     private static final String TEST_SERIAL = "ABC12345";
+    private static final String TEST_PICTURE_URL = "http://localhost:9000/violations-bucket/1-violation.jpg";
     private static final OffsetDateTime TEST_DATE = OffsetDateTime.of(2021, 7, 20, 0, 0, 0, 0, ZoneOffset.UTC);
+    private static final String PICTURE_KEY = "5d41402abc4b2a76.jpg";
+    private static final String DERIVED_KEY = TEST_SERIAL + "|2021-07-20T00:00:00Z|" + PICTURE_KEY;
+    private static final StoredImage STORED = new StoredImage(TEST_PICTURE_URL, PICTURE_KEY, true);
 
     @BeforeEach
     void setUp() {
+        createViolationUseCase = new CreateViolationUseCaseImpl(violationService, imageStorageUseCase,
+                new ViolationIdempotencyCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(10)), Executors.newFixedThreadPool(2));
+        lenient().when(imageStorageUseCase.contentKey(any())).thenReturn(PICTURE_KEY);
         testViolation = Violation.builder()
                 .id(TEST_ID)
                 .equipmentSerial(TEST_SERIAL)
@@ -65,6 +96,27 @@ class CreateViolationUseCaseImplTest {
         verify(violationService, times(1)).createViolation(testViolation);
     }
 
+    @Test
+    void execute_shouldRegisterKeyedViolationOnce() {
+        Violation keyed = testViolation.toBuilder().picture(TEST_PICTURE_URL).idempotencyKey(DERIVED_KEY).build();
+        when(violationService.createViolation(keyed)).thenReturn(keyed);
+
+        Violation first = createViolationUseCase.execute(keyed);
+        Violation retry = createViolationUseCase.execute(keyed);
+
+        assertSame(first, retry);
+        verify(violationService, times(1)).createViolation(keyed);
+    }
+
+    @Test
+    void execute_shouldAnswerKeyedViolationFromDatabase() {
+        Violation keyed = testViolation.toBuilder().picture(TEST_PICTURE_URL).idempotencyKey(DERIVED_KEY).build();
+        when(violationService.findViolationByIdempotencyKey(DERIVED_KEY)).thenReturn(Optional.of(keyed));
+
+        assertEquals(keyed, createViolationUseCase.execute(keyed));
+        verify(violationService, never()).createViolation(any());
+    }
+
     @Test
     void execute_shouldHandleNullViolation() {
         when(violationService.createViolation(null)).thenReturn(null);
@@ -73,4 +125,179 @@ class CreateViolationUseCaseImplTest {
         assertNull(result);
         verify(violationService, times(1)).createViolation(null);
     }
-}
\ No newline at end of file
+
+    @AfterEach
+    void tearDown() {
+        createViolationUseCase.shutdown();
+    }
+
+    @Test
+    void executeWithPicture_shouldUploadAndPersistWithPictureUrl() throws Exception {
+        MockMultipartFile picture = new MockMultipartFile("picture", "violation.jpg", "image/jpeg", "image".getBytes());
+        Violation withPicture = testViolation.toBuilder().picture(TEST_PICTURE_URL).idempotencyKey(DERIVED_KEY).build();
+        when(imageStorageUseCase.store(picture)).thenReturn(STORED);
+        when(violationService.registerViolation(withPicture)).thenReturn(withPicture);
+
+        Violation result = createViolationUseCase.execute(testViolation, picture);
+
+        assertEquals(withPicture, result);
+        verify(violationService, times(1)).validateEquipment(TEST_SERIAL);
+    }
+
+    @Test
+    void executeWithPicture_shouldRunEquipmentCheckAndUploadConcurrently() throws Exception {
+        MockMultipartFile picture = new MockMultipartFile("picture", "violation.jpg", "image/jpeg", "image".getBytes());
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        doAnswer(invocation -> {
+            bothStarted.countDown();
+            assertTrue(bothStarted.await(5, TimeUnit.SECONDS));
+            return null;
+        }).when(violationService).validateEquipment(TEST_SERIAL);
+        when(imageStorageUseCase.store(picture)).thenAnswer(invocation -> {
+            bothStarted.countDown();
+            assertTrue(bothStarted.await(5, TimeUnit.SECONDS));
+            return STORED;
+        });
+        when(violationService.registerViolation(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Violation result = createViolationUseCase.execute(testViolation, picture);
+
+        assertEquals(TEST_PICTURE_URL, result.picture());
+    }
+
+    @Test
+    void executeWithPicture_shouldNotPersistWhenEquipmentIsRejected() throws Exception {
+        MockMultipartFile picture = new MockMultipartFile("picture", "violation.jpg", "image/jpeg", "image".getBytes());
+        doThrow(new EquipmentNotFoundException(TEST_SERIAL)).when(violationService).validateEquipment(TEST_SERIAL);
+        lenient().when(imageStorageUseCase.store(picture)).thenReturn(STORED);
+
+        assertThrows(EquipmentNotFoundException.class, () -> createViolationUseCase.execute(testViolation, picture));
+
+        verify(violationService, never()).registerViolation(any());
+        verify(imageStorageUseCase, timeout(5_000)).discard(STORED);
+    }
+
+    @Test
+    void executeWithPicture_shouldNotUploadWhenCachedEquipmentIsRejected() {
+        MockMultipartFile picture = new MockMultipartFile("picture", "violation.jpg", "image/jpeg", "image".getBytes());
+        when(violationService.isEquipmentCached(TEST_SERIAL)).thenReturn(true);
+        doThrow(new EquipmentNotFoundException(TEST_SERIAL)).when(violationService).validateEquipment(TEST_SERIAL);
+
+        assertThrows(EquipmentNotFoundException.class, () -> createViolationUseCase.execute(testViolation, picture));
+
+        verify(imageStorageUseCase, never()).store(any(MultipartFile.class));
+        verify(violationService, never()).registerViolation(any());
+    }
+
+    @Test
+    void executeWithPicture_shouldCheckCachedEquipmentBeforeUploading() {
+        MockMultipartFile picture = new MockMultipartFile("picture", "violation.jpg", "image/jpeg", "image".getBytes());
+        when(violationService.isEquipmentCached(TEST_SERIAL)).thenReturn(true);
+        when(imageStorageUseCase.store(picture)).thenReturn(STORED);
+        when(violationService.registerViolation(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Violation result = createViolationUseCase.execute(testViolation, picture);
+
+        assertEquals(TEST_PICTURE_URL, result.picture());
+        InOrder order = inOrder(violationService, imageStorageUseCase);
+        order.verify(violationService).validateEquipment(TEST_SERIAL);
+        order.verify(imageStorageUseCase).store(picture);
+    }
+
+    @Test
+    void executeWithPicture_shouldKeepSharedPictureWhenInsertFails() throws Exception {
+        MockMultipartFile picture = new MockMultipartFile("picture", "violation.jpg", "image/jpeg", "image".getBytes());
+        when(imageStorageUseCase.store(picture)).thenReturn(STORED);
+        when(violationService.registerViolation(any())).thenThrow(new RuntimeException("DB error"));
+
+        RuntimeException thrown = assertThrows(RuntimeException.class, () -> createViolationUseCase.execute(testViolation, picture));
+
+        assertEquals("DB error", thrown.getMessage());
+        verify(imageStorageUseCase, never()).discard(any());
+    }
+
+    @Test
+    void executeWithPicture_shouldPropagateUploadFailure() throws Exception {
+        MockMultipartFile picture = new MockMultipartFile("picture", "violation.jpg", "image/jpeg", "image".getBytes());
+        when(imageStorageUseCase.store(picture))
+                .thenThrow(new RuntimeException("Failed to upload image to S3"));
+
+        RuntimeException thrown = assertThrows(RuntimeException.class, () -> createViolationUseCase.execute(testViolation, picture));
+
+        assertEquals("Failed to upload image to S3", thrown.getMessage());
+        verify(violationService, never()).registerViolation(any());
+    }
+
+    @Test
+    void executeWithPicture_shouldRejectInvalidPictureBeforeStartingWork() {
+        MockMultipartFile picture = new MockMultipartFile("picture", "violation.txt", "text/plain", "text".getBytes());
+        doThrow(new IllegalArgumentException("Picture must be JPEG or PNG")).when(imageStorageUseCase).validateImage("text/plain", 4);
+
+        assertThrows(IllegalArgumentException.class, () -> createViolationUseCase.execute(testViolation, picture));
+
+        verifyNoInteractions(violationService);
+    }
+
+    @Test
+    void executeWithPicture_shouldReplayRetryWithoutUploadingOrPersistingAgain() {
+        MockMultipartFile picture = new MockMultipartFile("picture", "violation.jpg", "image/jpeg", "image".getBytes());
+        when(imageStorageUseCase.store(picture)).thenReturn(STORED);
+        when(violationService.registerViolation(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Violation first = createViolationUseCase.execute(testViolation, picture);
+        Violation retry = createViolationUseCase.execute(testViolation, picture);
+
+        assertSame(first, retry);
+        assertEquals(DERIVED_KEY, first.idempotencyKey());
+        verify(imageStorageUseCase, times(1)).store(picture);
+        verify(violationService, times(1)).registerViolation(any());
+    }
+
+    @Test
+    void executeWithPicture_shouldPreferClientIdempotencyKey() {
+        MockMultipartFile picture = new MockMultipartFile("picture", "violation.jpg", "image/jpeg", "image".getBytes());
+        when(imageStorageUseCase.store(picture)).thenReturn(STORED);
+        when(violationService.registerViolation(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Violation result = createViolationUseCase.execute(testViolation.toBuilder().idempotencyKey("client-key").build(), picture);
+
+        assertEquals("client-key", result.idempotencyKey());
+        verify(imageStorageUseCase, never()).contentKey(any());
+    }
+
+    @Test
+    void executeWithPicture_shouldAnswerFromDatabaseWhenKeyIsAlreadyRegistered() {
+        MockMultipartFile picture = new MockMultipartFile("picture", "violation.jpg", "image/jpeg", "image".getBytes());
+        Violation registered = testViolation.toBuilder().picture(TEST_PICTURE_URL).idempotencyKey(DERIVED_KEY).build();
+        when(violationService.findViolationByIdempotencyKey(DERIVED_KEY)).thenReturn(Optional.of(registered));
+
+        Violation result = createViolationUseCase.execute(testViolation, picture);
+
+        assertEquals(registered, result);
+        verify(imageStorageUseCase, never()).store(any(MultipartFile.class));
+        verify(violationService, never()).validateEquipment(any());
+        verify(violationService, never()).registerViolation(any());
+    }
+
+    @Test
+    void executeWithPicture_shouldCollapseConcurrentRetries() throws Exception {
+        MockMultipartFile picture = new MockMultipartFile("picture", "violation.jpg", "image/jpeg", "image".getBytes());
+        CountDownLatch uploadStarted = new CountDownLatch(1);
+        CountDownLatch releaseUpload = new CountDownLatch(1);
+        when(imageStorageUseCase.store(picture)).thenAnswer(invocation -> {
+            uploadStarted.countDown();
+            assertTrue(releaseUpload.await(5, TimeUnit.SECONDS));
+            return STORED;
+        });
+        when(violationService.registerViolation(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        CompletableFuture<Violation> first = CompletableFuture.supplyAsync(() -> createViolationUseCase.execute(testViolation, picture));
+        assertTrue(uploadStarted.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Violation> retry = CompletableFuture.supplyAsync(() -> createViolationUseCase.execute(testViolation, picture));
+        releaseUpload.countDown();
+
+        assertSame(first.get(5, TimeUnit.SECONDS), retry.get(5, TimeUnit.SECONDS));
+        verify(imageStorageUseCase, times(1)).store(picture);
+        verify(violationService, times(1)).registerViolation(any());
+    }
+}
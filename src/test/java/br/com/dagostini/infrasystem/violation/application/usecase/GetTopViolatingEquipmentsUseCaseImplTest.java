@@ -0,0 +1,55 @@
+package br.com.dagostini.infrasystem.violation.application.usecase;
+
+import br.com.dagostini.infrasystem.violation.domain.exception.ViolationValidationException;
+import br.com.dagostini.infrasystem.violation.domain.model.TopEquipment;
+import br.com.dagostini.infrasystem.violation.domain.model.TopEquipmentWindow;
+import br.com.dagostini.infrasystem.violation.domain.repository.ViolationTopEquipmentRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GetTopViolatingEquipmentsUseCaseImplTest {
+
+    @Mock
+    private ViolationTopEquipmentRepository violationTopEquipmentRepository;
+
+    @InjectMocks
+    private GetTopViolatingEquipmentsUseCaseImpl useCase;
+
+    @Test
+    void execute_shouldDefaultToTheTopTwentyOfTheLastHour() {
+        TopEquipment top = new TopEquipment(TopEquipmentWindow.HOUR, Instant.parse("2025-07-20T11:00:00Z"),
+                Instant.parse("2025-07-20T12:03:00Z"), List.of());
+        when(violationTopEquipmentRepository.findTop(TopEquipmentWindow.HOUR, 20)).thenReturn(top);
+
+        assertEquals(top, useCase.execute(null, null));
+    }
+
+    @Test
+    void execute_shouldParseTheWindow() {
+        TopEquipment top = new TopEquipment(TopEquipmentWindow.DAY, Instant.parse("2025-07-19T12:00:00Z"),
+                Instant.parse("2025-07-20T12:03:00Z"), List.of());
+        when(violationTopEquipmentRepository.findTop(TopEquipmentWindow.DAY, 5)).thenReturn(top);
+
+        assertEquals(top, useCase.execute("1d", 5));
+    }
+
+    @Test
+    void execute_shouldRejectAnUnknownWindowOrALimitOutOfRange() {
+        assertThrows(ViolationValidationException.class, () -> useCase.execute("2h", 10));
+        assertThrows(ViolationValidationException.class, () -> useCase.execute("1h", 0));
+        assertThrows(ViolationValidationException.class, () -> useCase.execute("1h", 101));
+        verifyNoInteractions(violationTopEquipmentRepository);
+    }
+}
@@ -0,0 +1,72 @@
+package br.com.dagostini.infrasystem.violation.application.usecase;
+
+import br.com.dagostini.infrasystem.violation.domain.exception.ViolationValidationException;
+import br.com.dagostini.infrasystem.violation.domain.model.MapTile;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationHeatmap;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationHeatmapArea;
+import br.com.dagostini.infrasystem.violation.domain.repository.ViolationHeatmapRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GetViolationHeatmapUseCaseImplTest {
+
+    private static final String BBOX = "-46.70,-23.60,-46.60,-23.50";
+
+    @Mock
+    private ViolationHeatmapRepository violationHeatmapRepository;
+
+    private GetViolationHeatmapUseCaseImpl useCase;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new GetViolationHeatmapUseCaseImpl(violationHeatmapRepository,
+                Clock.fixed(Instant.parse("2025-07-20T13:45:00Z"), ZoneOffset.UTC));
+    }
+
+    @Test
+    void execute_shouldDefaultToTheLastThirtyDaysAndSumTheTiles() {
+        ViolationHeatmapArea area = ViolationHeatmapArea.of(BBOX, 12);
+        Instant from = Instant.parse("2025-06-21T00:00:00Z");
+        Instant to = Instant.parse("2025-07-21T00:00:00Z");
+        List<ViolationHeatmap.Tile> tiles = List.of(ViolationHeatmap.Tile.of(new MapTile(12, area.minX(), area.minY()), 4),
+                ViolationHeatmap.Tile.of(new MapTile(12, area.maxX(), area.maxY()), 3));
+        when(violationHeatmapRepository.findTiles(area, from, to)).thenReturn(tiles);
+
+        ViolationHeatmap heatmap = useCase.execute(BBOX, 12, null, null);
+
+        assertEquals(new ViolationHeatmap(12, from, to, 7, tiles), heatmap);
+    }
+
+    @Test
+    void execute_shouldAlignTheRangeToDays() {
+        useCase.execute(BBOX, 12, Date.from(Instant.parse("2025-07-01T10:00:00Z")), Date.from(Instant.parse("2025-07-03T10:00:00Z")));
+
+        verify(violationHeatmapRepository).findTiles(ViolationHeatmapArea.of(BBOX, 12),
+                Instant.parse("2025-07-01T00:00:00Z"), Instant.parse("2025-07-04T00:00:00Z"));
+    }
+
+    @Test
+    void execute_shouldRejectInvalidRequests() {
+        Date from = Date.from(Instant.parse("2024-01-01T00:00:00Z"));
+
+        assertThrows(ViolationValidationException.class, () -> useCase.execute(BBOX, null, null, null));
+        assertThrows(ViolationValidationException.class, () -> useCase.execute("-180,-85,180,85", 16, null, null));
+        assertThrows(ViolationValidationException.class, () -> useCase.execute(BBOX, 12, from, from));
+        assertThrows(ViolationValidationException.class, () -> useCase.execute(BBOX, 12, from, Date.from(Instant.parse("2025-07-01T00:00:00Z"))));
+        verifyNoInteractions(violationHeatmapRepository);
+    }
+}
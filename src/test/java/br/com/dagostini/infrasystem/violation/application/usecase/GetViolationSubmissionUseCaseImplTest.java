@@ -0,0 +1,41 @@
+package br.com.dagostini.infrasystem.violation.application.usecase;
+
+import br.com.dagostini.infrasystem.violation.application.service.ViolationSubmissionPipeline;
+import br.com.dagostini.infrasystem.violation.domain.exception.ViolationSubmissionNotFoundException;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationSubmission;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GetViolationSubmissionUseCaseImplTest {
+
+    @Mock
+    private ViolationSubmissionPipeline violationSubmissionPipeline;
+
+    @InjectMocks
+    private GetViolationSubmissionUseCaseImpl getViolationSubmissionUseCase;
+
+    @Test
+    void execute_shouldReturnTrackedSubmission() {
+        ViolationSubmission submission = ViolationSubmission.builder().ticket("ticket-1").build();
+        when(violationSubmissionPipeline.find("ticket-1")).thenReturn(Optional.of(submission));
+
+        assertEquals(submission, getViolationSubmissionUseCase.execute("ticket-1"));
+    }
+
+    @Test
+    void execute_shouldThrowWhenTicketIsUnknown() {
+        when(violationSubmissionPipeline.find("missing")).thenReturn(Optional.empty());
+
+        assertThrows(ViolationSubmissionNotFoundException.class, () -> getViolationSubmissionUseCase.execute("missing"));
+    }
+}
@@ -0,0 +1,76 @@
+package br.com.dagostini.infrasystem.violation.application.usecase;
+
+import br.com.dagostini.infrasystem.violation.domain.exception.ViolationValidationException;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationSummary;
+import br.com.dagostini.infrasystem.violation.domain.repository.ViolationSummaryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GetViolationSummaryUseCaseImplTest {
+
+    private static final Instant NOW = Instant.parse("2025-07-20T12:00:00Z");
+    private static final Instant COVERED_SINCE = NOW.minus(Duration.ofDays(7));
+
+    @Mock
+    private ViolationSummaryRepository violationSummaryRepository;
+
+    private GetViolationSummaryUseCaseImpl useCase;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new GetViolationSummaryUseCaseImpl(violationSummaryRepository, Clock.fixed(NOW, ZoneOffset.UTC));
+        when(violationSummaryRepository.coveredSince()).thenReturn(COVERED_SINCE);
+    }
+
+    private static ViolationSummary empty(Instant from, Instant to) {
+        return new ViolationSummary(from, to, 0, List.of(), List.of(), List.of(), null);
+    }
+
+    @Test
+    void execute_shouldDefaultToTheWholeWindowAndTwentyEquipment() {
+        when(violationSummaryRepository.summarize(COVERED_SINCE, NOW, null, null, 20)).thenReturn(empty(COVERED_SINCE, NOW));
+
+        assertEquals(empty(COVERED_SINCE, NOW), useCase.execute(null, null, " ", "", null));
+    }
+
+    @Test
+    void execute_shouldMoveAFromSlightlyBeforeTheWindowToItsStart() {
+        Instant to = NOW.minus(Duration.ofHours(1));
+        useCase.execute(Date.from(COVERED_SINCE.minus(Duration.ofMinutes(5))), Date.from(to), "CAM00001", "VELOCITY", 5);
+
+        verify(violationSummaryRepository).summarize(COVERED_SINCE, to, "CAM00001", "VELOCITY", 5);
+    }
+
+    @Test
+    void execute_shouldRejectARangeOlderThanTheWindow() {
+        assertThrows(ViolationValidationException.class,
+                () -> useCase.execute(Date.from(COVERED_SINCE.minus(Duration.ofDays(1))), null, null, null, null));
+        verify(violationSummaryRepository, never()).summarize(any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void execute_shouldRejectAnEmptyRangeOrALimitOutOfRange() {
+        assertThrows(ViolationValidationException.class, () -> useCase.execute(Date.from(NOW), Date.from(NOW), null, null, null));
+        assertThrows(ViolationValidationException.class, () -> useCase.execute(null, null, null, null, 0));
+        assertThrows(ViolationValidationException.class, () -> useCase.execute(null, null, null, null, 101));
+    }
+}
@@ -0,0 +1,61 @@
+package br.com.dagostini.infrasystem.violation.application.usecase;
+
+import br.com.dagostini.infrasystem.violation.domain.exception.ViolationValidationException;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationImportFormat;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationImportReport;
+import br.com.dagostini.infrasystem.violation.domain.repository.ViolationImportRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ImportViolationsUseCaseImplTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private ViolationImportRepository violationImportRepository;
+
+    @InjectMocks
+    private ImportViolationsUseCaseImpl importViolationsUseCase;
+
+    @Test
+    void execute_shouldInferFormatFromFileName() throws Exception {
+        Path file = Files.writeString(tempDir.resolve("violations.ndjson"), "{}");
+        ViolationImportReport report = ViolationImportReport.builder().imported(1).build();
+        when(violationImportRepository.importFrom(file, ViolationImportFormat.NDJSON)).thenReturn(report);
+
+        assertEquals(report, importViolationsUseCase.execute(file, null));
+    }
+
+    @Test
+    void execute_shouldKeepExplicitFormat() throws Exception {
+        Path file = Files.writeString(tempDir.resolve("violations.txt"), "{}");
+        ViolationImportReport report = ViolationImportReport.builder().build();
+        when(violationImportRepository.importFrom(file, ViolationImportFormat.NDJSON)).thenReturn(report);
+
+        assertEquals(report, importViolationsUseCase.execute(file, ViolationImportFormat.NDJSON));
+    }
+
+    @Test
+    void execute_shouldRejectMissingFile() {
+        Path file = tempDir.resolve("missing.csv");
+
+        assertThrows(ViolationValidationException.class, () -> importViolationsUseCase.execute(file, null));
+        verify(violationImportRepository, never()).importFrom(any(), any());
+    }
+}
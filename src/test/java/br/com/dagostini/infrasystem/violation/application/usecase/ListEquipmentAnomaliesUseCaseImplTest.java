@@ -0,0 +1,53 @@
+package br.com.dagostini.infrasystem.violation.application.usecase;
+
+import br.com.dagostini.infrasystem.violation.domain.exception.ViolationValidationException;
+import br.com.dagostini.infrasystem.violation.domain.model.EquipmentAnomaly;
+import br.com.dagostini.infrasystem.violation.domain.repository.EquipmentAnomalyRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ListEquipmentAnomaliesUseCaseImplTest {
+
+    private static final EquipmentAnomaly SPIKE = new EquipmentAnomaly("CAM00001", EquipmentAnomaly.Type.SPIKE,
+            Instant.parse("2025-07-20T14:10:00Z"), 40, 9.5);
+    private static final EquipmentAnomaly DROP = new EquipmentAnomaly("CAM00002", EquipmentAnomaly.Type.DROP,
+            Instant.parse("2025-07-20T14:00:00Z"), 0, 18);
+
+    @Mock
+    private EquipmentAnomalyRepository equipmentAnomalyRepository;
+
+    @InjectMocks
+    private ListEquipmentAnomaliesUseCaseImpl useCase;
+
+    @Test
+    void execute_shouldListEveryAnomalyWithoutAType() {
+        when(equipmentAnomalyRepository.findAll()).thenReturn(List.of(SPIKE, DROP));
+
+        assertEquals(List.of(SPIKE, DROP), useCase.execute(null));
+    }
+
+    @Test
+    void execute_shouldFilterByType() {
+        when(equipmentAnomalyRepository.findAll()).thenReturn(List.of(SPIKE, DROP));
+
+        assertEquals(List.of(DROP), useCase.execute("DROP"));
+    }
+
+    @Test
+    void execute_shouldRejectAnUnknownType() {
+        when(equipmentAnomalyRepository.findAll()).thenReturn(List.of(SPIKE));
+
+        assertThrows(ViolationValidationException.class, () -> useCase.execute("NOISE"));
+    }
+}
@@ -1,5 +1,6 @@
 package br.com.dagostini.infrasystem.violation.application.usecase;
 import br.com.dagostini.infrasystem.violation.domain.model.Violation;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationPage;
 import br.com.dagostini.infrasystem.violation.domain.service.ViolationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -47,10 +48,10 @@ class ListViolationsByEquipmentUseCaseImplTest {
     @Test
     void listViolationsByEquipment_shouldReturnViolationsList() {
         List<Violation> expectedViolations = Collections.singletonList(testViolation);
-        when(violationService.listViolationsByEquipment(TEST_SERIAL, TEST_DATE_FROM, TEST_DATE_TO))
-                .thenReturn(expectedViolations);
+        when(violationService.listViolationsByEquipment(TEST_SERIAL, TEST_DATE_FROM, TEST_DATE_TO, null, 100))
+                .thenReturn(new ViolationPage(expectedViolations, null));
 
-        List<Violation> result = listViolationsByEquipmentUseCase.listViolationsByEquipment(TEST_SERIAL, TEST_DATE_FROM, TEST_DATE_TO);
+        List<Violation> result = listViolationsByEquipmentUseCase.listViolationsByEquipment(TEST_SERIAL, TEST_DATE_FROM, TEST_DATE_TO, null, 100).violations();
 
         assertNotNull(result);
         assertEquals(1, result.size());
@@ -58,28 +59,28 @@ class ListViolationsByEquipmentUseCaseImplTest {
         assertEquals(TEST_ID, result.get(0).id());
         assertEquals(TEST_SERIAL, result.get(0).equipmentSerial());
         assertEquals(TEST_VIOLATION_DATE, result.get(0).occurrenceDateUtc());
-        verify(violationService, times(1)).listViolationsByEquipment(TEST_SERIAL, TEST_DATE_FROM, TEST_DATE_TO);
+        verify(violationService, times(1)).listViolationsByEquipment(TEST_SERIAL, TEST_DATE_FROM, TEST_DATE_TO, null, 100);
     }
 
     @Test
     void listViolationsByEquipment_shouldReturnEmptyListWhenNoViolationsFound() {
-        when(violationService.listViolationsByEquipment(TEST_SERIAL, TEST_DATE_FROM, TEST_DATE_TO))
-                .thenReturn(Collections.emptyList());
+        when(violationService.listViolationsByEquipment(TEST_SERIAL, TEST_DATE_FROM, TEST_DATE_TO, null, 100))
+                .thenReturn(new ViolationPage(Collections.emptyList(), null));
 
-        List<Violation> result = listViolationsByEquipmentUseCase.listViolationsByEquipment(TEST_SERIAL, TEST_DATE_FROM, TEST_DATE_TO);
+        List<Violation> result = listViolationsByEquipmentUseCase.listViolationsByEquipment(TEST_SERIAL, TEST_DATE_FROM, TEST_DATE_TO, null, 100).violations();
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
-        verify(violationService, times(1)).listViolationsByEquipment(TEST_SERIAL, TEST_DATE_FROM, TEST_DATE_TO);
+        verify(violationService, times(1)).listViolationsByEquipment(TEST_SERIAL, TEST_DATE_FROM, TEST_DATE_TO, null, 100);
     }
 
     @Test
     void listViolationsByEquipment_shouldHandleNullDates() {
         List<Violation> expectedViolations = Collections.singletonList(testViolation);
-        when(violationService.listViolationsByEquipment(TEST_SERIAL, null, null))
-                .thenReturn(expectedViolations);
+        when(violationService.listViolationsByEquipment(TEST_SERIAL, null, null, null, 100))
+                .thenReturn(new ViolationPage(expectedViolations, null));
 
-        List<Violation> result = listViolationsByEquipmentUseCase.listViolationsByEquipment(TEST_SERIAL, null, null);
+        List<Violation> result = listViolationsByEquipmentUseCase.listViolationsByEquipment(TEST_SERIAL, null, null, null, 100).violations();
 
         assertNotNull(result);
         assertEquals(1, result.size());
@@ -87,31 +88,31 @@ class ListViolationsByEquipmentUseCaseImplTest {
         assertEquals(TEST_ID, result.get(0).id());
         assertEquals(TEST_SERIAL, result.get(0).equipmentSerial());
         assertEquals(TEST_VIOLATION_DATE, result.get(0).occurrenceDateUtc());
-        verify(violationService, times(1)).listViolationsByEquipment(TEST_SERIAL, null, null);
+        verify(violationService, times(1)).listViolationsByEquipment(TEST_SERIAL, null, null, null, 100);
     }
 
     @Test
     void listViolationsByEquipment_shouldHandleNullSerial() {
         List<Violation> expectedViolations = Collections.emptyList();
-        when(violationService.listViolationsByEquipment(null, TEST_DATE_FROM, TEST_DATE_TO))
-                .thenReturn(expectedViolations);
+        when(violationService.listViolationsByEquipment(null, TEST_DATE_FROM, TEST_DATE_TO, null, 100))
+                .thenReturn(new ViolationPage(expectedViolations, null));
 
-        List<Violation> result = listViolationsByEquipmentUseCase.listViolationsByEquipment(null, TEST_DATE_FROM, TEST_DATE_TO);
+        List<Violation> result = listViolationsByEquipmentUseCase.listViolationsByEquipment(null, TEST_DATE_FROM, TEST_DATE_TO, null, 100).violations();
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
-        verify(violationService, times(1)).listViolationsByEquipment(null, TEST_DATE_FROM, TEST_DATE_TO);
+        verify(violationService, times(1)).listViolationsByEquipment(null, TEST_DATE_FROM, TEST_DATE_TO, null, 100);
     }
 
     @Test
     void listViolationsByEquipment_shouldThrowExceptionWhenServiceFails() {
         RuntimeException exception = new RuntimeException("Service error");
-        when(violationService.listViolationsByEquipment(TEST_SERIAL, TEST_DATE_FROM, TEST_DATE_TO))
+        when(violationService.listViolationsByEquipment(TEST_SERIAL, TEST_DATE_FROM, TEST_DATE_TO, null, 100))
                 .thenThrow(exception);
 
         RuntimeException thrown = assertThrows(RuntimeException.class, () ->
-                listViolationsByEquipmentUseCase.listViolationsByEquipment(TEST_SERIAL, TEST_DATE_FROM, TEST_DATE_TO));
+                listViolationsByEquipmentUseCase.listViolationsByEquipment(TEST_SERIAL, TEST_DATE_FROM, TEST_DATE_TO, null, 100));
         assertEquals("Service error", thrown.getMessage());
-        verify(violationService, times(1)).listViolationsByEquipment(TEST_SERIAL, TEST_DATE_FROM, TEST_DATE_TO);
+        verify(violationService, times(1)).listViolationsByEquipment(TEST_SERIAL, TEST_DATE_FROM, TEST_DATE_TO, null, 100);
     }
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+package br.com.dagostini.infrasystem.violation.application.usecase;
+
+import br.com.dagostini.infrasystem.violation.domain.exception.ViolationValidationException;
+import br.com.dagostini.infrasystem.violation.domain.repository.ViolationRollupRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RebuildViolationRollupsUseCaseImplTest {
+
+    @Mock
+    private ViolationRollupRepository violationRollupRepository;
+
+    @InjectMocks
+    private RebuildViolationRollupsUseCaseImpl rebuildViolationRollupsUseCase;
+
+    @Test
+    void execute_shouldRebuildWholeHoursOneDayAtATime() {
+        when(violationRollupRepository.rebuild(any(), any())).thenReturn(10L);
+
+        long written = rebuildViolationRollupsUseCase.execute(Instant.parse("2025-07-20T10:30:00Z"), Instant.parse("2025-07-22T08:10:00Z"));
+
+        assertEquals(20L, written);
+        verify(violationRollupRepository).rebuild(Instant.parse("2025-07-20T10:00:00Z"), Instant.parse("2025-07-21T10:00:00Z"));
+        verify(violationRollupRepository).rebuild(Instant.parse("2025-07-21T10:00:00Z"), Instant.parse("2025-07-22T09:00:00Z"));
+        verify(violationRollupRepository, times(2)).rebuild(any(), any());
+    }
+
+    @Test
+    void execute_shouldRejectAnEmptyRange() {
+        Instant instant = Instant.parse("2025-07-20T10:00:00Z");
+
+        assertThrows(ViolationValidationException.class, () -> rebuildViolationRollupsUseCase.execute(instant, instant));
+        verifyNoInteractions(violationRollupRepository);
+    }
+}
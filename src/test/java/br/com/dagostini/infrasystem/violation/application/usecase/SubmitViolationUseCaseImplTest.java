@@ -0,0 +1,96 @@
+package br.com.dagostini.infrasystem.violation.application.usecase;
+
+import br.com.dagostini.infrasystem.equipment.domain.exception.EquipmentNotFoundException;
+import br.com.dagostini.infrasystem.shared.utils.ImageStorageUseCase;
+import br.com.dagostini.infrasystem.violation.application.service.ViolationSubmissionPipeline;
+import br.com.dagostini.infrasystem.violation.domain.exception.ViolationValidationException;
+import br.com.dagostini.infrasystem.violation.domain.model.Violation;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationSubmission;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationSubmissionStatus;
+import br.com.dagostini.infrasystem.violation.domain.service.ViolationService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SubmitViolationUseCaseImplTest {
+
+    @Mock
+    private ImageStorageUseCase imageStorageUseCase;
+
+    @Mock
+    private ViolationService violationService;
+
+    @Mock
+    private ViolationSubmissionPipeline violationSubmissionPipeline;
+
+    @InjectMocks
+    private SubmitViolationUseCaseImpl submitViolationUseCase;
+
+    private static final String KEY = "ABC12345|null|abc.jpg";
+
+    private final Violation violation = Violation.builder().equipmentSerial("ABC12345").type("STOP_CROSSWALKING").build();
+
+    @Test
+    void execute_shouldCheckEquipmentThenHandPictureToPipeline() {
+        MockMultipartFile picture = new MockMultipartFile("picture", "violation.jpg", "image/jpeg", "image".getBytes());
+        ViolationSubmission submission = ViolationSubmission.builder().ticket("ticket-1").status(ViolationSubmissionStatus.PENDING).build();
+        when(imageStorageUseCase.contentKey(picture)).thenReturn("abc.jpg");
+        when(violationSubmissionPipeline.submit(violation.toBuilder().idempotencyKey(KEY).build(), picture)).thenReturn(submission);
+
+        assertEquals(submission, submitViolationUseCase.execute(violation, picture));
+        verify(violationService).validateEquipment("ABC12345");
+    }
+
+    @Test
+    void execute_shouldAnswerRegisteredKeyWithoutQueueing() {
+        MockMultipartFile picture = new MockMultipartFile("picture", "violation.jpg", "image/jpeg", "image".getBytes());
+        Violation registered = violation.toBuilder().id(1L).idempotencyKey("client-key").build();
+        ViolationSubmission replayed = ViolationSubmission.builder().ticket("ticket-1").status(ViolationSubmissionStatus.COMPLETED).build();
+        when(violationService.findViolationByIdempotencyKey("client-key")).thenReturn(Optional.of(registered));
+        when(violationSubmissionPipeline.replay(registered)).thenReturn(replayed);
+
+        assertEquals(replayed, submitViolationUseCase.execute(violation.toBuilder().idempotencyKey("client-key").build(), picture));
+        verify(violationSubmissionPipeline, never()).submit(any(), any());
+        verify(violationService, never()).validateEquipment(any());
+        verify(imageStorageUseCase, never()).contentKey(any());
+    }
+
+    @Test
+    void execute_shouldRejectUnknownEquipmentBeforeQueueing() {
+        MockMultipartFile picture = new MockMultipartFile("picture", "violation.jpg", "image/jpeg", "image".getBytes());
+        when(imageStorageUseCase.contentKey(picture)).thenReturn("abc.jpg");
+        doThrow(new EquipmentNotFoundException("ABC12345")).when(violationService).validateEquipment("ABC12345");
+
+        assertThrows(EquipmentNotFoundException.class, () -> submitViolationUseCase.execute(violation, picture));
+
+        verifyNoInteractions(violationSubmissionPipeline);
+    }
+
+    @Test
+    void execute_shouldRejectInvalidPictureSynchronously() {
+        MockMultipartFile picture = new MockMultipartFile("picture", "violation.txt", "text/plain", new byte[1]);
+        doThrow(new IllegalArgumentException("Picture must be JPEG or PNG"))
+                .when(imageStorageUseCase).validateImage("text/plain", 1);
+
+        ViolationValidationException thrown = assertThrows(ViolationValidationException.class,
+                () -> submitViolationUseCase.execute(violation, picture));
+
+        assertEquals("Picture must be JPEG or PNG", thrown.getMessage());
+        verifyNoInteractions(violationService, violationSubmissionPipeline);
+    }
+}
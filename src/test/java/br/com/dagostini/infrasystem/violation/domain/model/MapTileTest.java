@@ -0,0 +1,41 @@
+package br.com.dagostini.infrasystem.violation.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MapTileTest {
+
+    @Test
+    void ofShouldFollowTheWebMapTileNumbering() {
+        // Avenida Paulista, Sao Paulo.
+        assertEquals(new MapTile(0, 0, 0), MapTile.of(0, -23.5614, -46.6559));
+        assertEquals(new MapTile(10, 379, 580), MapTile.of(10, -23.5614, -46.6559));
+        assertEquals(new MapTile(16, 24274, 37183), MapTile.of(16, -23.5614, -46.6559));
+    }
+
+    @Test
+    void ofShouldKeepTheEdgesAndPolesOnTheGrid() {
+        assertEquals(new MapTile(2, 3, 0), MapTile.of(2, 90, 180));
+        assertEquals(new MapTile(2, 0, 3), MapTile.of(2, -90, -180));
+    }
+
+    @Test
+    void parentTileShouldBeTheChildIndexShiftedByTheZoomDifference() {
+        MapTile deepest = MapTile.of(MapTile.MAX_ZOOM, -23.5614, -46.6559);
+        MapTile parent = MapTile.of(10, -23.5614, -46.6559);
+
+        assertEquals(parent.x(), deepest.x() >> (MapTile.MAX_ZOOM - 10));
+        assertEquals(parent.y(), deepest.y() >> (MapTile.MAX_ZOOM - 10));
+    }
+
+    @Test
+    void centerShouldFallInsideTheTile() {
+        MapTile tile = MapTile.of(12, -23.5614, -46.6559);
+
+        assertEquals(tile, MapTile.of(12, tile.centerLatitude(), tile.centerLongitude()));
+        assertTrue(Math.abs(tile.centerLatitude() + 23.5614) < 0.1);
+        assertEquals(0, new MapTile(0, 0, 0).centerLatitude(), 1e-9);
+    }
+}
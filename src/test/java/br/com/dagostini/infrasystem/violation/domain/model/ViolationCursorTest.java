@@ -0,0 +1,51 @@
+package br.com.dagostini.infrasystem.violation.domain.model;
+
+import br.com.dagostini.infrasystem.violation.domain.exception.ViolationValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ViolationCursorTest {
+
+    @Test
+    void decodeShouldReturnTheEncodedPosition() {
+        ViolationCursor cursor = new ViolationCursor(OffsetDateTime.of(2025, 7, 20, 22, 0, 0, 123_000_000, ZoneOffset.UTC), 42L);
+
+        assertEquals(cursor, ViolationCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void decodeShouldNormalizeOffsetToUtc() {
+        ViolationCursor cursor = new ViolationCursor(OffsetDateTime.of(2025, 7, 20, 19, 0, 0, 0, ZoneOffset.ofHours(-3)), 7L);
+
+        ViolationCursor decoded = ViolationCursor.decode(cursor.encode());
+
+        assertEquals(OffsetDateTime.of(2025, 7, 20, 22, 0, 0, 0, ZoneOffset.UTC), decoded.occurrenceDateUtc());
+        assertEquals(7L, decoded.id());
+    }
+
+    @Test
+    void encodeShouldBeUrlSafe() {
+        String token = new ViolationCursor(OffsetDateTime.now(ZoneOffset.UTC), Long.MAX_VALUE).encode();
+
+        assertTrue(token.matches("[A-Za-z0-9_-]+"), token);
+    }
+
+    @Test
+    void decodeShouldRejectMalformedTokens() {
+        assertThrows(ViolationValidationException.class, () -> ViolationCursor.decode("%%%"));
+        assertThrows(ViolationValidationException.class, () -> ViolationCursor.decode("bm90LWEtY3Vyc29y"));
+        assertThrows(ViolationValidationException.class, () -> ViolationCursor.decode(""));
+    }
+
+    @Test
+    void afterShouldPointAtTheViolation() {
+        OffsetDateTime occurrence = OffsetDateTime.of(2025, 7, 20, 22, 0, 0, 0, ZoneOffset.UTC);
+        Violation violation = Violation.builder().id(5L).occurrenceDateUtc(occurrence).build();
+
+        assertEquals(new ViolationCursor(occurrence, 5L), ViolationCursor.after(violation));
+    }
+}
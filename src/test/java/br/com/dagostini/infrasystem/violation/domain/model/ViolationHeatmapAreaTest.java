@@ -0,0 +1,35 @@
+package br.com.dagostini.infrasystem.violation.domain.model;
+
+import br.com.dagostini.infrasystem.violation.domain.exception.ViolationValidationException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ViolationHeatmapAreaTest {
+
+    @Test
+    void ofShouldCoverTheBoxWithTileRanges() {
+        ViolationHeatmapArea area = ViolationHeatmapArea.of("-46.70, -23.60, -46.60, -23.50", 12);
+
+        assertEquals(new ViolationHeatmapArea(12, MapTile.column(12, -46.70), MapTile.column(12, -46.60),
+                MapTile.row(12, -23.50), MapTile.row(12, -23.60)), area);
+        assertEquals((long) (area.maxX() - area.minX() + 1) * (area.maxY() - area.minY() + 1), area.tiles());
+    }
+
+    @Test
+    void wholeWorldAtZoomZeroShouldBeOneTile() {
+        assertEquals(1, ViolationHeatmapArea.of("-180,-90,180,90", 0).tiles());
+    }
+
+    @Test
+    void ofShouldRejectInvalidBoxesAndZooms() {
+        assertThrows(ViolationValidationException.class, () -> ViolationHeatmapArea.of("-46.7,-23.6,-46.6", 10));
+        assertThrows(ViolationValidationException.class, () -> ViolationHeatmapArea.of("a,b,c,d", 10));
+        assertThrows(ViolationValidationException.class, () -> ViolationHeatmapArea.of(null, 10));
+        assertThrows(ViolationValidationException.class, () -> ViolationHeatmapArea.of("170,-10,-170,10", 10));
+        assertThrows(ViolationValidationException.class, () -> ViolationHeatmapArea.of("-46.7,-23.5,-46.6,-23.6", 10));
+        assertThrows(ViolationValidationException.class, () -> ViolationHeatmapArea.of("-46.7,-23.6,-46.6,-23.5", 17));
+        assertThrows(ViolationValidationException.class, () -> ViolationHeatmapArea.of("-46.7,-23.6,-46.6,-23.5", -1));
+    }
+}
@@ -0,0 +1,57 @@
+package br.com.dagostini.infrasystem.violation.domain.model;
+
+import br.com.dagostini.infrasystem.violation.domain.exception.ViolationValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ViolationStatsTest {
+
+    private static final Instant DAY_START = Instant.parse("2025-07-20T00:00:00Z");
+
+    private static ViolationRollup rollup(String hour, String type, long violations) {
+        return new ViolationRollup("ABC12345", Instant.parse(hour), type, violations);
+    }
+
+    @Test
+    void hourlyStatsShouldIncludeEmptyBucketsAndMergeRepeatedKeys() {
+        ViolationStats stats = ViolationStats.of("ABC12345", ViolationStatsGranularity.HOUR, DAY_START, DAY_START.plusSeconds(3 * 3600),
+                List.of(rollup("2025-07-20T00:00:00Z", "VELOCITY", 2),
+                        rollup("2025-07-20T02:00:00Z", "VELOCITY", 1),
+                        rollup("2025-07-20T02:00:00Z", "VELOCITY", 4),
+                        rollup("2025-07-20T02:00:00Z", "RED_LIGHT", 1),
+                        rollup("2025-07-20T03:00:00Z", "VELOCITY", 9)));
+
+        assertEquals(8, stats.total());
+        assertEquals(List.of(2L, 0L, 6L), stats.buckets().stream().map(ViolationStats.Bucket::total).toList());
+        assertEquals(Instant.parse("2025-07-20T01:00:00Z"), stats.buckets().get(1).start());
+        assertEquals(Map.of("RED_LIGHT", 1L, "VELOCITY", 5L), stats.buckets().get(2).byType());
+    }
+
+    @Test
+    void dailyStatsShouldFoldTheHoursOfEachDay() {
+        ViolationStats stats = ViolationStats.of("ABC12345", ViolationStatsGranularity.DAY, DAY_START, DAY_START.plusSeconds(2 * 86400),
+                List.of(rollup("2025-07-20T00:00:00Z", "VELOCITY", 2),
+                        rollup("2025-07-20T23:00:00Z", "VELOCITY", 3),
+                        rollup("2025-07-21T12:00:00Z", "VELOCITY", 1)));
+
+        assertEquals(List.of(5L, 1L), stats.buckets().stream().map(ViolationStats.Bucket::total).toList());
+    }
+
+    @Test
+    void granularityShouldAlignToUtcAndRejectUnknownValues() {
+        Instant instant = Instant.parse("2025-07-20T13:45:00Z");
+
+        assertEquals(ViolationStatsGranularity.HOUR, ViolationStatsGranularity.from(null));
+        assertEquals(ViolationStatsGranularity.DAY, ViolationStatsGranularity.from("day"));
+        assertThrows(ViolationValidationException.class, () -> ViolationStatsGranularity.from("week"));
+        assertEquals(Instant.parse("2025-07-20T13:00:00Z"), ViolationStatsGranularity.HOUR.floor(instant));
+        assertEquals(Instant.parse("2025-07-21T00:00:00Z"), ViolationStatsGranularity.DAY.ceil(instant));
+        assertEquals(DAY_START, ViolationStatsGranularity.DAY.ceil(DAY_START));
+        assertEquals(Instant.parse("2025-06-20T00:00:00Z"), ViolationStatsGranularity.DAY.defaultFrom(DAY_START));
+    }
+}
@@ -1,9 +1,12 @@
 package br.com.dagostini.infrasystem.violation.domain.service;
 
 import br.com.dagostini.infrasystem.equipment.application.service.EquipmentServiceAdapter;
+import br.com.dagostini.infrasystem.equipment.domain.exception.EquipmentNotFoundException;
 import br.com.dagostini.infrasystem.violation.application.service.ViolationServiceAdapter;
 import br.com.dagostini.infrasystem.violation.domain.exception.ViolationValidationException;
 import br.com.dagostini.infrasystem.violation.domain.model.Violation;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationBatchItem;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationPage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,12 +19,14 @@ import java.time.ZoneOffset;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -129,10 +134,10 @@ class ViolationServiceImplTest {
     @Test
     void listViolationsByEquipment_shouldReturnViolationsList() {
         List<Violation> expectedViolations = Collections.singletonList(testViolation);
-        when(violationServiceAdapter.listViolationsByEquipment(TEST_SERIAL, TEST_DATE_FROM, TEST_DATE_TO))
-                .thenReturn(expectedViolations);
+        when(violationServiceAdapter.listViolationsByEquipment(TEST_SERIAL, TEST_DATE_FROM, TEST_DATE_TO, null, 100))
+                .thenReturn(new ViolationPage(expectedViolations, null));
 
-        List<Violation> result = violationService.listViolationsByEquipment(TEST_SERIAL, TEST_DATE_FROM, TEST_DATE_TO);
+        List<Violation> result = violationService.listViolationsByEquipment(TEST_SERIAL, TEST_DATE_FROM, TEST_DATE_TO, null, 100).violations();
 
         assertNotNull(result);
         assertEquals(1, result.size());
@@ -140,44 +145,151 @@ class ViolationServiceImplTest {
         assertEquals(TEST_ID, result.get(0).id());
         assertEquals(TEST_SERIAL, result.get(0).equipmentSerial());
         assertEquals(TEST_DATE, result.get(0).occurrenceDateUtc());
-        verify(violationServiceAdapter, times(1)).listViolationsByEquipment(TEST_SERIAL, TEST_DATE_FROM, TEST_DATE_TO);
+        verify(violationServiceAdapter, times(1)).listViolationsByEquipment(TEST_SERIAL, TEST_DATE_FROM, TEST_DATE_TO, null, 100);
     }
 
     @Test
     void listViolationsByEquipment_shouldReturnEmptyListWhenNoViolationsFound() {
-        when(violationServiceAdapter.listViolationsByEquipment(TEST_SERIAL, TEST_DATE_FROM, TEST_DATE_TO))
-                .thenReturn(Collections.emptyList());
+        when(violationServiceAdapter.listViolationsByEquipment(TEST_SERIAL, TEST_DATE_FROM, TEST_DATE_TO, null, 100))
+                .thenReturn(new ViolationPage(Collections.emptyList(), null));
 
-        List<Violation> result = violationService.listViolationsByEquipment(TEST_SERIAL, TEST_DATE_FROM, TEST_DATE_TO);
+        List<Violation> result = violationService.listViolationsByEquipment(TEST_SERIAL, TEST_DATE_FROM, TEST_DATE_TO, null, 100).violations();
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
-        verify(violationServiceAdapter, times(1)).listViolationsByEquipment(TEST_SERIAL, TEST_DATE_FROM, TEST_DATE_TO);
+        verify(violationServiceAdapter, times(1)).listViolationsByEquipment(TEST_SERIAL, TEST_DATE_FROM, TEST_DATE_TO, null, 100);
     }
 
     @Test
     void listViolationsByEquipment_shouldHandleNullDates() {
         List<Violation> expectedViolations = Collections.singletonList(testViolation);
-        when(violationServiceAdapter.listViolationsByEquipment(TEST_SERIAL, null, null))
-                .thenReturn(expectedViolations);
+        when(violationServiceAdapter.listViolationsByEquipment(TEST_SERIAL, null, null, null, 100))
+                .thenReturn(new ViolationPage(expectedViolations, null));
 
-        List<Violation> result = violationService.listViolationsByEquipment(TEST_SERIAL, null, null);
+        List<Violation> result = violationService.listViolationsByEquipment(TEST_SERIAL, null, null, null, 100).violations();
 
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(testViolation, result.get(0));
-        verify(violationServiceAdapter, times(1)).listViolationsByEquipment(TEST_SERIAL, null, null);
+        verify(violationServiceAdapter, times(1)).listViolationsByEquipment(TEST_SERIAL, null, null, null, 100);
     }
 
     @Test
     void listViolationsByEquipment_shouldThrowExceptionWhenServiceAdapterFails() {
         RuntimeException exception = new RuntimeException("Service error");
-        when(violationServiceAdapter.listViolationsByEquipment(TEST_SERIAL, TEST_DATE_FROM, TEST_DATE_TO))
+        when(violationServiceAdapter.listViolationsByEquipment(TEST_SERIAL, TEST_DATE_FROM, TEST_DATE_TO, null, 100))
                 .thenThrow(exception);
 
         RuntimeException thrown = assertThrows(RuntimeException.class, () ->
-                violationService.listViolationsByEquipment(TEST_SERIAL, TEST_DATE_FROM, TEST_DATE_TO));
+                violationService.listViolationsByEquipment(TEST_SERIAL, TEST_DATE_FROM, TEST_DATE_TO, null, 100));
         assertEquals("Service error", thrown.getMessage());
-        verify(violationServiceAdapter, times(1)).listViolationsByEquipment(TEST_SERIAL, TEST_DATE_FROM, TEST_DATE_TO);
+        verify(violationServiceAdapter, times(1)).listViolationsByEquipment(TEST_SERIAL, TEST_DATE_FROM, TEST_DATE_TO, null, 100);
     }
-}
\ No newline at end of file
+
+    @Test
+    void validateEquipments_shouldCheckEachSerialOnceAndRejectItemsOfInactiveOrUnknownEquipment() {
+        Violation unknown = testViolation.toBuilder().equipmentSerial("UNKNOWN1").build();
+        List<ViolationBatchItem> items = List.of(
+                ViolationBatchItem.accepted(0, testViolation),
+                ViolationBatchItem.rejected(1, "Picture part 'p1' not found."),
+                ViolationBatchItem.accepted(2, testViolation),
+                ViolationBatchItem.accepted(3, unknown));
+        when(equipmentServiceAdapter.isEquipmentActive(TEST_SERIAL)).thenReturn(false);
+        when(equipmentServiceAdapter.isEquipmentActive("UNKNOWN1")).thenThrow(new EquipmentNotFoundException("UNKNOWN1"));
+
+        List<ViolationBatchItem> result = violationService.validateEquipments(items);
+
+        assertEquals("Cannot create violation for inactive equipment: " + TEST_SERIAL, result.get(0).error());
+        assertEquals("Picture part 'p1' not found.", result.get(1).error());
+        assertEquals("Cannot create violation for inactive equipment: " + TEST_SERIAL, result.get(2).error());
+        assertEquals("Equipment with serial UNKNOWN1 not found.", result.get(3).error());
+        verify(equipmentServiceAdapter, times(1)).isEquipmentActive(TEST_SERIAL);
+        verifyNoInteractions(violationServiceAdapter);
+    }
+
+    @Test
+    void isEquipmentCached_shouldDelegateToTheEquipmentService() {
+        when(equipmentServiceAdapter.isEquipmentCached(TEST_SERIAL)).thenReturn(true);
+
+        assertTrue(violationService.isEquipmentCached(TEST_SERIAL));
+    }
+
+    @Test
+    void validateEquipments_shouldKeepItemsOfActiveEquipment() {
+        List<ViolationBatchItem> items = List.of(ViolationBatchItem.accepted(0, testViolation));
+        when(equipmentServiceAdapter.isEquipmentActive(TEST_SERIAL)).thenReturn(true);
+
+        assertEquals(items, violationService.validateEquipments(items));
+    }
+
+    @Test
+    void registerViolations_shouldSaveAcceptedItemsTogether() {
+        Violation second = testViolation.toBuilder().id(null).build();
+        Violation saved = testViolation.toBuilder().id(2L).build();
+        List<ViolationBatchItem> items = List.of(
+                ViolationBatchItem.accepted(0, testViolation),
+                ViolationBatchItem.rejected(1, "Picture part 'p1' not found."),
+                ViolationBatchItem.accepted(2, second));
+        when(violationServiceAdapter.saveViolationRegistries(List.of(testViolation, second)))
+                .thenReturn(List.of(testViolation, saved));
+
+        List<ViolationBatchItem> result = violationService.registerViolations(items);
+
+        assertEquals(3, result.size());
+        assertEquals(testViolation, result.get(0).violation());
+        assertTrue(result.get(1).isRejected());
+        assertEquals(saved, result.get(2).violation());
+        assertEquals(2, result.get(2).index());
+        verify(violationServiceAdapter, never()).saveViolationRegistry(any());
+        verifyNoInteractions(equipmentServiceAdapter);
+    }
+
+    @Test
+    void registerViolations_shouldSaveOneByOneWhenTheBatchFails() {
+        Violation failing = testViolation.toBuilder().id(null).equipmentSerial("FAILING1").build();
+        Violation saved = testViolation.toBuilder().id(2L).build();
+        List<ViolationBatchItem> items = List.of(
+                ViolationBatchItem.accepted(0, testViolation),
+                ViolationBatchItem.accepted(1, failing));
+        when(violationServiceAdapter.saveViolationRegistries(List.of(testViolation, failing)))
+                .thenThrow(new RuntimeException("Database error"));
+        when(violationServiceAdapter.saveViolationRegistry(testViolation)).thenReturn(saved);
+        when(violationServiceAdapter.saveViolationRegistry(failing)).thenThrow(new RuntimeException("Value too long"));
+
+        List<ViolationBatchItem> result = violationService.registerViolations(items);
+
+        assertEquals(ViolationBatchItem.accepted(0, saved), result.get(0));
+        assertEquals(ViolationBatchItem.rejected(1, "Failed to persist violation"), result.get(1));
+    }
+
+    @Test
+    void registerViolations_shouldNotSaveWhenEveryItemIsRejected() {
+        List<ViolationBatchItem> items = List.of(ViolationBatchItem.rejected(0, "Picture part 'p0' not found."));
+
+        assertEquals(items, violationService.registerViolations(items));
+        verifyNoInteractions(violationServiceAdapter);
+    }
+
+    @Test
+    void validateEquipment_shouldRejectInactiveEquipment() {
+        when(equipmentServiceAdapter.isEquipmentActive(TEST_SERIAL)).thenReturn(false);
+
+        assertThrows(ViolationValidationException.class, () -> violationService.validateEquipment(TEST_SERIAL));
+        verifyNoInteractions(violationServiceAdapter);
+    }
+
+    @Test
+    void registerViolation_shouldSaveWithoutCheckingEquipment() {
+        when(violationServiceAdapter.saveViolationRegistry(testViolation)).thenReturn(testViolation);
+
+        assertEquals(testViolation, violationService.registerViolation(testViolation));
+        verifyNoInteractions(equipmentServiceAdapter);
+    }
+
+    @Test
+    void findViolationByIdempotencyKey_shouldDelegateToAdapter() {
+        when(violationServiceAdapter.findViolationByIdempotencyKey("key-1")).thenReturn(Optional.of(testViolation));
+
+        assertEquals(Optional.of(testViolation), violationService.findViolationByIdempotencyKey("key-1"));
+    }
+}
@@ -0,0 +1,136 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.export;
+
+import br.com.dagostini.infrasystem.violation.domain.model.Violation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ViolationCursorExporterTest {
+
+    private static final OffsetDateTime OCCURRENCE = OffsetDateTime.of(2024, 3, 1, 10, 15, 30, 0, ZoneOffset.UTC);
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private ViolationCursorExporter exporter;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(ViolationCursorExporter.SELECT_BY_SERIAL,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)).thenReturn(statement);
+        exporter = new ViolationCursorExporter(dataSource, 500);
+    }
+
+    @Test
+    void exportBySerial_shouldHandEachRowToTheSink() throws Exception {
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, true, false);
+        when(resultSet.getLong(1)).thenReturn(1L, 2L);
+        when(resultSet.getString(2)).thenReturn("ABC12345");
+        when(resultSet.getObject(3, OffsetDateTime.class)).thenReturn(OCCURRENCE, OCCURRENCE.plusSeconds(1));
+        when(resultSet.getObject(4, Double.class)).thenReturn(92.5, (Double) null);
+        when(resultSet.getString(7)).thenReturn("pic-1.jpg", "pic-2.jpg");
+        when(resultSet.getString(8)).thenReturn("VELOCITY", "STOP_CROSSWALKING");
+        List<Violation> exported = new ArrayList<>();
+
+        long count = exporter.exportBySerial("ABC12345", null, null, exported::add);
+
+        assertEquals(2, count);
+        assertEquals(2, exported.size());
+        assertEquals(1L, exported.get(0).id());
+        assertEquals(OCCURRENCE, exported.get(0).occurrenceDateUtc());
+        assertEquals(92.5, exported.get(0).measuredSpeed());
+        assertEquals("STOP_CROSSWALKING", exported.get(1).type());
+        assertNull(exported.get(1).measuredSpeed());
+    }
+
+    @Test
+    void exportBySerial_shouldReadThroughACursorOutsideAutoCommit() throws Exception {
+        when(statement.executeQuery()).thenReturn(resultSet);
+
+        exporter.exportBySerial("ABC12345", null, null, violation -> { });
+
+        InOrder order = inOrder(connection, statement);
+        order.verify(connection).setAutoCommit(false);
+        order.verify(statement).setFetchSize(500);
+        order.verify(statement).executeQuery();
+        order.verify(connection).rollback();
+        verify(connection).setReadOnly(true);
+        verify(connection).close();
+    }
+
+    @Test
+    void exportBySerial_shouldBindTheDateRange() throws Exception {
+        when(statement.executeQuery()).thenReturn(resultSet);
+        Date from = Date.from(OCCURRENCE.toInstant());
+        Date to = Date.from(OCCURRENCE.plusDays(1).toInstant());
+
+        exporter.exportBySerial("ABC12345", from, to, violation -> { });
+
+        verify(statement).setString(1, "ABC12345");
+        verify(statement).setObject(2, OCCURRENCE);
+        verify(statement).setObject(3, OCCURRENCE.plusDays(1));
+    }
+
+    @Test
+    void exportBySerial_shouldStopWhenTheSinkFails() throws Exception {
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getObject(eq(3), eq(OffsetDateTime.class))).thenReturn(OCCURRENCE);
+
+        assertThrows(IllegalArgumentException.class, () -> exporter.exportBySerial("ABC12345", null, null, violation -> {
+            throw new IllegalArgumentException("client went away");
+        }));
+
+        verify(resultSet).close();
+        verify(connection).rollback();
+        verify(connection).close();
+    }
+
+    @Test
+    void exportBySerial_shouldWrapDatabaseErrors() throws Exception {
+        when(statement.executeQuery()).thenThrow(new SQLException("connection reset"));
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+                () -> exporter.exportBySerial("ABC12345", null, null, violation -> { }));
+
+        assertEquals("Failed to export violations", ex.getMessage());
+        verify(statement).setObject(eq(2), any(OffsetDateTime.class));
+        verify(statement).setFetchSize(anyInt());
+    }
+}
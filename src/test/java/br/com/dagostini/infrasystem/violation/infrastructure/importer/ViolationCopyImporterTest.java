@@ -0,0 +1,185 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.importer;
+
+import br.com.dagostini.infrasystem.equipment.infrastructure.persistence.repository.EquipmentJpaRepository;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationImportFormat;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationImportReport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ViolationCopyImporterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PGConnection pgConnection;
+
+    @Mock
+    private CopyManager copyManager;
+
+    @Mock
+    private PreparedStatement selectCheckpoint;
+
+    @Mock
+    private PreparedStatement upsertCheckpoint;
+
+    @Mock
+    private ResultSet resultSet;
+
+    @Mock
+    private EquipmentJpaRepository equipmentJpaRepository;
+
+    private final List<String> copiedChunks = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.isWrapperFor(PGConnection.class)).thenReturn(true);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+        when(connection.prepareStatement(ViolationCopyImporter.SELECT_CHECKPOINT)).thenReturn(selectCheckpoint);
+        when(connection.prepareStatement(ViolationCopyImporter.UPSERT_CHECKPOINT)).thenReturn(upsertCheckpoint);
+        when(selectCheckpoint.executeQuery()).thenReturn(resultSet);
+        when(copyManager.copyIn(eq(ViolationCopyImporter.COPY_SQL), any(Reader.class))).thenAnswer(invocation -> {
+            String chunk = new BufferedReader(invocation.getArgument(1, Reader.class)).lines().collect(Collectors.joining("\n"));
+            copiedChunks.add(chunk);
+            return chunk.lines().count();
+        });
+        when(equipmentJpaRepository.findAllSerials()).thenReturn(List.of("ABC12345"));
+    }
+
+    private ViolationCopyImporter importer(int chunkSize) {
+        return new ViolationCopyImporter(dataSource, equipmentJpaRepository,
+                new ViolationImportLineParser(new ObjectMapper()), chunkSize);
+    }
+
+    private Path csv(String... lines) throws Exception {
+        Path file = tempDir.resolve("violations.csv");
+        List<String> content = new ArrayList<>();
+        content.add(ViolationImportLineParser.CSV_HEADER);
+        content.addAll(List.of(lines));
+        Files.write(file, content);
+        return file;
+    }
+
+    @Test
+    void importFrom_shouldCopyValidLinesAndRejectInvalidOnes() throws Exception {
+        Path file = csv(
+                "ABC12345,2024-03-01T10:15:30Z,92.5,85,80,pic-1.jpg,VELOCITY",
+                "UNKNOWN1,2024-03-01T10:16:30Z,,,,pic-2.jpg,STOP_CROSSWALKING",
+                "ABC12345,2024-03-01T10:17:30Z,,,,pic-3.jpg,STOP_CROSSWALKING");
+
+        ViolationImportReport report = importer(100).importFrom(file, ViolationImportFormat.CSV);
+
+        assertEquals(2, report.imported());
+        assertEquals(1, report.rejected());
+        assertEquals(0, report.resumedFromLine());
+        assertEquals(4, report.lastLine());
+        assertEquals(1, copiedChunks.size());
+        assertTrue(copiedChunks.get(0).startsWith("\"ABC12345\",2024-03-01T10:15:30Z,92.5,85.0,80.0,\"pic-1.jpg\",\"VELOCITY\""));
+        List<String> rejects = Files.readAllLines(Path.of(report.rejectsFile()));
+        assertEquals(1, rejects.size());
+        assertTrue(rejects.get(0).startsWith("3\tUnknown equipment serial: UNKNOWN1\t"));
+        verify(upsertCheckpoint).setLong(2, 4L);
+        verify(connection, times(1)).commit();
+    }
+
+    @Test
+    void importFrom_shouldCommitEveryChunk() throws Exception {
+        Path file = csv(
+                "ABC12345,2024-03-01T10:15:30Z,,,,pic-1.jpg,STOP_CROSSWALKING",
+                "ABC12345,2024-03-01T10:16:30Z,,,,pic-2.jpg,STOP_CROSSWALKING",
+                "ABC12345,2024-03-01T10:17:30Z,,,,pic-3.jpg,STOP_CROSSWALKING");
+
+        ViolationImportReport report = importer(2).importFrom(file, ViolationImportFormat.CSV);
+
+        assertEquals(3, report.imported());
+        assertNull(report.rejectsFile());
+        assertEquals(2, copiedChunks.size());
+        verify(connection, times(2)).commit();
+        assertFalse(Files.exists(tempDir.resolve("violations.csv" + ViolationCopyImporter.REJECTS_SUFFIX)));
+    }
+
+    @Test
+    void importFrom_shouldResumeAfterCheckpoint() throws Exception {
+        Path file = csv(
+                "ABC12345,2024-03-01T10:15:30Z,,,,pic-1.jpg,STOP_CROSSWALKING",
+                "ABC12345,2024-03-01T10:16:30Z,,,,pic-2.jpg,STOP_CROSSWALKING");
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getLong(1)).thenReturn(2L);
+        when(resultSet.getLong(2)).thenReturn(1L);
+        when(resultSet.getLong(3)).thenReturn(0L);
+
+        ViolationImportReport report = importer(100).importFrom(file, ViolationImportFormat.CSV);
+
+        assertEquals(2, report.resumedFromLine());
+        assertEquals(2, report.imported());
+        assertEquals(1, copiedChunks.size());
+        assertTrue(copiedChunks.get(0).contains("pic-2.jpg"));
+        assertFalse(copiedChunks.get(0).contains("pic-1.jpg"));
+    }
+
+    @Test
+    void importFrom_shouldRollbackWhenCopyFails() throws Exception {
+        Path file = csv("ABC12345,2024-03-01T10:15:30Z,,,,pic-1.jpg,STOP_CROSSWALKING");
+        when(copyManager.copyIn(eq(ViolationCopyImporter.COPY_SQL), any(Reader.class)))
+                .thenThrow(new java.sql.SQLException("insert violates foreign key"));
+
+        assertThrows(IllegalStateException.class, () -> importer(100).importFrom(file, ViolationImportFormat.CSV));
+
+        verify(connection).rollback();
+        verify(connection, never()).commit();
+        verify(upsertCheckpoint, never()).setLong(anyInt(), anyLong());
+    }
+
+    @Test
+    void importFrom_shouldRequirePostgres() throws Exception {
+        Path file = csv();
+        when(connection.isWrapperFor(PGConnection.class)).thenReturn(false);
+
+        assertThrows(IllegalStateException.class, () -> importer(100).importFrom(file, ViolationImportFormat.CSV));
+    }
+}
@@ -0,0 +1,74 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.importer;
+
+import br.com.dagostini.infrasystem.violation.domain.exception.ViolationValidationException;
+import br.com.dagostini.infrasystem.violation.domain.model.Violation;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationImportFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ViolationImportLineParserTest {
+
+    private final ViolationImportLineParser parser = new ViolationImportLineParser(new ObjectMapper());
+
+    @Test
+    void parse_shouldReadCsvLine() {
+        Violation violation = parser.parse(
+                "ABC12345,2024-03-01T10:15:30Z,92.5,85.0,80,\"s3://pictures/a,b.jpg\",VELOCITY", ViolationImportFormat.CSV);
+
+        assertEquals("ABC12345", violation.equipmentSerial());
+        assertEquals(OffsetDateTime.parse("2024-03-01T10:15:30Z"), violation.occurrenceDateUtc());
+        assertEquals(92.5, violation.measuredSpeed());
+        assertEquals(85.0, violation.consideredSpeed());
+        assertEquals(80.0, violation.regulatedSpeed());
+        assertEquals("s3://pictures/a,b.jpg", violation.picture());
+        assertEquals("VELOCITY", violation.type());
+    }
+
+    @Test
+    void parse_shouldReadNdjsonLine() {
+        Violation violation = parser.parse(
+                "{\"equipmentSerial\":\"ABC12345\",\"occurrenceDateUtc\":\"2024-03-01T10:15:30Z\","
+                        + "\"picture\":\"s3://pictures/a.jpg\",\"type\":\"STOP_CROSSWALKING\"}", ViolationImportFormat.NDJSON);
+
+        assertEquals("ABC12345", violation.equipmentSerial());
+        assertNull(violation.measuredSpeed());
+        assertEquals("STOP_CROSSWALKING", violation.type());
+    }
+
+    @Test
+    void parse_shouldRejectVelocityWithoutSpeeds() {
+        ViolationValidationException thrown = assertThrows(ViolationValidationException.class,
+                () -> parser.parse("ABC12345,2024-03-01T10:15:30Z,,,,pic.jpg,VELOCITY", ViolationImportFormat.CSV));
+
+        assertTrue(thrown.getMessage().contains("VELOCITY"));
+    }
+
+    @Test
+    void parse_shouldRejectMalformedLines() {
+        assertThrows(ViolationValidationException.class,
+                () -> parser.parse("ABC12345,2024-03-01T10:15:30Z,pic.jpg", ViolationImportFormat.CSV));
+        assertThrows(ViolationValidationException.class,
+                () -> parser.parse("ABC12345,yesterday,,,,pic.jpg,STOP_CROSSWALKING", ViolationImportFormat.CSV));
+        assertThrows(ViolationValidationException.class,
+                () -> parser.parse("ABC12345,2024-03-01T10:15:30Z,-1,1,1,pic.jpg,VELOCITY", ViolationImportFormat.CSV));
+        assertThrows(ViolationValidationException.class,
+                () -> parser.parse("ABC12345,2024-03-01T10:15:30Z,,,,pic.jpg,PARKING", ViolationImportFormat.CSV));
+        assertThrows(ViolationValidationException.class,
+                () -> parser.parse("{\"equipmentSerial\":", ViolationImportFormat.NDJSON));
+    }
+
+    @Test
+    void isHeader_shouldOnlyMatchCsvHeader() {
+        assertTrue(parser.isHeader(ViolationImportLineParser.CSV_HEADER, ViolationImportFormat.CSV));
+        assertFalse(parser.isHeader(ViolationImportLineParser.CSV_HEADER, ViolationImportFormat.NDJSON));
+        assertFalse(parser.isHeader("ABC12345,2024-03-01T10:15:30Z,,,,pic.jpg,VELOCITY", ViolationImportFormat.CSV));
+    }
+}
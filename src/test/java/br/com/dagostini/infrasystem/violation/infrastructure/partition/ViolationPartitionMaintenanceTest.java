@@ -0,0 +1,222 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.partition;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.postgresql.PGConnection;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ViolationPartitionMaintenanceTest {
+
+    private static final Clock JULY_2025 = Clock.fixed(Instant.parse("2025-07-15T12:00:00Z"), ZoneOffset.UTC);
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement lockStatement;
+
+    @Mock
+    private PreparedStatement unlockStatement;
+
+    @Mock
+    private ResultSet lockResult;
+
+    @Mock
+    private Statement statement;
+
+    @Mock
+    private ResultSet partitions;
+
+    @Mock
+    private ResultSet defaultMonths;
+
+    private final List<String> executed = new ArrayList<>();
+    private SimpleMeterRegistry meterRegistry;
+    private ViolationPartitionMaintenance maintenance;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        maintenance = new ViolationPartitionMaintenance(dataSource, meterRegistry, 2, 12, JULY_2025);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.isWrapperFor(PGConnection.class)).thenReturn(true);
+        when(connection.prepareStatement(ViolationPartitionMaintenance.TRY_LOCK)).thenReturn(lockStatement);
+        when(connection.prepareStatement(ViolationPartitionMaintenance.UNLOCK)).thenReturn(unlockStatement);
+        when(lockStatement.executeQuery()).thenReturn(lockResult);
+        when(unlockStatement.executeQuery()).thenReturn(lockResult);
+        when(lockResult.next()).thenReturn(true);
+        when(lockResult.getBoolean(1)).thenReturn(true);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(ViolationPartitionMaintenance.SELECT_PARTITIONS)).thenReturn(partitions);
+        when(statement.executeQuery(ViolationPartitionMaintenance.SELECT_DEFAULT_MONTHS)).thenReturn(defaultMonths);
+        doAnswer(invocation -> executed.add(invocation.getArgument(0))).when(statement).execute(anyString());
+    }
+
+    private void existingPartitions(String... names) throws SQLException {
+        Iterator<String> rows = List.of(names).iterator();
+        String[] current = new String[1];
+        when(partitions.next()).thenAnswer(invocation -> {
+            current[0] = rows.hasNext() ? rows.next() : null;
+            return current[0] != null;
+        });
+        when(partitions.getString(1)).thenAnswer(invocation -> current[0]);
+    }
+
+    @Test
+    void maintain_shouldCreateCurrentAndUpcomingMonths() throws Exception {
+        existingPartitions("violation_default", "violation_p202507");
+
+        maintenance.maintain();
+
+        assertEquals(List.of(
+                "CREATE TABLE IF NOT EXISTS violation_p202508 PARTITION OF violation "
+                        + "FOR VALUES FROM ('2025-08-01 00:00:00+00') TO ('2025-09-01 00:00:00+00')",
+                "CREATE TABLE IF NOT EXISTS violation_p202509 PARTITION OF violation "
+                        + "FOR VALUES FROM ('2025-09-01 00:00:00+00') TO ('2025-10-01 00:00:00+00')"), executed);
+        assertEquals(2.0, meterRegistry.counter("violation.partitions", "action", "created").count());
+        assertEquals(0.0, meterRegistry.get("violation.partitions.missing").gauge().value());
+        verify(unlockStatement).executeQuery();
+    }
+
+    @Test
+    void maintain_shouldMoveMonthsStrandedInTheDefaultPartition() throws Exception {
+        existingPartitions("violation_default", "violation_p202507", "violation_p202508", "violation_p202509");
+        when(defaultMonths.next()).thenReturn(true, false);
+        when(defaultMonths.getObject(1, LocalDateTime.class)).thenReturn(LocalDateTime.of(2025, 3, 1, 0, 0));
+
+        maintenance.maintain();
+
+        String rows = " WHERE occurrence_date_utc >= '2025-03-01 00:00:00+00' AND occurrence_date_utc < '2025-04-01 00:00:00+00'";
+        assertEquals(List.of(
+                ViolationPartitionMaintenance.LOCK_DEFAULT,
+                "CREATE TABLE violation_p202503 (LIKE violation INCLUDING DEFAULTS INCLUDING CONSTRAINTS)",
+                "INSERT INTO violation_p202503 SELECT * FROM violation_default" + rows,
+                "DELETE FROM violation_default" + rows,
+                "ALTER TABLE violation ATTACH PARTITION violation_p202503 "
+                        + "FOR VALUES FROM ('2025-03-01 00:00:00+00') TO ('2025-04-01 00:00:00+00')"), executed);
+        verify(connection).commit();
+        assertEquals(1.0, meterRegistry.counter("violation.partitions", "action", "moved").count());
+        assertEquals(0.0, meterRegistry.get("violation.partitions.missing").gauge().value());
+    }
+
+    @Test
+    void maintain_shouldRollBackAFailedMoveAndReportTheMonthMissing() throws Exception {
+        existingPartitions("violation_p202507", "violation_p202508", "violation_p202509");
+        when(defaultMonths.next()).thenReturn(true, false);
+        when(defaultMonths.getObject(1, LocalDateTime.class)).thenReturn(LocalDateTime.of(2025, 3, 1, 0, 0));
+        doAnswer(invocation -> {
+            String ddl = invocation.getArgument(0);
+            if (ddl.startsWith("ALTER TABLE violation ATTACH")) {
+                throw new SQLException("partition constraint is violated by some row");
+            }
+            return executed.add(ddl);
+        }).when(statement).execute(anyString());
+
+        maintenance.maintain();
+
+        verify(connection).rollback();
+        verify(connection, never()).commit();
+        assertEquals(1.0, meterRegistry.counter("violation.partition.failures", "action", "moved").count());
+        assertEquals(1.0, meterRegistry.get("violation.partitions.missing").gauge().value());
+    }
+
+    @Test
+    void maintain_shouldDetachMonthsPastRetention() throws Exception {
+        existingPartitions("violation_p202506", "violation_p202507", "violation_p202508", "violation_p202509",
+                "violation_p202407", "violation_p202406", "violation_p202405");
+
+        maintenance.maintain();
+
+        assertEquals(List.of(
+                "ALTER TABLE violation DETACH PARTITION violation_p202405",
+                "ALTER TABLE violation DETACH PARTITION violation_p202406"), executed);
+        assertEquals(2.0, meterRegistry.counter("violation.partitions", "action", "detached").count());
+    }
+
+    @Test
+    void maintain_shouldKeepGoingAndReportWhenOneStatementFails() throws Exception {
+        existingPartitions("violation_p202507");
+        doAnswer(invocation -> {
+            String ddl = invocation.getArgument(0);
+            if (ddl.contains("violation_p202508")) {
+                throw new SQLException("updated partition constraint for default partition would be violated");
+            }
+            return executed.add(ddl);
+        }).when(statement).execute(anyString());
+
+        maintenance.maintain();
+
+        assertEquals(1, executed.size());
+        assertTrue(executed.get(0).contains("violation_p202509"));
+        assertEquals(1.0, meterRegistry.counter("violation.partition.failures", "action", "created").count());
+        assertEquals(1.0, meterRegistry.get("violation.partitions.missing").gauge().value());
+    }
+
+    @Test
+    void maintain_shouldCountAFailedRun() throws Exception {
+        when(connection.createStatement()).thenThrow(new SQLException("connection reset"));
+
+        maintenance.maintain();
+
+        assertEquals(1.0, meterRegistry.counter("violation.partition.failures", "action", "maintain").count());
+        verify(unlockStatement).executeQuery();
+    }
+
+    @Test
+    void maintain_shouldSkipWhenAnotherNodeHoldsTheLock() throws Exception {
+        when(lockResult.getBoolean(1)).thenReturn(false);
+
+        maintenance.maintain();
+
+        verify(connection, never()).createStatement();
+        verify(unlockStatement, never()).executeQuery();
+    }
+
+    @Test
+    void maintain_shouldSkipOtherDatabases() throws Exception {
+        when(connection.isWrapperFor(PGConnection.class)).thenReturn(false);
+
+        maintenance.maintain();
+
+        verify(connection, never()).prepareStatement(anyString());
+        verify(connection).close();
+    }
+
+    @Test
+    void name_shouldUseYearAndMonth() {
+        assertEquals("violation_p202501", ViolationPartitionMaintenance.name(YearMonth.of(2025, 1)));
+    }
+}
@@ -0,0 +1,34 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.persistence.repository;
+
+import br.com.dagostini.infrasystem.violation.domain.model.EquipmentAnomaly;
+import br.com.dagostini.infrasystem.violation.infrastructure.rollup.ViolationAnomalyDetector;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EquipmentAnomalyRepositoryImplTest {
+
+    @Mock
+    private ViolationAnomalyDetector anomalyDetector;
+
+    @InjectMocks
+    private EquipmentAnomalyRepositoryImpl repository;
+
+    @Test
+    void findAllShouldAnswerFromTheDetector() {
+        List<EquipmentAnomaly> anomalies = List.of(new EquipmentAnomaly("CAM00001", EquipmentAnomaly.Type.DROP,
+                Instant.parse("2025-07-20T14:00:00Z"), 0, 21.5));
+        when(anomalyDetector.anomalies()).thenReturn(anomalies);
+
+        assertEquals(anomalies, repository.findAll());
+    }
+}
@@ -0,0 +1,39 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.persistence.repository;
+
+import br.com.dagostini.infrasystem.violation.domain.model.MapTile;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationHeatmap;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationHeatmapArea;
+import br.com.dagostini.infrasystem.violation.infrastructure.rollup.ViolationHeatmapStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ViolationHeatmapRepositoryImplTest {
+
+    private static final Instant FROM = Instant.parse("2025-07-20T00:00:00Z");
+    private static final Instant TO = Instant.parse("2025-07-21T00:00:00Z");
+
+    @Mock
+    private ViolationHeatmapStore store;
+
+    @InjectMocks
+    private ViolationHeatmapRepositoryImpl repository;
+
+    @Test
+    void findTilesShouldReadTheStoredAggregates() {
+        ViolationHeatmapArea area = new ViolationHeatmapArea(10, 378, 380, 579, 581);
+        List<ViolationHeatmap.Tile> tiles = List.of(ViolationHeatmap.Tile.of(new MapTile(10, 379, 580), 5));
+        when(store.findTiles(area, FROM, TO)).thenReturn(tiles);
+
+        assertEquals(tiles, repository.findTiles(area, FROM, TO));
+    }
+}
@@ -1,16 +1,28 @@
 package br.com.dagostini.infrasystem.violation.infrastructure.persistence.repository;
 
 import br.com.dagostini.infrasystem.violation.domain.model.Violation;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationCursor;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationPage;
 import br.com.dagostini.infrasystem.violation.infrastructure.persistence.entity.ViolationEntity;
 import br.com.dagostini.infrasystem.violation.infrastructure.persistence.mapper.ViolationMapper;
+import br.com.dagostini.infrasystem.violation.infrastructure.rollup.ViolationAnomalyDetector;
+import br.com.dagostini.infrasystem.violation.infrastructure.rollup.ViolationHeatmapCounters;
+import br.com.dagostini.infrasystem.violation.infrastructure.rollup.ViolationHotWindow;
+import br.com.dagostini.infrasystem.violation.infrastructure.rollup.ViolationRollupCounters;
+import br.com.dagostini.infrasystem.violation.infrastructure.rollup.ViolationSpeedHistograms;
+import br.com.dagostini.infrasystem.violation.infrastructure.rollup.ViolationTopEquipment;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -24,9 +36,29 @@ class ViolationRepositoryImplTest {
     @Mock
     private ViolationMapper mapper;
 
+    @Mock
+    private ViolationRollupCounters rollupCounters;
+
+    @Mock
+    private ViolationSpeedHistograms speedHistograms;
+
+    @Mock
+    private ViolationHeatmapCounters heatmapCounters;
+
+    @Mock
+    private ViolationTopEquipment topEquipment;
+
+    @Mock
+    private ViolationAnomalyDetector anomalyDetector;
+
+    @Mock
+    private ViolationHotWindow hotWindow;
+
     @InjectMocks
     private ViolationRepositoryImpl violationRepository;
 
+    private static final OffsetDateTime FIRST = OffsetDateTime.of(2025, 7, 20, 22, 0, 0, 0, ZoneOffset.UTC);
+
     private Violation violationDomain;
     private ViolationEntity violationEntity;
 
@@ -48,62 +80,103 @@ class ViolationRepositoryImplTest {
         verify(jpaRepository).save(violationEntity);
         verify(mapper).toEntity(violationDomain);
         verify(mapper).toDomain(violationEntity);
+        verify(rollupCounters).record(violationDomain);
+        verify(speedHistograms).record(violationDomain);
+        verify(heatmapCounters).record(violationDomain);
+        verify(topEquipment).record(violationDomain);
+        verify(anomalyDetector).record(violationDomain);
+        verify(hotWindow).record(violationDomain);
     }
 
     @Test
     void findById_ShouldReturnDomain_WhenEntityExists() {
-        when(jpaRepository.getReferenceById(12345L)).thenReturn(violationEntity);
+        when(jpaRepository.findById(12345L)).thenReturn(Optional.of(violationEntity));
         when(mapper.toDomain(violationEntity)).thenReturn(violationDomain);
 
         Violation found = violationRepository.findById(12345L);
 
         assertNotNull(found);
         assertEquals(violationDomain, found);
-        verify(jpaRepository).getReferenceById(12345L);
+        verify(jpaRepository).findById(12345L);
         verify(mapper).toDomain(violationEntity);
     }
 
     @Test
     void findById_ShouldThrowException_WhenJpaThrows() {
-        when(jpaRepository.getReferenceById(12345L)).thenThrow(new RuntimeException("DB error"));
+        when(jpaRepository.findById(12345L)).thenThrow(new RuntimeException("DB error"));
 
         RuntimeException thrown = assertThrows(RuntimeException.class,
                 () -> violationRepository.findById(12345L));
 
         assertEquals("DB error", thrown.getMessage());
-        verify(jpaRepository).getReferenceById(12345L);
+        verify(jpaRepository).findById(12345L);
     }
 
     @Test
-    void findBySerialAndOptionalDateRange_ShouldCallFindBySerial_WhenDatesNull() {
+    void findPageBySerial_ShouldStartAtFromDate_WhenNoCursor() {
         List<ViolationEntity> entities = List.of(violationEntity);
         List<Violation> domainList = List.of(violationDomain);
+        Date from = Date.from(FIRST.toInstant());
+        Date to = Date.from(FIRST.plusDays(1).toInstant());
 
-        when(jpaRepository.findBySerialAndOptional("serial123")).thenReturn(entities);
+        when(jpaRepository.findPageBySerial("serial123", FIRST, Long.MIN_VALUE, FIRST.plusDays(1), 11)).thenReturn(entities);
         when(mapper.toDomainList(entities)).thenReturn(domainList);
 
-        List<Violation> result = violationRepository.findBySerialAndOptionalDateRange("serial123", null, null);
+        ViolationPage page = violationRepository.findPageBySerial("serial123", from, to, null, 10);
 
-        assertEquals(1, result.size());
-        verify(jpaRepository).findBySerialAndOptional("serial123");
-        verify(mapper).toDomainList(entities);
+        assertEquals(domainList, page.violations());
+        assertFalse(page.hasNext());
     }
 
     @Test
-    void findBySerialAndOptionalDateRange_ShouldCallFindBySerialAndDateRange_WhenDatesPresent() {
-        List<ViolationEntity> entities = List.of(violationEntity);
-        List<Violation> domainList = List.of(violationDomain);
-        Date from = new Date();
-        Date to = new Date();
+    void findPageBySerial_ShouldUseOpenRange_WhenDatesNull() {
+        when(jpaRepository.findPageBySerial(eq("serial123"), any(OffsetDateTime.class), eq(Long.MIN_VALUE), any(OffsetDateTime.class), eq(11)))
+                .thenReturn(List.of());
+        when(mapper.toDomainList(List.of())).thenReturn(List.of());
 
-        when(jpaRepository.findBySerialAndOptionalDateRange("serial123", from, to)).thenReturn(entities);
-        when(mapper.toDomainList(entities)).thenReturn(domainList);
+        ViolationPage page = violationRepository.findPageBySerial("serial123", null, null, null, 10);
+
+        assertTrue(page.violations().isEmpty());
+        assertFalse(page.hasNext());
+    }
+
+    @Test
+    void findPageBySerial_ShouldContinueAfterCursor() {
+        ViolationCursor after = new ViolationCursor(FIRST, 42L);
+        when(jpaRepository.findPageBySerial(eq("serial123"), eq(FIRST), eq(42L), any(OffsetDateTime.class), eq(11)))
+                .thenReturn(List.of());
+        when(mapper.toDomainList(List.of())).thenReturn(List.of());
+
+        violationRepository.findPageBySerial("serial123", null, null, after, 10);
+
+        verify(jpaRepository).findPageBySerial(eq("serial123"), eq(FIRST), eq(42L), any(OffsetDateTime.class), eq(11));
+    }
 
-        List<Violation> result = violationRepository.findBySerialAndOptionalDateRange("serial123", from, to);
+    @Test
+    void findPageBySerial_ShouldTrimExtraRowAndPointCursorAtLastReturned() {
+        Violation first = Violation.builder().id(1L).occurrenceDateUtc(FIRST).build();
+        Violation second = Violation.builder().id(2L).occurrenceDateUtc(FIRST.plusSeconds(1)).build();
+        Violation third = Violation.builder().id(3L).occurrenceDateUtc(FIRST.plusSeconds(2)).build();
+        List<ViolationEntity> entities = List.of(violationEntity, violationEntity, violationEntity);
+        when(jpaRepository.findPageBySerial(eq("serial123"), any(OffsetDateTime.class), anyLong(), any(OffsetDateTime.class), eq(3)))
+                .thenReturn(entities);
+        when(mapper.toDomainList(entities)).thenReturn(List.of(first, second, third));
+
+        ViolationPage page = violationRepository.findPageBySerial("serial123", null, null, null, 2);
+
+        assertEquals(List.of(first, second), page.violations());
+        assertEquals(new ViolationCursor(second.occurrenceDateUtc(), 2L), page.next());
+    }
+
+    @Test
+    void findPageBySerial_ShouldThrowException_WhenJpaFails() {
+        when(jpaRepository.findPageBySerial(eq("serial123"), any(OffsetDateTime.class), anyLong(), any(OffsetDateTime.class), anyInt()))
+                .thenThrow(new RuntimeException("DB find error"));
+
+        RuntimeException ex = assertThrows(RuntimeException.class,
+                () -> violationRepository.findPageBySerial("serial123", null, null, null, 10));
 
-        assertEquals(1, result.size());
-        verify(jpaRepository).findBySerialAndOptionalDateRange("serial123", from, to);
-        verify(mapper).toDomainList(entities);
+        assertEquals("DB find error", ex.getMessage());
     }
 
     @Test
@@ -119,36 +192,74 @@ class ViolationRepositoryImplTest {
     }
 
     @Test
-    void findById_ShouldThrowException_WhenJpaGetReferenceFails() {
-        when(jpaRepository.getReferenceById(12345L)).thenThrow(new RuntimeException("DB find error"));
+    void findById_ShouldReturnNull_WhenEntityDoesNotExist() {
+        when(jpaRepository.findById(12345L)).thenReturn(Optional.empty());
 
-        RuntimeException ex = assertThrows(RuntimeException.class, () -> violationRepository.findById(12345L));
+        assertNull(violationRepository.findById(12345L));
+        verify(mapper, never()).toDomain(any(ViolationEntity.class));
+    }
 
-        assertEquals("DB find error", ex.getMessage());
-        verify(jpaRepository).getReferenceById(12345L);
+    @Test
+    void saveAll_ShouldSaveEntitiesInOneCallAndReturnDomainList() {
+        List<Violation> domainList = List.of(violationDomain, violationDomain);
+        List<ViolationEntity> entities = List.of(violationEntity, violationEntity);
+        when(mapper.toEntityList(domainList)).thenReturn(entities);
+        when(jpaRepository.saveAll(entities)).thenReturn(entities);
+        when(mapper.toDomainList(entities)).thenReturn(domainList);
+
+        List<Violation> saved = violationRepository.saveAll(domainList);
+
+        assertEquals(2, saved.size());
+        verify(jpaRepository, times(1)).saveAll(entities);
+        verify(jpaRepository, never()).save(any());
+        verify(rollupCounters).record(domainList);
+        verify(speedHistograms).record(domainList);
+        verify(heatmapCounters).record(domainList);
+        verify(topEquipment).record(domainList);
+        verify(anomalyDetector).record(domainList);
+        verify(hotWindow).record(domainList);
     }
 
     @Test
-    void findBySerialAndOptionalDateRange_ShouldThrowException_WhenJpaFindBySerialFails() {
-        when(jpaRepository.findBySerialAndOptional("serial123")).thenThrow(new RuntimeException("DB find error"));
+    void saveAll_ShouldThrowException_WhenJpaSaveAllFails() {
+        List<Violation> domainList = List.of(violationDomain);
+        List<ViolationEntity> entities = List.of(violationEntity);
+        when(mapper.toEntityList(domainList)).thenReturn(entities);
+        when(jpaRepository.saveAll(entities)).thenThrow(new RuntimeException("DB batch error"));
 
-        RuntimeException ex = assertThrows(RuntimeException.class, () -> violationRepository.findBySerialAndOptionalDateRange("serial123", null, null));
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> violationRepository.saveAll(domainList));
 
-        assertEquals("DB find error", ex.getMessage());
-        verify(jpaRepository).findBySerialAndOptional("serial123");
+        assertEquals("DB batch error", ex.getMessage());
     }
 
     @Test
-    void findBySerialAndOptionalDateRange_ShouldThrowException_WhenJpaFindBySerialAndDateRangeFails() {
-        Date from = new Date();
-        Date to = new Date();
+    void save_ShouldReturnExistingViolation_WhenIdempotencyKeyIsAlreadyRegistered() {
+        Violation keyed = Violation.builder().idempotencyKey("key-1").build();
+        Violation existing = Violation.builder().id(7L).idempotencyKey("key-1").build();
+        when(mapper.toEntity(keyed)).thenReturn(violationEntity);
+        when(jpaRepository.save(violationEntity)).thenThrow(new DataIntegrityViolationException("ux_violation_idempotency_key"));
+        when(jpaRepository.findByIdempotencyKey("key-1")).thenReturn(Optional.of(violationEntity));
+        when(mapper.toDomain(violationEntity)).thenReturn(existing);
+
+        assertEquals(existing, violationRepository.save(keyed));
+        verifyNoInteractions(rollupCounters, speedHistograms, heatmapCounters, topEquipment, anomalyDetector, hotWindow);
+    }
 
-        when(jpaRepository.findBySerialAndOptionalDateRange("serial123", from, to)).thenThrow(new RuntimeException("DB find error"));
+    @Test
+    void save_ShouldRethrowIntegrityViolation_WhenNoViolationHoldsTheKey() {
+        Violation unkeyed = Violation.builder().build();
+        when(mapper.toEntity(unkeyed)).thenReturn(violationEntity);
+        when(jpaRepository.save(violationEntity)).thenThrow(new DataIntegrityViolationException("fk_equipment"));
 
-        RuntimeException ex = assertThrows(RuntimeException.class,
-                () -> violationRepository.findBySerialAndOptionalDateRange("serial123", from, to));
+        assertThrows(DataIntegrityViolationException.class, () -> violationRepository.save(unkeyed));
+        verify(jpaRepository, never()).findByIdempotencyKey(any());
+    }
 
-        assertEquals("DB find error", ex.getMessage());
-        verify(jpaRepository).findBySerialAndOptionalDateRange("serial123", from, to);
+    @Test
+    void findByIdempotencyKey_ShouldMapEntity() {
+        when(jpaRepository.findByIdempotencyKey("key-1")).thenReturn(Optional.of(violationEntity));
+        when(mapper.toDomain(violationEntity)).thenReturn(violationDomain);
+
+        assertEquals(Optional.of(violationDomain), violationRepository.findByIdempotencyKey("key-1"));
     }
 }
@@ -0,0 +1,55 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.persistence.repository;
+
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationRollup;
+import br.com.dagostini.infrasystem.violation.infrastructure.rollup.ViolationRollupCounters;
+import br.com.dagostini.infrasystem.violation.infrastructure.rollup.ViolationRollupStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ViolationRollupRepositoryImplTest {
+
+    private static final Instant FROM = Instant.parse("2025-07-20T00:00:00Z");
+    private static final Instant TO = Instant.parse("2025-07-21T00:00:00Z");
+
+    @Mock
+    private ViolationRollupStore store;
+
+    @Mock
+    private ViolationRollupCounters counters;
+
+    @InjectMocks
+    private ViolationRollupRepositoryImpl repository;
+
+    @Test
+    void findBySerialShouldAddUnflushedCountsToTheStoredOnes() {
+        ViolationRollup stored = new ViolationRollup("A1", FROM.plusSeconds(7200), "VELOCITY", 4);
+        ViolationRollup pending = new ViolationRollup("A1", FROM, "VELOCITY", 1);
+        when(store.findBySerial("A1", FROM, TO)).thenReturn(List.of(stored));
+        when(counters.pending("A1", FROM, TO)).thenReturn(List.of(pending));
+
+        assertEquals(List.of(pending, stored), repository.findBySerial("A1", FROM, TO));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rebuildShouldRunAfterAFlush() {
+        when(counters.afterFlush(any(Supplier.class))).thenAnswer(invocation -> ((Supplier<Long>) invocation.getArgument(0)).get());
+        when(store.rebuild(FROM, TO)).thenReturn(9L);
+
+        assertEquals(9L, repository.rebuild(FROM, TO));
+        verify(store).rebuild(FROM, TO);
+    }
+}
@@ -0,0 +1,43 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.persistence.repository;
+
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationSpeedDistribution;
+import br.com.dagostini.infrasystem.violation.infrastructure.rollup.ViolationSpeedHistogramStore;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ViolationSpeedRepositoryImplTest {
+
+    private static final Instant FROM = Instant.parse("2025-07-20T00:00:00Z");
+    private static final Instant TO = Instant.parse("2025-07-21T00:00:00Z");
+
+    @Mock
+    private ViolationSpeedHistogramStore store;
+
+    @InjectMocks
+    private ViolationSpeedRepositoryImpl repository;
+
+    @Test
+    void findDistributionShouldReadTheMergedHistogram() {
+        Histogram histogram = new Histogram(2);
+        histogram.recordValue(800);
+        histogram.recordValue(1200);
+        when(store.findBySerial("A1", FROM, TO)).thenReturn(histogram);
+
+        ViolationSpeedDistribution distribution = repository.findDistribution("A1", FROM, TO);
+
+        assertEquals("A1", distribution.equipmentSerial());
+        assertEquals(2, distribution.violations());
+        assertEquals(120.0, distribution.maxSpeed(), 1.2);
+        assertEquals(FROM, distribution.from());
+    }
+}
@@ -0,0 +1,38 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.persistence.repository;
+
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationSummary;
+import br.com.dagostini.infrasystem.violation.infrastructure.rollup.ViolationHotWindow;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ViolationSummaryRepositoryImplTest {
+
+    private static final Instant FROM = Instant.parse("2025-07-13T12:00:00Z");
+    private static final Instant TO = Instant.parse("2025-07-20T12:00:00Z");
+
+    @Mock
+    private ViolationHotWindow hotWindow;
+
+    @InjectMocks
+    private ViolationSummaryRepositoryImpl repository;
+
+    @Test
+    void summarizeShouldAnswerFromTheHotWindow() {
+        ViolationSummary summary = new ViolationSummary(FROM, TO, 0, List.of(), List.of(), List.of(), null);
+        when(hotWindow.summarize(FROM, TO, "CAM00001", null, 20)).thenReturn(summary);
+        when(hotWindow.coveredSince()).thenReturn(FROM);
+
+        assertEquals(summary, repository.summarize(FROM, TO, "CAM00001", null, 20));
+        assertEquals(FROM, repository.coveredSince());
+    }
+}
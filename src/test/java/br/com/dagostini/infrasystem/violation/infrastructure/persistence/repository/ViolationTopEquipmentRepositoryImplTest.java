@@ -0,0 +1,35 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.persistence.repository;
+
+import br.com.dagostini.infrasystem.violation.domain.model.TopEquipment;
+import br.com.dagostini.infrasystem.violation.domain.model.TopEquipmentWindow;
+import br.com.dagostini.infrasystem.violation.infrastructure.rollup.ViolationTopEquipment;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ViolationTopEquipmentRepositoryImplTest {
+
+    @Mock
+    private ViolationTopEquipment topEquipment;
+
+    @InjectMocks
+    private ViolationTopEquipmentRepositoryImpl repository;
+
+    @Test
+    void findTopShouldAnswerFromTheLiveRanking() {
+        TopEquipment top = new TopEquipment(TopEquipmentWindow.DAY, Instant.parse("2025-07-19T12:00:00Z"),
+                Instant.parse("2025-07-20T12:30:00Z"), List.of(new TopEquipment.Entry("CAM00001", 9, 0)));
+        when(topEquipment.top(TopEquipmentWindow.DAY, 20)).thenReturn(top);
+
+        assertEquals(top, repository.findTop(TopEquipmentWindow.DAY, 20));
+    }
+}
@@ -0,0 +1,126 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.rollup;
+
+import br.com.dagostini.infrasystem.violation.domain.model.EquipmentAnomaly;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EquipmentBaselineTest {
+
+    private static final EquipmentBaseline.Settings SETTINGS = new EquipmentBaseline.Settings(4, 7, 672);
+    private static final long WEEK = 7 * 24;
+
+    private final Map<EquipmentAnomaly.Type, double[]> flags = new EnumMap<>(EquipmentAnomaly.Type.class);
+
+    private final EquipmentBaseline.Sink sink = new EquipmentBaseline.Sink() {
+        @Override
+        public void flag(EquipmentAnomaly.Type type, double observed, double expected) {
+            flags.put(type, new double[]{observed, expected});
+        }
+
+        @Override
+        public void clear(EquipmentAnomaly.Type type) {
+            flags.remove(type);
+        }
+    };
+
+    private EquipmentBaseline baseline;
+
+    @BeforeEach
+    void setUp() {
+        baseline = new EquipmentBaseline(0);
+    }
+
+    private void tenAnHourUntil(long end) {
+        for (long hour = 0; hour < end; hour++) {
+            baseline.count(hour, 10, SETTINGS, sink);
+        }
+    }
+
+    @Test
+    void anHourFarAboveItsUsualCountShouldBeASpikeUntilAnUsualHourCloses() {
+        tenAnHourUntil(WEEK);
+
+        baseline.count(WEEK, 10, SETTINGS, sink);
+        assertTrue(flags.isEmpty());
+        baseline.count(WEEK, 23, SETTINGS, sink);
+        assertEquals(23, flags.get(EquipmentAnomaly.Type.SPIKE)[0]);
+        assertEquals(10, flags.get(EquipmentAnomaly.Type.SPIKE)[1], 1e-3);
+
+        baseline.count(WEEK + 1, 10, SETTINGS, sink);
+        assertTrue(flags.containsKey(EquipmentAnomaly.Type.SPIKE));
+        baseline.count(WEEK + 2, 10, SETTINGS, sink);
+        assertTrue(flags.isEmpty());
+    }
+
+    @Test
+    void aClosedHourShouldNotBeCountedAgain() {
+        tenAnHourUntil(WEEK);
+
+        baseline.count(WEEK - 1, 100, SETTINGS, sink);
+        baseline.advance(WEEK + 1, SETTINGS, sink);
+
+        assertTrue(flags.isEmpty());
+    }
+
+    @Test
+    void silentHoursShouldBeADropOnceEnoughViolationsWentMissing() {
+        tenAnHourUntil(WEEK);
+
+        baseline.advance(WEEK + 1, SETTINGS, sink);
+        assertFalse(flags.containsKey(EquipmentAnomaly.Type.DROP));
+        baseline.advance(WEEK + 2, SETTINGS, sink);
+        assertEquals(0, flags.get(EquipmentAnomaly.Type.DROP)[0]);
+        assertEquals(20, flags.get(EquipmentAnomaly.Type.DROP)[1], 1e-3);
+
+        baseline.count(WEEK + 2, 1, SETTINGS, sink);
+        assertTrue(flags.isEmpty());
+    }
+
+    @Test
+    void nothingShouldBeJudgedBeforeTheWarmup() {
+        tenAnHourUntil(WEEK - 24);
+
+        baseline.count(WEEK - 24, 100, SETTINGS, sink);
+        baseline.advance(WEEK, SETTINGS, sink);
+
+        assertTrue(flags.isEmpty());
+        assertEquals(24, baseline.idleHours());
+    }
+
+    @Test
+    void aDriftOfMeasuredSpeedsShouldBeFlaggedUntilTheyReturn() {
+        for (int i = 0; i < 600; i++) {
+            baseline.speed(i % 2 == 0 ? 78 : 82, SETTINGS, sink);
+        }
+        assertTrue(flags.isEmpty());
+
+        for (int i = 0; i < 10; i++) {
+            baseline.speed(100, SETTINGS, sink);
+        }
+        double[] shift = flags.get(EquipmentAnomaly.Type.SPEED_SHIFT);
+        assertTrue(shift[0] > 85);
+        assertEquals(80, shift[1], 1);
+
+        for (int i = 0; i < 100; i++) {
+            baseline.speed(80, SETTINGS, sink);
+        }
+        assertTrue(flags.isEmpty());
+    }
+
+    @Test
+    void aGapLongerThanTheHistoryShouldBeSkipped() {
+        tenAnHourUntil(WEEK);
+
+        baseline.advance(WEEK + 10_000, SETTINGS, sink);
+
+        assertEquals(10_001, baseline.idleHours());
+        assertTrue(flags.containsKey(EquipmentAnomaly.Type.DROP));
+    }
+}
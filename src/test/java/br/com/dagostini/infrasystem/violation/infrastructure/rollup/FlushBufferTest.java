@@ -0,0 +1,75 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.rollup;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FlushBufferTest {
+
+    private final FlushBuffer<String, LongAdder, Long> buffer =
+            new FlushBuffer<>("counts", LongAdder::new, LongAdder::sumThenReset, count -> count == 0, Long::sum);
+    private final List<Map<String, Long>> written = new ArrayList<>();
+
+    private Map<String, Long> store(Map<String, Long> batch) {
+        written.add(new HashMap<>(batch));
+        return Map.of();
+    }
+
+    @Test
+    void aFailedWriteShouldBeRetriedWholeWithTheNewValues() {
+        buffer.accumulator("a").add(2);
+        buffer.accumulator("b").add(1);
+        buffer.flush(batch -> {
+            throw new IllegalStateException("down");
+        });
+        buffer.accumulator("a").increment();
+
+        buffer.flush(this::store);
+
+        assertEquals(List.of(Map.of("a", 3L, "b", 1L)), written);
+    }
+
+    @Test
+    void entriesLeftByTheWriterShouldBeKeptForTheNextFlush() {
+        buffer.accumulator("a").add(2);
+        buffer.accumulator("b").add(1);
+        buffer.flush(batch -> Map.of("b", batch.get("b")));
+
+        buffer.flush(this::store);
+
+        assertEquals(List.of(Map.of("b", 1L)), written);
+    }
+
+    @Test
+    void pendingValuesShouldIncludeTheUnsavedOnes() {
+        buffer.accumulator("a").add(2);
+        buffer.flush(batch -> batch);
+        buffer.accumulator("a").increment();
+        Map<String, Long> pending = new HashMap<>();
+
+        buffer.forEachPending(LongAdder::sum, (key, count) -> pending.merge(key, count, Long::sum));
+
+        assertEquals(Map.of("a", 3L), pending);
+    }
+
+    @Test
+    void idleAccumulatorsShouldBeDroppedAfterTwoEmptyFlushes() {
+        buffer.accumulator("a").increment();
+        buffer.flush(this::store);
+        buffer.flush(this::store);
+        assertEquals(1, buffer.size());
+
+        buffer.flush(this::store);
+
+        assertEquals(0, buffer.size());
+        assertEquals(1, written.size());
+        assertTrue(written.get(0).containsKey("a"));
+    }
+}
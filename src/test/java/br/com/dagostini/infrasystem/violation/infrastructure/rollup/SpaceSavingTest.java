@@ -0,0 +1,77 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.rollup;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpaceSavingTest {
+
+    private static Map<String, SpaceSaving.Counter> counters(SpaceSaving summary) {
+        Map<String, SpaceSaving.Counter> counters = new HashMap<>();
+        summary.forEach(counter -> counters.put(counter.key(), counter));
+        return counters;
+    }
+
+    @Test
+    void addShouldCountExactlyWhileThereIsRoom() {
+        SpaceSaving summary = new SpaceSaving(3);
+        summary.add("A", 1);
+        summary.add("B", 2);
+        summary.add("A", 4);
+
+        Map<String, SpaceSaving.Counter> counters = counters(summary);
+        assertEquals(5, counters.get("A").count());
+        assertEquals(0, counters.get("A").error());
+        assertEquals(2, counters.get("B").count());
+        assertEquals(0, summary.unseenBound());
+    }
+
+    @Test
+    void addShouldHandTheSmallestCounterToANewKeyWhenFull() {
+        SpaceSaving summary = new SpaceSaving(2);
+        summary.add("A", 3);
+        summary.add("B", 2);
+        summary.add("C", 1);
+
+        Map<String, SpaceSaving.Counter> counters = counters(summary);
+        assertEquals(2, summary.size());
+        assertEquals(3, counters.get("A").count());
+        assertEquals(3, counters.get("C").count());
+        assertEquals(2, counters.get("C").error());
+        assertEquals(3, summary.unseenBound());
+    }
+
+    @Test
+    void heavyKeysShouldBeKeptWithinTheirErrorOnASkewedStream() {
+        SpaceSaving summary = new SpaceSaving(50);
+        Map<String, Long> exact = new HashMap<>();
+        Random random = new Random(42);
+        long total = 0;
+        for (int i = 0; i < 100_000; i++) {
+            // Half of the stream goes to ten heavy keys, the rest is spread over ten thousand.
+            String key = random.nextBoolean() ? "HEAVY" + random.nextInt(10) : "LIGHT" + random.nextInt(10_000);
+            summary.add(key, 1);
+            exact.merge(key, 1L, Long::sum);
+            total++;
+        }
+
+        Map<String, SpaceSaving.Counter> counters = counters(summary);
+        for (int i = 0; i < 10; i++) {
+            SpaceSaving.Counter counter = counters.get("HEAVY" + i);
+            long count = exact.get("HEAVY" + i);
+            assertTrue(counter.count() >= count && counter.count() - counter.error() <= count);
+        }
+        assertTrue(summary.unseenBound() <= total / 50);
+    }
+
+    @Test
+    void capacityShouldBePositive() {
+        assertThrows(IllegalArgumentException.class, () -> new SpaceSaving(0));
+    }
+}
@@ -0,0 +1,73 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.rollup;
+
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationSpeedDistribution;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpeedHistogramsTest {
+
+    private static final Instant FROM = Instant.parse("2025-07-20T00:00:00Z");
+    private static final Instant TO = Instant.parse("2025-07-21T00:00:00Z");
+
+    @Test
+    void toValueShouldKeepTenthsAndRejectWhatCannotBeRecorded() {
+        assertEquals(805, SpeedHistograms.toValue(80.46));
+        assertEquals(SpeedHistograms.MAX_TENTHS, SpeedHistograms.toValue(1_000.0));
+        assertEquals(-1, SpeedHistograms.toValue(null));
+        assertEquals(-1, SpeedHistograms.toValue(Double.NaN));
+        assertEquals(-1, SpeedHistograms.toValue(-3.0));
+    }
+
+    @Test
+    void encodedHistogramShouldDecodeToTheSameCounts() {
+        Histogram histogram = SpeedHistograms.empty();
+        for (int speed = 400; speed < 1_200; speed++) {
+            histogram.recordValue(speed);
+        }
+
+        byte[] encoded = SpeedHistograms.encode(histogram);
+        Histogram decoded = SpeedHistograms.decode(encoded);
+
+        assertEquals(histogram, decoded);
+        assertTrue(encoded.length < 1_000, "compressed size was " + encoded.length);
+        decoded.recordValue(SpeedHistograms.MAX_TENTHS);
+        assertEquals(801, decoded.getTotalCount());
+    }
+
+    @Test
+    void decodeShouldRejectCorruptBytes() {
+        assertThrows(RuntimeException.class, () -> SpeedHistograms.decode(new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9}));
+    }
+
+    @Test
+    void distributionShouldReadPercentilesWithinTheHistogramPrecision() {
+        Histogram histogram = SpeedHistograms.empty();
+        for (int speed = 1; speed <= 100; speed++) {
+            histogram.recordValue(SpeedHistograms.toValue(speed + 40.0));
+        }
+
+        ViolationSpeedDistribution distribution = SpeedHistograms.distribution("A1", FROM, TO, histogram);
+
+        assertEquals(100, distribution.violations());
+        assertEquals(41.0, distribution.minSpeed(), 0.5);
+        assertEquals(140.0, distribution.maxSpeed(), 1.4);
+        assertEquals(90.5, distribution.meanSpeed(), 0.9);
+        assertEquals(90.0, distribution.p50(), 0.9);
+        assertEquals(125.0, distribution.p85(), 1.3);
+        assertEquals(135.0, distribution.p95(), 1.4);
+        assertEquals(139.0, distribution.p99(), 1.4);
+    }
+
+    @Test
+    void distributionOfAnEmptyHistogramShouldHaveNoSpeeds() {
+        ViolationSpeedDistribution distribution = SpeedHistograms.distribution("A1", FROM, TO, SpeedHistograms.empty());
+
+        assertEquals(0, distribution.violations());
+        assertNull(distribution.p50());
+        assertNull(distribution.meanSpeed());
+    }
+}
@@ -0,0 +1,235 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.rollup;
+
+import br.com.dagostini.infrasystem.equipment.application.service.EquipmentServiceAdapter;
+import br.com.dagostini.infrasystem.equipment.domain.model.EquipmentActivation;
+import br.com.dagostini.infrasystem.violation.domain.model.EquipmentAnomaly;
+import br.com.dagostini.infrasystem.violation.domain.model.Violation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ViolationAnomalyDetectorTest {
+
+    private static final Instant START = Instant.parse("2025-07-20T12:00:00Z");
+    private static final Duration FLUSH_INTERVAL = Duration.ofSeconds(5);
+    private static final String SERIAL = "CAM00001";
+
+    @Mock
+    private ViolationRollupStore store;
+
+    @Mock
+    private EquipmentServiceAdapter equipmentService;
+
+    private final MutableClock clock = new MutableClock();
+    private final Map<Instant, Long> stored = new HashMap<>();
+
+    private ViolationAnomalyDetector detector(boolean deactivate) {
+        return new ViolationAnomalyDetector(store, equipmentService, 4, 7, deactivate, FLUSH_INTERVAL, clock);
+    }
+
+    /** Answers reads of violation_rollup with the {@link #stored} hours of {@link #SERIAL}. */
+    private void storeAnswers() {
+        doAnswer(invocation -> {
+            Instant from = invocation.getArgument(0);
+            Instant to = invocation.getArgument(1);
+            ViolationRollupStore.HourCountConsumer consumer = invocation.getArgument(2);
+            for (Instant hour = from; hour.isBefore(to); hour = hour.plus(Duration.ofHours(1))) {
+                Long violations = stored.get(hour);
+                if (violations != null) {
+                    consumer.accept(SERIAL, hour, violations);
+                }
+            }
+            return null;
+        }).when(store).forEachHour(any(), any(), any());
+    }
+
+    /** Seeds a week of ten violations an hour of {@link #SERIAL}, up to the hour before now. */
+    private void seedAWeek(ViolationAnomalyDetector detector) {
+        for (Instant hour = START.minus(Duration.ofDays(7)); hour.isBefore(START); hour = hour.plus(Duration.ofHours(1))) {
+            stored.put(hour, 10L);
+        }
+        storeAnswers();
+        detector.seed();
+    }
+
+    private static Violation violation(Double measuredSpeed) {
+        return Violation.builder().equipmentSerial(SERIAL).measuredSpeed(measuredSpeed).build();
+    }
+
+    @Test
+    void seedingShouldReadTheClosedHoursOfTheLastFourWeeks() {
+        clock.advance(Duration.ofMinutes(1));
+        ViolationAnomalyDetector detector = detector(false);
+
+        seedAWeek(detector);
+
+        verify(store).forEachHour(eq(START.minus(ViolationAnomalyDetector.HISTORY)), eq(START), any());
+        assertTrue(detector.anomalies().isEmpty());
+    }
+
+    @Test
+    void anHourWithABurstOfViolationsShouldBeListedAsASpikeOnceClosed() {
+        ViolationAnomalyDetector detector = detector(false);
+        seedAWeek(detector);
+        stored.put(START, 23L);
+
+        clock.advance(Duration.ofMinutes(10));
+        detector.check();
+        assertTrue(detector.anomalies().isEmpty());
+        clock.advance(Duration.ofMinutes(55));
+        detector.check();
+
+        assertEquals(List.of(new EquipmentAnomaly(SERIAL, EquipmentAnomaly.Type.SPIKE, START.plus(Duration.ofMinutes(65)), 23, 10)),
+                detector.anomalies());
+        verifyNoInteractions(equipmentService);
+    }
+
+    @Test
+    void violationsRegisteredHereShouldNotBeCountedTwice() {
+        ViolationAnomalyDetector detector = detector(false);
+        seedAWeek(detector);
+        stored.put(START, 10L);
+        for (int i = 0; i < 13; i++) {
+            detector.record(violation(null));
+        }
+
+        clock.advance(Duration.ofMinutes(65));
+        detector.check();
+
+        assertTrue(detector.anomalies().isEmpty());
+    }
+
+    @Test
+    void aSpikeShouldBeDeactivatedOnce() {
+        ViolationAnomalyDetector detector = detector(true);
+        seedAWeek(detector);
+        when(equipmentService.setEquipmentActivation(List.of(SERIAL), false))
+                .thenReturn(new EquipmentActivation(false, List.of(), List.of(SERIAL), List.of()));
+        stored.put(START, 23L);
+        clock.advance(Duration.ofMinutes(65));
+
+        detector.check();
+        detector.check();
+
+        verify(equipmentService, times(1)).setEquipmentActivation(any(), anyBoolean());
+    }
+
+    @Test
+    void silentEquipmentShouldBeFlaggedByTheCheckButNotDeactivated() {
+        ViolationAnomalyDetector detector = detector(true);
+        seedAWeek(detector);
+
+        clock.advance(Duration.ofHours(2).plusMinutes(1));
+        detector.check();
+
+        assertEquals(EquipmentAnomaly.Type.DROP, detector.anomalies().get(0).type());
+        verifyNoInteractions(equipmentService);
+    }
+
+    @Test
+    void aFailedDeactivationShouldBeRetriedOnTheNextCheck() {
+        ViolationAnomalyDetector detector = detector(true);
+        seedAWeek(detector);
+        doThrow(new IllegalStateException("down")).doReturn(new EquipmentActivation(false, List.of(), List.of(), List.of()))
+                .when(equipmentService).setEquipmentActivation(List.of(SERIAL), false);
+        stored.put(START, 23L);
+        clock.advance(Duration.ofMinutes(65));
+
+        detector.check();
+        detector.check();
+
+        verify(equipmentService, times(2)).setEquipmentActivation(List.of(SERIAL), false);
+    }
+
+    @Test
+    void aFailedReadShouldBeRetriedWithoutClosingTheUnreadHours() {
+        ViolationAnomalyDetector detector = detector(false);
+        seedAWeek(detector);
+        stored.put(START, 10L);
+        stored.put(START.plus(Duration.ofHours(1)), 10L);
+        clock.advance(Duration.ofHours(2).plusMinutes(1));
+        Instant unread = START.minus(Duration.ofHours(1));
+        doThrow(new IllegalStateException("down")).when(store).forEachHour(eq(unread), any(), any());
+
+        detector.check();
+        assertTrue(detector.anomalies().isEmpty());
+        storeAnswers();
+        detector.check();
+
+        assertTrue(detector.anomalies().isEmpty());
+        verify(store, times(2)).forEachHour(eq(unread), eq(START.plus(Duration.ofHours(2))), any());
+    }
+
+    @Test
+    void equipmentSilentForTheWholeHistoryShouldBeForgotten() {
+        ViolationAnomalyDetector detector = detector(false);
+        seedAWeek(detector);
+        clock.advance(Duration.ofHours(2).plusMinutes(1));
+        detector.check();
+        assertEquals(1, detector.anomalies().size());
+
+        clock.advance(ViolationAnomalyDetector.HISTORY);
+        detector.check();
+
+        assertTrue(detector.anomalies().isEmpty());
+    }
+
+    @Test
+    void aFailedSeedShouldStartWithoutBaselines() {
+        ViolationAnomalyDetector detector = detector(false);
+        doThrow(new IllegalStateException("down")).when(store).forEachHour(any(), any(), any());
+
+        detector.seed();
+        for (int i = 0; i < 100; i++) {
+            detector.record(violation(80.0));
+        }
+
+        assertTrue(detector.anomalies().isEmpty());
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = START;
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
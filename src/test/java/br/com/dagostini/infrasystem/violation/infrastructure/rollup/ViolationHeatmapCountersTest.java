@@ -0,0 +1,137 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.rollup;
+
+import br.com.dagostini.infrasystem.equipment.application.service.EquipmentServiceAdapter;
+import br.com.dagostini.infrasystem.equipment.domain.exception.EquipmentNotFoundException;
+import br.com.dagostini.infrasystem.equipment.domain.model.Equipment;
+import br.com.dagostini.infrasystem.violation.domain.model.MapTile;
+import br.com.dagostini.infrasystem.violation.domain.model.Violation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ViolationHeatmapCountersTest {
+
+    private static final OffsetDateTime OCCURRENCE = OffsetDateTime.of(2025, 7, 20, 22, 15, 0, 0, ZoneOffset.UTC);
+    private static final Instant DAY = Instant.parse("2025-07-20T00:00:00Z");
+    private static final double LATITUDE = -23.5614;
+    private static final double LONGITUDE = -46.6559;
+
+    @Mock
+    private ViolationHeatmapStore store;
+
+    @Mock
+    private EquipmentServiceAdapter equipmentService;
+
+    private ViolationHeatmapCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        counters = new ViolationHeatmapCounters(store, equipmentService);
+    }
+
+    private static Violation violation(String serial, OffsetDateTime occurrence) {
+        return Violation.builder().equipmentSerial(serial).occurrenceDateUtc(occurrence).type("VELOCITY").build();
+    }
+
+    private static Equipment equipment(Double latitude, Double longitude) {
+        Equipment equipment = new Equipment();
+        equipment.setSerial("ABC12345");
+        equipment.setLatitude(latitude);
+        equipment.setLongitude(longitude);
+        return equipment;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<HeatmapCell, Long> flushed(int times) {
+        ArgumentCaptor<Map<HeatmapCell, Long>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(store, times(times)).add(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    void flushShouldAddTheCountsToTheEquipmentTileAtEveryZoom() {
+        when(equipmentService.getEquipmentBySerial("ABC12345")).thenReturn(equipment(LATITUDE, LONGITUDE));
+        counters.record(violation("ABC12345", OCCURRENCE));
+        counters.record(List.of(violation("ABC12345", OCCURRENCE.plusMinutes(30)),
+                violation("ABC12345", OCCURRENCE.plusHours(3)),
+                violation(null, OCCURRENCE)));
+
+        counters.flush();
+
+        Map<HeatmapCell, Long> cells = flushed(1);
+        assertEquals(2 * (MapTile.MAX_ZOOM + 1), cells.size());
+        for (int zoom = 0; zoom <= MapTile.MAX_ZOOM; zoom++) {
+            MapTile tile = MapTile.of(zoom, LATITUDE, LONGITUDE);
+            assertEquals(2L, cells.get(new HeatmapCell(tile, DAY)));
+            assertEquals(1L, cells.get(new HeatmapCell(tile, DAY.plusSeconds(86_400))));
+        }
+        verify(equipmentService, times(1)).getEquipmentBySerial("ABC12345");
+    }
+
+    @Test
+    void flushShouldDropEquipmentThatCannotBePlaced() {
+        when(equipmentService.getEquipmentBySerial("ABC12345")).thenReturn(equipment(null, null));
+        when(equipmentService.getEquipmentBySerial("GONE0001")).thenThrow(new EquipmentNotFoundException("gone"));
+        counters.record(violation("ABC12345", OCCURRENCE));
+        counters.record(violation("GONE0001", OCCURRENCE));
+
+        counters.flush();
+        counters.flush();
+
+        verifyNoInteractions(store);
+        verify(equipmentService, times(1)).getEquipmentBySerial("GONE0001");
+    }
+
+    @Test
+    void failedLookupShouldKeepTheCountsForTheNextFlush() {
+        when(equipmentService.getEquipmentBySerial("ABC12345"))
+                .thenThrow(new IllegalStateException("down"))
+                .thenReturn(equipment(LATITUDE, LONGITUDE));
+        counters.record(violation("ABC12345", OCCURRENCE));
+
+        counters.flush();
+        counters.flush();
+
+        assertEquals(1L, flushed(1).get(new HeatmapCell(MapTile.of(0, LATITUDE, LONGITUDE), DAY)));
+    }
+
+    @Test
+    void failedFlushShouldKeepTheCountsForTheNextOne() {
+        when(equipmentService.getEquipmentBySerial("ABC12345")).thenReturn(equipment(LATITUDE, LONGITUDE));
+        doThrow(new IllegalStateException("down")).doNothing().when(store).add(anyMap());
+        counters.record(violation("ABC12345", OCCURRENCE));
+
+        counters.flush();
+        counters.record(violation("ABC12345", OCCURRENCE));
+        counters.flush();
+
+        assertEquals(2L, flushed(2).get(new HeatmapCell(MapTile.of(MapTile.MAX_ZOOM, LATITUDE, LONGITUDE), DAY)));
+    }
+
+    @Test
+    void idleCountersShouldBeDroppedAndEmptyFlushesSkipped() {
+        when(equipmentService.getEquipmentBySerial("ABC12345")).thenReturn(equipment(LATITUDE, LONGITUDE));
+        counters.record(violation("ABC12345", OCCURRENCE));
+
+        counters.flush();
+        counters.flush();
+        counters.flush();
+
+        assertEquals(0, counters.size());
+        verify(store, times(1)).add(anyMap());
+    }
+}
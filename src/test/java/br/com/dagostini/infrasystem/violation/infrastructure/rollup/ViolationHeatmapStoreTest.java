@@ -0,0 +1,124 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.rollup;
+
+import br.com.dagostini.infrasystem.violation.domain.model.MapTile;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationHeatmap;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationHeatmapArea;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ViolationHeatmapStoreTest {
+
+    private static final Instant DAY = Instant.parse("2025-07-20T00:00:00Z");
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private ViolationHeatmapStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new ViolationHeatmapStore(dataSource, 2);
+    }
+
+    @Test
+    void addShouldUpsertInJdbcBatches() throws Exception {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(ViolationHeatmapStore.ADD)).thenReturn(statement);
+        Map<HeatmapCell, Long> cells = new LinkedHashMap<>();
+        cells.put(new HeatmapCell(new MapTile(0, 0, 0), DAY), 3L);
+        cells.put(new HeatmapCell(new MapTile(1, 0, 1), DAY), 3L);
+        cells.put(new HeatmapCell(new MapTile(2, 1, 2), DAY), 3L);
+
+        store.add(cells);
+
+        verify(statement, times(3)).addBatch();
+        verify(statement, times(2)).executeBatch();
+        verify(statement).setInt(1, 2);
+        verify(statement).setInt(3, 2);
+        verify(statement, times(3)).setObject(4, DAY.atOffset(ZoneOffset.UTC));
+        verify(statement, times(3)).setLong(5, 3L);
+        verify(connection).setAutoCommit(false);
+        verify(connection).commit();
+    }
+
+    @Test
+    void addShouldRollBackEveryChunkWhenALaterOneFails() throws Exception {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(ViolationHeatmapStore.ADD)).thenReturn(statement);
+        when(statement.executeBatch()).thenReturn(new int[]{1, 1}).thenThrow(new SQLException("boom"));
+        Map<HeatmapCell, Long> cells = new LinkedHashMap<>();
+        cells.put(new HeatmapCell(new MapTile(0, 0, 0), DAY), 3L);
+        cells.put(new HeatmapCell(new MapTile(1, 0, 1), DAY), 3L);
+        cells.put(new HeatmapCell(new MapTile(2, 1, 2), DAY), 3L);
+
+        assertThrows(IllegalStateException.class, () -> store.add(cells));
+
+        verify(connection).rollback();
+        verify(connection, never()).commit();
+    }
+
+    @Test
+    void addShouldSkipAnEmptyFlush() throws Exception {
+        store.add(Map.of());
+
+        verify(dataSource, never()).getConnection();
+    }
+
+    @Test
+    void addShouldWrapDatabaseErrors() throws Exception {
+        when(dataSource.getConnection()).thenThrow(new SQLException("down"));
+
+        assertThrows(IllegalStateException.class, () -> store.add(Map.of(new HeatmapCell(new MapTile(0, 0, 0), DAY), 1L)));
+    }
+
+    @Test
+    void findTilesShouldReadOneSumPerTile() throws Exception {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(ViolationHeatmapStore.SELECT_AREA)).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getInt(1)).thenReturn(379);
+        when(resultSet.getInt(2)).thenReturn(580);
+        when(resultSet.getLong(3)).thenReturn(12L);
+        ViolationHeatmapArea area = new ViolationHeatmapArea(10, 378, 380, 579, 581);
+
+        List<ViolationHeatmap.Tile> tiles = store.findTiles(area, DAY, DAY.plusSeconds(86_400));
+
+        assertEquals(List.of(ViolationHeatmap.Tile.of(new MapTile(10, 379, 580), 12)), tiles);
+        verify(statement).setInt(1, 10);
+        verify(statement).setInt(2, 378);
+        verify(statement).setInt(5, 581);
+        verify(statement).setObject(7, DAY.plusSeconds(86_400).atOffset(ZoneOffset.UTC));
+    }
+}
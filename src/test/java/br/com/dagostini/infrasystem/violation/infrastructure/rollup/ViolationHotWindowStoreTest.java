@@ -0,0 +1,47 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.rollup;
+
+import br.com.dagostini.infrasystem.violation.infrastructure.persistence.repository.ViolationJpaRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ViolationHotWindowStoreTest {
+
+    private static final Instant SINCE = Instant.parse("2025-07-13T12:00:00Z");
+
+    @Mock
+    private ViolationJpaRepository jpaRepository;
+
+    @InjectMocks
+    private ViolationHotWindowStore store;
+
+    @Test
+    void forEachSinceShouldHandEveryRowOverAndCloseTheStream() {
+        ViolationJpaRepository.RecentViolation first = mock(ViolationJpaRepository.RecentViolation.class);
+        ViolationJpaRepository.RecentViolation second = mock(ViolationJpaRepository.RecentViolation.class);
+        AtomicBoolean closed = new AtomicBoolean();
+        when(jpaRepository.streamSince(SINCE.atOffset(ZoneOffset.UTC)))
+                .thenReturn(Stream.of(first, second).onClose(() -> closed.set(true)));
+        List<ViolationJpaRepository.RecentViolation> read = new ArrayList<>();
+
+        assertEquals(2, store.forEachSince(SINCE, read::add));
+
+        assertEquals(List.of(first, second), read);
+        assertTrue(closed.get());
+    }
+}
@@ -0,0 +1,198 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.rollup;
+
+import br.com.dagostini.infrasystem.violation.domain.model.SpeedExcessBand;
+import br.com.dagostini.infrasystem.violation.domain.model.Violation;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationSummary;
+import br.com.dagostini.infrasystem.violation.infrastructure.persistence.repository.ViolationJpaRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ViolationHotWindowTest {
+
+    private static final Instant NOW = Instant.parse("2025-07-20T12:00:00Z");
+    private static final Duration RETENTION = Duration.ofDays(7);
+    private static final Instant SINCE = NOW.minus(RETENTION);
+
+    @Mock
+    private ViolationHotWindowStore store;
+
+    private ViolationHotWindow window(boolean parallel) {
+        return new ViolationHotWindow(store, RETENTION, parallel, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private static Violation speeding(String serial, Instant at, double considered, double regulated) {
+        return Violation.builder().equipmentSerial(serial).occurrenceDateUtc(at.atOffset(ZoneOffset.UTC))
+                .consideredSpeed(considered).regulatedSpeed(regulated).type("VELOCITY").build();
+    }
+
+    private static Violation crossing(String serial, Instant at) {
+        return Violation.builder().equipmentSerial(serial).occurrenceDateUtc(at.atOffset(ZoneOffset.UTC))
+                .type("STOP_CROSSWALKING").build();
+    }
+
+    private static List<Long> bands(ViolationSummary summary) {
+        return summary.speedExcess().stream().map(ViolationSummary.BandCount::violations).toList();
+    }
+
+    @Test
+    void summarizeShouldCountByTypeBandAndEquipment() {
+        ViolationHotWindow window = window(false);
+        Instant at = NOW.minus(Duration.ofHours(1));
+        window.record(List.of(speeding("CAM00001", at, 66, 60), speeding("CAM00001", at, 80, 60),
+                speeding("CAM00002", at, 100, 60), crossing("CAM00002", at), crossing("CAM00003", at)));
+
+        ViolationSummary summary = window.summarize(SINCE, NOW, null, null, 10);
+
+        assertEquals(5, summary.total());
+        assertEquals(List.of(new ViolationSummary.TypeCount("VELOCITY", 3), new ViolationSummary.TypeCount("STOP_CROSSWALKING", 2)),
+                summary.types());
+        assertEquals(SpeedExcessBand.UP_TO_20, summary.speedExcess().get(0).band());
+        assertEquals(List.of(1L, 1L, 1L), bands(summary));
+        assertEquals(List.of(new ViolationSummary.EquipmentCount("CAM00001", 2), new ViolationSummary.EquipmentCount("CAM00002", 2),
+                new ViolationSummary.EquipmentCount("CAM00003", 1)), summary.equipments());
+        assertEquals(List.of("CAM00001"), window.summarize(SINCE, NOW, null, null, 1).equipments().stream()
+                .map(ViolationSummary.EquipmentCount::serial).toList());
+    }
+
+    @Test
+    void summarizeShouldFilterByRangeSerialAndType() {
+        ViolationHotWindow window = window(false);
+        window.record(List.of(speeding("CAM00001", NOW.minus(Duration.ofDays(2)), 70, 60),
+                speeding("CAM00001", NOW.minus(Duration.ofHours(1)), 70, 60), crossing("CAM00001", NOW.minus(Duration.ofHours(1))),
+                speeding("CAM00002", NOW.minus(Duration.ofHours(1)), 70, 60)));
+
+        assertEquals(3, window.summarize(NOW.minus(Duration.ofDays(1)), NOW, null, null, 10).total());
+        assertEquals(2, window.summarize(NOW.minus(Duration.ofDays(1)), NOW, "CAM00001", null, 10).total());
+        assertEquals(1, window.summarize(NOW.minus(Duration.ofDays(1)), NOW, "CAM00001", "VELOCITY", 10).total());
+        ViolationSummary unknown = window.summarize(SINCE, NOW, "CAM09999", null, 10);
+        assertEquals(0, unknown.total());
+        assertTrue(unknown.equipments().isEmpty());
+        assertEquals(List.of(0L, 0L, 0L), bands(unknown));
+    }
+
+    @Test
+    void parallelSummariesShouldMatchSequentialOnes() {
+        ViolationHotWindow parallel = window(true);
+        ViolationHotWindow sequential = window(false);
+        List<Violation> violations = new ArrayList<>();
+        int rows = ViolationHotWindow.SEGMENT_ROWS * 3 + 17;
+        for (int i = 0; i < rows; i++) {
+            Instant at = NOW.minus(Duration.ofMinutes(1 + i % 10_000));
+            violations.add(i % 5 == 0 ? crossing("CAM" + (i % 300), at) : speeding("CAM" + (i % 300), at, 60 + i % 50, 60));
+        }
+        parallel.record(violations);
+        sequential.record(violations);
+
+        ViolationSummary summary = parallel.summarize(NOW.minus(Duration.ofDays(5)), NOW, null, null, 20);
+
+        assertEquals(4, parallel.segmentCount());
+        assertEquals(sequential.summarize(NOW.minus(Duration.ofDays(5)), NOW, null, null, 20), summary);
+        assertTrue(summary.total() < rows);
+        assertEquals(rows, parallel.summarize(SINCE, NOW, null, null, 20).total());
+    }
+
+    @Test
+    void segmentsOlderThanTheRetentionShouldBeDropped() {
+        ViolationHotWindow window = window(false);
+        List<Violation> old = new ArrayList<>();
+        for (int i = 0; i < ViolationHotWindow.SEGMENT_ROWS; i++) {
+            old.add(crossing("CAM00001", SINCE.minus(Duration.ofMinutes(1))));
+        }
+        window.record(old);
+        window.record(crossing("CAM00002", NOW.minus(Duration.ofMinutes(1))));
+
+        window.evict();
+
+        assertEquals(1, window.segmentCount());
+        assertEquals(1, window.summarize(SINCE.minus(Duration.ofDays(1)), NOW, null, null, 10).total());
+    }
+
+    @Test
+    void startupShouldLoadTheViolationsOfTheRetention() {
+        when(store.forEachSince(eq(SINCE), any())).thenAnswer(invocation -> {
+            Consumer<ViolationJpaRepository.RecentViolation> consumer = invocation.getArgument(1);
+            consumer.accept(row("CAM00001", NOW.minus(Duration.ofDays(3)), 90.0, 60.0, "VELOCITY"));
+            consumer.accept(row("CAM00002", NOW.minus(Duration.ofDays(1)), null, null, "STOP_CROSSWALKING"));
+            return 2L;
+        });
+        ViolationHotWindow window = window(false);
+
+        window.load();
+
+        ViolationSummary summary = window.summarize(SINCE, NOW, null, null, 10);
+        assertEquals(2, summary.total());
+        assertEquals(List.of(0L, 1L, 0L), bands(summary));
+        assertEquals(NOW, summary.localSince());
+    }
+
+    @Test
+    void aFailedLoadShouldStartEmpty() {
+        when(store.forEachSince(eq(SINCE), any())).thenThrow(new IllegalStateException("down"));
+        ViolationHotWindow window = window(false);
+
+        window.load();
+        window.record(crossing("CAM00001", NOW.minus(Duration.ofMinutes(1))));
+
+        ViolationSummary summary = window.summarize(SINCE, NOW, null, null, 10);
+        assertEquals(1, summary.total());
+        assertNull(summary.localSince());
+    }
+
+    @Test
+    void violationsDatedInTheFutureShouldBeKeptAtTheTimeTheyAreAppended() {
+        ViolationHotWindow window = window(false);
+
+        window.record(crossing("CAM00001", NOW.plus(Duration.ofDays(30))));
+
+        assertEquals(1, window.summarize(SINCE, NOW.plusMillis(1), null, null, 10).total());
+        assertEquals(0, window.summarize(NOW.plus(Duration.ofDays(29)), NOW.plus(Duration.ofDays(31)), null, null, 10).total());
+    }
+
+    private static ViolationJpaRepository.RecentViolation row(String serial, Instant at, Double considered, Double regulated, String type) {
+        return new ViolationJpaRepository.RecentViolation() {
+            @Override
+            public String getEquipmentSerial() {
+                return serial;
+            }
+
+            @Override
+            public OffsetDateTime getOccurrenceDateUtc() {
+                return at.atOffset(ZoneOffset.UTC);
+            }
+
+            @Override
+            public Double getConsideredSpeed() {
+                return considered;
+            }
+
+            @Override
+            public Double getRegulatedSpeed() {
+                return regulated;
+            }
+
+            @Override
+            public String getType() {
+                return type;
+            }
+        };
+    }
+}
@@ -0,0 +1,155 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.rollup;
+
+import br.com.dagostini.infrasystem.violation.domain.model.Violation;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationRollup;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ViolationRollupCountersTest {
+
+    private static final OffsetDateTime OCCURRENCE = OffsetDateTime.of(2025, 7, 20, 22, 15, 0, 0, ZoneOffset.UTC);
+    private static final Instant HOUR = Instant.parse("2025-07-20T22:00:00Z");
+    private static final Duration LATENESS = Duration.ofHours(24);
+
+    @Mock
+    private ViolationRollupStore store;
+
+    private ViolationRollupCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        counters = new ViolationRollupCounters(store, LATENESS, Clock.fixed(HOUR.plusSeconds(1800), ZoneOffset.UTC));
+    }
+
+    private static Violation violation(String serial, OffsetDateTime occurrence, String type) {
+        return Violation.builder().equipmentSerial(serial).occurrenceDateUtc(occurrence).type(type).build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<ViolationRollup> flushed() {
+        ArgumentCaptor<List<ViolationRollup>> captor = ArgumentCaptor.forClass(List.class);
+        verify(store).add(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    void flushShouldAddOneRowPerEquipmentHourAndType() {
+        counters.record(violation("ABC12345", OCCURRENCE, "VELOCITY"));
+        counters.record(List.of(violation("ABC12345", OCCURRENCE.plusMinutes(30), "VELOCITY"),
+                violation("ABC12345", OCCURRENCE, "RED_LIGHT"),
+                violation("ABC12345", OCCURRENCE.plusHours(1), "VELOCITY"),
+                violation(null, OCCURRENCE, "VELOCITY")));
+
+        counters.flush();
+
+        assertEquals(Set.of(new ViolationRollup("ABC12345", HOUR, "VELOCITY", 2),
+                        new ViolationRollup("ABC12345", HOUR, "RED_LIGHT", 1),
+                        new ViolationRollup("ABC12345", HOUR.plusSeconds(3600), "VELOCITY", 1)),
+                Set.copyOf(flushed()));
+    }
+
+    @Test
+    void concurrentRegistrationsShouldAllBeCounted() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch done = new CountDownLatch(10_000);
+        for (int i = 0; i < 10_000; i++) {
+            executor.execute(() -> {
+                counters.record(violation("ABC12345", OCCURRENCE, "VELOCITY"));
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        counters.flush();
+
+        assertEquals(List.of(new ViolationRollup("ABC12345", HOUR, "VELOCITY", 10_000)), flushed());
+    }
+
+    @Test
+    void failedFlushShouldKeepTheCountsForTheNextOne() {
+        counters.record(violation("ABC12345", OCCURRENCE, "VELOCITY"));
+        doThrow(new IllegalStateException("down")).doNothing().when(store).add(anyList());
+
+        counters.flush();
+        counters.record(violation("ABC12345", OCCURRENCE, "VELOCITY"));
+        counters.flush();
+
+        verify(store).add(List.of(new ViolationRollup("ABC12345", HOUR, "VELOCITY", 2)));
+    }
+
+    @Test
+    void recordShouldIgnoreHoursOlderThanTheLatenessHorizon() {
+        counters.record(violation("ABC12345", OCCURRENCE.minusHours(25), "VELOCITY"));
+
+        assertEquals(0, counters.size());
+    }
+
+    @Test
+    void flushShouldDropCountsThatFellBehindTheLatenessHorizon() {
+        Clock clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(HOUR, HOUR.plus(LATENESS).plusSeconds(3600));
+        ViolationRollupCounters late = new ViolationRollupCounters(store, LATENESS, clock);
+        late.record(violation("ABC12345", OCCURRENCE, "VELOCITY"));
+
+        late.flush();
+
+        verify(store).add(List.of());
+    }
+
+    @Test
+    void idleCountersShouldBeDroppedAfterTwoFlushes() {
+        counters.record(violation("ABC12345", OCCURRENCE, "VELOCITY"));
+        counters.flush();
+        assertEquals(1, counters.size());
+
+        counters.flush();
+        assertEquals(1, counters.size());
+        counters.flush();
+        assertEquals(0, counters.size());
+        verify(store, times(1)).add(anyList());
+    }
+
+    @Test
+    void pendingShouldReturnUnflushedCountsOfTheSerialAndRange() {
+        counters.record(violation("ABC12345", OCCURRENCE, "VELOCITY"));
+        counters.record(violation("ABC12345", OCCURRENCE.plusHours(2), "VELOCITY"));
+        counters.record(violation("OTHER001", OCCURRENCE, "VELOCITY"));
+
+        assertEquals(List.of(new ViolationRollup("ABC12345", HOUR, "VELOCITY", 1)),
+                counters.pending("ABC12345", HOUR, HOUR.plusSeconds(3600)));
+        counters.flush();
+        assertTrue(counters.pending("ABC12345", HOUR, HOUR.plusSeconds(3600)).isEmpty());
+    }
+
+    @Test
+    void afterFlushShouldWriteThePendingCountsBeforeTheTask() {
+        counters.record(violation("ABC12345", OCCURRENCE, "VELOCITY"));
+
+        assertEquals(7L, counters.afterFlush(() -> {
+            verify(store).add(anyList());
+            return 7L;
+        }));
+    }
+}
@@ -0,0 +1,34 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.rollup;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ViolationRollupSeederTest {
+
+    @Mock
+    private ViolationTopEquipment topEquipment;
+
+    @Mock
+    private ViolationAnomalyDetector anomalyDetector;
+
+    @Mock
+    private ViolationHotWindow hotWindow;
+
+    @InjectMocks
+    private ViolationRollupSeeder seeder;
+
+    @Test
+    void afterSingletonsInstantiated_shouldSeedEveryView() {
+        seeder.afterSingletonsInstantiated();
+
+        verify(topEquipment).seed();
+        verify(anomalyDetector).seed();
+        verify(hotWindow).load();
+    }
+}
@@ -0,0 +1,153 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.rollup;
+
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationRollup;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ViolationRollupStoreTest {
+
+    private static final Instant HOUR = Instant.parse("2025-07-20T22:00:00Z");
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    @Mock
+    private PreparedStatement insert;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private ViolationRollupStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new ViolationRollupStore(dataSource, 2);
+    }
+
+    @Test
+    void addShouldUpsertInJdbcBatches() throws Exception {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(ViolationRollupStore.ADD)).thenReturn(statement);
+
+        store.add(List.of(new ViolationRollup("A1", HOUR, "VELOCITY", 3),
+                new ViolationRollup("A1", HOUR, "RED_LIGHT", 1),
+                new ViolationRollup("B2", HOUR, "VELOCITY", 2)));
+
+        verify(statement, times(3)).addBatch();
+        verify(statement, times(2)).executeBatch();
+        verify(statement).setLong(4, 3);
+        verify(statement, times(3)).setObject(2, HOUR.atOffset(ZoneOffset.UTC));
+        verify(connection).setAutoCommit(false);
+        verify(connection).commit();
+    }
+
+    @Test
+    void addShouldRollBackEveryChunkWhenALaterOneFails() throws Exception {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(ViolationRollupStore.ADD)).thenReturn(statement);
+        when(statement.executeBatch()).thenReturn(new int[]{1, 1}).thenThrow(new SQLException("boom"));
+
+        assertThrows(IllegalStateException.class, () -> store.add(List.of(new ViolationRollup("A1", HOUR, "VELOCITY", 3),
+                new ViolationRollup("A1", HOUR, "RED_LIGHT", 1),
+                new ViolationRollup("B2", HOUR, "VELOCITY", 2))));
+
+        verify(connection).rollback();
+        verify(connection, never()).commit();
+    }
+
+    @Test
+    void addShouldSkipAnEmptyFlush() throws Exception {
+        store.add(List.of());
+
+        verify(dataSource, never()).getConnection();
+    }
+
+    @Test
+    void findBySerialShouldReadTheRowsOfTheRange() throws Exception {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(ViolationRollupStore.SELECT_BY_SERIAL)).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getObject(1, OffsetDateTime.class)).thenReturn(HOUR.atOffset(ZoneOffset.UTC));
+        when(resultSet.getString(2)).thenReturn("VELOCITY");
+        when(resultSet.getLong(3)).thenReturn(5L);
+
+        assertEquals(List.of(new ViolationRollup("A1", HOUR, "VELOCITY", 5)),
+                store.findBySerial("A1", HOUR, HOUR.plusSeconds(3600)));
+        verify(statement).setString(1, "A1");
+    }
+
+    @Test
+    void forEachHourShouldStreamTheHoursInAReadOnlyTransaction() throws Exception {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(ViolationRollupStore.SELECT_HOURS)).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, true, false);
+        when(resultSet.getString(1)).thenReturn("A1", "B2");
+        when(resultSet.getObject(2, OffsetDateTime.class)).thenReturn(HOUR.atOffset(ZoneOffset.UTC));
+        when(resultSet.getLong(3)).thenReturn(4L, 1L);
+        List<ViolationRollup> read = new ArrayList<>();
+
+        store.forEachHour(HOUR, HOUR.plusSeconds(3600), (serial, hour, violations) -> read.add(new ViolationRollup(serial, hour, null, violations)));
+
+        assertEquals(List.of(new ViolationRollup("A1", HOUR, null, 4), new ViolationRollup("B2", HOUR, null, 1)), read);
+        verify(statement).setFetchSize(2);
+        verify(connection).setReadOnly(true);
+        verify(connection).rollback();
+    }
+
+    @Test
+    void rebuildShouldReplaceTheRangeInOneTransaction() throws Exception {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(ViolationRollupStore.DELETE_RANGE)).thenReturn(statement);
+        when(connection.prepareStatement(ViolationRollupStore.REBUILD_RANGE)).thenReturn(insert);
+        when(insert.executeUpdate()).thenReturn(12);
+
+        assertEquals(12, store.rebuild(HOUR, HOUR.plusSeconds(86400)));
+
+        verify(connection).setAutoCommit(false);
+        verify(statement).executeUpdate();
+        verify(connection).commit();
+    }
+
+    @Test
+    void rebuildShouldRollBackWhenTheInsertFails() throws Exception {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(ViolationRollupStore.DELETE_RANGE)).thenReturn(statement);
+        when(connection.prepareStatement(ViolationRollupStore.REBUILD_RANGE)).thenReturn(insert);
+        when(insert.executeUpdate()).thenThrow(new SQLException("boom"));
+
+        assertThrows(IllegalStateException.class, () -> store.rebuild(HOUR, HOUR.plusSeconds(86400)));
+
+        verify(connection).rollback();
+        verify(connection, never()).commit();
+    }
+}
@@ -0,0 +1,138 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.rollup;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import javax.sql.DataSource;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ViolationSpeedHistogramStoreTest {
+
+    private static final Instant HOUR = Instant.parse("2025-07-20T22:00:00Z");
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement insert;
+
+    @Mock
+    private PreparedStatement select;
+
+    @Mock
+    private PreparedStatement update;
+
+    @Mock
+    private ResultSet resultSet;
+
+    @Mock
+    private Array array;
+
+    private ViolationSpeedHistogramStore store;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createArrayOf(eq("varchar"), any())).thenReturn(array);
+        when(connection.prepareStatement(ViolationSpeedHistogramStore.INSERT_EMPTY)).thenReturn(insert);
+        when(connection.prepareStatement(ViolationSpeedHistogramStore.SELECT_FOR_UPDATE)).thenReturn(select);
+        when(connection.prepareStatement(ViolationSpeedHistogramStore.UPDATE)).thenReturn(update);
+        when(select.executeQuery()).thenReturn(resultSet);
+        store = new ViolationSpeedHistogramStore(dataSource);
+    }
+
+    private static Histogram histogram(long... values) {
+        Histogram histogram = SpeedHistograms.empty();
+        for (long value : values) {
+            histogram.recordValue(value);
+        }
+        return histogram;
+    }
+
+    @Test
+    void mergeShouldAddTheBatchToTheLockedRows() throws Exception {
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getString(1)).thenReturn("A1");
+        when(resultSet.getObject(2, OffsetDateTime.class)).thenReturn(HOUR.atOffset(ZoneOffset.UTC));
+        when(resultSet.getBytes(3)).thenReturn(SpeedHistograms.encode(histogram(800, 900)));
+        Map<SpeedHour, Histogram> batch = new LinkedHashMap<>();
+        batch.put(new SpeedHour("B2", HOUR), histogram(500));
+        batch.put(new SpeedHour("A1", HOUR), histogram(1000));
+
+        store.merge(batch);
+
+        ArgumentCaptor<byte[]> written = ArgumentCaptor.forClass(byte[].class);
+        verify(update, times(2)).setBytes(eq(1), written.capture());
+        assertEquals(3, SpeedHistograms.decode(written.getAllValues().get(0)).getTotalCount());
+        assertEquals(1, SpeedHistograms.decode(written.getAllValues().get(1)).getTotalCount());
+        verify(insert, times(2)).addBatch();
+        verify(update).setString(2, "A1");
+        verify(select).setObject(2, HOUR.atOffset(ZoneOffset.UTC));
+        verify(connection).setAutoCommit(false);
+        verify(connection).commit();
+    }
+
+    @Test
+    void mergeShouldRollBackWhenTheUpdateFails() throws Exception {
+        when(update.executeBatch()).thenThrow(new SQLException("boom"));
+
+        assertThrows(IllegalStateException.class, () -> store.merge(Map.of(new SpeedHour("A1", HOUR), histogram(800))));
+
+        verify(connection).rollback();
+        verify(connection, never()).commit();
+    }
+
+    @Test
+    void mergeShouldSkipAnEmptyBatch() throws Exception {
+        store.merge(Map.of());
+
+        verify(dataSource, never()).getConnection();
+    }
+
+    @Test
+    void findBySerialShouldMergeTheStoredHours() throws Exception {
+        PreparedStatement range = mock(PreparedStatement.class);
+        ResultSet rows = mock(ResultSet.class);
+        when(connection.prepareStatement(ViolationSpeedHistogramStore.SELECT_RANGE)).thenReturn(range);
+        when(range.executeQuery()).thenReturn(rows);
+        when(rows.next()).thenReturn(true, true, false);
+        when(rows.getBytes(1)).thenReturn(SpeedHistograms.encode(histogram(800, 900)), SpeedHistograms.encode(histogram(1000)));
+
+        Histogram merged = store.findBySerial("A1", HOUR, HOUR.plusSeconds(7200));
+
+        assertEquals(3, merged.getTotalCount());
+        verify(range).setString(1, "A1");
+        verify(range).setObject(3, HOUR.plusSeconds(7200).atOffset(ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,122 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.rollup;
+
+import br.com.dagostini.infrasystem.violation.domain.model.Violation;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ViolationSpeedHistogramsTest {
+
+    private static final OffsetDateTime OCCURRENCE = OffsetDateTime.of(2025, 7, 20, 22, 15, 0, 0, ZoneOffset.UTC);
+    private static final SpeedHour HOUR = new SpeedHour("ABC12345", Instant.parse("2025-07-20T22:00:00Z"));
+
+    @Mock
+    private ViolationSpeedHistogramStore store;
+
+    private ViolationSpeedHistograms histograms;
+
+    @BeforeEach
+    void setUp() {
+        histograms = new ViolationSpeedHistograms(store);
+    }
+
+    private static Violation violation(OffsetDateTime occurrence, Double speed) {
+        return Violation.builder().equipmentSerial("ABC12345").occurrenceDateUtc(occurrence).measuredSpeed(speed).build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<SpeedHour, Histogram> flushed(int times) {
+        ArgumentCaptor<Map<SpeedHour, Histogram>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(store, times(times)).merge(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    void flushShouldMergeOneHistogramPerEquipmentHour() {
+        histograms.record(violation(OCCURRENCE, 80.0));
+        histograms.record(List.of(violation(OCCURRENCE.plusMinutes(30), 95.5),
+                violation(OCCURRENCE.plusHours(1), 70.0),
+                violation(OCCURRENCE, null)));
+        histograms.record((Violation) null);
+
+        histograms.flush();
+
+        Map<SpeedHour, Histogram> batch = flushed(1);
+        assertEquals(2, batch.size());
+        assertEquals(2, batch.get(HOUR).getTotalCount());
+        assertEquals(955, batch.get(HOUR).getMaxValue(), 5);
+        assertEquals(1, batch.get(new SpeedHour("ABC12345", HOUR.hour().plusSeconds(3600))).getTotalCount());
+    }
+
+    @Test
+    void concurrentRegistrationsShouldAllBeRecorded() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch done = new CountDownLatch(10_000);
+        for (int i = 0; i < 10_000; i++) {
+            double speed = 40 + i % 100;
+            executor.execute(() -> {
+                histograms.record(violation(OCCURRENCE, speed));
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        histograms.flush();
+
+        assertEquals(10_000, flushed(1).get(HOUR).getTotalCount());
+    }
+
+    @Test
+    void failedFlushShouldKeepTheHistogramsForTheNextOne() {
+        histograms.record(violation(OCCURRENCE, 80.0));
+        doThrow(new IllegalStateException("down")).doNothing().when(store).merge(anyMap());
+
+        histograms.flush();
+        histograms.record(violation(OCCURRENCE, 90.0));
+        histograms.flush();
+
+        assertEquals(2, flushed(2).get(HOUR).getTotalCount());
+    }
+
+    @Test
+    void idleRecordersShouldBeDroppedAfterTwoEmptyFlushes() {
+        histograms.record(violation(OCCURRENCE, 80.0));
+
+        histograms.flush();
+        histograms.flush();
+        assertEquals(1, histograms.size());
+        histograms.flush();
+
+        assertEquals(0, histograms.size());
+        verify(store, times(1)).merge(anyMap());
+    }
+
+    @Test
+    void flushWithoutSpeedsShouldNotTouchTheStore() {
+        histograms.record(violation(OCCURRENCE, null));
+
+        histograms.flush();
+
+        verifyNoInteractions(store);
+    }
+}
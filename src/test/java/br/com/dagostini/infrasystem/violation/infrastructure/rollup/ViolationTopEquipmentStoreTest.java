@@ -0,0 +1,70 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.rollup;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ViolationTopEquipmentStoreTest {
+
+    private static final Instant SINCE = Instant.parse("2025-07-19T11:00:00Z");
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private ViolationTopEquipmentStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new ViolationTopEquipmentStore(dataSource);
+    }
+
+    @Test
+    void countsSinceShouldReadOneRowPerEquipmentAndMinute() throws Exception {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(ViolationTopEquipmentStore.SELECT_RECENT)).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getString(1)).thenReturn("CAM00001");
+        when(resultSet.getObject(2, OffsetDateTime.class)).thenReturn(OffsetDateTime.of(2025, 7, 20, 12, 2, 0, 0, ZoneOffset.UTC));
+        when(resultSet.getLong(3)).thenReturn(4L);
+
+        List<ViolationTopEquipmentStore.MinuteCount> counts = store.countsSince(SINCE);
+
+        assertEquals(List.of(new ViolationTopEquipmentStore.MinuteCount("CAM00001", Instant.parse("2025-07-20T12:02:00Z"), 4)), counts);
+        verify(statement).setObject(1, SINCE.atOffset(ZoneOffset.UTC));
+    }
+
+    @Test
+    void countsSinceShouldWrapSqlErrors() throws Exception {
+        when(dataSource.getConnection()).thenThrow(new SQLException("down"));
+
+        assertThrows(IllegalStateException.class, () -> store.countsSince(SINCE));
+    }
+}
@@ -0,0 +1,144 @@
+package br.com.dagostini.infrasystem.violation.infrastructure.rollup;
+
+import br.com.dagostini.infrasystem.violation.domain.model.TopEquipment;
+import br.com.dagostini.infrasystem.violation.domain.model.TopEquipmentWindow;
+import br.com.dagostini.infrasystem.violation.domain.model.Violation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ViolationTopEquipmentTest {
+
+    private static final Instant START = Instant.parse("2025-07-20T12:03:30Z");
+
+    @Mock
+    private ViolationTopEquipmentStore store;
+
+    private final MutableClock clock = new MutableClock();
+
+    private ViolationTopEquipment topEquipment;
+
+    @BeforeEach
+    void setUp() {
+        topEquipment = new ViolationTopEquipment(store, 100, clock);
+    }
+
+    private static Violation violation(String serial, Instant at) {
+        return Violation.builder().equipmentSerial(serial).occurrenceDateUtc(at.atOffset(ZoneOffset.UTC)).build();
+    }
+
+    private static List<String> serials(TopEquipment top) {
+        return top.equipments().stream().map(TopEquipment.Entry::serial).toList();
+    }
+
+    @Test
+    void topShouldRankByViolationsThenSerial() {
+        topEquipment.record(List.of(violation("CAM00002", START), violation("CAM00001", START),
+                violation("CAM00003", START), violation("CAM00003", START)));
+
+        TopEquipment top = topEquipment.top(TopEquipmentWindow.HOUR, 10);
+
+        assertEquals(List.of("CAM00003", "CAM00001", "CAM00002"), serials(top));
+        assertEquals(new TopEquipment.Entry("CAM00003", 2, 0), top.equipments().get(0));
+        assertEquals(Instant.parse("2025-07-20T11:00:00Z"), top.from());
+        assertEquals(START, top.to());
+        assertEquals(List.of("CAM00003", "CAM00001"), serials(topEquipment.top(TopEquipmentWindow.HOUR, 2)));
+    }
+
+    @Test
+    void windowsShouldSlideByWholeBuckets() {
+        topEquipment.record(violation("CAM00001", START));
+
+        clock.advance(Duration.ofMinutes(16));
+        assertTrue(topEquipment.top(TopEquipmentWindow.FIFTEEN_MINUTES, 10).equipments().isEmpty());
+        assertEquals(List.of("CAM00001"), serials(topEquipment.top(TopEquipmentWindow.HOUR, 10)));
+
+        clock.advance(Duration.ofMinutes(60));
+        assertTrue(topEquipment.top(TopEquipmentWindow.HOUR, 10).equipments().isEmpty());
+        assertEquals(List.of("CAM00001"), serials(topEquipment.top(TopEquipmentWindow.DAY, 10)));
+    }
+
+    @Test
+    void recordShouldLeaveOldViolationsOutAndCountFutureOnesNow() {
+        topEquipment.record(violation("CAM00001", START.minus(Duration.ofHours(2))));
+        topEquipment.record(violation("CAM00002", START.plus(Duration.ofDays(3))));
+
+        assertEquals(List.of("CAM00002"), serials(topEquipment.top(TopEquipmentWindow.FIFTEEN_MINUTES, 10)));
+        assertEquals(List.of("CAM00001", "CAM00002"), serials(topEquipment.top(TopEquipmentWindow.DAY, 10)));
+    }
+
+    @Test
+    void topShouldBoundTheErrorOfEstimatesAcrossBuckets() {
+        topEquipment = new ViolationTopEquipment(store, 1, clock);
+        topEquipment.record(List.of(violation("CAM00001", START.minusSeconds(60)), violation("CAM00001", START.minusSeconds(60)),
+                violation("CAM00002", START)));
+
+        TopEquipment top = topEquipment.top(TopEquipmentWindow.FIFTEEN_MINUTES, 10);
+
+        // Each one-counter bucket may have seen the other equipment up to its smallest count.
+        assertEquals(List.of(new TopEquipment.Entry("CAM00001", 3, 1), new TopEquipment.Entry("CAM00002", 3, 2)),
+                top.equipments());
+    }
+
+    @Test
+    void seedingShouldLoadTheLastDayOfViolations() {
+        when(store.countsSince(START.minus(Duration.ofDays(1)).minus(Duration.ofHours(1)))).thenReturn(List.of(
+                new ViolationTopEquipmentStore.MinuteCount("CAM00001", Instant.parse("2025-07-20T12:02:00Z"), 5),
+                new ViolationTopEquipmentStore.MinuteCount("CAM00002", Instant.parse("2025-07-20T09:00:00Z"), 7)));
+
+        topEquipment.seed();
+
+        assertEquals(List.of(new TopEquipment.Entry("CAM00001", 5, 0)),
+                topEquipment.top(TopEquipmentWindow.FIFTEEN_MINUTES, 10).equipments());
+        assertEquals(List.of("CAM00002", "CAM00001"), serials(topEquipment.top(TopEquipmentWindow.DAY, 10)));
+    }
+
+    @Test
+    void failedSeedingShouldStartEmpty() {
+        when(store.countsSince(any())).thenThrow(new IllegalStateException("boom"));
+
+        topEquipment.seed();
+
+        verify(store).countsSince(any());
+        assertTrue(topEquipment.top(TopEquipmentWindow.DAY, 10).equipments().isEmpty());
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = START;
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package br.com.dagostini.infrasystem.violation.interfaces.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ViolationResponseCacheInterceptorTest {
+
+    private static final byte[] BODY = "{\"id\":7}".getBytes(StandardCharsets.UTF_8);
+
+    @Mock
+    private ViolationResponseCache cache;
+
+    private ViolationResponseCacheInterceptor interceptor;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        interceptor = new ViolationResponseCacheInterceptor(cache);
+        response = new MockHttpServletResponse();
+    }
+
+    private static MockHttpServletRequest request(String method, String id) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/violations/" + id);
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("id", id));
+        return request;
+    }
+
+    @Test
+    void preHandleShouldWriteCachedBodyAndStop() throws Exception {
+        when(cache.get(7L)).thenReturn(BODY);
+
+        boolean proceed = interceptor.preHandle(request("GET", "7"), response, null);
+
+        assertFalse(proceed);
+        assertEquals(200, response.getStatus());
+        assertEquals("application/json", response.getContentType());
+        assertEquals(BODY.length, response.getContentLength());
+        assertEquals("{\"id\":7}", response.getContentAsString());
+        assertEquals("\"7\"", response.getHeader("ETag"));
+        assertTrue(response.getHeader("Cache-Control").contains("immutable"));
+    }
+
+    @Test
+    void preHandleShouldLeaveConditionalRequestsToTheController() throws Exception {
+        MockHttpServletRequest request = request("GET", "7");
+        request.addHeader("If-None-Match", "\"7\"");
+
+        assertTrue(interceptor.preHandle(request, response, null));
+        verifyNoInteractions(cache);
+    }
+
+    @Test
+    void preHandleShouldContinueOnMiss() throws Exception {
+        when(cache.get(7L)).thenReturn(null);
+
+        assertTrue(interceptor.preHandle(request("GET", "7"), response, null));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void preHandleShouldIgnoreOtherMethods() throws Exception {
+        assertTrue(interceptor.preHandle(request("POST", "7"), response, null));
+        verifyNoInteractions(cache);
+    }
+
+    @Test
+    void preHandleShouldIgnoreNonNumericIds() throws Exception {
+        assertTrue(interceptor.preHandle(request("GET", "batch"), response, null));
+        verifyNoInteractions(cache);
+    }
+
+    @Test
+    void preHandleShouldLeaveNonJsonRequestsToTheController() throws Exception {
+        MockHttpServletRequest request = request("GET", "7");
+        request.addHeader("Accept", "application/xml");
+
+        assertTrue(interceptor.preHandle(request, response, null));
+        verifyNoInteractions(cache);
+    }
+
+    @Test
+    void preHandleShouldServeWildcardAccept() throws Exception {
+        MockHttpServletRequest request = request("GET", "7");
+        request.addHeader("Accept", "*/*");
+        when(cache.get(7L)).thenReturn(BODY);
+
+        assertFalse(interceptor.preHandle(request, response, null));
+    }
+}
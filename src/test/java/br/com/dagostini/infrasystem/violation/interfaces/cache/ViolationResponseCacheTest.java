@@ -0,0 +1,53 @@
+package br.com.dagostini.infrasystem.violation.interfaces.cache;
+
+import br.com.agostini.openapi.provider.representation.ViolationResponseRepresentation;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ViolationResponseCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private SimpleMeterRegistry meterRegistry;
+    private ViolationResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ViolationResponseCache(meterRegistry, objectMapper, DataSize.ofKilobytes(4));
+    }
+
+    @Test
+    void putShouldStoreTheSerializedResponse() throws Exception {
+        ViolationResponseRepresentation response = new ViolationResponseRepresentation();
+        response.setId(7L);
+        response.setEquipmentSerial("ABC12345");
+        response.setMeasuredSpeed(BigDecimal.valueOf(92.5));
+
+        cache.put(response);
+
+        assertArrayEquals(objectMapper.writeValueAsBytes(response), cache.get(7L));
+        assertEquals(1.0, meterRegistry.get("cache.puts").tag("cache", "violation-response").counter().count());
+    }
+
+    @Test
+    void putShouldIgnoreResponsesWithoutId() {
+        cache.put(new ViolationResponseRepresentation());
+        cache.put(null);
+
+        assertEquals(0.0, meterRegistry.get("cache.puts").tag("cache", "violation-response").counter().count());
+    }
+
+    @Test
+    void getShouldReturnNullForUnknownViolation() {
+        assertNull(cache.get(99L));
+    }
+}
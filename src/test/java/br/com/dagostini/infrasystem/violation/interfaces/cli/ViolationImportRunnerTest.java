@@ -0,0 +1,48 @@
+package br.com.dagostini.infrasystem.violation.interfaces.cli;
+
+import br.com.dagostini.infrasystem.violation.application.usecase.ImportViolationsUseCase;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationImportFormat;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationImportReport;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ViolationImportRunnerTest {
+
+    private static final Path FILE = Path.of("/data/violations.ndjson");
+
+    @Mock
+    private ImportViolationsUseCase importViolationsUseCase;
+
+    @Mock
+    private ConfigurableApplicationContext context;
+
+    @Test
+    void run_shouldImportConfiguredFileAndExit() {
+        when(importViolationsUseCase.execute(FILE, ViolationImportFormat.NDJSON))
+                .thenReturn(ViolationImportReport.builder().source(FILE.toString()).imported(5).build());
+
+        new ViolationImportRunner(importViolationsUseCase, context, FILE, ViolationImportFormat.NDJSON).run(new DefaultApplicationArguments());
+
+        verify(importViolationsUseCase).execute(FILE, ViolationImportFormat.NDJSON);
+        verify(context).close();
+    }
+
+    @Test
+    void run_shouldPropagateFailure() {
+        when(importViolationsUseCase.execute(FILE, null)).thenThrow(new IllegalStateException("Import failed"));
+        ViolationImportRunner runner = new ViolationImportRunner(importViolationsUseCase, context, FILE, null);
+
+        assertThrows(IllegalStateException.class, () -> runner.run(new DefaultApplicationArguments()));
+    }
+}
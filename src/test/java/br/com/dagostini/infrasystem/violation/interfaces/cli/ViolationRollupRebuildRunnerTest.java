@@ -0,0 +1,65 @@
+package br.com.dagostini.infrasystem.violation.interfaces.cli;
+
+import br.com.dagostini.infrasystem.violation.application.usecase.RebuildViolationRollupsUseCase;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ViolationRollupRebuildRunnerTest {
+
+    private static final Duration LATENESS = Duration.ofHours(1);
+    private static final Duration FLUSH_INTERVAL = Duration.ofSeconds(5);
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-03-10T12:00:03Z"), ZoneOffset.UTC);
+
+    @Mock
+    private RebuildViolationRollupsUseCase rebuildViolationRollupsUseCase;
+
+    @Mock
+    private ConfigurableApplicationContext context;
+
+    @Test
+    void run_shouldRebuildConfiguredRangeAndExit() {
+        new ViolationRollupRebuildRunner(rebuildViolationRollupsUseCase, context,
+                "2020-01-01T00:00:00Z", "2021-01-01T00:00:00Z", LATENESS, FLUSH_INTERVAL, CLOCK)
+                .run(new DefaultApplicationArguments());
+
+        verify(rebuildViolationRollupsUseCase).execute(Instant.parse("2020-01-01T00:00:00Z"), Instant.parse("2021-01-01T00:00:00Z"));
+        verify(context).close();
+    }
+
+    @Test
+    void constructor_shouldAcceptRangeEndingAtTheLatenessHorizon() {
+        new ViolationRollupRebuildRunner(rebuildViolationRollupsUseCase, context,
+                "2024-03-10T00:00:00Z", "2024-03-10T10:00:00Z", LATENESS, FLUSH_INTERVAL, CLOCK);
+    }
+
+    @Test
+    void constructor_shouldRejectRangeReachingHoursStillCountedLive() {
+        assertThrows(IllegalArgumentException.class, () -> new ViolationRollupRebuildRunner(rebuildViolationRollupsUseCase,
+                context, "2024-03-10T00:00:00Z", "2024-03-10T11:00:00Z", LATENESS, FLUSH_INTERVAL, CLOCK));
+    }
+
+    @Test
+    void constructor_shouldRequireEndOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> new ViolationRollupRebuildRunner(rebuildViolationRollupsUseCase,
+                context, "2020-01-01T00:00:00Z", null, LATENESS, FLUSH_INTERVAL, CLOCK));
+    }
+
+    @Test
+    void constructor_shouldRejectInvalidInstant() {
+        assertThrows(RuntimeException.class, () -> new ViolationRollupRebuildRunner(rebuildViolationRollupsUseCase,
+                context, "2020-01-01", "2021-01-01T00:00:00Z", LATENESS, FLUSH_INTERVAL, CLOCK));
+    }
+}
@@ -1,15 +1,39 @@
 package br.com.dagostini.infrasystem.violation.interfaces.controller;
 
+import br.com.agostini.openapi.provider.representation.EquipmentAnomalyRepresentation;
+import br.com.agostini.openapi.provider.representation.TopViolatingEquipmentsRepresentation;
+import br.com.agostini.openapi.provider.representation.ViolationBatchResponseRepresentation;
+import br.com.agostini.openapi.provider.representation.ViolationHeatmapRepresentation;
 import br.com.agostini.openapi.provider.representation.ViolationRequestRepresentation;
 import br.com.agostini.openapi.provider.representation.ViolationResponseRepresentation;
+import br.com.agostini.openapi.provider.representation.ViolationSubmissionRepresentation;
+import br.com.agostini.openapi.provider.representation.ViolationSummaryRepresentation;
 import br.com.dagostini.infrasystem.equipment.domain.exception.EquipmentInactiveException;
 import br.com.dagostini.infrasystem.equipment.domain.exception.EquipmentNotFoundException;
 import br.com.dagostini.infrasystem.shared.utils.ImageStorageUseCase;
+import br.com.dagostini.infrasystem.violation.application.usecase.CreateViolationBatchUseCase;
 import br.com.dagostini.infrasystem.violation.application.usecase.CreateViolationUseCase;
 import br.com.dagostini.infrasystem.violation.application.usecase.FindViolationByIdUseCase;
+import br.com.dagostini.infrasystem.violation.application.usecase.GetTopViolatingEquipmentsUseCase;
+import br.com.dagostini.infrasystem.violation.application.usecase.GetViolationHeatmapUseCase;
+import br.com.dagostini.infrasystem.violation.application.usecase.GetViolationSubmissionUseCase;
+import br.com.dagostini.infrasystem.violation.application.usecase.GetViolationSummaryUseCase;
+import br.com.dagostini.infrasystem.violation.application.usecase.ListEquipmentAnomaliesUseCase;
 import br.com.dagostini.infrasystem.violation.application.usecase.ListViolationsByEquipmentUseCase;
+import br.com.dagostini.infrasystem.violation.application.usecase.SubmitViolationUseCase;
+import br.com.dagostini.infrasystem.violation.domain.exception.ViolationSubmissionNotFoundException;
+import br.com.dagostini.infrasystem.violation.domain.exception.ViolationNotFoundException;
 import br.com.dagostini.infrasystem.violation.domain.exception.ViolationValidationException;
+import br.com.dagostini.infrasystem.violation.domain.model.EquipmentAnomaly;
+import br.com.dagostini.infrasystem.violation.domain.model.TopEquipment;
+import br.com.dagostini.infrasystem.violation.domain.model.TopEquipmentWindow;
 import br.com.dagostini.infrasystem.violation.domain.model.Violation;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationBatchItem;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationHeatmap;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationSubmission;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationSubmissionStatus;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationSummary;
+import br.com.dagostini.infrasystem.violation.interfaces.cache.ViolationResponseCache;
 import br.com.dagostini.infrasystem.violation.interfaces.mapper.ViolationDtoMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,15 +44,25 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.mock.web.MockMultipartHttpServletRequest;
+import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.multipart.MultipartRequest;
 
 import java.lang.reflect.Method;
 import java.math.BigDecimal;
 import java.net.URI;
+import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -49,6 +83,33 @@ class ViolationControllerTest {
     @Mock
     private ListViolationsByEquipmentUseCase listViolationsByEquipmentUseCase;
 
+    @Mock
+    private CreateViolationBatchUseCase createViolationBatchUseCase;
+
+    @Mock
+    private ViolationResponseCache violationResponseCache;
+
+    @Mock
+    private NativeWebRequest nativeWebRequest;
+
+    @Mock
+    private SubmitViolationUseCase submitViolationUseCase;
+
+    @Mock
+    private GetViolationSubmissionUseCase getViolationSubmissionUseCase;
+
+    @Mock
+    private GetViolationHeatmapUseCase getViolationHeatmapUseCase;
+
+    @Mock
+    private GetTopViolatingEquipmentsUseCase getTopViolatingEquipmentsUseCase;
+
+    @Mock
+    private ListEquipmentAnomaliesUseCase listEquipmentAnomaliesUseCase;
+
+    @Mock
+    private GetViolationSummaryUseCase getViolationSummaryUseCase;
+
     @InjectMocks
     private ViolationController violationController;
 
@@ -87,23 +148,23 @@ class ViolationControllerTest {
     @Test
     void createViolation_shouldCreateViolationAndReturn201() throws Exception {
         // Arrange
-        when(imageStorageUseCase.storeImage(testPicture)).thenReturn(TEST_PICTURE_URL);
         when(violationDtoMapper.toDomain(testRequestRepresentation)).thenReturn(testViolation);
-        when(createViolationUseCase.execute(testViolation)).thenReturn(testViolation);
+        when(createViolationUseCase.execute(testViolation, testPicture)).thenReturn(testViolation);
         when(violationDtoMapper.toResponse(testViolation)).thenReturn(testResponseRepresentation);
 
         // Act
-        ResponseEntity<ViolationResponseRepresentation> response = violationController.createViolation(testRequestRepresentation, testPicture);
+        ResponseEntity<ViolationResponseRepresentation> response = violationController.createViolation(testRequestRepresentation, testPicture, null);
 
         // Assert
         assertNotNull(response);
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
         assertEquals(testResponseRepresentation, response.getBody());
         assertEquals(URI.create("/violations/" + TEST_ID), response.getHeaders().getLocation());
-        verify(imageStorageUseCase, times(1)).storeImage(testPicture);
+        verifyNoInteractions(imageStorageUseCase);
         verify(violationDtoMapper, times(1)).toDomain(testRequestRepresentation);
-        verify(createViolationUseCase, times(1)).execute(testViolation);
+        verify(createViolationUseCase, times(1)).execute(testViolation, testPicture);
         verify(violationDtoMapper, times(1)).toResponse(testViolation);
+        verify(violationResponseCache).put(testResponseRepresentation);
     }
 
     @Test
@@ -115,11 +176,11 @@ class ViolationControllerTest {
 
         // Act & Assert
         ViolationValidationException thrown = assertThrows(ViolationValidationException.class, () ->
-                violationController.createViolation(testRequestRepresentation, testPicture));
+                violationController.createViolation(testRequestRepresentation, testPicture, null));
         assertEquals("For VELOCITY type, measuredSpeed, consideredSpeed, and regulatedSpeed are required.", thrown.getMessage());
-        verify(imageStorageUseCase, never()).storeImage(any());
+        verifyNoInteractions(imageStorageUseCase);
         verify(violationDtoMapper, never()).toDomain(any());
-        verify(createViolationUseCase, never()).execute(any());
+        verify(createViolationUseCase, never()).execute(any(), any());
         verify(violationDtoMapper, never()).toResponse(any());
     }
 
@@ -127,17 +188,16 @@ class ViolationControllerTest {
     void createViolation_shouldThrowEquipmentNotFoundException() {
         // Arrange
         EquipmentNotFoundException exception = new EquipmentNotFoundException("Equipment not found");
-        when(imageStorageUseCase.storeImage(testPicture)).thenReturn(TEST_PICTURE_URL);
         when(violationDtoMapper.toDomain(testRequestRepresentation)).thenReturn(testViolation);
-        when(createViolationUseCase.execute(testViolation)).thenThrow(exception);
+        when(createViolationUseCase.execute(testViolation, testPicture)).thenThrow(exception);
 
         // Act & Assert
         EquipmentNotFoundException thrown = assertThrows(EquipmentNotFoundException.class, () ->
-                violationController.createViolation(testRequestRepresentation, testPicture));
+                violationController.createViolation(testRequestRepresentation, testPicture, null));
         assertEquals("Equipment with serial Equipment not found not found.", thrown.getMessage());
-        verify(imageStorageUseCase, times(1)).storeImage(testPicture);
+        verifyNoInteractions(imageStorageUseCase);
         verify(violationDtoMapper, times(1)).toDomain(testRequestRepresentation);
-        verify(createViolationUseCase, times(1)).execute(testViolation);
+        verify(createViolationUseCase, times(1)).execute(testViolation, testPicture);
         verify(violationDtoMapper, never()).toResponse(any());
     }
 
@@ -145,17 +205,16 @@ class ViolationControllerTest {
     void createViolation_shouldThrowEquipmentInactiveException() {
         // Arrange
         EquipmentInactiveException exception = new EquipmentInactiveException("Equipment is inactive");
-        when(imageStorageUseCase.storeImage(testPicture)).thenReturn(TEST_PICTURE_URL);
         when(violationDtoMapper.toDomain(testRequestRepresentation)).thenReturn(testViolation);
-        when(createViolationUseCase.execute(testViolation)).thenThrow(exception);
+        when(createViolationUseCase.execute(testViolation, testPicture)).thenThrow(exception);
 
         // Act & Assert
         EquipmentInactiveException thrown = assertThrows(EquipmentInactiveException.class, () ->
-                violationController.createViolation(testRequestRepresentation, testPicture));
+                violationController.createViolation(testRequestRepresentation, testPicture, null));
         assertEquals("Equipment with serial 'Equipment is inactive' is inactive.", thrown.getMessage());
-        verify(imageStorageUseCase, times(1)).storeImage(testPicture);
+        verifyNoInteractions(imageStorageUseCase);
         verify(violationDtoMapper, times(1)).toDomain(testRequestRepresentation);
-        verify(createViolationUseCase, times(1)).execute(testViolation);
+        verify(createViolationUseCase, times(1)).execute(testViolation, testPicture);
         verify(violationDtoMapper, never()).toResponse(any());
     }
 
@@ -163,17 +222,16 @@ class ViolationControllerTest {
     void createViolation_shouldThrowUnexpectedException() {
         // Arrange
         RuntimeException exception = new RuntimeException("Unexpected error");
-        when(imageStorageUseCase.storeImage(testPicture)).thenReturn(TEST_PICTURE_URL);
         when(violationDtoMapper.toDomain(testRequestRepresentation)).thenReturn(testViolation);
-        when(createViolationUseCase.execute(testViolation)).thenThrow(exception);
+        when(createViolationUseCase.execute(testViolation, testPicture)).thenThrow(exception);
 
         // Act & Assert
         RuntimeException thrown = assertThrows(RuntimeException.class, () ->
-                violationController.createViolation(testRequestRepresentation, testPicture));
+                violationController.createViolation(testRequestRepresentation, testPicture, null));
         assertEquals("Unexpected error", thrown.getMessage());
-        verify(imageStorageUseCase, times(1)).storeImage(testPicture);
+        verifyNoInteractions(imageStorageUseCase);
         verify(violationDtoMapper, times(1)).toDomain(testRequestRepresentation);
-        verify(createViolationUseCase, times(1)).execute(testViolation);
+        verify(createViolationUseCase, times(1)).execute(testViolation, testPicture);
         verify(violationDtoMapper, never()).toResponse(any());
     }
 
@@ -190,8 +248,49 @@ class ViolationControllerTest {
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(testResponseRepresentation, response.getBody());
+        assertEquals("\"" + TEST_ID + "\"", response.getHeaders().getETag());
+        assertTrue(response.getHeaders().getCacheControl().contains("immutable"));
         verify(findViolationByIdUseCase, times(1)).findViolationById(TEST_ID);
         verify(violationDtoMapper, times(1)).toResponse(testViolation);
+        verify(violationResponseCache).put(testResponseRepresentation);
+    }
+
+    @Test
+    void findViolationById_shouldAnswerNotModifiedWithoutLookupWhenCached() {
+        when(nativeWebRequest.getHeader("If-None-Match")).thenReturn("\"" + TEST_ID + "\"");
+        when(violationResponseCache.get(TEST_ID)).thenReturn(new byte[] {'{', '}'});
+
+        ResponseEntity<ViolationResponseRepresentation> response = violationController.findViolationById(TEST_ID);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals("\"" + TEST_ID + "\"", response.getHeaders().getETag());
+        verifyNoInteractions(findViolationByIdUseCase);
+    }
+
+    @Test
+    void findViolationById_shouldAnswerNotModifiedAfterLoadingWhenNotCached() {
+        when(nativeWebRequest.getHeader("If-None-Match")).thenReturn("\"" + TEST_ID + "\"");
+        when(findViolationByIdUseCase.findViolationById(TEST_ID)).thenReturn(testViolation);
+        when(violationDtoMapper.toResponse(testViolation)).thenReturn(testResponseRepresentation);
+
+        ResponseEntity<ViolationResponseRepresentation> response = violationController.findViolationById(TEST_ID);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals("\"" + TEST_ID + "\"", response.getHeaders().getETag());
+        verify(violationResponseCache).put(testResponseRepresentation);
+    }
+
+    @Test
+    void findViolationById_shouldThrowNotFoundEvenWhenAnyTagMatches() {
+        when(nativeWebRequest.getHeader("If-None-Match")).thenReturn("*");
+
+        ViolationNotFoundException thrown = assertThrows(ViolationNotFoundException.class, () ->
+                violationController.findViolationById(TEST_ID));
+        assertEquals("Violation not found: " + TEST_ID, thrown.getMessage());
+        verify(violationDtoMapper, never()).toResponse(any());
+        verify(violationResponseCache, never()).put(any());
     }
 
     @Test
@@ -206,6 +305,7 @@ class ViolationControllerTest {
         assertEquals("Service error", thrown.getMessage());
         verify(findViolationByIdUseCase, times(1)).findViolationById(TEST_ID);
         verify(violationDtoMapper, never()).toResponse(any());
+        verifyNoInteractions(violationResponseCache);
     }
 
     @Test
@@ -246,4 +346,203 @@ class ViolationControllerTest {
         // Assert
         assertEquals("****", result);
     }
-}
\ No newline at end of file
+
+    @Test
+    void createViolationBatch_shouldHandPicturesToTheUseCaseAndReturnMultiStatus() {
+        // Arrange
+        MockMultipartHttpServletRequest multipartRequest = new MockMultipartHttpServletRequest();
+        multipartRequest.addFile(new MockMultipartFile("p0", "violation.jpg", "image/jpeg", "test image".getBytes()));
+        testRequestRepresentation.setPicture("p0");
+        ViolationRequestRepresentation missingPicture = new ViolationRequestRepresentation();
+        missingPicture.setType(ViolationRequestRepresentation.TypeEnum.STOP_CROSSWALKING);
+        missingPicture.setPicture("p1");
+        ViolationBatchResponseRepresentation batchResponse = new ViolationBatchResponseRepresentation();
+        when(nativeWebRequest.getNativeRequest(MultipartRequest.class)).thenReturn(multipartRequest);
+        when(violationDtoMapper.toDomain(testRequestRepresentation)).thenReturn(testViolation);
+        when(createViolationBatchUseCase.execute(anyList(), anyMap())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(violationDtoMapper.toBatchResponse(anyList())).thenReturn(batchResponse);
+
+        // Act
+        ResponseEntity<ViolationBatchResponseRepresentation> response =
+                violationController.createViolationBatch(List.of(testRequestRepresentation, missingPicture));
+
+        // Assert
+        assertEquals(HttpStatus.MULTI_STATUS, response.getStatusCode());
+        assertEquals(batchResponse, response.getBody());
+        verify(createViolationBatchUseCase).execute(List.of(
+                ViolationBatchItem.accepted(0, testViolation),
+                ViolationBatchItem.rejected(1, "Picture part 'p1' not found.")),
+                Map.of(0, multipartRequest.getFile("p0")));
+        verify(imageStorageUseCase).validateImage("image/jpeg", "test image".length());
+        verify(imageStorageUseCase, never()).storeImage(any(MultipartFile.class));
+    }
+
+    @Test
+    void createViolationBatch_shouldRejectItemWithMissingSpeedFieldsWithoutUploading() {
+        // Arrange
+        MockMultipartHttpServletRequest multipartRequest = new MockMultipartHttpServletRequest();
+        testRequestRepresentation.setMeasuredSpeed(null);
+        when(nativeWebRequest.getNativeRequest(MultipartRequest.class)).thenReturn(multipartRequest);
+        when(createViolationBatchUseCase.execute(anyList(), anyMap())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(violationDtoMapper.toBatchResponse(anyList())).thenReturn(new ViolationBatchResponseRepresentation());
+
+        // Act
+        violationController.createViolationBatch(List.of(testRequestRepresentation));
+
+        // Assert
+        verify(createViolationBatchUseCase).execute(List.of(ViolationBatchItem.rejected(0,
+                "For VELOCITY type, measuredSpeed, consideredSpeed, and regulatedSpeed are required.")), Map.of());
+        verifyNoInteractions(imageStorageUseCase);
+    }
+
+    @Test
+    void createViolationBatch_shouldRejectEmptyBatch() {
+        // Act & Assert
+        ViolationValidationException thrown = assertThrows(ViolationValidationException.class, () ->
+                violationController.createViolationBatch(Collections.emptyList()));
+        assertEquals("A batch must contain between 1 and 100 violations.", thrown.getMessage());
+        verifyNoInteractions(createViolationBatchUseCase);
+    }
+
+    @Test
+    void submitViolation_shouldEnqueueAndReturn202WithStatusLocation() {
+        ViolationSubmission submission = ViolationSubmission.builder()
+                .ticket("ticket-1")
+                .status(ViolationSubmissionStatus.PENDING)
+                .build();
+        ViolationSubmissionRepresentation representation = new ViolationSubmissionRepresentation().ticket("ticket-1");
+        when(violationDtoMapper.toDomain(testRequestRepresentation)).thenReturn(testViolation);
+        when(submitViolationUseCase.execute(testViolation, testPicture)).thenReturn(submission);
+        when(violationDtoMapper.toSubmissionResponse(submission)).thenReturn(representation);
+
+        ResponseEntity<ViolationSubmissionRepresentation> response = violationController.submitViolation(testRequestRepresentation, testPicture, null);
+
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertEquals(URI.create("/violations/requests/ticket-1"), response.getHeaders().getLocation());
+        assertEquals(representation, response.getBody());
+        verifyNoInteractions(imageStorageUseCase, createViolationUseCase);
+    }
+
+    @Test
+    void submitViolation_shouldPassIdempotencyKeyToUseCase() {
+        ViolationSubmission submission = ViolationSubmission.builder()
+                .ticket("ticket-1")
+                .status(ViolationSubmissionStatus.COMPLETED)
+                .build();
+        Violation keyed = testViolation.toBuilder().idempotencyKey("retry-key").build();
+        when(violationDtoMapper.toDomain(testRequestRepresentation)).thenReturn(testViolation);
+        when(submitViolationUseCase.execute(keyed, testPicture)).thenReturn(submission);
+        when(violationDtoMapper.toSubmissionResponse(submission)).thenReturn(new ViolationSubmissionRepresentation().ticket("ticket-1"));
+
+        ResponseEntity<ViolationSubmissionRepresentation> response = violationController.submitViolation(testRequestRepresentation, testPicture, "retry-key");
+
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        verify(submitViolationUseCase).execute(keyed, testPicture);
+    }
+
+    @Test
+    void submitViolation_shouldValidateSpeedsBeforeEnqueueing() {
+        testRequestRepresentation.setMeasuredSpeed(null);
+
+        assertThrows(ViolationValidationException.class,
+                () -> violationController.submitViolation(testRequestRepresentation, testPicture, null));
+        verifyNoInteractions(submitViolationUseCase);
+    }
+
+    @Test
+    void getViolationSubmission_shouldReturnStatus() {
+        ViolationSubmission submission = ViolationSubmission.builder()
+                .ticket("ticket-1")
+                .status(ViolationSubmissionStatus.COMPLETED)
+                .violation(testViolation)
+                .build();
+        ViolationSubmissionRepresentation representation = new ViolationSubmissionRepresentation()
+                .ticket("ticket-1")
+                .status(ViolationSubmissionRepresentation.StatusEnum.COMPLETED);
+        when(getViolationSubmissionUseCase.execute("ticket-1")).thenReturn(submission);
+        when(violationDtoMapper.toSubmissionResponse(submission)).thenReturn(representation);
+
+        ResponseEntity<ViolationSubmissionRepresentation> response = violationController.getViolationSubmission("ticket-1");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(representation, response.getBody());
+    }
+
+    @Test
+    void getViolationSubmission_shouldPropagateNotFound() {
+        when(getViolationSubmissionUseCase.execute("missing")).thenThrow(new ViolationSubmissionNotFoundException("missing"));
+
+        assertThrows(ViolationSubmissionNotFoundException.class, () -> violationController.getViolationSubmission("missing"));
+    }
+
+    @Test
+    void createViolation_shouldPassIdempotencyKeyToUseCase() {
+        Violation keyed = testViolation.toBuilder().idempotencyKey("retry-key").build();
+        when(violationDtoMapper.toDomain(testRequestRepresentation)).thenReturn(testViolation);
+        when(createViolationUseCase.execute(keyed, testPicture)).thenReturn(testViolation);
+        when(violationDtoMapper.toResponse(testViolation)).thenReturn(testResponseRepresentation);
+
+        ResponseEntity<ViolationResponseRepresentation> response = violationController.createViolation(testRequestRepresentation, testPicture, "retry-key");
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(testResponseRepresentation, response.getBody());
+        verify(createViolationUseCase, times(1)).execute(keyed, testPicture);
+    }
+
+    @Test
+    void getViolationHeatmap_shouldMapTheUseCaseResult() {
+        ViolationHeatmap heatmap = new ViolationHeatmap(12, Instant.parse("2025-07-01T00:00:00Z"),
+                Instant.parse("2025-07-02T00:00:00Z"), 0, List.of());
+        ViolationHeatmapRepresentation representation = new ViolationHeatmapRepresentation();
+        when(getViolationHeatmapUseCase.execute("-46.7,-23.6,-46.6,-23.5", 12, null, null)).thenReturn(heatmap);
+        when(violationDtoMapper.toHeatmapResponse(heatmap)).thenReturn(representation);
+
+        ResponseEntity<ViolationHeatmapRepresentation> response = violationController.getViolationHeatmap("-46.7,-23.6,-46.6,-23.5", 12, null, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(representation, response.getBody());
+    }
+
+    @Test
+    void getTopViolatingEquipments_shouldMapTheUseCaseResult() {
+        TopEquipment top = new TopEquipment(TopEquipmentWindow.FIFTEEN_MINUTES, Instant.parse("2025-07-01T11:45:00Z"),
+                Instant.parse("2025-07-01T12:00:30Z"), List.of(new TopEquipment.Entry("CAM00001", 12, 0)));
+        TopViolatingEquipmentsRepresentation representation = new TopViolatingEquipmentsRepresentation();
+        when(getTopViolatingEquipmentsUseCase.execute("15m", 5)).thenReturn(top);
+        when(violationDtoMapper.toTopEquipmentsResponse(top)).thenReturn(representation);
+
+        ResponseEntity<TopViolatingEquipmentsRepresentation> response = violationController.getTopViolatingEquipments("15m", 5);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(representation, response.getBody());
+    }
+
+    @Test
+    void listEquipmentAnomalies_shouldMapTheUseCaseResult() {
+        List<EquipmentAnomaly> anomalies = List.of(new EquipmentAnomaly("CAM00001", EquipmentAnomaly.Type.SPIKE,
+                Instant.parse("2025-07-01T12:10:00Z"), 40, 9.5));
+        List<EquipmentAnomalyRepresentation> representations = List.of(new EquipmentAnomalyRepresentation());
+        when(listEquipmentAnomaliesUseCase.execute("SPIKE")).thenReturn(anomalies);
+        when(violationDtoMapper.toAnomalyResponseList(anomalies)).thenReturn(representations);
+
+        ResponseEntity<List<EquipmentAnomalyRepresentation>> response = violationController.listEquipmentAnomalies("SPIKE");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(representations, response.getBody());
+    }
+
+    @Test
+    void getViolationSummary_shouldMapTheUseCaseResult() {
+        Date from = Date.from(Instant.parse("2025-07-19T00:00:00Z"));
+        ViolationSummary summary = new ViolationSummary(from.toInstant(), Instant.parse("2025-07-20T00:00:00Z"), 0,
+                List.of(), List.of(), List.of(), null);
+        ViolationSummaryRepresentation representation = new ViolationSummaryRepresentation();
+        when(getViolationSummaryUseCase.execute(from, null, null, "VELOCITY", 10)).thenReturn(summary);
+        when(violationDtoMapper.toSummaryResponse(summary)).thenReturn(representation);
+
+        ResponseEntity<ViolationSummaryRepresentation> response = violationController.getViolationSummary(from, null, null, "VELOCITY", 10);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(representation, response.getBody());
+    }
+}
@@ -0,0 +1,69 @@
+package br.com.dagostini.infrasystem.violation.interfaces.controller;
+
+import br.com.agostini.openapi.provider.representation.ViolationImportRequestRepresentation;
+import br.com.agostini.openapi.provider.representation.ViolationImportResponseRepresentation;
+import br.com.dagostini.infrasystem.violation.application.usecase.ImportViolationsUseCase;
+import br.com.dagostini.infrasystem.violation.domain.exception.ViolationValidationException;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationImportFormat;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationImportReport;
+import br.com.dagostini.infrasystem.violation.interfaces.mapper.ViolationDtoMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ViolationImportControllerTest {
+
+    private static final Path IMPORT_DIRECTORY = Path.of("/data/imports");
+
+    @Mock
+    private ImportViolationsUseCase importViolationsUseCase;
+
+    @Mock
+    private ViolationDtoMapper violationDtoMapper;
+
+    private ViolationImportController controller;
+
+    @BeforeEach
+    void setUp() {
+        controller = new ViolationImportController(importViolationsUseCase, violationDtoMapper, IMPORT_DIRECTORY);
+    }
+
+    @Test
+    void importViolations_shouldResolveFileInsideImportDirectory() {
+        ViolationImportRequestRepresentation request = new ViolationImportRequestRepresentation()
+                .file("2024/violations.csv")
+                .format(ViolationImportRequestRepresentation.FormatEnum.CSV);
+        ViolationImportReport report = ViolationImportReport.builder().imported(10).rejected(1).build();
+        ViolationImportResponseRepresentation response = new ViolationImportResponseRepresentation().imported(10L).rejected(1L);
+        when(importViolationsUseCase.execute(IMPORT_DIRECTORY.resolve("2024/violations.csv").toAbsolutePath(), ViolationImportFormat.CSV))
+                .thenReturn(report);
+        when(violationDtoMapper.toImportResponse(report)).thenReturn(response);
+
+        ResponseEntity<ViolationImportResponseRepresentation> result = controller.importViolations(request);
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(response, result.getBody());
+    }
+
+    @Test
+    void importViolations_shouldRejectPathTraversal() {
+        ViolationImportRequestRepresentation request = new ViolationImportRequestRepresentation().file("../../etc/passwd");
+
+        assertThrows(ViolationValidationException.class, () -> controller.importViolations(request));
+        verify(importViolationsUseCase, never()).execute(any(), any());
+    }
+}
@@ -1,8 +1,23 @@
 package br.com.dagostini.infrasystem.violation.interfaces.mapper;
 
+import br.com.agostini.openapi.provider.representation.ViolationBatchResponseRepresentation;
+import br.com.agostini.openapi.provider.representation.ViolationBatchResultRepresentation;
+import br.com.agostini.openapi.provider.representation.EquipmentAnomalyRepresentation;
+import br.com.agostini.openapi.provider.representation.TopViolatingEquipmentsRepresentation;
+import br.com.agostini.openapi.provider.representation.ViolationHeatmapRepresentation;
 import br.com.agostini.openapi.provider.representation.ViolationRequestRepresentation;
 import br.com.agostini.openapi.provider.representation.ViolationResponseRepresentation;
+import br.com.agostini.openapi.provider.representation.ViolationSpeedExcessCountRepresentation;
+import br.com.agostini.openapi.provider.representation.ViolationSummaryRepresentation;
 import br.com.dagostini.infrasystem.violation.domain.model.Violation;
+import br.com.dagostini.infrasystem.violation.domain.model.MapTile;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationBatchItem;
+import br.com.dagostini.infrasystem.violation.domain.model.EquipmentAnomaly;
+import br.com.dagostini.infrasystem.violation.domain.model.TopEquipment;
+import br.com.dagostini.infrasystem.violation.domain.model.TopEquipmentWindow;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationHeatmap;
+import br.com.dagostini.infrasystem.violation.domain.model.SpeedExcessBand;
+import br.com.dagostini.infrasystem.violation.domain.model.ViolationSummary;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,9 +25,11 @@ import org.mockito.InjectMocks;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.Date;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -147,4 +164,105 @@ class ViolationDtoMapperTest {
             violationDtoMapper.toResponse(invalidTypeViolation);
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    void testToBatchResponse_CountsCreatedAndRejectedItems() {
+        Violation created = Violation.builder()
+                .id(TEST_ID)
+                .equipmentSerial(TEST_EQUIPMENT_SERIAL)
+                .occurrenceDateUtc(TEST_DATE)
+                .picture(TEST_PICTURE)
+                .type(TEST_TYPE)
+                .build();
+        List<ViolationBatchItem> items = List.of(
+                ViolationBatchItem.accepted(0, created),
+                ViolationBatchItem.rejected(1, "Picture must be JPEG or PNG"));
+
+        ViolationBatchResponseRepresentation result = violationDtoMapper.toBatchResponse(items);
+
+        assertEquals(1, result.getCreated());
+        assertEquals(1, result.getRejected());
+        assertEquals(2, result.getResults().size());
+        ViolationBatchResultRepresentation first = result.getResults().get(0);
+        assertEquals(0, first.getIndex());
+        assertEquals(ViolationBatchResultRepresentation.StatusEnum.CREATED, first.getStatus());
+        assertEquals(TEST_ID, first.getViolation().getId());
+        assertNull(first.getError());
+        ViolationBatchResultRepresentation second = result.getResults().get(1);
+        assertEquals(1, second.getIndex());
+        assertEquals(ViolationBatchResultRepresentation.StatusEnum.REJECTED, second.getStatus());
+        assertEquals("Picture must be JPEG or PNG", second.getError());
+        assertNull(second.getViolation());
+    }
+
+    @Test
+    void testToHeatmapResponse_MapsTilesWithTheirCenters() {
+        Instant from = Instant.parse("2025-07-01T00:00:00Z");
+        MapTile tile = new MapTile(10, 379, 580);
+        ViolationHeatmap heatmap = ViolationHeatmap.of(10, from, from.plusSeconds(86_400), List.of(ViolationHeatmap.Tile.of(tile, 7)));
+
+        ViolationHeatmapRepresentation result = violationDtoMapper.toHeatmapResponse(heatmap);
+
+        assertEquals(10, result.getZoom());
+        assertEquals(Date.from(from), result.getFrom());
+        assertEquals(7L, result.getTotal());
+        assertEquals(379, result.getTiles().get(0).getX());
+        assertEquals(580, result.getTiles().get(0).getY());
+        assertEquals(tile.centerLatitude(), result.getTiles().get(0).getLatitude());
+        assertEquals(7L, result.getTiles().get(0).getViolations());
+    }
+
+    @Test
+    void testToTopEquipmentsResponse_MapsTheWindowByItsValue() {
+        Instant from = Instant.parse("2025-07-01T11:00:00Z");
+        Instant to = Instant.parse("2025-07-01T12:03:00Z");
+        TopEquipment top = new TopEquipment(TopEquipmentWindow.HOUR, from, to,
+                List.of(new TopEquipment.Entry("CAM00001", 40, 2), new TopEquipment.Entry("CAM00002", 31, 0)));
+
+        TopViolatingEquipmentsRepresentation result = violationDtoMapper.toTopEquipmentsResponse(top);
+
+        assertEquals("1h", result.getWindow());
+        assertEquals(Date.from(from), result.getFrom());
+        assertEquals(Date.from(to), result.getTo());
+        assertEquals(2, result.getEquipments().size());
+        assertEquals("CAM00001", result.getEquipments().get(0).getSerial());
+        assertEquals(40L, result.getEquipments().get(0).getViolations());
+        assertEquals(2L, result.getEquipments().get(0).getMaxError());
+    }
+
+    @Test
+    void testToAnomalyResponseList_MapsTypeAndValues() {
+        Instant detectedAt = Instant.parse("2025-07-01T12:10:00Z");
+
+        List<EquipmentAnomalyRepresentation> result = violationDtoMapper.toAnomalyResponseList(List.of(
+                new EquipmentAnomaly("CAM00001", EquipmentAnomaly.Type.SPEED_SHIFT, detectedAt, 92.5, 71.0)));
+
+        assertEquals(1, result.size());
+        assertEquals("CAM00001", result.get(0).getSerial());
+        assertEquals(EquipmentAnomalyRepresentation.TypeEnum.SPEED_SHIFT, result.get(0).getType());
+        assertEquals(Date.from(detectedAt), result.get(0).getDetectedAt());
+        assertEquals(92.5, result.get(0).getObserved());
+        assertEquals(71.0, result.get(0).getExpected());
+    }
+
+    @Test
+    void testToSummaryResponse_MapsCountsAndBands() {
+        Instant from = Instant.parse("2025-07-13T12:00:00Z");
+        Instant to = Instant.parse("2025-07-20T12:00:00Z");
+
+        ViolationSummaryRepresentation result = violationDtoMapper.toSummaryResponse(new ViolationSummary(from, to, 3,
+                List.of(new ViolationSummary.TypeCount("VELOCITY", 3)),
+                List.of(new ViolationSummary.BandCount(SpeedExcessBand.UP_TO_20, 2)),
+                List.of(new ViolationSummary.EquipmentCount("CAM00001", 3)), from));
+
+        assertEquals(Date.from(from), result.getFrom());
+        assertEquals(Date.from(to), result.getTo());
+        assertEquals(3L, result.getTotal());
+        assertEquals("VELOCITY", result.getTypes().get(0).getType());
+        assertEquals(ViolationSpeedExcessCountRepresentation.BandEnum.UP_TO_20, result.getSpeedExcess().get(0).getBand());
+        assertEquals(2L, result.getSpeedExcess().get(0).getViolations());
+        assertEquals("CAM00001", result.getEquipments().get(0).getSerial());
+        assertEquals(3L, result.getEquipments().get(0).getViolations());
+        assertEquals(Date.from(from), result.getLocalSince());
+    }
+}